@@ -76,6 +76,13 @@ public class JavaSymbolSolver implements SymbolResolver {
         this.typeSolver = typeSolver;
     }
 
+    /**
+     * The type solver used to resolve the symbols of the compilation units in which this SymbolResolver is registered.
+     */
+    public TypeSolver getTypeSolver() {
+        return typeSolver;
+    }
+
     /**
      * Register this SymbolResolver into a CompilationUnit, so that symbol resolution becomes available to
      * all nodes part of the CompilationUnit.
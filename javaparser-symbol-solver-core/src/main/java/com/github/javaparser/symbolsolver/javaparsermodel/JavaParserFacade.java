@@ -109,7 +109,7 @@ public class JavaParserFacade {
     /**
      * This method is used to clear internal caches for the sake of releasing memory.
      */
-    public static void clearInstances() {
+    public synchronized static void clearInstances() {
         instances.clear();
     }
 
@@ -358,30 +358,35 @@ public class JavaParserFacade {
 
     public ResolvedType getType(Node node, boolean solveLambdas) {
         if (solveLambdas) {
-            if (!node.containsData(TYPE_WITH_LAMBDAS_RESOLVED)) {
-                ResolvedType res = getTypeConcrete(node, solveLambdas);
-
-                node.setData(TYPE_WITH_LAMBDAS_RESOLVED, res);
-
-                boolean secondPassNecessary = false;
-                if (node instanceof MethodCallExpr) {
-                    MethodCallExpr methodCallExpr = (MethodCallExpr) node;
-                    for (Node arg : methodCallExpr.getArguments()) {
-                        if (!arg.containsData(TYPE_WITH_LAMBDAS_RESOLVED)) {
-                            getType(arg, true);
-                            secondPassNecessary = true;
-                        }
+            Optional<ResolvedType> cached = find(TYPE_WITH_LAMBDAS_RESOLVED, node);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+            ResolvedType res = getTypeConcrete(node, solveLambdas);
+
+            store(TYPE_WITH_LAMBDAS_RESOLVED, node, res);
+
+            boolean secondPassNecessary = false;
+            if (node instanceof MethodCallExpr) {
+                MethodCallExpr methodCallExpr = (MethodCallExpr) node;
+                for (Node arg : methodCallExpr.getArguments()) {
+                    if (!find(TYPE_WITH_LAMBDAS_RESOLVED, arg).isPresent()) {
+                        getType(arg, true);
+                        secondPassNecessary = true;
                     }
                 }
-                if (secondPassNecessary) {
+            }
+            if (secondPassNecessary) {
+                synchronized (node) {
                     node.removeData(TYPE_WITH_LAMBDAS_RESOLVED);
-                    ResolvedType type = getType(node, true);
-                    node.setData(TYPE_WITH_LAMBDAS_RESOLVED, type);
-
                 }
-                Log.trace("getType on %s  -> %s", () -> node, () -> res);
+                ResolvedType type = getType(node, true);
+                store(TYPE_WITH_LAMBDAS_RESOLVED, node, type);
+                res = type;
             }
-            return node.getData(TYPE_WITH_LAMBDAS_RESOLVED);
+            ResolvedType finalRes = res;
+            Log.trace("getType on %s  -> %s", () -> node, () -> finalRes);
+            return res;
         } else {
             Optional<ResolvedType> res = find(TYPE_WITH_LAMBDAS_RESOLVED, node);
             if (res.isPresent()) {
@@ -390,7 +395,7 @@ public class JavaParserFacade {
             res = find(TYPE_WITHOUT_LAMBDAS_RESOLVED, node);
             if (!res.isPresent()) {
                 ResolvedType resType = getTypeConcrete(node, solveLambdas);
-                node.setData(TYPE_WITHOUT_LAMBDAS_RESOLVED, resType);
+                store(TYPE_WITHOUT_LAMBDAS_RESOLVED, node, resType);
                 Optional<ResolvedType> finalRes = res;
                 Log.trace("getType on %s (no solveLambdas) -> %s", () -> node, () -> finalRes);
                 return resType;
@@ -399,13 +404,26 @@ public class JavaParserFacade {
         }
     }
 
+    /**
+     * The cached types are stored in the data of each node, which is not thread-safe. Accesses are
+     * synchronized on the node, so that different methods may be solved from multiple threads. The
+     * type itself is computed outside the lock: two threads may solve the same node, with the same result.
+     */
     private Optional<ResolvedType> find(DataKey<ResolvedType> dataKey, Node node) {
-        if (node.containsData(dataKey)) {
-            return Optional.of(node.getData(dataKey));
+        synchronized (node) {
+            if (node.containsData(dataKey)) {
+                return Optional.of(node.getData(dataKey));
+            }
         }
         return Optional.empty();
     }
 
+    private void store(DataKey<ResolvedType> dataKey, Node node, ResolvedType type) {
+        synchronized (node) {
+            node.setData(dataKey, type);
+        }
+    }
+
     protected MethodUsage toMethodUsage(MethodReferenceExpr methodReferenceExpr, List<ResolvedType> paramTypes) {
         Expression scope = methodReferenceExpr.getScope();
         ResolvedType typeOfScope = getType(methodReferenceExpr.getScope());
@@ -26,6 +26,7 @@ import com.github.javaparser.resolution.types.ResolvedType;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Are meta-variables for types - that is, they are special names that allow abstract reasoning about types.
@@ -36,7 +37,7 @@ import java.util.List;
  * @author Federico Tomassetti
  */
 public class InferenceVariable implements ResolvedType {
-    private static int unnamedInstantiated = 0;
+    private static final AtomicInteger unnamedInstantiated = new AtomicInteger();
 
     private String name;
     private ResolvedTypeParameterDeclaration typeParameterDeclaration;
@@ -50,7 +51,7 @@ public class InferenceVariable implements ResolvedType {
     }
 
     public static InferenceVariable unnamed(ResolvedTypeParameterDeclaration typeParameterDeclaration) {
-        return new InferenceVariable("__unnamed__" + (unnamedInstantiated++), typeParameterDeclaration);
+        return new InferenceVariable("__unnamed__" + unnamedInstantiated.getAndIncrement(), typeParameterDeclaration);
     }
 
     public InferenceVariable(String name, ResolvedTypeParameterDeclaration typeParameterDeclaration) {
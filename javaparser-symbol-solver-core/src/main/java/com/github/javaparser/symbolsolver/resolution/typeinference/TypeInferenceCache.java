@@ -28,6 +28,8 @@ import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
 import java.util.*;
 
 /**
+ * All accesses are synchronized, so that types may be solved from multiple threads.
+ *
  * @author Federico Tomassetti
  */
 public class TypeInferenceCache {
@@ -35,7 +37,7 @@ public class TypeInferenceCache {
     private static Map<TypeSolver, IdentityHashMap<LambdaExpr, Map<String, ResolvedType>>> typeForLambdaParameters = new HashMap<>();
     private static Map<TypeSolver, IdentityHashMap<LambdaExpr, List<InferenceVariable>>> inferenceVariables = new HashMap<>();
 
-    public static void addRecord(TypeSolver typeSolver, LambdaExpr lambdaExpr, String paramName, ResolvedType type) {
+    public static synchronized void addRecord(TypeSolver typeSolver, LambdaExpr lambdaExpr, String paramName, ResolvedType type) {
         if (!typeForLambdaParameters.containsKey(typeSolver)) {
             typeForLambdaParameters.put(typeSolver, new IdentityHashMap<>());
         }
@@ -45,7 +47,7 @@ public class TypeInferenceCache {
         typeForLambdaParameters.get(typeSolver).get(lambdaExpr).put(paramName, type);
     }
 
-    public static Optional<ResolvedType> retrieve(TypeSolver typeSolver, LambdaExpr lambdaExpr, String paramName) {
+    public static synchronized Optional<ResolvedType> retrieve(TypeSolver typeSolver, LambdaExpr lambdaExpr, String paramName) {
         if (!typeForLambdaParameters.containsKey(typeSolver)) {
             return Optional.empty();
         }
@@ -58,14 +60,14 @@ public class TypeInferenceCache {
         return Optional.of(typeForLambdaParameters.get(typeSolver).get(lambdaExpr).get(paramName));
     }
 
-    public static void recordInferenceVariables(TypeSolver typeSolver, LambdaExpr lambdaExpr, List<InferenceVariable> _inferenceVariables) {
+    public static synchronized void recordInferenceVariables(TypeSolver typeSolver, LambdaExpr lambdaExpr, List<InferenceVariable> _inferenceVariables) {
         if (!inferenceVariables.containsKey(typeSolver)) {
             inferenceVariables.put(typeSolver, new IdentityHashMap<>());
         }
         inferenceVariables.get(typeSolver).put(lambdaExpr, _inferenceVariables);
     }
 
-    public static Optional<List<InferenceVariable>> retrieveInferenceVariables(TypeSolver typeSolver, LambdaExpr lambdaExpr) {
+    public static synchronized Optional<List<InferenceVariable>> retrieveInferenceVariables(TypeSolver typeSolver, LambdaExpr lambdaExpr) {
         if (!inferenceVariables.containsKey(typeSolver)) {
             return Optional.empty();
         }
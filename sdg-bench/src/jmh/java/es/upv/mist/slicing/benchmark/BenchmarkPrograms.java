@@ -0,0 +1,118 @@
+package es.upv.mist.slicing.benchmark;
+
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import es.upv.mist.slicing.graphs.augmented.ASDG;
+import es.upv.mist.slicing.graphs.augmented.PSDG;
+import es.upv.mist.slicing.graphs.exceptionsensitive.AllenSDG;
+import es.upv.mist.slicing.graphs.exceptionsensitive.ESSDG;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.graphs.jsysdg.OriginalJSysDG;
+import es.upv.mist.slicing.graphs.sdg.SDG;
+import es.upv.mist.slicing.slicing.FileLineSlicingCriterion;
+import es.upv.mist.slicing.slicing.SlicingCriterion;
+import es.upv.mist.slicing.utils.StaticTypeSolver;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedList;
+import java.util.List;
+
+/** Loads the programs used by the JMH benchmarks. Programs are paths to a Java file or to a
+ *  directory with Java files, relative to the working directory (usually, the root of the project). */
+final class BenchmarkPrograms {
+    /** Some of the regression programs of sdg-core, which can be built with every graph type. */
+    static final String CLASSIC = "sdg-core/src/test/res/regression/carlos/Classic.java";
+    static final String P1 = "sdg-core/src/test/res/regression/review-07-2020/P1.java";
+    static final String JOSEP7 = "sdg-core/src/test/res/regression/dinsa-tests/Josep7.java";
+    static final String POLYMORPHIC_CALLS = "sdg-core/src/test/res/regression/oo/PolymorphicCalls.java";
+
+    private static final String CRITERION_SUFFIX = ".sdg.criterion";
+    /** The configuration of JavaParser, which is stored per thread and must be set in each one that parses. */
+    private static final ParserConfiguration CONFIGURATION;
+
+    static {
+        StaticTypeSolver.addTypeSolverJRE();
+        CONFIGURATION = StaticJavaParser.getConfiguration();
+        CONFIGURATION.setAttributeComments(false);
+    }
+
+    private BenchmarkPrograms() {
+        throw new UnsupportedOperationException("This is a static, utility class");
+    }
+
+    /** Parses all the Java files of a program. */
+    static NodeList<CompilationUnit> parse(String program) {
+        StaticJavaParser.setConfiguration(CONFIGURATION);
+        NodeList<CompilationUnit> units = new NodeList<>();
+        try {
+            for (File file : findJavaFiles(new File(program)))
+                units.add(StaticJavaParser.parse(file));
+        } catch (FileNotFoundException e) {
+            throw new IllegalArgumentException("The program " + program + " could not be found", e);
+        }
+        if (units.isEmpty())
+            throw new IllegalArgumentException("The program " + program + " does not contain Java files");
+        return units;
+    }
+
+    /** Parses a program from its source code, as a single compilation unit without a file. */
+    static NodeList<CompilationUnit> parseSource(String code) {
+        StaticJavaParser.setConfiguration(CONFIGURATION);
+        return new NodeList<>(StaticJavaParser.parse(code));
+    }
+
+    /** Reads the slicing criteria of the Java files of a program, each stored in a file with the same
+     *  name and {@value #CRITERION_SUFFIX} appended, with a criterion per line: {@code line [variable]}. */
+    static List<SlicingCriterion> findCriteria(String program) {
+        List<SlicingCriterion> criteria = new LinkedList<>();
+        for (File file : findJavaFiles(new File(program))) {
+            File criterionFile = new File(file.getParentFile(), file.getName() + CRITERION_SUFFIX);
+            if (!criterionFile.isFile())
+                continue;
+            try {
+                for (String line : Files.readAllLines(criterionFile.toPath())) {
+                    String[] fields = line.trim().split("\\s+");
+                    if (fields[0].isEmpty())
+                        continue;
+                    criteria.add(new FileLineSlicingCriterion(file, Integer.parseInt(fields[0]), fields.length > 1 ? fields[1] : null));
+                }
+            } catch (IOException e) {
+                throw new IllegalArgumentException("The criteria of " + file + " could not be read", e);
+            }
+        }
+        return criteria;
+    }
+
+    /** Creates an empty graph of the given type. */
+    static SDG createGraph(String graphType) {
+        switch (graphType) {
+            case "SDG": return new SDG();
+            case "ASDG": return new ASDG();
+            case "PSDG": return new PSDG();
+            case "ESSDG": return new ESSDG();
+            case "AllenSDG": return new AllenSDG();
+            case "JSysDG": return new JSysDG();
+            case "OriginalJSysDG": return new OriginalJSysDG();
+            default:
+                throw new IllegalArgumentException("Unknown graph type " + graphType);
+        }
+    }
+
+    private static List<File> findJavaFiles(File file) {
+        List<File> files = new LinkedList<>();
+        if (file.isDirectory()) {
+            File[] children = file.listFiles();
+            if (children != null)
+                for (File child : children)
+                    files.addAll(findJavaFiles(child));
+        } else if (file.getName().endsWith(".java")) {
+            files.add(file);
+        }
+        return files;
+    }
+}
@@ -0,0 +1,39 @@
+package es.upv.mist.slicing.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Runs the JMH benchmarks. It accepts the same arguments as JMH's own runner (see {@code -h}) but, unless
+ * other profilers or result formats are requested, it measures allocations with the GC profiler and
+ * stores the results in {@code jmh-result.json}.
+ */
+public class BenchmarkRunner {
+    public static void main(String... args) throws RunnerException, IOException {
+        CommandLineOptions cliOptions;
+        try {
+            cliOptions = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("Error parsing the arguments!\n" + e.getMessage());
+            return;
+        }
+        if (cliOptions.shouldHelp()) {
+            cliOptions.showHelp();
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cliOptions);
+        if (cliOptions.getProfilers().isEmpty())
+            options.addProfiler(GCProfiler.class);
+        if (!cliOptions.getResultFormat().hasValue())
+            options.resultFormat(ResultFormatType.JSON);
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,37 @@
+package es.upv.mist.slicing.benchmark;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import es.upv.mist.slicing.graphs.sdg.SDG;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** Measures the whole construction of each graph type, from a newly parsed program in each iteration. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 50)
+@Fork(1)
+public class BuildBenchmark {
+    @Param({BenchmarkPrograms.CLASSIC, BenchmarkPrograms.P1, BenchmarkPrograms.JOSEP7, BenchmarkPrograms.POLYMORPHIC_CALLS})
+    public String program;
+
+    @Param({"SDG", "ASDG", "PSDG", "ESSDG", "JSysDG"})
+    public String graphType;
+
+    protected NodeList<CompilationUnit> units;
+
+    @Setup(Level.Iteration)
+    public void parse() {
+        units = BenchmarkPrograms.parse(program);
+    }
+
+    @Benchmark
+    public SDG build() {
+        SDG sdg = BenchmarkPrograms.createGraph(graphType);
+        sdg.build(units);
+        return sdg;
+    }
+}
@@ -0,0 +1,51 @@
+package es.upv.mist.slicing.benchmark;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import es.upv.mist.slicing.graphs.sdg.SDG;
+import es.upv.mist.slicing.graphs.sdg.SDG.BuildPhase;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each phase of the construction of the SDG separately, for each graph type. As the graph
+ * and the AST are modified by the build, each iteration performs a single phase on a newly parsed
+ * program, whose previous phases are performed (and not measured) in the setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 50)
+@Fork(1)
+public class BuildPhaseBenchmark {
+    @Param({BenchmarkPrograms.CLASSIC, BenchmarkPrograms.P1, BenchmarkPrograms.JOSEP7, BenchmarkPrograms.POLYMORPHIC_CALLS})
+    public String program;
+
+    @Param({"SDG", "ASDG", "PSDG", "ESSDG", "JSysDG"})
+    public String graphType;
+
+    @Param({"CLASS_GRAPH", "CFGS", "CALL_GRAPH", "DATA_FLOW", "PDGS", "CALL_CONNECTION", "SUMMARY_ARCS"})
+    public BuildPhase phase;
+
+    protected NodeList<CompilationUnit> units;
+    protected SDG sdg;
+
+    @Setup(Level.Iteration)
+    public void buildPreviousPhases() {
+        units = BenchmarkPrograms.parse(program);
+        sdg = BenchmarkPrograms.createGraph(graphType);
+        for (BuildPhase previous : BuildPhase.values()) {
+            if (previous == phase)
+                break;
+            sdg.build(units, previous);
+        }
+    }
+
+    @Benchmark
+    public SDG buildPhase() {
+        sdg.build(units, phase);
+        return sdg;
+    }
+}
@@ -0,0 +1,68 @@
+package es.upv.mist.slicing.benchmark;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.graphs.sdg.SDG;
+import es.upv.mist.slicing.graphs.sdg.SDG.BuildPhase;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the connection of calls in a JSysDG of a generated program with many enums, each used by
+ * a method of its own. As enum type nodes are connected to the formal-in nodes that represent them,
+ * the time per enum should remain constant as the program grows.
+ * @see BuildPhaseBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class EnumConnectionBenchmark {
+    @Param({"50", "200", "800"})
+    public int enums;
+
+    protected String source;
+    protected NodeList<CompilationUnit> units;
+    protected SDG sdg;
+
+    @Setup(Level.Trial)
+    public void generateProgram() {
+        source = generateSource(enums);
+    }
+
+    @Setup(Level.Iteration)
+    public void buildPreviousPhases() {
+        units = BenchmarkPrograms.parseSource(source);
+        sdg = new JSysDG();
+        for (BuildPhase previous : BuildPhase.values()) {
+            if (previous == BuildPhase.CALL_CONNECTION)
+                break;
+            sdg.build(units, previous);
+        }
+    }
+
+    @Benchmark
+    public SDG connectCalls() {
+        sdg.build(units, BuildPhase.CALL_CONNECTION);
+        return sdg;
+    }
+
+    /** A program with the given number of enums, a method that uses each of them, and a main method that calls all methods. */
+    static String generateSource(int enums) {
+        StringBuilder builder = new StringBuilder("public class Enums {\n    public static void main(String[] args) {\n        int x = 0;\n");
+        for (int i = 0; i < enums; i++)
+            builder.append("        x += Uses").append(i).append(".use(x);\n");
+        builder.append("        System.out.println(x);\n    }\n}\n");
+        for (int i = 0; i < enums; i++) {
+            builder.append("enum Enum").append(i).append(" {\n    A, B, C;\n}\n");
+            builder.append("class Uses").append(i).append(" {\n    static int use(int x) {\n")
+                    .append("        Enum").append(i).append(" e = x > 0 ? Enum").append(i).append(".A : Enum").append(i).append(".B;\n")
+                    .append("        return e.ordinal();\n    }\n}\n");
+        }
+        return builder.toString();
+    }
+}
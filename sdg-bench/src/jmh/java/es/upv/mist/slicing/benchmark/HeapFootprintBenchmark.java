@@ -0,0 +1,73 @@
+package es.upv.mist.slicing.benchmark;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import es.upv.mist.slicing.graphs.sdg.SDG;
+import es.upv.mist.slicing.nodes.GraphNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the heap retained by each graph type once built, reported as secondary results in bytes
+ * per node and per variable action of the graph. The used heap is measured after full collections,
+ * before the build (with the program already parsed) and after it, while the graph is still referenced.
+ * The collections are part of each invocation, so the primary score is not meaningful.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseSerialGC")
+public class HeapFootprintBenchmark {
+    @Param({BenchmarkPrograms.CLASSIC, BenchmarkPrograms.P1, BenchmarkPrograms.JOSEP7, BenchmarkPrograms.POLYMORPHIC_CALLS})
+    public String program;
+
+    @Param({"SDG", "ASDG", "PSDG", "ESSDG", "JSysDG"})
+    public String graphType;
+
+    protected NodeList<CompilationUnit> units;
+    protected long heapBeforeBuild;
+
+    @Setup(Level.Iteration)
+    public void parse() {
+        units = BenchmarkPrograms.parse(program);
+        heapBeforeBuild = usedHeap();
+    }
+
+    @Benchmark
+    public SDG build(Footprint footprint) {
+        SDG sdg = BenchmarkPrograms.createGraph(graphType);
+        sdg.build(units);
+        long bytes = usedHeap() - heapBeforeBuild;
+        long actions = 0;
+        for (GraphNode<?> node : sdg.vertexSet())
+            actions += node.getVariableActions().size();
+        footprint.bytesPerNode = bytes / Math.max(1, sdg.vertexSet().size());
+        footprint.bytesPerAction = bytes / Math.max(1, actions);
+        return sdg;
+    }
+
+    /** The heap in use after collecting all unreachable objects. */
+    protected static long usedHeap() {
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /** The heap retained by the graph built in the last iteration. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long bytesPerNode;
+        public long bytesPerAction;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerNode = 0;
+            bytesPerAction = 0;
+        }
+    }
+}
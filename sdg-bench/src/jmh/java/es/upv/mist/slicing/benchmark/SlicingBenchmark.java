@@ -0,0 +1,100 @@
+package es.upv.mist.slicing.benchmark;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import es.upv.mist.slicing.graphs.augmented.PSDG;
+import es.upv.mist.slicing.graphs.exceptionsensitive.ESSDG;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.graphs.sdg.SDG;
+import es.upv.mist.slicing.nodes.GraphNode;
+import es.upv.mist.slicing.slicing.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each slicing algorithm on the graph type it was designed for. The graph is built once per
+ * trial, and each invocation slices it with the criteria stored next to the program, or with every node.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SlicingBenchmark {
+    @Param({BenchmarkPrograms.CLASSIC, BenchmarkPrograms.P1, BenchmarkPrograms.JOSEP7, BenchmarkPrograms.POLYMORPHIC_CALLS})
+    public String program;
+
+    @Param({"Classic", "PseudoPredicate", "ExceptionSensitive", "Allen", "JSysDG", "OriginalJSysDG"})
+    public String algorithm;
+
+    protected SDG sdg;
+    /** The nodes of each slicing criterion of the program. */
+    protected List<Set<GraphNode<?>>> criteria;
+    /** Each node of the graph, as a slicing criterion. */
+    protected List<Set<GraphNode<?>>> allNodes;
+
+    @Setup(Level.Trial)
+    public void build() {
+        NodeList<CompilationUnit> units = BenchmarkPrograms.parse(program);
+        sdg = BenchmarkPrograms.createGraph(getGraphType());
+        sdg.build(units);
+        criteria = new LinkedList<>();
+        for (SlicingCriterion sc : BenchmarkPrograms.findCriteria(program))
+            criteria.add(sc.findNode(sdg));
+        allNodes = new LinkedList<>();
+        sdg.vertexSet().stream().sorted().forEach(node -> allNodes.add(Set.of(node)));
+    }
+
+    /** The graph type required by the algorithm. */
+    protected String getGraphType() {
+        switch (algorithm) {
+            case "Classic": return "SDG";
+            case "PseudoPredicate": return "PSDG";
+            case "ExceptionSensitive": return "ESSDG";
+            case "Allen":
+            case "JSysDG":
+            case "OriginalJSysDG": return "JSysDG";
+            default:
+                throw new IllegalArgumentException("Unknown slicing algorithm " + algorithm);
+        }
+    }
+
+    /** Creates an instance of the algorithm. They may store state between traversals, so each needs its own. */
+    protected SlicingAlgorithm createAlgorithm() {
+        switch (algorithm) {
+            case "Classic": return new ClassicSlicingAlgorithm(sdg);
+            case "PseudoPredicate": return new PseudoPredicateSlicingAlgorithm((PSDG) sdg);
+            case "ExceptionSensitive": return new ExceptionSensitiveSlicingAlgorithm((ESSDG) sdg);
+            case "Allen": return new AllenSlicingAlgorithm((JSysDG) sdg);
+            case "JSysDG": return new JSysDGSlicingAlgorithm((JSysDG) sdg);
+            case "OriginalJSysDG": return new OriginalJSysDGSlicingAlgorithm((JSysDG) sdg);
+            default:
+                throw new IllegalArgumentException("Unknown slicing algorithm " + algorithm);
+        }
+    }
+
+    /** Slices the graph with each of the program's criteria. */
+    @Benchmark
+    public void slice(Blackhole blackhole) {
+        for (Set<GraphNode<?>> criterion : criteria)
+            blackhole.consume(createAlgorithm().traverse(criterion));
+    }
+
+    /** Slices the graph with each of its nodes, sharing work between slices if the algorithm supports it. */
+    @Benchmark
+    public void sliceAllNodes(Blackhole blackhole) {
+        SlicingAlgorithm slicingAlgorithm = createAlgorithm();
+        if (slicingAlgorithm instanceof BatchSlicingAlgorithm) {
+            blackhole.consume(((BatchSlicingAlgorithm) slicingAlgorithm).traverseAll(allNodes));
+            return;
+        }
+        for (Set<GraphNode<?>> criterion : allNodes)
+            blackhole.consume(createAlgorithm().traverse(criterion));
+    }
+}
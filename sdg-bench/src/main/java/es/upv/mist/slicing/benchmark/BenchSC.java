@@ -74,8 +74,8 @@ public class BenchSC {
                         System.out.printf("There are %d real nodes SCs", findRealSCs(baseSDG).size());
                         System.exit(0);
                         for (SlicingCriterion sc : baseCriteria) {
-                            int baseNodes = new OriginalJSysDGSlicingAlgorithm((JSysDG) baseSDG).traverse(sc.findNode(baseSDG)).getGraphNodes().size();
-                            int benchNodes = baseSDG.slice(sc).getGraphNodes().size();
+                            int baseNodes = new OriginalJSysDGSlicingAlgorithm((JSysDG) baseSDG).traverse(sc.findNode(baseSDG)).size();
+                            int benchNodes = baseSDG.slice(sc).size();
                             pw.printf("\"%s\",%d,%d\n", sc, baseNodes, benchNodes);
                         }
                     } catch (FileNotFoundException e) {
@@ -0,0 +1,155 @@
+package es.upv.mist.slicing.cli;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.Problem;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.symbolsolver.cache.Cache;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Parses the files of a project, with several threads if requested, and creates the type solvers
+ * for its source directories. The type solvers reuse the compilation units parsed here, so that
+ * each file is parsed only once.
+ */
+public class ProjectParser {
+    protected final ParserConfiguration configuration;
+    protected final int threads;
+    /** Each thread has its own parser, as {@link JavaParser} instances are not thread-safe. */
+    protected final ThreadLocal<JavaParser> parser;
+    protected final Map<Path, Optional<CompilationUnit>> parsedFiles = new ConcurrentHashMap<>();
+
+    /**
+     * @param configuration The configuration of the parsers, which is shared by all threads and must not be
+     *                      modified while parsing. It should include the symbol resolver of the project.
+     * @param threads       The number of threads used to parse the files.
+     */
+    public ProjectParser(ParserConfiguration configuration, int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("The number of threads must be at least 1.");
+        this.configuration = configuration;
+        this.threads = threads;
+        this.parser = ThreadLocal.withInitial(() -> new JavaParser(configuration));
+    }
+
+    /**
+     * Parses the given files. The files that can't be read or contain syntax errors are
+     * reported in the list of problems, and are not included in the result.
+     * @return The compilation units parsed, in the same order as the files.
+     */
+    public List<CompilationUnit> parse(List<File> files, List<Problem> problems) {
+        CompilationUnit[] units = new CompilationUnit[files.size()];
+        List<Problem> foundProblems = Collections.synchronizedList(new LinkedList<>());
+        if (threads == 1) {
+            for (int i = 0; i < units.length; i++)
+                units[i] = parse(files.get(i), foundProblems);
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                pool.submit(() -> IntStream.range(0, units.length).parallel()
+                        .forEach(i -> units[i] = parse(files.get(i), foundProblems))).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while parsing files", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException)
+                    throw (RuntimeException) e.getCause();
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                pool.shutdown();
+            }
+        }
+        problems.addAll(foundProblems);
+        List<CompilationUnit> list = new ArrayList<>(units.length);
+        for (CompilationUnit unit : units)
+            if (unit != null)
+                list.add(unit);
+        return list;
+    }
+
+    /** Parses a single file with the parser of the current thread, and stores it for the type solvers. */
+    protected CompilationUnit parse(File file, List<Problem> problems) {
+        ParseResult<CompilationUnit> result;
+        try {
+            result = parser.get().parse(file);
+        } catch (FileNotFoundException e) {
+            problems.add(new Problem(e.getLocalizedMessage(), null, e));
+            return null;
+        }
+        if (!result.isSuccessful() || result.getResult().isEmpty()) {
+            problems.addAll(result.getProblems());
+            return null;
+        }
+        CompilationUnit cu = result.getResult().get();
+        Path path = file.toPath().toAbsolutePath();
+        parsedFiles.put(path, Optional.of(cu));
+        // The type solver normalizes some paths but not others
+        parsedFiles.putIfAbsent(path.normalize(), Optional.of(cu));
+        return cu;
+    }
+
+    /**
+     * Creates a type solver for the given source directory. It obtains the files parsed by
+     * this object from its cache, and only parses the files of the directory that weren't
+     * parsed here. Unlike the default caches, the entries are never evicted, so that the
+     * files aren't parsed again when memory is low.
+     */
+    public JavaParserTypeSolver createTypeSolver(File directory) {
+        return new JavaParserTypeSolver(directory.toPath(), new JavaParser(configuration),
+                new MapCache<>(parsedFiles), new MapCache<>(new ConcurrentHashMap<>()), new MapCache<>(new ConcurrentHashMap<>()));
+    }
+
+    /** A {@link Cache} backed by a map, whose entries are only removed explicitly. */
+    protected static class MapCache<K, V> implements Cache<K, V> {
+        protected final Map<K, V> map;
+
+        public MapCache(Map<K, V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public void put(K key, V value) {
+            map.put(key, value);
+        }
+
+        @Override
+        public Optional<V> get(K key) {
+            return Optional.ofNullable(map.get(key));
+        }
+
+        @Override
+        public void remove(K key) {
+            map.remove(key);
+        }
+
+        @Override
+        public void removeAll() {
+            map.clear();
+        }
+
+        @Override
+        public boolean contains(K key) {
+            return map.containsKey(key);
+        }
+
+        @Override
+        public long size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return map.isEmpty();
+        }
+    }
+}
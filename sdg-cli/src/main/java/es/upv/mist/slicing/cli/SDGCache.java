@@ -0,0 +1,283 @@
+package es.upv.mist.slicing.cli;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import es.upv.mist.slicing.graphs.augmented.ASDG;
+import es.upv.mist.slicing.graphs.augmented.PSDG;
+import es.upv.mist.slicing.graphs.exceptionsensitive.ESSDG;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.graphs.sdg.SDG;
+import es.upv.mist.slicing.slicing.Slice;
+import es.upv.mist.slicing.slicing.SlicingCriterion;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A cache of built SDGs, keyed by project root and graph type. Each project is parsed and built
+ * on its first request, and its graph is reused until it is evicted. When the least recently used
+ * graphs exceed the memory budget, they are evicted as a whole.
+ * <br/>
+ * The source files of a project are checked on each request: if any has been added, modified
+ * or removed, the graph is rebuilt incrementally (see {@link SDG#rebuild(NodeList, Collection)}).
+ * Slices of the same graph may be computed concurrently. Each project has its own type solver, so
+ * classes with the same name in different projects are not confused. The type solver reuses the
+ * compilation units of the graph instead of parsing its own copy of the files, and forgets the types
+ * that it has found whenever a file changes.
+ * Graphs are built one at a time (see {@link SDG#build(NodeList)}).
+ */
+public class SDGCache {
+    /** Estimated memory used by each node of a graph, including its AST node and variable actions. */
+    protected static final long NODE_SIZE = 1024;
+    /** Estimated memory used by each arc of a graph. */
+    protected static final long ARC_SIZE = 128;
+    /** The types of graph that can be built. */
+    protected static final List<String> GRAPH_TYPES = List.of("SDG", "ASDG", "PSDG", "ESSDG", "JSysDG");
+
+    protected final long memoryBudget;
+    protected final int buildThreads;
+    /** The parser configuration used to build the graphs, as {@link StaticJavaParser}'s is local to each thread. */
+    protected final ParserConfiguration parserConfiguration;
+    /** The cached graphs, from least to most recently used. */
+    protected final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    protected long usedMemory = 0;
+
+    /**
+     * @param memoryBudget The maximum estimated memory (in bytes) used by the cached graphs.
+     *                     The most recently used graph is always kept, even if it exceeds it.
+     * @param buildThreads The number of threads used to build each graph.
+     *                     The graphs are parsed with the current thread's {@link StaticJavaParser} configuration.
+     */
+    public SDGCache(long memoryBudget, int buildThreads) {
+        this.memoryBudget = memoryBudget;
+        this.buildThreads = buildThreads;
+        this.parserConfiguration = StaticJavaParser.getConfiguration();
+    }
+
+    /**
+     * Slices the graph of the given project, building or updating it if necessary.
+     * @param root The root directory of the project's sources.
+     * @param type The type of graph, as accepted by the {@code --type} option of {@link Slicer}.
+     * @param sc The slicing criterion.
+     * @param action A function that converts the slice, executed while the graph can't be modified.
+     * @throws IllegalArgumentException If the root is not a directory or the type of graph is unknown.
+     */
+    public <R> R slice(File root, String type, SlicingCriterion sc, Function<Slice, R> action) throws IOException {
+        if (!root.isDirectory())
+            throw new IllegalArgumentException("The project root is not a directory: " + root);
+        if (!GRAPH_TYPES.contains(type))
+            throw new IllegalArgumentException("Unknown type of graph. Available graphs are " + String.join(", ", GRAPH_TYPES));
+        Entry entry = getEntry(new Key(root.getCanonicalFile(), type));
+        Map<File, Long> files = findFiles(entry.key.root);
+        if (files.isEmpty())
+            throw new IllegalArgumentException("The project root does not contain Java files: " + root);
+        entry.lock.readLock().lock();
+        if (!files.equals(entry.files)) {
+            entry.lock.readLock().unlock();
+            entry.lock.writeLock().lock();
+            try {
+                // Another request may have updated the graph in the meantime
+                if (!files.equals(entry.files))
+                    update(entry, files);
+                entry.lock.readLock().lock();
+            } finally {
+                entry.lock.writeLock().unlock();
+            }
+        }
+        try {
+            return action.apply(entry.sdg.slice(sc));
+        } finally {
+            entry.lock.readLock().unlock();
+        }
+    }
+
+    /** Removes all the graphs of the given project root. */
+    public synchronized void evict(File root) throws IOException {
+        File canonicalRoot = root.getCanonicalFile();
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> mapEntry = iterator.next();
+            if (mapEntry.getKey().root.equals(canonicalRoot)) {
+                usedMemory -= mapEntry.getValue().size;
+                iterator.remove();
+            }
+        }
+    }
+
+    /** The number of graphs in the cache. */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** The estimated memory (in bytes) used by the graphs in the cache. */
+    public synchronized long getUsedMemory() {
+        return usedMemory;
+    }
+
+    /** Obtains the entry of the given key, creating an empty one if needed, and marks it as the most recently used. */
+    protected synchronized Entry getEntry(Key key) {
+        return entries.computeIfAbsent(key, k -> new Entry(k, parserConfiguration));
+    }
+
+    /** Parses the new and modified files of the entry and builds its graph. The entry's write lock must be held. */
+    protected void update(Entry entry, Map<File, Long> files) throws FileNotFoundException {
+        StaticJavaParser.setConfiguration(parserConfiguration);
+        Map<File, CompilationUnit> units = new HashMap<>();
+        List<CompilationUnit> changed = new LinkedList<>();
+        for (Map.Entry<File, Long> file : files.entrySet()) {
+            CompilationUnit unit = entry.units.get(file.getKey());
+            if (unit == null || !file.getValue().equals(entry.files.get(file.getKey()))) {
+                unit = StaticJavaParser.parse(file.getKey());
+                // Resolved with the project's type solver instead of the one of the configuration
+                entry.symbolSolver.inject(unit);
+                changed.add(unit);
+            }
+            units.put(file.getKey(), unit);
+        }
+        if (!changed.isEmpty() || !files.keySet().equals(entry.files.keySet()))
+            entry.updateTypeSolver(units);
+        NodeList<CompilationUnit> nodeList = new NodeList<>(units.values());
+        SDG sdg = entry.sdg;
+        // A graph whose update fails is discarded, and built from scratch on the next request
+        entry.sdg = null;
+        entry.files = Collections.emptyMap();
+        entry.units = Collections.emptyMap();
+        if (sdg == null) {
+            sdg = createGraph(entry.key.type);
+            sdg.setBuildThreads(buildThreads);
+            sdg.build(nodeList);
+        } else {
+            sdg.rebuild(nodeList, changed);
+        }
+        entry.sdg = sdg;
+        entry.units = units;
+        entry.files = files;
+        resize(entry, estimateSize(entry.sdg));
+    }
+
+    /** Updates the size of the given entry, and evicts the least recently used graphs if the budget is exceeded. */
+    protected synchronized void resize(Entry entry, long size) {
+        if (entries.get(entry.key) != entry)
+            return; // The entry was evicted while it was built
+        usedMemory += size - entry.size;
+        entry.size = size;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (usedMemory > memoryBudget && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            if (eldest == entry)
+                continue;
+            usedMemory -= eldest.size;
+            iterator.remove();
+        }
+    }
+
+    /** An estimate of the memory used by a graph, based on its number of nodes and arcs. */
+    protected long estimateSize(SDG sdg) {
+        return sdg.vertexSet().size() * NODE_SIZE + sdg.edgeSet().size() * ARC_SIZE;
+    }
+
+    /** Finds all Java files in the given directory, along with their modification time. */
+    protected Map<File, Long> findFiles(File root) throws IOException {
+        try (Stream<Path> stream = Files.walk(root.toPath())) {
+            return stream.filter(path -> path.toString().endsWith(".java") && Files.isRegularFile(path))
+                    .map(Path::toFile)
+                    .collect(Collectors.toMap(Function.identity(), File::lastModified));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** Creates an empty graph of the given type. */
+    protected SDG createGraph(String type) {
+        switch (type) {
+            case "SDG":    return new SDG();
+            case "ASDG":   return new ASDG();
+            case "PSDG":   return new PSDG();
+            case "ESSDG":  return new ESSDG();
+            case "JSysDG": return new JSysDG();
+            default:
+                throw new IllegalArgumentException("Unknown type of graph. Available graphs are " + String.join(", ", GRAPH_TYPES));
+        }
+    }
+
+    protected static class Key {
+        protected final File root;
+        protected final String type;
+
+        protected Key(File root, String type) {
+            this.root = root;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && root.equals(((Key) o).root) && type.equals(((Key) o).type);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(root, type);
+        }
+    }
+
+    /** A cached graph. Its fields may only be modified while its write lock is held. */
+    protected static class Entry {
+        protected final Key key;
+        protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+        /** Resolves the symbols of the project, with the types of the JRE and those declared in its root. */
+        protected final JavaSymbolSolver symbolSolver;
+        /** The compilation units of the project, by path, which the type solver uses instead of parsing the files. */
+        protected final Map<Path, Optional<CompilationUnit>> parsedFiles = new ConcurrentHashMap<>();
+        /** The caches of the type solver that refer to the declarations of the compilation units. */
+        protected final Map<Path, List<CompilationUnit>> parsedDirectories = new ConcurrentHashMap<>();
+        protected final Map<String, SymbolReference<ResolvedReferenceTypeDeclaration>> foundTypes = new ConcurrentHashMap<>();
+        protected SDG sdg;
+        /** The source files of the graph, along with their modification time. */
+        protected Map<File, Long> files = Collections.emptyMap();
+        protected Map<File, CompilationUnit> units = Collections.emptyMap();
+        protected long size = 0;
+
+        /** @param configuration The configuration used to parse the files of the project, which the type solver
+         *                      only parses if they haven't been parsed for the graph (e.g. during its first build). */
+        protected Entry(Key key, ParserConfiguration configuration) {
+            this.key = key;
+            JavaParserTypeSolver typeSolver = new JavaParserTypeSolver(key.root.toPath(), new JavaParser(configuration),
+                    new ProjectParser.MapCache<>(parsedFiles), new ProjectParser.MapCache<>(parsedDirectories),
+                    new ProjectParser.MapCache<>(foundTypes));
+            this.symbolSolver = new JavaSymbolSolver(new CombinedTypeSolver(new ReflectionTypeSolver(true), typeSolver));
+        }
+
+        /** Replaces the compilation units of the type solver, and discards the types that it found in the old ones. */
+        protected void updateTypeSolver(Map<File, CompilationUnit> units) {
+            parsedFiles.clear();
+            for (Map.Entry<File, CompilationUnit> unit : units.entrySet()) {
+                Path path = unit.getKey().toPath().toAbsolutePath();
+                parsedFiles.put(path, Optional.of(unit.getValue()));
+                // The type solver normalizes some paths but not others
+                parsedFiles.putIfAbsent(path.normalize(), Optional.of(unit.getValue()));
+            }
+            parsedDirectories.clear();
+            foundTypes.clear();
+        }
+    }
+}
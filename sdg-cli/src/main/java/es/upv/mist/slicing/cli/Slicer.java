@@ -6,12 +6,13 @@ import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.comments.BlockComment;
 import com.github.javaparser.ast.nodeTypes.NodeWithName;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
 import es.upv.mist.slicing.graphs.augmented.ASDG;
 import es.upv.mist.slicing.graphs.augmented.PSDG;
 import es.upv.mist.slicing.graphs.exceptionsensitive.ESSDG;
 import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.graphs.sdg.BuildMetrics;
 import es.upv.mist.slicing.graphs.sdg.SDG;
+import es.upv.mist.slicing.graphs.sdg.SDGSnapshot;
 import es.upv.mist.slicing.slicing.FileLineSlicingCriterion;
 import es.upv.mist.slicing.slicing.Slice;
 import es.upv.mist.slicing.slicing.SlicingCriterion;
@@ -21,12 +22,18 @@ import org.apache.commons.cli.*;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class Slicer {
@@ -86,6 +93,31 @@ public class Slicer {
                 .hasArg().argName("graph-type")
                 .desc("The type of graph to be built. Available options are SDG, ASDG, PSDG, ESSDG.")
                 .build());
+        OPTIONS.addOption(Option
+                .builder().longOpt("threads")
+                .hasArg().argName("count").type(Number.class)
+                .desc("The number of threads used to parse the files and to build the graph of each method." +
+                        " By default, a single thread is used.")
+                .build());
+        OPTIONS.addOption(Option
+                .builder().longOpt("snapshot")
+                .hasArg().argName("snapshot-file")
+                .desc("A snapshot of the graph. If the file exists, the slice is computed from it, without parsing" +
+                        " the files or building the graph. Otherwise, the graph is built and saved to it." +
+                        " The type of the graph must match the one of the snapshot.")
+                .build());
+        OPTIONS.addOption(Option
+                .builder().longOpt("demand")
+                .desc("Only builds the graphs of the methods that may be part of the slice: those that contain the" +
+                        " slicing criterion, those that may call them and those that may be called from any of them." +
+                        " It can't be combined with a snapshot, as the graph is only valid for this criterion.")
+                .build());
+        OPTIONS.addOption(Option
+                .builder().longOpt("metrics")
+                .hasArg().argName("json-file")
+                .desc("Measures the construction of the graph (time, allocated memory and size of each phase and" +
+                        " of the graph of each method, and iterations of each analysis) and saves it to a JSON file.")
+                .build());
         OPTIONS.addOption(Option
                 .builder("h").longOpt("help")
                 .desc("Shows this text")
@@ -97,6 +129,10 @@ public class Slicer {
     private File scFile;
     private int scLine;
     private String scVar;
+    private int threads = 1;
+    private File snapshotFile;
+    private File metricsFile;
+    private boolean demandDriven = false;
     private final CommandLine cliOpts;
 
     public Slicer(String... cliArgs) throws ParseException {
@@ -124,6 +160,24 @@ public class Slicer {
         if (cliOpts.hasOption('o'))
             outputDir = new File(cliOpts.getOptionValue("o"));
 
+        if (cliOpts.hasOption("threads")) {
+            threads = ((Number) cliOpts.getParsedOptionValue("threads")).intValue();
+            if (threads < 1)
+                throw new ParseException("The number of threads must be at least 1.");
+        }
+
+        if (cliOpts.hasOption("snapshot"))
+            snapshotFile = new File(cliOpts.getOptionValue("snapshot"));
+
+        if (cliOpts.hasOption("demand")) {
+            if (snapshotFile != null)
+                throw new ParseException("The options \"--demand\" and \"--snapshot\" can't be combined.");
+            demandDriven = true;
+        }
+
+        if (cliOpts.hasOption("metrics"))
+            metricsFile = new File(cliOpts.getOptionValue("metrics"));
+
         if (cliOpts.hasOption('i')) {
             for (String str : cliOpts.getOptionValues('i')) {
                 File dir = new File(str);
@@ -174,47 +228,109 @@ public class Slicer {
     public void slice() throws ParseException {
         // Configure JavaParser
         StaticJavaParser.getConfiguration().setAttributeComments(false);
+        SDG sdg = createGraph();
+        if (snapshotFile != null && !SDGSnapshot.supports(sdg))
+            throw new ParseException("Snapshots can't be used with the graph type " + sdg.getClass().getSimpleName() + ".");
+        if (snapshotFile != null && snapshotFile.isFile()) {
+            sliceSnapshot(sdg);
+            return;
+        }
         Logger.getLogger(Logger.GLOBAL_LOGGER_NAME).log(Level.INFO, "Configuring JavaParser");
         StaticTypeSolver.addTypeSolverJRE();
-        for (File directory : dirIncludeSet)
-            StaticTypeSolver.addTypeSolver(new JavaParserTypeSolver(directory));
+        ProjectParser parser = new ProjectParser(StaticJavaParser.getConfiguration(), threads);
 
         // Build the SDG
         Logger.getLogger(Logger.GLOBAL_LOGGER_NAME).log(Level.INFO, "Parsing files");
-        Set<CompilationUnit> units = new NodeHashSet<>();
+        List<File> files = findAllJavaFiles(dirIncludeSet).collect(Collectors.toList());
+        if (files.stream().noneMatch(file -> Objects.equals(file.getAbsoluteFile(), scFile.getAbsoluteFile())))
+            files.add(scFile);
         List<Problem> problems = new LinkedList<>();
-        boolean scFileFound = false;
-        for (File file : (Iterable<File>) findAllJavaFiles(dirIncludeSet)::iterator)
-            scFileFound |= parse(file, units, problems);
-        if (!scFileFound)
-            parse(scFile, units, problems);
+        Set<CompilationUnit> units = new NodeHashSet<>();
+        units.addAll(parser.parse(files, problems));
         if (!problems.isEmpty()) {
             for (Problem p : problems)
                 System.out.println(" * " + p.getVerboseMessage());
             throw new ParseException("Some problems were found while parsing files or folders");
         }
+        // The type solvers reuse the compilation units instead of parsing the files again
+        for (File directory : dirIncludeSet)
+            StaticTypeSolver.addTypeSolver(parser.createTypeSolver(directory));
+
+        Logger.getLogger(Logger.GLOBAL_LOGGER_NAME).log(Level.INFO, "Building the SDG");
+        sdg.setBuildThreads(threads);
+        BuildMetrics metrics = new BuildMetrics();
+        if (metricsFile != null)
+            sdg.setBuildListener(metrics);
+        SlicingCriterion sc = new FileLineSlicingCriterion(scFile, scLine, scVar);
+        try {
+            if (demandDriven)
+                sdg.build(new NodeList<>(units), List.of(sc));
+            else
+                sdg.build(new NodeList<>(units));
+        } finally {
+            // Saved even if the build fails, as the measurements of the finished phases may explain it
+            if (metricsFile != null)
+                saveMetrics(metrics);
+        }
+        if (snapshotFile != null) {
+            Logger.getLogger(Logger.GLOBAL_LOGGER_NAME).log(Level.INFO, "Saving the SDG to " + snapshotFile);
+            try {
+                SDGSnapshot.write(sdg, snapshotFile.toPath());
+            } catch (IOException e) {
+                System.err.println("Could not write snapshot " + snapshotFile);
+            }
+        }
+
+        // Slice the SDG
+        Logger.getLogger(Logger.GLOBAL_LOGGER_NAME).log(Level.INFO, "Searching for criterion and slicing");
+        Slice slice = sdg.slice(sc);
+        printSlice(slice.toAst());
+    }
+
+    /** Saves the measurements of the build to {@link #metricsFile}. */
+    protected void saveMetrics(BuildMetrics metrics) {
+        Logger.getLogger(Logger.GLOBAL_LOGGER_NAME).log(Level.INFO, "Saving the build metrics to " + metricsFile);
+        try (Writer writer = new FileWriter(metricsFile, StandardCharsets.UTF_8)) {
+            metrics.writeJson(writer);
+        } catch (IOException e) {
+            System.err.println("Could not write metrics " + metricsFile);
+        }
+    }
 
-        SDG sdg;
+    /** Creates an empty graph of the type selected with the "type" option. */
+    protected SDG createGraph() {
         switch (cliOpts.getOptionValue("type", "JSysDG")) {
-            case "SDG":   sdg = new SDG();   break;
-            case "ASDG":  sdg = new ASDG();  break;
-            case "PSDG":  sdg = new PSDG();  break;
-            case "ESSDG": sdg = new ESSDG(); break;
-            case "JSysDG": sdg = new JSysDG(); break;
+            case "SDG":    return new SDG();
+            case "ASDG":   return new ASDG();
+            case "PSDG":   return new PSDG();
+            case "ESSDG":  return new ESSDG();
+            case "JSysDG": return new JSysDG();
             default:
                 throw new IllegalArgumentException("Unknown type of graph. Available graphs are SDG, ASDG, PSDG, ESSDG");
         }
-        Logger.getLogger(Logger.GLOBAL_LOGGER_NAME).log(Level.INFO, "Building the SDG");
-        sdg.build(new NodeList<>(units));
+    }
 
-        // Slice the SDG
+    /** Slices the snapshot in {@link #snapshotFile}, without building the SDG.
+     *  @param sdg An empty graph of the requested type, which must be the type of the stored graph. */
+    protected void sliceSnapshot(SDG sdg) throws ParseException {
+        Logger.getLogger(Logger.GLOBAL_LOGGER_NAME).log(Level.INFO, "Loading the SDG from " + snapshotFile);
+        SDGSnapshot snapshot;
+        try {
+            snapshot = SDGSnapshot.open(snapshotFile.toPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!snapshot.getGraphType().equals(sdg.getClass().getName()))
+            throw new ParseException("The snapshot " + snapshotFile + " contains a graph of type " + snapshot.getGraphType()
+                    + ", but the type " + sdg.getClass().getName() + " was requested.");
         Logger.getLogger(Logger.GLOBAL_LOGGER_NAME).log(Level.INFO, "Searching for criterion and slicing");
-        SlicingCriterion sc = new FileLineSlicingCriterion(scFile, scLine, scVar);
-        Slice slice = sdg.slice(sc);
+        printSlice(snapshot.slice(scFile, scLine, scVar).toAst());
+    }
 
-        // Convert the slice to code and output the result to `outputDir`
+    /** Converts the slice to code and outputs the result to {@link #outputDir}. */
+    protected void printSlice(NodeList<CompilationUnit> units) {
         Logger.getLogger(Logger.GLOBAL_LOGGER_NAME).log(Level.INFO, "Printing slice to files");
-        for (CompilationUnit cu : slice.toAst()) {
+        for (CompilationUnit cu : units) {
             if (cu.getStorage().isEmpty())
                 throw new IllegalStateException("A synthetic CompilationUnit was discovered, with no file associated to it.");
             Logger.getLogger(Logger.GLOBAL_LOGGER_NAME).log(Level.INFO, "Printing slice for " + cu.getStorage().get().getFileName());
@@ -231,15 +347,6 @@ public class Slicer {
         }
     }
 
-    private boolean parse(File file, Set<CompilationUnit> units, List<Problem> problems) {
-        try {
-            units.add(StaticJavaParser.parse(file));
-        } catch (FileNotFoundException e) {
-            problems.add(new Problem(e.getLocalizedMessage(), null, e));
-        }
-        return Objects.equals(file.getAbsoluteFile(), scFile.getAbsoluteFile());
-    }
-
     protected Stream<File> findAllJavaFiles(Collection<File> files) {
         Stream.Builder<File> builder = Stream.builder();
         for (File file : files)
@@ -0,0 +1,234 @@
+package es.upv.mist.slicing.cli;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.comments.BlockComment;
+import com.github.javaparser.ast.nodeTypes.NodeWithName;
+import es.upv.mist.slicing.slicing.FileLineSlicingCriterion;
+import es.upv.mist.slicing.slicing.SlicingCriterion;
+import es.upv.mist.slicing.utils.StaticTypeSolver;
+import org.apache.commons.cli.*;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+
+/**
+ * A long-running slicer, which keeps the graphs that it builds in a {@link SDGCache}. Requests are read
+ * line by line, from the standard input or from the connections accepted on a local port, and are answered
+ * concurrently, each with a single line that starts with the request's id. Fields are separated by spaces.
+ * <ul>
+ *     <li>{@code id SLICE graph-type project-root file#line[:var] output-dir}: slices the project, writes
+ *     the sliced files to the output directory and answers {@code id OK file...}.</li>
+ *     <li>{@code id EVICT project-root}: removes the graphs of the project from the cache and answers {@code id OK}.</li>
+ *     <li>{@code id STATS}: answers {@code id OK graphs memory}, with the number of cached graphs and
+ *     their estimated size in bytes.</li>
+ * </ul>
+ * Requests that fail are answered with {@code id ERROR message}.
+ */
+public class SlicerServer {
+    protected static final String HELP_HEADER = "Java SDG Slicer server: keeps the graphs built in memory and" +
+            " answers slicing requests read from the standard input or a local port.";
+
+    protected static final Options OPTIONS = new Options();
+
+    static {
+        OPTIONS.addOption(Option
+                .builder("p").longOpt("port")
+                .hasArg().argName("port").type(Number.class)
+                .desc("The local port where requests are accepted. By default, they are read from the standard input.")
+                .build());
+        OPTIONS.addOption(Option
+                .builder("m").longOpt("memory")
+                .hasArg().argName("megabytes").type(Number.class)
+                .desc("The estimated memory that the cached graphs may use. By default, half of the maximum heap size.")
+                .build());
+        OPTIONS.addOption(Option
+                .builder().longOpt("threads")
+                .hasArg().argName("count").type(Number.class)
+                .desc("The number of requests answered concurrently. By default, the number of processors.")
+                .build());
+        OPTIONS.addOption(Option
+                .builder().longOpt("build-threads")
+                .hasArg().argName("count").type(Number.class)
+                .desc("The number of threads used to build the graph of each method. By default, a single thread is used.")
+                .build());
+        OPTIONS.addOption(Option
+                .builder("h").longOpt("help")
+                .desc("Shows this text")
+                .build());
+    }
+
+    private int port = -1;
+    private long memoryBudget = Runtime.getRuntime().maxMemory() / 2;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int buildThreads = 1;
+
+    public SlicerServer(String... cliArgs) throws ParseException {
+        CommandLine cliOpts = new DefaultParser().parse(OPTIONS, cliArgs);
+        if (cliOpts.hasOption('h'))
+            printHelp();
+        if (cliOpts.hasOption('p')) {
+            port = ((Number) cliOpts.getParsedOptionValue("p")).intValue();
+            if (port < 0 || port > 65535)
+                throw new ParseException("The port must be between 0 and 65535.");
+        }
+        if (cliOpts.hasOption('m')) {
+            memoryBudget = ((Number) cliOpts.getParsedOptionValue("m")).longValue() * 1024 * 1024;
+            if (memoryBudget < 0)
+                throw new ParseException("The memory budget cannot be negative.");
+        }
+        if (cliOpts.hasOption("threads")) {
+            threads = ((Number) cliOpts.getParsedOptionValue("threads")).intValue();
+            if (threads < 1)
+                throw new ParseException("The number of threads must be at least 1.");
+        }
+        if (cliOpts.hasOption("build-threads")) {
+            buildThreads = ((Number) cliOpts.getParsedOptionValue("build-threads")).intValue();
+            if (buildThreads < 1)
+                throw new ParseException("The number of build threads must be at least 1.");
+        }
+    }
+
+    /** Answers requests until the standard input is closed or, if a port was given, until the process is stopped. */
+    public void serve() throws IOException {
+        StaticTypeSolver.addTypeSolverJRE();
+        StaticJavaParser.getConfiguration().setAttributeComments(false);
+        SDGCache cache = new SDGCache(memoryBudget, buildThreads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            if (port < 0) {
+                serve(cache, executor, System.in, System.out);
+                return;
+            }
+            try (ServerSocket serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+                Logger.getLogger(Logger.GLOBAL_LOGGER_NAME).log(Level.INFO, "Listening on port " + serverSocket.getLocalPort());
+                while (!serverSocket.isClosed()) {
+                    Socket socket = serverSocket.accept();
+                    Thread thread = new Thread(() -> {
+                        try (socket) {
+                            serve(cache, executor, socket.getInputStream(), socket.getOutputStream());
+                        } catch (IOException e) {
+                            Logger.getLogger(Logger.GLOBAL_LOGGER_NAME).log(Level.WARNING, "Connection closed", e);
+                        }
+                    });
+                    thread.setDaemon(true);
+                    thread.start();
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /** Reads requests from the input and writes their answers to the output, waiting for all of them
+     *  to be answered once the input is closed. */
+    protected void serve(SDGCache cache, ExecutorService executor, InputStream in, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        PrintWriter writer = new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), true);
+        List<Future<?>> pending = new LinkedList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank())
+                continue;
+            String request = line;
+            pending.add(executor.submit(() -> {
+                String answer = answer(cache, request);
+                synchronized (writer) {
+                    writer.println(answer);
+                }
+            }));
+            pending.removeIf(Future::isDone);
+        }
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                Logger.getLogger(Logger.GLOBAL_LOGGER_NAME).log(Level.WARNING, "Request failed", e.getCause());
+            }
+        }
+    }
+
+    /** Executes a single request, and returns its answer. */
+    protected String answer(SDGCache cache, String request) {
+        String[] fields = request.trim().split("\\s+");
+        String id = fields[0];
+        try {
+            if (fields.length == 6 && fields[1].equals("SLICE"))
+                return id + " OK" + slice(cache, fields[2], new File(fields[3]), fields[4], new File(fields[5]));
+            if (fields.length == 3 && fields[1].equals("EVICT")) {
+                cache.evict(new File(fields[2]));
+                return id + " OK";
+            }
+            if (fields.length == 2 && fields[1].equals("STATS"))
+                return id + " OK " + cache.size() + " " + cache.getUsedMemory();
+            return id + " ERROR Unknown request, see --help for more details";
+        } catch (Exception e) {
+            Logger.getLogger(Logger.GLOBAL_LOGGER_NAME).log(Level.FINE, "Request " + id + " failed", e);
+            return id + " ERROR " + String.valueOf(e.getMessage()).replaceAll("\\s+", " ");
+        }
+    }
+
+    /** Slices a project and writes the result to the output directory.
+     *  @return The list of files written, each preceded by a space. */
+    protected String slice(SDGCache cache, String type, File root, String criterion, File outputDir) throws IOException {
+        Matcher matcher = Slicer.SC_PATTERN.matcher(criterion);
+        if (!matcher.matches())
+            throw new IllegalArgumentException("Invalid format for slicing criterion: " + criterion);
+        File scFile = new File(matcher.group("file")).getCanonicalFile();
+        int scLine = Integer.parseInt(matcher.group("line"));
+        SlicingCriterion sc = new FileLineSlicingCriterion(scFile, scLine, matcher.group("var"));
+        // The slice is converted while the graph is locked, as its AST can't change meanwhile
+        List<CompilationUnit> units = cache.slice(root, type, sc, slice -> new LinkedList<>(slice.toAst()));
+        StringBuilder written = new StringBuilder();
+        for (CompilationUnit cu : units) {
+            if (cu.getStorage().isEmpty())
+                throw new IllegalStateException("A synthetic CompilationUnit was discovered, with no file associated to it.");
+            String packagePath = cu.getPackageDeclaration().map(NodeWithName::getNameAsString).orElse("").replace(".", "/");
+            File packageDir = new File(outputDir, packagePath);
+            packageDir.mkdirs();
+            File javaFile = new File(packageDir, cu.getStorage().get().getFileName());
+            try (PrintWriter pw = new PrintWriter(javaFile, StandardCharsets.UTF_8)) {
+                pw.print(new BlockComment(getDisclaimer(criterion, cu.getStorage().get())));
+                pw.print(cu);
+            }
+            written.append(' ').append(javaFile);
+        }
+        return written.toString();
+    }
+
+    protected String getDisclaimer(String criterion, CompilationUnit.Storage s) {
+        return String.format("\n\tThis file was automatically generated as part of a slice with criterion" +
+                "\n\t%s\n\tOriginal file: %s\n", criterion, s.getPath());
+    }
+
+    protected void printHelp() {
+        HelpFormatter formatter = new HelpFormatter();
+        formatter.setWidth(120);
+        formatter.printHelp("java -cp sdg-cli.jar " + SlicerServer.class.getName(), HELP_HEADER, OPTIONS,
+                "\nRequests (one per line): \"id SLICE graph-type project-root file#line[:var] output-dir\"," +
+                        " \"id EVICT project-root\" or \"id STATS\".", true);
+        System.exit(0);
+    }
+
+    public static void main(String... args) {
+        try {
+            new SlicerServer(args).serve();
+        } catch (ParseException e) {
+            System.err.println("Error parsing the arguments!\n" + e.getMessage());
+        } catch (IOException e) {
+            System.err.println("Error!\n" + e.getMessage());
+        }
+    }
+}
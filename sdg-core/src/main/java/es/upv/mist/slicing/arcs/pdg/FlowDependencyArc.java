@@ -1,7 +1,7 @@
 package es.upv.mist.slicing.arcs.pdg;
 
 import es.upv.mist.slicing.arcs.Arc;
-import es.upv.mist.slicing.utils.Utils;
+import es.upv.mist.slicing.nodes.FieldPath;
 
 /** Represents a data dependency in an object-oriented SDG or PDG. */
 public class FlowDependencyArc extends Arc {
@@ -13,8 +13,8 @@ public class FlowDependencyArc extends Arc {
         super(variable);
     }
 
-    public FlowDependencyArc(String[] member) {
-        super(Utils.arrayJoin(member, "."));
+    public FlowDependencyArc(FieldPath member) {
+        super(member.toString());
     }
 
 }
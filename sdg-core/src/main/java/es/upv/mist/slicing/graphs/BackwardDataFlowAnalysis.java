@@ -8,6 +8,11 @@ import java.util.stream.Collectors;
 
 /**
  * A fixed-point analysis algorithm that propagates changes backwards through a given graph.
+ * The graph is split in strongly connected components, which are analyzed in reverse topological
+ * order (successors first). Inside each component, a work list without duplicates is used, and
+ * only the vertices affected by a change are computed again. A vertex whose value changes is also
+ * computed again, as implementations may apply the current value of a vertex as a side effect
+ * of {@link #compute(Object, Set)}.
  * @param <V> The graph's vertices type.
  * @param <E> The graph's edges type.
  * @param <D> The value to be computed for each vertex.
@@ -18,8 +23,14 @@ public abstract class BackwardDataFlowAnalysis<V, E, D> {
     protected final AbstractGraph<V, E> graph;
     /** A mapping of the latest value computed per node. */
     protected final Map<V, D> vertexDataMap = new HashMap<>();
+    /** The set of successors of each vertex, computed on demand. */
+    protected final Map<V, Set<V>> successorsMap = new HashMap<>();
 
     protected boolean built = false;
+    /** The number of times that {@link #compute(Object, Set)} has been called. */
+    protected int iterations = 0;
+    /** The number of times that {@link #compute(Object, Set)} has been called on an already computed vertex. */
+    protected int recomputations = 0;
 
     public BackwardDataFlowAnalysis(AbstractGraph<V, E> graph) {
         this.graph = graph;
@@ -29,24 +40,126 @@ public abstract class BackwardDataFlowAnalysis<V, E, D> {
      *  This method only performs the analysis on its first call. */
     public void analyze() {
         assert !built;
-        List<V> workList = new LinkedList<>(graph.vertexSet());
-        graph.vertexSet().forEach(v -> vertexDataMap.put(v, initialValue(v)));
-        while (!workList.isEmpty()) {
-            List<V> newWorkList = new LinkedList<>();
-            for (V vertex : workList) {
-                Set<V> mayAffectVertex = graph.outgoingEdgesOf(vertex).stream()
-                        .map(graph::getEdgeTarget).collect(Collectors.toCollection(ASTUtils::newIdentityHashSet));
-                D newValue = compute(vertex, mayAffectVertex);
+        for (V vertex : graph.vertexSet())
+            if (!isFixed(vertex))
+                vertexDataMap.put(vertex, initialValue(vertex));
+        Set<V> computed = new HashSet<>();
+        for (List<V> component : stronglyConnectedComponents()) {
+            component.removeIf(this::isFixed);
+            Set<V> componentSet = new HashSet<>(component);
+            Deque<V> workList = new LinkedList<>(component);
+            Set<V> queued = new HashSet<>(component);
+            while (!workList.isEmpty()) {
+                V vertex = workList.removeFirst();
+                queued.remove(vertex);
+                iterations++;
+                if (!computed.add(vertex))
+                    recomputations++;
+                D newValue = compute(vertex, successorsOf(vertex));
                 if (!dataMatch(vertexDataMap.get(vertex), newValue)) {
                     vertexDataMap.put(vertex, newValue);
-                    graph.incomingEdgesOf(vertex).stream().map(graph::getEdgeSource).forEach(newWorkList::add);
+                    // The vertex itself is computed again, so that its new value is seen by compute().
+                    // Vertices in other components are either computed already or computed later.
+                    if (queued.add(vertex))
+                        workList.addLast(vertex);
+                    for (E edge : graph.incomingEdgesOf(vertex)) {
+                        V source = graph.getEdgeSource(edge);
+                        if (componentSet.contains(source) && queued.add(source))
+                            workList.addLast(source);
+                    }
                 }
             }
-            workList = newWorkList;
         }
         built = true;
     }
 
+    /** Whether the value of the given vertex is known beforehand, and thus must not be initialized
+     *  nor computed. Implementations must place its value in {@link #vertexDataMap}, if needed.
+     *  No vertex is fixed by default. */
+    protected boolean isFixed(V vertex) {
+        return false;
+    }
+
+    /** The vertices that may affect the value of the given one. */
+    protected Set<V> successorsOf(V vertex) {
+        return successorsMap.computeIfAbsent(vertex, v -> graph.outgoingEdgesOf(v).stream()
+                .map(graph::getEdgeTarget).collect(Collectors.toCollection(ASTUtils::newIdentityHashSet)));
+    }
+
+    /**
+     * Computes the strongly connected components of the graph (Tarjan's algorithm, iteratively).
+     * @return The components, in reverse topological order: every component appears after
+     *         those that it can reach. The vertices of each component follow the graph's order.
+     */
+    protected List<List<V>> stronglyConnectedComponents() {
+        List<V> vertices = new ArrayList<>(graph.vertexSet());
+        Map<V, Integer> position = new HashMap<>();
+        for (int i = 0; i < vertices.size(); i++)
+            position.put(vertices.get(i), i);
+        int[] index = new int[vertices.size()];
+        int[] lowLink = new int[vertices.size()];
+        boolean[] onStack = new boolean[vertices.size()];
+        Arrays.fill(index, -1);
+        Deque<Integer> stack = new LinkedList<>();
+        Deque<Integer> callStack = new LinkedList<>();
+        Deque<Iterator<E>> edgeStack = new LinkedList<>();
+        List<List<V>> components = new LinkedList<>();
+        int counter = 0;
+        for (int root = 0; root < vertices.size(); root++) {
+            if (index[root] != -1)
+                continue;
+            index[root] = lowLink[root] = counter++;
+            stack.push(root);
+            onStack[root] = true;
+            callStack.push(root);
+            edgeStack.push(graph.outgoingEdgesOf(vertices.get(root)).iterator());
+            while (!callStack.isEmpty()) {
+                int v = callStack.peek();
+                Iterator<E> it = edgeStack.peek();
+                if (it.hasNext()) {
+                    int w = position.get(graph.getEdgeTarget(it.next()));
+                    if (index[w] == -1) {
+                        index[w] = lowLink[w] = counter++;
+                        stack.push(w);
+                        onStack[w] = true;
+                        callStack.push(w);
+                        edgeStack.push(graph.outgoingEdgesOf(vertices.get(w)).iterator());
+                    } else if (onStack[w]) {
+                        lowLink[v] = Math.min(lowLink[v], index[w]);
+                    }
+                    continue;
+                }
+                callStack.pop();
+                edgeStack.pop();
+                if (!callStack.isEmpty())
+                    lowLink[callStack.peek()] = Math.min(lowLink[callStack.peek()], lowLink[v]);
+                if (lowLink[v] == index[v]) {
+                    List<Integer> component = new ArrayList<>();
+                    int w;
+                    do {
+                        w = stack.pop();
+                        onStack[w] = false;
+                        component.add(w);
+                    } while (w != v);
+                    Collections.sort(component);
+                    components.add(component.stream().map(vertices::get).collect(Collectors.toCollection(ArrayList::new)));
+                }
+            }
+        }
+        return components;
+    }
+
+    /** The number of vertex computations performed by {@link #analyze()}. */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /** The number of vertex computations performed by {@link #analyze()} on vertices that had
+     *  already been computed. The rest are the first computation of each vertex. */
+    public int getRecomputations() {
+        return recomputations;
+    }
+
     /** Checks whether the computed value has changed or not. */
     protected boolean dataMatch(D oldData, D newData) {
         return Objects.equals(oldData, newData);
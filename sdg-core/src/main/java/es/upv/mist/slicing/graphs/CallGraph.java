@@ -17,6 +17,7 @@ import es.upv.mist.slicing.nodes.GraphNode;
 import es.upv.mist.slicing.utils.ASTUtils;
 import es.upv.mist.slicing.utils.NodeHashSet;
 import es.upv.mist.slicing.utils.NodeNotFoundException;
+import es.upv.mist.slicing.utils.ResolutionCache;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.graph.DirectedPseudograph;
 
@@ -43,12 +44,20 @@ public class CallGraph extends DirectedPseudograph<CallGraph.Vertex, CallGraph.E
 
     private boolean built = false;
 
+    /** Creates a call graph whose edges contain the node of each call. The calls placed in
+     *  declarations without a CFG are not included, as those declarations are not built. */
     public CallGraph(Map<CallableDeclaration<?>, CFG> cfgMap, ClassGraph classGraph) {
         super(null, null, false);
         this.cfgMap = cfgMap;
         this.classGraph = classGraph;
     }
 
+    /** Creates a call graph that doesn't require the CFGs, whose edges don't contain the node of
+     *  each call. It may be used to decide which declarations must be built. */
+    public CallGraph(ClassGraph classGraph) {
+        this(null, classGraph);
+    }
+
     /** Resolve a call to all its possible declarations, by using the call AST nodes stored on the edges. */
     public Stream<CallableDeclaration<?>> getCallTargets(Resolvable<? extends ResolvedMethodLikeDeclaration> call) {
         return edgeSet().stream()
@@ -126,7 +135,13 @@ public class CallGraph extends DirectedPseudograph<CallGraph.Vertex, CallGraph.E
     }
 
     protected boolean addEdge(CallableDeclaration<?> source, CallableDeclaration<?> target, Resolvable<? extends ResolvedMethodLikeDeclaration> call) {
-        Edge<?> edge = new Edge<>(call, findGraphNode(call, source));
+        GraphNode<?> graphNode = null;
+        if (cfgMap != null) {
+            if (!cfgMap.containsKey(source))
+                return false;
+            graphNode = findGraphNode(call, source);
+        }
+        Edge<?> edge = new Edge<>(call, graphNode);
         return addEdge(findVertexByDeclaration(source), findVertexByDeclaration(target), edge);
     }
 
@@ -176,19 +191,19 @@ public class CallGraph extends DirectedPseudograph<CallGraph.Vertex, CallGraph.E
             // =============== Method calls ===============
             @Override
             public void visit(MethodCallExpr n, Void arg) {
-                n.resolve().toAst().ifPresent(decl -> createPolyEdges(decl, n));
+                ResolutionCache.getInstance().resolve(n).toAst().ifPresent(decl -> createPolyEdges(decl, n));
                 super.visit(n, arg);
             }
 
             @Override
             public void visit(ObjectCreationExpr n, Void arg) {
-                n.resolve().toAst().ifPresent(decl -> createNormalEdge(decl, n));
+                ResolutionCache.getInstance().resolve(n).toAst().ifPresent(decl -> createNormalEdge(decl, n));
                 super.visit(n, arg);
             }
 
             @Override
             public void visit(ExplicitConstructorInvocationStmt n, Void arg) {
-                n.resolve().toAst().ifPresent(decl -> createNormalEdge(decl, n));
+                ResolutionCache.getInstance().resolve(n).toAst().ifPresent(decl -> createNormalEdge(decl, n));
                 super.visit(n, arg);
             }
 
@@ -213,13 +228,13 @@ public class CallGraph extends DirectedPseudograph<CallGraph.Vertex, CallGraph.E
                     dynamicTypes = classGraph.subclassesOf(typeStack.peek());
                 } else if (scope.get().isThisExpr()) {
                     // c) 'ClassName.this', the given class and any subclass
-                    dynamicTypes = classGraph.subclassesOf(scope.get().asThisExpr().resolve().asClass());
+                    dynamicTypes = classGraph.subclassesOf(ResolutionCache.getInstance().resolve(scope.get().asThisExpr()).asClass());
                 } else if (scope.get().isSuperExpr()) {
                     // d) 'super': start with the parent type and get the first implementation
                     dynamicTypes = Set.of(classGraph.parentOf(typeStack.peek()).orElseThrow());
                 } else {
                     // e) others: compute possible dynamic types of the expression (TODO)
-                    dynamicTypes = classGraph.subclassesOf(scope.get().calculateResolvedType().asReferenceType());
+                    dynamicTypes = classGraph.subclassesOf(ResolutionCache.getInstance().calculateResolvedType(scope.get()).asReferenceType());
                 }
                 // Locate the corresponding methods for each possible dynamic type, they must be available to all
                 // To locate them, use the method signature and search for it in the class graph
@@ -314,7 +329,7 @@ public class CallGraph extends DirectedPseudograph<CallGraph.Vertex, CallGraph.E
 
         public Edge(T call, GraphNode<?> graphNode) {
             assert call instanceof MethodCallExpr || call instanceof ObjectCreationExpr || call instanceof ExplicitConstructorInvocationStmt;
-            assert graphNode.containsCall(call);
+            assert graphNode == null || graphNode.containsCall(call);
             this.call = call;
             this.graphNode = graphNode;
         }
@@ -324,7 +339,8 @@ public class CallGraph extends DirectedPseudograph<CallGraph.Vertex, CallGraph.E
             return call;
         }
 
-        /** The graph node that contains the call represented by this edge. */
+        /** The graph node that contains the call represented by this edge, or null if
+         *  the call graph was built without CFGs. */
         public GraphNode<?> getGraphNode() {
             return graphNode;
         }
@@ -333,7 +349,7 @@ public class CallGraph extends DirectedPseudograph<CallGraph.Vertex, CallGraph.E
         public String toString() {
             return String.format("%s -%d-> %s",
                     ((CallableDeclaration<?>) getSource()).getDeclarationAsString(false, false, false),
-                    graphNode.getId(),
+                    graphNode != null ? graphNode.getId() : -1,
                     ((CallableDeclaration<?>) getTarget()).getDeclarationAsString(false, false, false));
         }
     }
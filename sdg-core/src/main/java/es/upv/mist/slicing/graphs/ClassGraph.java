@@ -23,21 +23,26 @@ import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static es.upv.mist.slicing.nodes.ObjectTree.ROOT_NODE;
-
 public class ClassGraph extends DirectedPseudograph<ClassGraph.Vertex<?>, ClassGraph.ClassArc> implements Buildable<NodeList<CompilationUnit>> {
-    private static ClassGraph instance = null;
+    private static volatile ClassGraph instance = null;
 
     /** Generates and returns a new class graph. This destroys the reference to the previous instance. */
-    public static ClassGraph getNewInstance() {
-        instance = null;
-        return getInstance();
+    public static synchronized ClassGraph getNewInstance() {
+        instance = new ClassGraph();
+        return instance;
     }
 
+    /** Obtains the current class graph. Once built, it may be read from multiple threads. */
     public static ClassGraph getInstance() {
-        if (instance == null)
-            instance = new ClassGraph();
-        return instance;
+        ClassGraph classGraph = instance;
+        if (classGraph == null) {
+            synchronized (ClassGraph.class) {
+                if (instance == null)
+                    instance = new ClassGraph();
+                classGraph = instance;
+            }
+        }
+        return classGraph;
     }
 
     /** A map from the FQ class name to its corresponding vertex. Use {@code mapKey(...)} to locate the key. */
@@ -47,6 +52,9 @@ public class ClassGraph extends DirectedPseudograph<ClassGraph.Vertex<?>, ClassG
     /** A map from the method's signature to its corresponding vertex. Use {@code mapKey(...)} to locate the key. */
     private final Map<String, ClassGraph.Vertex<CallableDeclaration<?>>> methodDeclarationMap = new HashMap<>();
 
+    /** The templates of the object trees of each type, indexed by depth. They are computed on demand. */
+    private final Map<Vertex<?>, ObjectTreeTemplate[]> objectTreeTemplates = ASTUtils.newIdentityHashMap();
+
     private boolean built = false;
 
     private ClassGraph() {
@@ -176,8 +184,10 @@ public class ClassGraph extends DirectedPseudograph<ClassGraph.Vertex<?>, ClassG
                 try {
                     // TODO: improve. Sometimes, the cu doesn't have the symbol solver. We readd that here.
                     method.getType().findCompilationUnit().ifPresentOrElse(cu -> {
-                        if (!cu.containsData(Node.SYMBOL_RESOLVER_KEY))
-                            cu.setData(Node.SYMBOL_RESOLVER_KEY, StaticJavaParser.getConfiguration().getSymbolResolver().orElseThrow(() -> new IllegalStateException("Symbol resolution not configured: to configure consider setting a SymbolResolver in the ParserConfiguration")));
+                        synchronized (cu) {
+                            if (!cu.containsData(Node.SYMBOL_RESOLVER_KEY))
+                                cu.setData(Node.SYMBOL_RESOLVER_KEY, StaticJavaParser.getConfiguration().getSymbolResolver().orElseThrow(() -> new IllegalStateException("Symbol resolution not configured: to configure consider setting a SymbolResolver in the ParserConfiguration")));
+                        }
                     }, () -> { throw new IllegalStateException("The node is not inserted in a CompilationUnit"); });
                     return Optional.of(generateObjectTreeFor(method.getType().asClassOrInterfaceType().resolve()));
                 } catch (UnsolvedSymbolException e) {
@@ -210,41 +220,53 @@ public class ClassGraph extends DirectedPseudograph<ClassGraph.Vertex<?>, ClassG
     }
 
     protected ObjectTree generateObjectTreeFor(Vertex<? extends TypeDeclaration<?>> classVertex) {
-        if (classVertex == null)
-            return new ObjectTree();
-        return generatePolyObjectTreeFor(classVertex, new ObjectTree(), ROOT_NODE, 0);
+        ObjectTree tree = new ObjectTree();
+        if (classVertex != null)
+            polyTemplateOf(classVertex, 0).instantiate(tree);
+        return tree;
     }
 
-    protected ObjectTree generatePolyObjectTreeFor(Vertex<? extends TypeDeclaration<?>> classVertex, ObjectTree tree, String[] level, int depth) {
+    /** The template of the tree of the given type, with a polymorphic node for each
+     *  subtype that has fields. It is computed once per type and depth. */
+    protected ObjectTreeTemplate polyTemplateOf(Vertex<? extends TypeDeclaration<?>> classVertex, int depth) {
         if (depth >= StaticConfig.K_LIMIT)
-            return tree;
+            return ObjectTreeTemplate.EMPTY;
+        ObjectTreeTemplate template = findTemplate(classVertex, depth);
+        if (template != null)
+            return template;
         Set<? extends TypeDeclaration<?>> types = subclassesOf(classVertex);
         if (types.isEmpty()) {
-            generateObjectTreeFor(classVertex, tree, level, depth);
+            template = fieldTemplateOf(classVertex, depth);
         } else {
+            List<ObjectTreeTemplate.Member> members = new LinkedList<>();
             for (TypeDeclaration<?> type : types) {
-                Vertex<? extends TypeDeclaration<?>> subclassVertex = classDeclarationMap.get(mapKey(type));
-                if (!findAllFieldsOf(subclassVertex).isEmpty()) {
-                    ObjectTree newType = tree.addType(ASTUtils.resolvedTypeDeclarationToResolvedType(type.resolve()), level);
-                    String[] newLevel = new String[level.length + 1];
-                    System.arraycopy(level, 0, newLevel, 0, level.length);
-                    newLevel[level.length] = newType.getMemberNode().getLabel();
-                    generateObjectTreeFor(subclassVertex, tree, newLevel, depth + 1);
-                }
+                ObjectTreeTemplate fields = fieldTemplateOf(classDeclarationMap.get(mapKey(type)), depth + 1);
+                if (!fields.isEmpty())
+                    members.add(new ObjectTreeTemplate.Member(ASTUtils.resolvedTypeDeclarationToResolvedType(type.resolve()), fields));
             }
+            template = new ObjectTreeTemplate(members);
         }
-        return tree;
+        synchronized (objectTreeTemplates) {
+            objectTreeTemplates.computeIfAbsent(classVertex, v -> new ObjectTreeTemplate[StaticConfig.K_LIMIT])[depth] = template;
+        }
+        return template;
     }
 
-    protected void generateObjectTreeFor(Vertex<? extends TypeDeclaration<?>> classVertex, ObjectTree tree, String[] level, int depth) {
+    /** The template of the fields of the given type, where the tree of each field is polymorphic. */
+    protected ObjectTreeTemplate fieldTemplateOf(Vertex<? extends TypeDeclaration<?>> classVertex, int depth) {
         Map<String, Vertex<? extends TypeDeclaration<?>>> classFields = findAllFieldsOf(classVertex);
-        for (var entry : classFields.entrySet()) {
-            String[] newLevel = new String[level.length + 1];
-            System.arraycopy(level, 0, newLevel, 0, level.length);
-            newLevel[level.length] = entry.getKey();
-            tree.addField(newLevel);
-            if (entry.getValue() != null)
-                generatePolyObjectTreeFor(entry.getValue(), tree, newLevel, depth);
+        List<ObjectTreeTemplate.Member> members = new LinkedList<>();
+        for (var entry : classFields.entrySet())
+            members.add(new ObjectTreeTemplate.Member(entry.getKey(), entry.getValue() == null ?
+                    ObjectTreeTemplate.EMPTY : polyTemplateOf(entry.getValue(), depth)));
+        return new ObjectTreeTemplate(members);
+    }
+
+    /** A previously computed template, or null if it hasn't been computed yet. */
+    protected ObjectTreeTemplate findTemplate(Vertex<? extends TypeDeclaration<?>> classVertex, int depth) {
+        synchronized (objectTreeTemplates) {
+            ObjectTreeTemplate[] templates = objectTreeTemplates.get(classVertex);
+            return templates == null ? null : templates[depth];
         }
     }
 
@@ -450,6 +472,55 @@ public class ClassGraph extends DirectedPseudograph<ClassGraph.Vertex<?>, ClassG
         });
     }
 
+    /**
+     * The structure of the object tree of a type, which is shared by every tree generated for that type
+     * and by the templates that contain it. Templates are immutable; {@link ObjectTree}s can't be shared
+     * because each contains its own member nodes, so they are instantiated from a template when needed.
+     */
+    protected static class ObjectTreeTemplate {
+        protected static final ObjectTreeTemplate EMPTY = new ObjectTreeTemplate(Collections.emptyList());
+
+        protected final List<Member> members;
+
+        protected ObjectTreeTemplate(List<Member> members) {
+            this.members = members;
+        }
+
+        /** Whether the tree generated by this template has no children. */
+        public boolean isEmpty() {
+            return members.isEmpty();
+        }
+
+        /** Adds the members of this template to the given tree, in order. */
+        public void instantiate(ObjectTree tree) {
+            for (Member member : members) {
+                ObjectTree child = member.type != null ? tree.addType(member.type) : tree.addImmediateField(member.field);
+                member.template.instantiate(child);
+            }
+        }
+
+        /** A field or polymorphic node (when the type is not null) and the template of its children. */
+        protected static class Member {
+            protected final String field;
+            protected final ResolvedType type;
+            protected final ObjectTreeTemplate template;
+
+            protected Member(String field, ObjectTreeTemplate template) {
+                this(field, null, template);
+            }
+
+            protected Member(ResolvedType type, ObjectTreeTemplate template) {
+                this(null, type, template);
+            }
+
+            private Member(String field, ResolvedType type, ObjectTreeTemplate template) {
+                this.field = field;
+                this.type = type;
+                this.template = template;
+            }
+        }
+    }
+
     /** A vertex containing the declaration it represents. It only exists because
      *  JGraphT relies heavily on equals comparison, which may not be correct in declarations. */
     public static class Vertex<T extends BodyDeclaration<?>> {
@@ -13,6 +13,7 @@ import es.upv.mist.slicing.nodes.ObjectTree;
 import es.upv.mist.slicing.nodes.VariableAction;
 import es.upv.mist.slicing.utils.ASTUtils;
 import es.upv.mist.slicing.utils.Logger;
+import es.upv.mist.slicing.utils.ResolutionCache;
 
 import java.util.LinkedList;
 import java.util.List;
@@ -65,7 +66,7 @@ public class ExpressionObjectTreeFinder {
         if (variableDeclarator.getInitializer().isEmpty())
             throw new IllegalArgumentException("The variableDeclarator must have an initializer!");
         VariableAction targetAction = locateVAVariableDeclarator(realName);
-        ClassGraph.getInstance().generateObjectTreeForType(variableDeclarator.getType().resolve())
+        ClassGraph.getInstance().generateObjectTreeForType(ResolutionCache.getInstance().resolve(variableDeclarator.getType()))
                 .ifPresent(objectTree -> targetAction.getObjectTree().addAll(objectTree));
         locateExpressionResultTrees(variableDeclarator.getInitializer().get())
                 .forEach(pair -> markTransference(pair, targetAction, ""));
@@ -98,7 +99,7 @@ public class ExpressionObjectTreeFinder {
      *  If the LHS of this assignment is an array access expression, the method
      *  {@link #handleArrayAssignExpr(AssignExpr)} should be used. */
     public void handleAssignExpr(AssignExpr assignExpr, VariableAction assignTarget, String targetMember) {
-        ClassGraph.getInstance().generateObjectTreeForType(assignExpr.getTarget().calculateResolvedType())
+        ClassGraph.getInstance().generateObjectTreeForType(ResolutionCache.getInstance().calculateResolvedType(assignExpr.getTarget()))
                 .ifPresent(fields -> assignTarget.getObjectTree().addAll(fields));
         List<Pair<VariableAction, String>> list = new LinkedList<>();
         if (assignExpr.getOperator() != AssignExpr.Operator.ASSIGN)
@@ -179,7 +180,7 @@ public class ExpressionObjectTreeFinder {
             @Override
             public void visit(NameExpr n, String arg) {
                 try {
-                    ResolvedValueDeclaration resolved = n.resolve();
+                    ResolvedValueDeclaration resolved = ResolutionCache.getInstance().resolve(n);
                     if (resolved.isType())
                         return;
                     if (resolved.isField() && !resolved.asField().isStatic()) {
@@ -194,7 +195,7 @@ public class ExpressionObjectTreeFinder {
                     }
                 } catch (UnsolvedSymbolException e) {
                     Logger.log("Unable to resolve " + n + " in " + graphNode.toString() + ". Assuming that it's a reference type");
-                    if (!n.calculateResolvedType().isReferenceType()) {
+                    if (!ResolutionCache.getInstance().calculateResolvedType(n).isReferenceType()) {
                         throw e; // It's a type?!
                     }
                     var va = locateVariableAction(n)
@@ -217,7 +218,7 @@ public class ExpressionObjectTreeFinder {
                     arg = "." + arg;
                 ResolvedValueDeclaration resolved;
                 try {
-                    resolved = n.resolve();
+                    resolved = ResolutionCache.getInstance().resolve(n);
                 } catch (UnsolvedSymbolException e) {
                     Optional<VariableAction> optVa = locateVariableAction(n.getScope());
                     if (optVa.isPresent())
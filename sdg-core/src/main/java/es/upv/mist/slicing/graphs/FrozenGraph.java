@@ -0,0 +1,158 @@
+package es.upv.mist.slicing.graphs;
+
+import es.upv.mist.slicing.arcs.Arc;
+import es.upv.mist.slicing.arcs.sdg.InterproceduralArc;
+import es.upv.mist.slicing.nodes.GraphNode;
+import es.upv.mist.slicing.nodes.IdSpace;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable and compact view of a {@link Graph}, for traversals that don't modify it. Each node is
+ * identified by a dense int id, and the incoming arcs of all nodes are stored in compressed sparse row
+ * arrays: those of node {@code n} occupy the positions from {@link #firstArc(int) firstArc(n)} (inclusive)
+ * to {@link #lastArc(int) lastArc(n)} (exclusive). For each position, the id of the source node, the arc
+ * and a byte with its kind are stored.
+ * <br/>
+ * Frozen views are created with {@link Graph#freeze()}, and discarded when the graph is modified.
+ * When the graph has an {@link Graph#getIdSpace() id space}, the id of each node is found through its index.
+ */
+public class FrozenGraph {
+    /** The arc is an {@link InterproceduralArc}. */
+    public static final byte INTERPROCEDURAL = 1;
+    /** @see Arc#isInterproceduralInputArc() */
+    public static final byte INTERPROCEDURAL_INPUT = 1 << 1;
+    /** @see Arc#isInterproceduralOutputArc() */
+    public static final byte INTERPROCEDURAL_OUTPUT = 1 << 2;
+
+    protected final GraphNode<?>[] nodes;
+    /** The space of dense indices of the graph, if it has one, and the id of each of its indices (or -1). */
+    protected final IdSpace idSpace;
+    protected final int[] idsBySpaceIndex;
+    /** The id of each node, used when the graph has no id space. */
+    protected final Map<GraphNode<?>, Integer> ids;
+    protected final int[] arcStart;
+    protected final int[] arcSources;
+    protected final Arc[] arcs;
+    protected final byte[] arcKinds;
+
+    protected FrozenGraph(Graph graph) {
+        nodes = graph.vertexSet().toArray(GraphNode<?>[]::new);
+        idSpace = graph.getIdSpace();
+        if (idSpace != null) {
+            ids = null;
+            idsBySpaceIndex = new int[idSpace.size()];
+            Arrays.fill(idsBySpaceIndex, -1);
+            for (int i = 0; i < nodes.length; i++)
+                idsBySpaceIndex[idSpace.indexOf(nodes[i])] = i;
+        } else {
+            idsBySpaceIndex = null;
+            ids = new HashMap<>(nodes.length * 4 / 3 + 1);
+            for (int i = 0; i < nodes.length; i++)
+                ids.put(nodes[i], i);
+        }
+        // Equal arcs are merged in the edge set, but not in the incoming arcs of each node
+        int arcCount = 0;
+        for (GraphNode<?> node : nodes)
+            arcCount += graph.inDegreeOf(node);
+        arcStart = new int[nodes.length + 1];
+        arcSources = new int[arcCount];
+        arcs = new Arc[arcCount];
+        arcKinds = new byte[arcCount];
+        int arc = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            arcStart[i] = arc;
+            for (Arc incoming : graph.incomingEdgesOf(nodes[i])) {
+                arcSources[arc] = getId(graph.getEdgeSource(incoming));
+                arcs[arc] = incoming;
+                arcKinds[arc] = kindOf(incoming);
+                arc++;
+            }
+        }
+        arcStart[nodes.length] = arc;
+    }
+
+    /** Computes the kind of an arc, as a combination of this class' constants. */
+    protected static byte kindOf(Arc arc) {
+        byte kind = 0;
+        if (arc instanceof InterproceduralArc)
+            kind |= INTERPROCEDURAL;
+        if (arc.isInterproceduralInputArc())
+            kind |= INTERPROCEDURAL_INPUT;
+        if (arc.isInterproceduralOutputArc())
+            kind |= INTERPROCEDURAL_OUTPUT;
+        return kind;
+    }
+
+    /** Whether the arc has any of the given kinds, which are the only ones computed.
+     *  This is equivalent to {@link #isAnyOf(int, byte)}, for arcs that are not part of a frozen view. */
+    public static boolean isAnyOf(Arc arc, byte kinds) {
+        return ((kinds & INTERPROCEDURAL) != 0 && arc instanceof InterproceduralArc)
+                || ((kinds & INTERPROCEDURAL_INPUT) != 0 && arc.isInterproceduralInputArc())
+                || ((kinds & INTERPROCEDURAL_OUTPUT) != 0 && arc.isInterproceduralOutputArc());
+    }
+
+    /** The number of nodes in the graph. Node ids range from 0 to this number (exclusive). */
+    public int nodeCount() {
+        return nodes.length;
+    }
+
+    /** The number of incoming arcs in the graph. Arc positions range from 0 to this number (exclusive). */
+    public int arcCount() {
+        return arcs.length;
+    }
+
+    /** The id of the given node. */
+    public int getId(GraphNode<?> node) {
+        int id;
+        if (idSpace != null) {
+            int index = idSpace.indexOf(node);
+            id = index >= 0 && index < idsBySpaceIndex.length ? idsBySpaceIndex[index] : -1;
+            // The index may have been released and reused after this view was created
+            if (id >= 0 && nodes[id] != node)
+                id = -1;
+        } else {
+            id = ids.getOrDefault(node, -1);
+        }
+        if (id < 0)
+            throw new IllegalArgumentException("The node " + node + " is not part of this graph");
+        return id;
+    }
+
+    /** The node with the given id. */
+    public GraphNode<?> getNode(int id) {
+        return nodes[id];
+    }
+
+    /** The position of the first incoming arc of the given node. */
+    public int firstArc(int node) {
+        return arcStart[node];
+    }
+
+    /** The position after the last incoming arc of the given node. */
+    public int lastArc(int node) {
+        return arcStart[node + 1];
+    }
+
+    /** The number of incoming arcs of the given node. */
+    public int inDegree(int node) {
+        return arcStart[node + 1] - arcStart[node];
+    }
+
+    /** The id of the source of the arc in the given position. */
+    public int getArcSource(int arc) {
+        return arcSources[arc];
+    }
+
+    /** The arc in the given position. */
+    public Arc getArc(int arc) {
+        return arcs[arc];
+    }
+
+    /** Whether the arc in the given position has any of the given kinds. */
+    public boolean isAnyOf(int arc, byte kinds) {
+        return (arcKinds[arc] & kinds) != 0;
+    }
+}
@@ -3,6 +3,7 @@ package es.upv.mist.slicing.graphs;
 import com.github.javaparser.ast.Node;
 import es.upv.mist.slicing.arcs.Arc;
 import es.upv.mist.slicing.nodes.GraphNode;
+import es.upv.mist.slicing.nodes.IdSpace;
 import es.upv.mist.slicing.nodes.SyntheticNode;
 import es.upv.mist.slicing.utils.ASTUtils;
 import org.jgrapht.graph.DirectedPseudograph;
@@ -14,10 +15,61 @@ import java.util.stream.Collectors;
 
 /** A generic base graph with some utility methods to more easily create and locate nodes. */
 public abstract class Graph extends DirectedPseudograph<GraphNode<?>, Arc> {
+    /** A compact view of this graph, discarded whenever the graph is modified. */
+    protected FrozenGraph frozenGraph;
+
     protected Graph() {
         super(null, null, false);
     }
 
+    /** Obtain an immutable and compact view of this graph, creating it if it doesn't exist.
+     *  The view is discarded when the graph is modified. */
+    public FrozenGraph freeze() {
+        if (frozenGraph == null)
+            frozenGraph = new FrozenGraph(this);
+        return frozenGraph;
+    }
+
+    /** The space that assigns dense indices to the nodes of this graph, or null if it doesn't have one. */
+    public IdSpace getIdSpace() {
+        return null;
+    }
+
+    /** Whether this graph has a frozen view, which has not been discarded by any modification. */
+    public boolean isFrozen() {
+        return frozenGraph != null;
+    }
+
+    @Override
+    public boolean addVertex(GraphNode<?> graphNode) {
+        frozenGraph = null;
+        return super.addVertex(graphNode);
+    }
+
+    @Override
+    public boolean addEdge(GraphNode<?> source, GraphNode<?> target, Arc arc) {
+        frozenGraph = null;
+        return super.addEdge(source, target, arc);
+    }
+
+    @Override
+    public boolean removeVertex(GraphNode<?> graphNode) {
+        frozenGraph = null;
+        return super.removeVertex(graphNode);
+    }
+
+    @Override
+    public boolean removeEdge(Arc arc) {
+        frozenGraph = null;
+        return super.removeEdge(arc);
+    }
+
+    @Override
+    public Arc removeEdge(GraphNode<?> source, GraphNode<?> target) {
+        frozenGraph = null;
+        return super.removeEdge(source, target);
+    }
+
     /** Creates and adds to the graph a normal node with the given label and AST. */
     public <T extends Node> GraphNode<T> addVertex(String label, T astNode) {
         GraphNode<T> node = new GraphNode<>(label, astNode);
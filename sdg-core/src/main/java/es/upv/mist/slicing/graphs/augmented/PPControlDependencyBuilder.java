@@ -1,19 +1,26 @@
 package es.upv.mist.slicing.graphs.augmented;
 
 import es.upv.mist.slicing.arcs.Arc;
+import es.upv.mist.slicing.graphs.cfg.PostDominatorTree;
 import es.upv.mist.slicing.graphs.pdg.ControlDependencyBuilder;
 import es.upv.mist.slicing.nodes.GraphNode;
 
 import java.util.Set;
 import java.util.stream.Collectors;
 
-/** A builder for control dependencies in graphs based on the {@link PPDG}.
+/** A builder for control dependencies in graphs based on the {@link PPDG}. Post-dominance
+ *  is computed considering only executable control flow arcs.
  *  @see ControlDependencyBuilder */
 public class PPControlDependencyBuilder extends ControlDependencyBuilder {
     public PPControlDependencyBuilder(ACFG cfg, PPDG pdg) {
         super(cfg, pdg);
     }
 
+    @Override
+    protected PostDominatorTree createPostDominatorTree() {
+        return new PostDominatorTree(cfg, Arc::isExecutableControlFlowArc);
+    }
+
     @Override
     protected boolean postDominates(GraphNode<?> a, GraphNode<?> b, Set<GraphNode<?>> visited) {
         // Stop w/ success if a == b or a has already been visited
@@ -0,0 +1,217 @@
+package es.upv.mist.slicing.graphs.cfg;
+
+import es.upv.mist.slicing.arcs.Arc;
+import es.upv.mist.slicing.nodes.GraphNode;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * The post-dominator tree of a {@link CFG}, computed with the iterative algorithm described in
+ * "A Simple, Fast Dominance Algorithm" (Cooper, Harvey and Kennedy) over the reversed CFG.
+ * <br/>
+ * A node <i>b</i> post-dominates another node <i>a</i> if and only if <i>b</i> appears in every path
+ * from <i>a</i> to any node without outgoing arcs (usually, the "Exit" node). All such nodes are connected
+ * to a virtual exit, which is the root of the tree. Nodes from which no node without outgoing arcs can
+ * be reached (e.g., infinite loops) are vacuously post-dominated by every node.
+ * <br/>
+ * The tree is computed once, on creation. Any later modification to the CFG is not reflected.
+ */
+public class PostDominatorTree {
+    /** Index that represents the virtual exit, root of the tree. */
+    protected static final int VIRTUAL_EXIT = -1;
+    /** Marks nodes that do not reach the virtual exit. */
+    protected static final int UNDEFINED = -2;
+
+    protected final CFG cfg;
+    protected final Predicate<Arc> arcFilter;
+    /** Nodes of the CFG, indexed by their position in {@link #index}. */
+    protected final List<GraphNode<?>> nodes;
+    protected final Map<GraphNode<?>, Integer> index;
+    /** Immediate post-dominator of each node, or {@link #UNDEFINED}. */
+    protected final int[] ipdom;
+    /** Post-order number of each node in the reversed CFG, used to find common ancestors. */
+    protected final int[] postOrder;
+
+    /** Computes the post-dominator tree, considering all control-flow arcs. */
+    public PostDominatorTree(CFG cfg) {
+        this(cfg, Arc::isControlFlowArc);
+    }
+
+    /** Computes the post-dominator tree, considering only the arcs that pass the given filter. */
+    public PostDominatorTree(CFG cfg, Predicate<Arc> arcFilter) {
+        this.cfg = Objects.requireNonNull(cfg);
+        this.arcFilter = Objects.requireNonNull(arcFilter);
+        this.nodes = new ArrayList<>(cfg.vertexSet());
+        this.index = new HashMap<>();
+        for (int i = 0; i < nodes.size(); i++)
+            index.put(nodes.get(i), i);
+        this.ipdom = new int[nodes.size()];
+        this.postOrder = new int[nodes.size()];
+        Arrays.fill(ipdom, UNDEFINED);
+        compute();
+    }
+
+    /** Computes the reverse post-order of the reversed CFG and then iterates until the tree is stable. */
+    protected void compute() {
+        List<Integer> order = reversePostOrder();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int node : order) {
+                int newIpdom = UNDEFINED;
+                boolean sink = true;
+                for (Arc arc : cfg.outgoingEdgesOf(nodes.get(node))) {
+                    if (!arcFilter.test(arc))
+                        continue;
+                    sink = false;
+                    int succ = index.get(cfg.getEdgeTarget(arc));
+                    if (ipdom[succ] == UNDEFINED)
+                        continue;
+                    newIpdom = newIpdom == UNDEFINED ? succ : intersect(succ, newIpdom);
+                }
+                if (sink)
+                    newIpdom = VIRTUAL_EXIT;
+                if (ipdom[node] != newIpdom) {
+                    ipdom[node] = newIpdom;
+                    changed = true;
+                }
+            }
+        }
+    }
+
+    /** Performs an iterative depth-first search from the virtual exit, following arcs backwards.
+     *  @return The nodes reached, in reverse post-order. */
+    protected List<Integer> reversePostOrder() {
+        LinkedList<Integer> result = new LinkedList<>();
+        boolean[] visited = new boolean[nodes.size()];
+        Deque<Iterator<Arc>> stack = new LinkedList<>();
+        Deque<Integer> stackNodes = new LinkedList<>();
+        int counter = 0;
+        for (int sink = 0; sink < nodes.size(); sink++) {
+            if (visited[sink] || !isSink(nodes.get(sink)))
+                continue;
+            visited[sink] = true;
+            stackNodes.push(sink);
+            stack.push(cfg.incomingEdgesOf(nodes.get(sink)).iterator());
+            while (!stack.isEmpty()) {
+                Iterator<Arc> it = stack.peek();
+                int pred = -1;
+                while (it.hasNext() && pred == -1) {
+                    Arc arc = it.next();
+                    int source = index.get(cfg.getEdgeSource(arc));
+                    if (arcFilter.test(arc) && !visited[source])
+                        pred = source;
+                }
+                if (pred == -1) {
+                    stack.pop();
+                    int node = stackNodes.pop();
+                    postOrder[node] = counter++;
+                    result.addFirst(node);
+                } else {
+                    visited[pred] = true;
+                    stackNodes.push(pred);
+                    stack.push(cfg.incomingEdgesOf(nodes.get(pred)).iterator());
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Whether the given node has no outgoing arcs that pass the filter. */
+    protected boolean isSink(GraphNode<?> node) {
+        return cfg.outgoingEdgesOf(node).stream().noneMatch(arcFilter);
+    }
+
+    /** Finds the closest common ancestor of two nodes in the (partially built) tree. */
+    protected int intersect(int a, int b) {
+        while (a != b) {
+            while (postOrderOf(a) < postOrderOf(b))
+                a = ipdom[a];
+            while (postOrderOf(b) < postOrderOf(a))
+                b = ipdom[b];
+        }
+        return a;
+    }
+
+    /** The post-order number of a node. The virtual exit is the last one. */
+    protected int postOrderOf(int node) {
+        return node == VIRTUAL_EXIT ? Integer.MAX_VALUE : postOrder[node];
+    }
+
+    /** Whether the given node has a path to a node without outgoing arcs, which makes it part of the tree. */
+    public boolean reachesExit(GraphNode<?> node) {
+        Integer i = index.get(node);
+        return i != null && ipdom[i] != UNDEFINED;
+    }
+
+    /** Whether {@code b} post-dominates {@code a}, i.e. whether {@code b} appears in all
+     *  paths from {@code a} to the Exit node. Every node post-dominates itself. */
+    public boolean postDominates(GraphNode<?> a, GraphNode<?> b) {
+        if (a.equals(b) || !reachesExit(a))
+            return true;
+        Integer target = index.get(b);
+        if (target == null)
+            return false;
+        for (int i = index.get(a); i != VIRTUAL_EXIT; i = ipdom[i])
+            if (i == target)
+                return true;
+        return false;
+    }
+
+    /** The immediate post-dominator of the given node. It is empty when the node
+     *  is only post-dominated by the virtual exit or doesn't {@link #reachesExit(GraphNode) reach it}. */
+    public Optional<GraphNode<?>> getImmediatePostDominator(GraphNode<?> node) {
+        if (!reachesExit(node))
+            return Optional.empty();
+        int i = ipdom[index.get(node)];
+        return i == VIRTUAL_EXIT ? Optional.empty() : Optional.of(nodes.get(i));
+    }
+
+    /**
+     * Computes the nodes that post-dominate some, but not all, of the given nodes, and
+     * are therefore control dependent on a node that has them as successors. With a
+     * node's successors, this equals its post-dominance frontier in the reverse graph.
+     * Nodes that {@link #reachesExit(GraphNode) do not reach the exit} are post-dominated by all nodes.
+     * @param successors A collection of nodes of the CFG.
+     * @param universe All the nodes that may appear in the result.
+     * @return The nodes in {@code universe} that post-dominate some but not all of the
+     *         {@code successors}, in the same order as the CFG's vertex set.
+     */
+    public List<GraphNode<?>> partiallyPostDominating(Collection<GraphNode<?>> successors, Set<GraphNode<?>> universe) {
+        int common = UNDEFINED;
+        boolean anyUnreached = false;
+        List<Integer> reached = new LinkedList<>();
+        for (GraphNode<?> succ : successors) {
+            if (!reachesExit(succ)) {
+                anyUnreached = true;
+                continue;
+            }
+            int i = index.get(succ);
+            reached.add(i);
+            common = common == UNDEFINED ? i : intersect(common, i);
+        }
+        if (reached.isEmpty())
+            return Collections.emptyList();
+        List<GraphNode<?>> result = new ArrayList<>();
+        if (anyUnreached) {
+            // Some are post-dominated by all nodes: exclude the common ancestor and its post-dominators.
+            Set<GraphNode<?>> all = new HashSet<>();
+            for (int i = common; i != VIRTUAL_EXIT; i = ipdom[i])
+                all.add(nodes.get(i));
+            for (GraphNode<?> node : universe)
+                if (!all.contains(node))
+                    result.add(node);
+            return result;
+        }
+        // Walk up from each node until their common ancestor, which is post-dominating all of them.
+        BitSet some = new BitSet(nodes.size());
+        for (int i : reached)
+            for (int j = i; j != common && !some.get(j); j = ipdom[j])
+                some.set(j);
+        for (int i = some.nextSetBit(0); i >= 0; i = some.nextSetBit(i + 1))
+            if (universe.contains(nodes.get(i)))
+                result.add(nodes.get(i));
+        return result;
+    }
+}
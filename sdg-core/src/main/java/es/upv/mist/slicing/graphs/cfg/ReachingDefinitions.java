@@ -0,0 +1,148 @@
+package es.upv.mist.slicing.graphs.cfg;
+
+import es.upv.mist.slicing.arcs.Arc;
+import es.upv.mist.slicing.nodes.GraphNode;
+import es.upv.mist.slicing.nodes.VariableAction;
+import es.upv.mist.slicing.utils.NodeNotFoundException;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * A reaching definitions analysis over a {@link CFG}, solved once for all variables with bit vectors.
+ * Each {@link VariableAction variable action} that passes the filter is a "definition", which is killed
+ * by any later non-optional definition of the same variable. Only executable control-flow arcs are followed.
+ * <br/>
+ * The result of {@link #findLastActionsFrom(VariableAction)} is the same set of actions that
+ * {@link CFG#findLastVarActionsFrom(VariableAction, Predicate)} finds with a backward search, but
+ * the analysis is computed once instead of once per query.
+ * <br/>
+ * The analysis is computed on creation. Any later modification to the CFG or its actions is not reflected.
+ */
+public class ReachingDefinitions {
+    protected final CFG cfg;
+    protected final Predicate<VariableAction> filter;
+    /** Nodes of the CFG, indexed by their position in {@link #nodeIndex}. */
+    protected final List<GraphNode<?>> nodes;
+    protected final Map<GraphNode<?>, Integer> nodeIndex = new HashMap<>();
+    /** All the actions that pass the filter. Their position in this list is their bit in the vectors. */
+    protected final List<VariableAction> actions = new ArrayList<>();
+    /** The node (index) that contains each action. */
+    protected final List<Integer> actionNode = new ArrayList<>();
+    /** The actions that refer to each variable. */
+    protected final Map<String, BitSet> variableMask = new HashMap<>();
+    /** The actions that reach the start of each node. */
+    protected final BitSet[] in;
+
+    public ReachingDefinitions(CFG cfg, Predicate<VariableAction> filter) {
+        this.cfg = Objects.requireNonNull(cfg);
+        this.filter = Objects.requireNonNull(filter);
+        this.nodes = new ArrayList<>(cfg.vertexSet());
+        for (int i = 0; i < nodes.size(); i++)
+            nodeIndex.put(nodes.get(i), i);
+        this.in = new BitSet[nodes.size()];
+        indexActions();
+        compute();
+    }
+
+    /** Assigns a bit to each action that passes the filter. */
+    protected void indexActions() {
+        for (int n = 0; n < nodes.size(); n++) {
+            for (VariableAction action : nodes.get(n).getVariableActions()) {
+                if (!filter.test(action))
+                    continue;
+                variableMask.computeIfAbsent(action.getName(), name -> new BitSet()).set(actions.size());
+                actions.add(action);
+                actionNode.add(n);
+            }
+        }
+    }
+
+    /** Computes the local sets of each node and then iterates until the input sets are stable. */
+    protected void compute() {
+        BitSet[] gen = new BitSet[nodes.size()];
+        BitSet[] kill = new BitSet[nodes.size()];
+        BitSet[] out = new BitSet[nodes.size()];
+        int action = 0;
+        for (int n = 0; n < nodes.size(); n++) {
+            gen[n] = new BitSet();
+            kill[n] = new BitSet();
+            out[n] = new BitSet();
+            in[n] = new BitSet();
+            for (; action < actions.size() && actionNode.get(action) == n; action++) {
+                VariableAction va = actions.get(action);
+                if (!va.isOptional()) {
+                    BitSet mask = variableMask.get(va.getName());
+                    gen[n].andNot(mask);
+                    kill[n].or(mask);
+                }
+                gen[n].set(action);
+            }
+            out[n].or(gen[n]);
+        }
+        Deque<Integer> worklist = new ArrayDeque<>(nodes.size());
+        boolean[] queued = new boolean[nodes.size()];
+        for (int n = 0; n < nodes.size(); n++) {
+            worklist.add(n);
+            queued[n] = true;
+        }
+        while (!worklist.isEmpty()) {
+            int n = worklist.poll();
+            queued[n] = false;
+            GraphNode<?> node = nodes.get(n);
+            for (Arc arc : cfg.incomingEdgesOf(node))
+                if (arc.isExecutableControlFlowArc())
+                    in[n].or(out[nodeIndex.get(cfg.getEdgeSource(arc))]);
+            BitSet newOut = (BitSet) in[n].clone();
+            newOut.andNot(kill[n]);
+            newOut.or(gen[n]);
+            if (newOut.equals(out[n]))
+                continue;
+            out[n] = newOut;
+            for (Arc arc : cfg.outgoingEdgesOf(node)) {
+                if (!arc.isExecutableControlFlowArc())
+                    continue;
+                int succ = nodeIndex.get(cfg.getEdgeTarget(arc));
+                if (!queued[succ]) {
+                    worklist.add(succ);
+                    queued[succ] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtain the actions that pass the filter, refer to the same variable and may reach the given action.
+     * As in the backward search, the actions located in the same node after the given one are not considered.
+     */
+    public List<VariableAction> findLastActionsFrom(VariableAction variable) {
+        GraphNode<?> node = variable.getGraphNode();
+        Integer n = nodeIndex.get(node);
+        if (n == null)
+            throw new NodeNotFoundException(node, cfg);
+        List<VariableAction> result = new LinkedList<>();
+        // Actions in the same node, before the given one
+        List<VariableAction> nodeActions = node.getVariableActions();
+        int position = 0;
+        while (position < nodeActions.size() && nodeActions.get(position) != variable)
+            position++;
+        for (int i = position - 1; i >= 0; i--) {
+            VariableAction va = nodeActions.get(i);
+            if (!variable.matches(va) || !filter.test(va))
+                continue;
+            result.add(va);
+            if (!va.isOptional())
+                return result;
+        }
+        // Actions that reach the node
+        BitSet mask = variableMask.get(variable.getName());
+        if (mask == null)
+            return result;
+        BitSet reaching = (BitSet) in[n].clone();
+        reaching.and(mask);
+        for (int i = reaching.nextSetBit(0); i >= 0; i = reaching.nextSetBit(i + 1))
+            if (actionNode.get(i) != n.intValue())
+                result.add(actions.get(i));
+        return result;
+    }
+}
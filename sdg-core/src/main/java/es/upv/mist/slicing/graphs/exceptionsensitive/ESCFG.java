@@ -18,6 +18,7 @@ import es.upv.mist.slicing.nodes.GraphNode;
 import es.upv.mist.slicing.nodes.exceptionsensitive.*;
 import es.upv.mist.slicing.nodes.io.MethodExitNode;
 import es.upv.mist.slicing.utils.Logger;
+import es.upv.mist.slicing.utils.ResolutionCache;
 
 import java.util.*;
 
@@ -234,7 +235,7 @@ public class ESCFG extends ACFG {
             stmtStack.push(n);
             GraphNode<ThrowStmt> stmt = connectTo(n);
             n.getExpression().accept(this, arg);
-            populateExceptionSourceMap(new ExceptionSource(stmt, n.getExpression().calculateResolvedType()));
+            populateExceptionSourceMap(new ExceptionSource(stmt, ResolutionCache.getInstance().calculateResolvedType(n.getExpression())));
             clearHanging();
             nonExecHangingNodes.add(stmt);
             stmtStack.pop();
@@ -267,7 +268,7 @@ public class ESCFG extends ACFG {
         /** Process a call that may throw exceptions. Generates normal and return nodes, and
          * registers the appropriate exception source. */
         protected void visitCallForExceptions(Resolvable<? extends ResolvedMethodLikeDeclaration> call) {
-            ResolvedMethodLikeDeclaration resolved = call.resolve();
+            ResolvedMethodLikeDeclaration resolved = ResolutionCache.getInstance().resolve(call);
             if (resolved.getNumberOfSpecifiedExceptions() == 0)
                 return;
 
@@ -320,9 +321,9 @@ public class ESCFG extends ACFG {
             ExceptionSource catchES = ExceptionSource.merge(node, sources);
             Type type = n.getParameter().getType();
             if (type.isUnionType())
-                type.asUnionType().getElements().forEach(t -> catchES.deactivateTypes(t.resolve().asReferenceType()));
+                type.asUnionType().getElements().forEach(t -> catchES.deactivateTypes(ResolutionCache.getInstance().resolve(t).asReferenceType()));
             else if (type.isReferenceType())
-                catchES.deactivateTypes(type.resolve().asReferenceType());
+                catchES.deactivateTypes(ResolutionCache.getInstance().resolve(type).asReferenceType());
             else
                 throw new IllegalStateException("catch node with type different to union/reference type");
             populateExceptionSourceMap(catchES);
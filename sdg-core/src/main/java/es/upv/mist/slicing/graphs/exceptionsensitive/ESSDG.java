@@ -5,6 +5,7 @@ import es.upv.mist.slicing.graphs.augmented.PPDG;
 import es.upv.mist.slicing.graphs.augmented.PSDG;
 import es.upv.mist.slicing.graphs.cfg.CFG;
 import es.upv.mist.slicing.graphs.pdg.PDG;
+import es.upv.mist.slicing.graphs.sdg.CallConnector;
 import es.upv.mist.slicing.nodes.exceptionsensitive.ExitNode;
 import es.upv.mist.slicing.nodes.exceptionsensitive.ReturnNode;
 import es.upv.mist.slicing.slicing.ExceptionSensitiveSlicingAlgorithm;
@@ -44,8 +45,8 @@ public class ESSDG extends PSDG {
         }
 
         @Override
-        protected void connectCalls() {
-            new ExceptionSensitiveCallConnector(ESSDG.this).connectAllCalls(callGraph);
+        protected CallConnector createCallConnector() {
+            return new ExceptionSensitiveCallConnector(ESSDG.this);
         }
     }
 }
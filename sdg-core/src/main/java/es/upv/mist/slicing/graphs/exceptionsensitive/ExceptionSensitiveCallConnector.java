@@ -1,5 +1,6 @@
 package es.upv.mist.slicing.graphs.exceptionsensitive;
 
+import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.CallableDeclaration;
 import com.github.javaparser.ast.type.ReferenceType;
 import com.github.javaparser.resolution.Resolvable;
@@ -13,6 +14,7 @@ import es.upv.mist.slicing.nodes.SyntheticNode;
 import es.upv.mist.slicing.nodes.exceptionsensitive.*;
 import es.upv.mist.slicing.nodes.io.CallNode;
 import es.upv.mist.slicing.utils.ASTUtils;
+import es.upv.mist.slicing.utils.ResolutionCache;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -42,48 +44,50 @@ public class ExceptionSensitiveCallConnector extends CallConnector {
      * @param call The method call to be connected to its method declaration.
      */
     protected void handleExceptionReturnArcs(Resolvable<? extends ResolvedMethodLikeDeclaration> call, CallGraph callGraph) {
-        Set<SyntheticNode<?>> synthNodes = sdg.vertexSet().stream()
-                .filter(SyntheticNode.class::isInstance)
-                .map(n -> (SyntheticNode<?>) n)
-                .collect(Collectors.toSet());
         callGraph.getCallTargets(call).forEach(decl -> {
-            connectNormalNodes(synthNodes, call, decl);
-            connectExceptionNodes(synthNodes, call, decl);
+            connectNormalNodes(call, decl);
+            connectExceptionNodes(call, decl);
         });
     }
 
     /** Connects normal exit nodes to their corresponding return node. */
-    protected void connectNormalNodes(Set<SyntheticNode<?>> synthNodes, Resolvable<? extends ResolvedMethodLikeDeclaration> call, CallableDeclaration<?> decl) {
-        ReturnNode normalReturn = (ReturnNode) synthNodes.stream()
-                .filter(NormalReturnNode.class::isInstance)
-                .filter(n -> n.getAstNode() == call || ASTUtils.equalsWithRange(n.getAstNode(), call))
-                .findAny().orElseThrow();
-        ExitNode normalExit = (ExitNode) synthNodes.stream()
-                .filter(NormalExitNode.class::isInstance)
-                .filter(n -> n.getAstNode() == decl || ASTUtils.equalsWithRange(n.getAstNode(), decl))
-                .findAny().orElseThrow();
+    protected void connectNormalNodes(Resolvable<? extends ResolvedMethodLikeDeclaration> call, CallableDeclaration<?> decl) {
+        ReturnNode normalReturn = (ReturnNode) findInterfaceNode(sdg.getInterfaceNodeIndex().getCallNodes((Node) call), (Node) call, NormalReturnNode.class);
+        ExitNode normalExit = (ExitNode) findInterfaceNode(sdg.getInterfaceNodeIndex().getDeclarationNodes(decl), decl, NormalExitNode.class);
         ((ESSDG) sdg).addReturnArc(normalExit, normalReturn);
     }
 
+    /** Finds a node of the given type among the indexed nodes of a call or declaration. If there is none,
+     *  the rest of synthetic nodes are searched for one whose AST node is equal and has the same range. */
+    protected SyntheticNode<?> findInterfaceNode(Set<SyntheticNode<?>> indexedNodes, Node astNode, Class<? extends SyntheticNode<?>> type) {
+        return indexedNodes.stream()
+                .filter(type::isInstance)
+                .findAny()
+                .or(() -> sdg.vertexSet().stream()
+                        .filter(type::isInstance)
+                        .filter(n -> ASTUtils.equalsWithRange(n.getAstNode(), astNode))
+                        .map(n -> (SyntheticNode<?>) n)
+                        .findAny())
+                .orElseThrow();
+    }
+
     /**
      * Connects exception exit nodes to their corresponding return node,
      * taking into account that return nodes are generated from the 'throws' list
      * in the method declaration and exit nodes are generated from the exception sources
      * that appear in the method. This creates a mismatch that is solved in {@link #connectRemainingExceptionNodes(Map, Set)}
      */
-    protected void connectExceptionNodes(Set<SyntheticNode<?>> synthNodes, Resolvable<? extends ResolvedMethodLikeDeclaration> call, CallableDeclaration<?> decl) {
+    protected void connectExceptionNodes(Resolvable<? extends ResolvedMethodLikeDeclaration> call, CallableDeclaration<?> decl) {
         Map<ResolvedType, ExceptionReturnNode> exceptionReturnMap = new HashMap<>();
-        Set<ExceptionExitNode> eeNodes = synthNodes.stream()
+        Set<ExceptionExitNode> eeNodes = sdg.getInterfaceNodeIndex().getDeclarationNodes(decl).stream()
                 .filter(ExceptionExitNode.class::isInstance)
                 .map(ExceptionExitNode.class::cast)
-                .filter(n -> n.getAstNode() == decl)
                 .collect(Collectors.toSet());
         for (ReferenceType rType : decl.getThrownExceptions()) {
-            ResolvedType type = rType.resolve();
-            ExceptionReturnNode exceptionReturn = synthNodes.stream()
+            ResolvedType type = ResolutionCache.getInstance().resolve(rType);
+            ExceptionReturnNode exceptionReturn = sdg.getInterfaceNodeIndex().getCallNodes((Node) call).stream()
                     .filter(ExceptionReturnNode.class::isInstance)
                     .map(ExceptionReturnNode.class::cast)
-                    .filter(n -> n.getAstNode() == call)
                     .filter(n -> n.getExceptionType().equals(type))
                     .findAny().orElseThrow();
             ExceptionExitNode exceptionExit = eeNodes.stream()
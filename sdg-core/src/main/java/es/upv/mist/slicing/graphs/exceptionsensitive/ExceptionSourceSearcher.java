@@ -9,6 +9,7 @@ import com.github.javaparser.resolution.declarations.ResolvedMethodLikeDeclarati
 import com.github.javaparser.resolution.types.ResolvedType;
 import es.upv.mist.slicing.graphs.GraphNodeContentVisitor;
 import es.upv.mist.slicing.nodes.GraphNode;
+import es.upv.mist.slicing.utils.ResolutionCache;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -28,7 +29,7 @@ public class ExceptionSourceSearcher extends GraphNodeContentVisitor<Void> {
 
     @Override
     public void visit(ThrowStmt n, Void arg) {
-        throw new FoundException(n.getExpression().calculateResolvedType());
+        throw new FoundException(ResolutionCache.getInstance().calculateResolvedType(n.getExpression()));
     }
 
     @Override
@@ -51,7 +52,7 @@ public class ExceptionSourceSearcher extends GraphNodeContentVisitor<Void> {
 
     /** Check whether a call may throw exceptions or not. */
     public void visitCall(Resolvable<? extends ResolvedMethodLikeDeclaration> call) {
-        ResolvedMethodLikeDeclaration declaration = call.resolve();
+        ResolvedMethodLikeDeclaration declaration = ResolutionCache.getInstance().resolve(call);
         if (declaration.getNumberOfSpecifiedExceptions() > 0)
             throw new FoundException(declaration.getSpecifiedExceptions());
     }
@@ -16,7 +16,9 @@ import es.upv.mist.slicing.arcs.Arc;
 import es.upv.mist.slicing.graphs.ClassGraph;
 import es.upv.mist.slicing.graphs.ExpressionObjectTreeFinder;
 import es.upv.mist.slicing.graphs.cfg.CFGBuilder;
+import es.upv.mist.slicing.graphs.cfg.ReachingDefinitions;
 import es.upv.mist.slicing.graphs.exceptionsensitive.ESCFG;
+import es.upv.mist.slicing.nodes.FieldPath;
 import es.upv.mist.slicing.nodes.GraphNode;
 import es.upv.mist.slicing.nodes.VariableAction;
 import es.upv.mist.slicing.nodes.io.MethodExitNode;
@@ -65,8 +67,18 @@ public class JSysCFG extends ESCFG {
 
     /** Given a usage of an object member, find the last definitions of that member.
      *  This method returns a list of variable actions, where the caller can find the member. */
-    public List<VariableAction> findLastDefinitionOfObjectMember(VariableAction usage, String[] member) {
-        return findLastVarActionsFrom(usage, def -> def.isDefinition() && def.hasTreeMember(member));
+    public List<VariableAction> findLastDefinitionOfObjectMember(VariableAction usage, FieldPath member) {
+        return findLastVarActionsFrom(usage, objectMemberDefinitionFilter(member));
+    }
+
+    /** Computes the definitions of the given member that reach each node, for repeated queries that
+     *  would otherwise use {@link #findLastDefinitionOfObjectMember(VariableAction, FieldPath)}. */
+    public ReachingDefinitions reachingDefinitionsOfObjectMember(FieldPath member) {
+        return new ReachingDefinitions(this, objectMemberDefinitionFilter(member));
+    }
+
+    protected Predicate<VariableAction> objectMemberDefinitionFilter(FieldPath member) {
+        return def -> def.isDefinition() && def.hasTreeMember(member);
     }
 
     /** Given a usage of a primitive variable, find the last def actions that affect it. */
@@ -111,16 +123,25 @@ public class JSysCFG extends ESCFG {
 
     /** Given an action that defines a member, locates the previous total definition that gave
      *  it value. */
-    public List<VariableAction> findLastTotalDefinitionOf(VariableAction action, String[] member) {
-        return findLastVarActionsFrom(action, def ->
-                (def.isDeclaration() && def.hasTreeMember(member))
-                || (def.isDefinition() && def.asDefinition().isTotallyDefinedMember(member)));
+    public List<VariableAction> findLastTotalDefinitionOf(VariableAction action, FieldPath member) {
+        return findLastVarActionsFrom(action, totalDefinitionFilter(member));
+    }
+
+    /** Computes the total definitions of the given member that reach each node, for repeated queries
+     *  that would otherwise use {@link #findLastTotalDefinitionOf(VariableAction, FieldPath)}. */
+    public ReachingDefinitions reachingTotalDefinitionsOf(FieldPath member) {
+        return new ReachingDefinitions(this, totalDefinitionFilter(member));
+    }
+
+    protected Predicate<VariableAction> totalDefinitionFilter(FieldPath member) {
+        return def -> (def.isDeclaration() && def.hasTreeMember(member))
+                || (def.isDefinition() && def.asDefinition().isTotallyDefinedMember(member));
     }
 
     /** Given a definition of a given member, locate all definitions of the same object until a definition
      *  containing the given member is found (not including that last one). If the member is found in the
      *  given definition, it will return a list with only the given definition. */
-    public List<VariableAction> findNextObjectDefinitionsFor(VariableAction definition, String[] member) {
+    public List<VariableAction> findNextObjectDefinitionsFor(VariableAction definition, FieldPath member) {
         if (!this.containsVertex(definition.getGraphNode()))
             throw new NodeNotFoundException(definition.getGraphNode(), this);
         if (definition.hasTreeMember(member))
@@ -135,7 +156,7 @@ public class JSysCFG extends ESCFG {
      *  the given argument. This search stops after finding a matching action in each branch. */
     protected boolean findNextVarActionsFor(Set<GraphNode<?>> visited, List<VariableAction> result,
                                             GraphNode<?> currentNode, VariableAction var,
-                                            Predicate<VariableAction> filter, String[] memberName) {
+                                            Predicate<VariableAction> filter, FieldPath memberName) {
         // Base case
         if (visited.contains(currentNode))
             return true;
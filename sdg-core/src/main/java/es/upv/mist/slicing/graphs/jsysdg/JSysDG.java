@@ -13,15 +13,25 @@ import es.upv.mist.slicing.graphs.cfg.CFG;
 import es.upv.mist.slicing.graphs.exceptionsensitive.ESSDG;
 import es.upv.mist.slicing.graphs.exceptionsensitive.ExceptionSensitiveCallConnector;
 import es.upv.mist.slicing.graphs.pdg.PDG;
+import es.upv.mist.slicing.graphs.sdg.AbstractSummaryArcAnalyzer;
+import es.upv.mist.slicing.graphs.sdg.CallConnector;
 import es.upv.mist.slicing.nodes.GraphNode;
 import es.upv.mist.slicing.nodes.VariableAction;
 import es.upv.mist.slicing.nodes.io.FormalIONode;
 import es.upv.mist.slicing.nodes.oo.MemberNode;
 import es.upv.mist.slicing.slicing.JSysDGSlicingAlgorithm;
 import es.upv.mist.slicing.slicing.SlicingAlgorithm;
+import es.upv.mist.slicing.utils.ASTUtils;
 import es.upv.mist.slicing.utils.NodeHashSet;
 
+import java.util.*;
+
 public class JSysDG extends ESSDG {
+    /** Implicit constructors inserted in the compilation units, which are built with implicit nodes. */
+    protected final NodeHashSet<ConstructorDeclaration> newlyInsertedConstructors = new NodeHashSet<>();
+    /** Type nodes and the member nodes of their object trees, which do not belong to any declaration. */
+    protected final List<GraphNode<?>> typeNodes = new LinkedList<>();
+
     @Override
     protected SlicingAlgorithm createSlicingAlgorithm() {
         return new JSysDGSlicingAlgorithm(this);
@@ -36,16 +46,10 @@ public class JSysDG extends ESSDG {
      * @see PSDG.Builder
      * @see ExceptionSensitiveCallConnector */
     class Builder extends ESSDG.Builder {
-        protected NodeHashSet<ConstructorDeclaration> newlyInsertedConstructors = new NodeHashSet<>();
-
-        @Override
-        public void build(NodeList<CompilationUnit> nodeList) {
-            insertImplicitConstructors(nodeList);
-            super.build(nodeList);
-        }
-
+        /** Inserts the implicit constructors before the first phase, so that all phases see them. */
         @Override
         protected void createClassGraph(NodeList<CompilationUnit> nodeList) {
+            insertImplicitConstructors(nodeList);
             super.createClassGraph(nodeList);
             insertTypeNodes();
         }
@@ -74,6 +78,30 @@ public class JSysDG extends ESSDG {
             ((JSysCFG) cfg).build(declaration, newlyInsertedConstructors, ClassGraph.getInstance());
         }
 
+        /** The CFGs of constructors insert the implicit call to super() and the return of 'this' in their body. */
+        @Override
+        protected boolean modifiesDeclaration(CallableDeclaration<?> declaration) {
+            return declaration.isConstructorDeclaration();
+        }
+
+        /** The calls to super() that are inserted in the constructors that don't begin with an explicit
+         *  constructor invocation when their CFGs are built. They call the parent's constructor without parameters. */
+        @Override
+        protected Map<CallableDeclaration<?>, Set<CallableDeclaration<?>>> findImplicitCalls(NodeList<CompilationUnit> nodeList) {
+            Map<CallableDeclaration<?>, Set<CallableDeclaration<?>>> calls = ASTUtils.newIdentityHashMap();
+            for (CompilationUnit cu : nodeList) {
+                for (ConstructorDeclaration constructor : cu.findAll(ConstructorDeclaration.class)) {
+                    if (!ASTUtils.shouldInsertExplicitConstructorInvocation(constructor))
+                        continue;
+                    constructor.findAncestor(ClassOrInterfaceDeclaration.class)
+                            .flatMap(type -> ClassGraph.getInstance().parentOf(type))
+                            .flatMap(ClassOrInterfaceDeclaration::getDefaultConstructor)
+                            .ifPresent(parent -> calls.put(constructor, Set.of(parent)));
+                }
+            }
+            return calls;
+        }
+
         @Override
         protected CFG createCFG() {
             return new JSysCFG();
@@ -85,34 +113,46 @@ public class JSysDG extends ESSDG {
             return new JSysPDG((JSysCFG) cfg);
         }
 
+        @Override
+        protected CallConnector createCallConnector() {
+            return new JSysCallConnector(JSysDG.this);
+        }
+
+        /** Connects the calls and then the enum type nodes, which are always inserted again. */
         @Override
         protected void connectCalls() {
-            new JSysCallConnector(JSysDG.this).connectAllCalls(callGraph);
+            super.connectCalls();
             connectEnumToFormalIn();
         }
 
+        /** Connects each enum type node to the formal-in nodes that represent it. The formal-in nodes
+         *  are grouped by name first, so that each enum only visits those with its name. */
         protected void connectEnumToFormalIn() {
+            Map<String, List<FormalIONode>> formalInMap = new HashMap<>();
+            for (GraphNode<?> node : vertexSet()) {
+                if (node instanceof FormalIONode && ((FormalIONode) node).isInput())
+                    formalInMap.computeIfAbsent(((FormalIONode) node).getVariableName(), name -> new LinkedList<>())
+                            .add((FormalIONode) node);
+            }
             for (GraphNode<?> g1 : vertexSet()) {
                 if (!(g1.getAstNode() instanceof EnumDeclaration))
                     continue;
                 VariableAction a1 = g1.getLastVariableAction();
-                for (GraphNode<?> g2 : vertexSet()) {
-                    if (g2 instanceof FormalIONode) {
-                        FormalIONode fIn = (FormalIONode) g2;
-                        if (fIn.isInput() && fIn.getVariableName().equals(a1.getName()))
-                            a1.applySDGTreeConnection(JSysDG.this, g2.getLastVariableAction());
-                    }
-                }
+                for (FormalIONode fIn : formalInMap.getOrDefault(a1.getName(), Collections.emptyList()))
+                    a1.applySDGTreeConnection(JSysDG.this, fIn.getLastVariableAction());
             }
         }
 
         @Override
-        protected void createSummaryArcs() {
-            new SummaryArcAnalyzer(JSysDG.this, callGraph).analyze();
+        protected AbstractSummaryArcAnalyzer<?, ?, ?> createSummaryArcAnalyzer() {
+            return new SummaryArcAnalyzer(JSysDG.this, callGraph);
         }
 
-        /** Adds type nodes (classes, interfaces, enums) to the SDG, along with their static fields. */
+        /** Adds type nodes (classes, interfaces, enums) to the SDG, along with their static fields.
+         *  Those inserted in a previous build are removed first. */
         protected void insertTypeNodes() {
+            removeAllVertices(typeNodes);
+            typeNodes.clear();
             for (ClassGraph.Vertex<? extends TypeDeclaration<?>> cgVertex : ClassGraph.getInstance().typeVertices()) {
                 String kind;
                 if (cgVertex.getDeclaration() instanceof EnumDeclaration) {
@@ -128,6 +168,7 @@ public class JSysDG extends ESSDG {
 
                 String typeName = cgVertex.getDeclaration().getNameAsString();
                 GraphNode<?> typeNode = addVertex(kind + " " + typeName, cgVertex.getDeclaration());
+                typeNodes.add(typeNode);
                 VariableAction typeDef = new VariableAction.Definition(VariableAction.DeclarationType.TYPE, typeName, typeNode);
                 typeNode.addVariableAction(typeDef);
 
@@ -143,9 +184,11 @@ public class JSysDG extends ESSDG {
 
                 // Copy object tree nodes to the SDG
                 addVertex(typeDef.getObjectTree().getMemberNode());
+                typeNodes.add(typeDef.getObjectTree().getMemberNode());
                 addEdge(typeNode, typeDef.getObjectTree().getMemberNode(), new StructuralArc());
                 for (MemberNode memberNode : typeDef.getObjectTree().nodeIterable()) {
                     addVertex(memberNode);
+                    typeNodes.add(memberNode);
                     addEdge(memberNode.getParent(), memberNode, new StructuralArc());
                 }
             }
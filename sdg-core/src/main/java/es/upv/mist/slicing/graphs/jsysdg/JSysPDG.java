@@ -4,21 +4,21 @@ import es.upv.mist.slicing.arcs.pdg.FlowDependencyArc;
 import es.upv.mist.slicing.arcs.pdg.ObjectFlowDependencyArc;
 import es.upv.mist.slicing.arcs.pdg.StructuralArc;
 import es.upv.mist.slicing.arcs.pdg.TotalDefinitionDependenceArc;
+import es.upv.mist.slicing.graphs.cfg.ReachingDefinitions;
 import es.upv.mist.slicing.graphs.exceptionsensitive.ESCFG;
 import es.upv.mist.slicing.graphs.exceptionsensitive.ESPDG;
 import es.upv.mist.slicing.graphs.pdg.PDG;
+import es.upv.mist.slicing.nodes.FieldPath;
 import es.upv.mist.slicing.nodes.GraphNode;
 import es.upv.mist.slicing.nodes.VariableAction;
 import es.upv.mist.slicing.nodes.io.ActualIONode;
 import es.upv.mist.slicing.nodes.io.CallNode;
 import es.upv.mist.slicing.nodes.oo.MemberNode;
 
-import java.util.Deque;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.*;
 
 import static es.upv.mist.slicing.nodes.ObjectTree.ROOT_NAME;
-import static es.upv.mist.slicing.nodes.ObjectTree.ROOT_NODE;
+import static es.upv.mist.slicing.nodes.ObjectTree.ROOT_PATH;
 
 public class JSysPDG extends ESPDG {
     public JSysPDG() {
@@ -44,7 +44,7 @@ public class JSysPDG extends ESPDG {
     }
 
     // definicion de miembro --object-flow--> definicion de raiz
-    protected void addObjectFlowDependencyArc(VariableAction nextDefinitionRoot, String[] memberDefined, VariableAction definition) {
+    protected void addObjectFlowDependencyArc(VariableAction nextDefinitionRoot, FieldPath memberDefined, VariableAction definition) {
         MemberNode defMember = definition.getObjectTree().getNodeFor(true, memberDefined);
         addEdge(defMember, graphNodeOf(nextDefinitionRoot), new ObjectFlowDependencyArc());
     }
@@ -60,7 +60,7 @@ public class JSysPDG extends ESPDG {
     }
 
     // definicion de miembro --flow--> uso de miembro
-    protected void addFlowDependencyArc(VariableAction definition, VariableAction usage, String[] objMember) {
+    protected void addFlowDependencyArc(VariableAction definition, VariableAction usage, FieldPath objMember) {
         GraphNode<?> defMember = definition.getObjectTree().getNodeFor(true, objMember);
         GraphNode<?> useMember = usage.getObjectTree().getNodeFor(true, objMember);
         addEdge(defMember, useMember, new FlowDependencyArc(objMember));
@@ -70,8 +70,8 @@ public class JSysPDG extends ESPDG {
         addEdge(usage.getObjectTree().getMemberNode(), statement, new FlowDependencyArc(ROOT_NAME));
     }
 
-    protected void addTotalDefinitionDependencyArc(VariableAction totalDefinition, VariableAction target, String[] member) {
-        if (member.length == 1 && member[0].equals(ROOT_NAME))
+    protected void addTotalDefinitionDependencyArc(VariableAction totalDefinition, VariableAction target, FieldPath member) {
+        if (member == ROOT_PATH)
             addEdge(graphNodeOf(totalDefinition), graphNodeOf(target), new TotalDefinitionDependenceArc());
         else
             for (MemberNode from : totalDefinition.getObjectTree().getNodesForPoly(member))
@@ -93,6 +93,12 @@ public class JSysPDG extends ESPDG {
     }
 
     protected class Builder extends ESPDG.Builder {
+        /** Reaching definitions and declarations of each variable, computed once per PDG. */
+        protected ReachingDefinitions definitions, declarations;
+        /** Reaching definitions of each object member, computed on demand. */
+        protected final Map<FieldPath, ReachingDefinitions> memberDefinitions = new HashMap<>();
+        /** Reaching total definitions of each object member, computed on demand. */
+        protected final Map<FieldPath, ReachingDefinitions> totalDefinitions = new HashMap<>();
 
         @Override
         protected void buildDataDependency() {
@@ -105,6 +111,8 @@ public class JSysPDG extends ESPDG {
         /** Compute flow, object flow and total definition dependence. */
         protected void buildJSysDataDependency() {
             JSysCFG jSysCFG = (JSysCFG) cfg;
+            definitions = new ReachingDefinitions(jSysCFG, VariableAction::isDefinition);
+            declarations = new ReachingDefinitions(jSysCFG, VariableAction::isDeclaration);
             for (GraphNode<?> node : vertexSet()) {
                 for (VariableAction varAct : node.getVariableActions()) {
                     // Total definition dependence
@@ -123,25 +131,33 @@ public class JSysPDG extends ESPDG {
          *  non-synthetic definitions. Connects each member to its previous total definition. */
         private void buildTotalDefinitionDependence(JSysCFG jSysCFG, VariableAction varAct) {
             if (!varAct.isPrimitive() && (varAct.isUsage() || (varAct.isDefinition() && !varAct.isSynthetic()))) {
-                jSysCFG.findLastTotalDefinitionOf(varAct, ROOT_NODE).forEach(totalDef -> addTotalDefinitionDependencyArc(totalDef, varAct, ROOT_NODE));
+                totalDefinitionsOf(jSysCFG, ROOT_PATH).findLastActionsFrom(varAct).forEach(totalDef -> addTotalDefinitionDependencyArc(totalDef, varAct, ROOT_PATH));
                 if (!varAct.hasObjectTree())
                     return;
-                for (String[] member : varAct.getObjectTree().nameAsArrayIterable())
-                    jSysCFG.findLastTotalDefinitionOf(varAct, member).forEach(totalDef -> addTotalDefinitionDependencyArc(totalDef, varAct, member));
+                for (FieldPath member : varAct.getObjectTree().memberPaths())
+                    totalDefinitionsOf(jSysCFG, member).findLastActionsFrom(varAct).forEach(totalDef -> addTotalDefinitionDependencyArc(totalDef, varAct, member));
             }
         }
 
+        protected ReachingDefinitions memberDefinitionsOf(JSysCFG jSysCFG, FieldPath member) {
+            return memberDefinitions.computeIfAbsent(member, m -> jSysCFG.reachingDefinitionsOfObjectMember(member));
+        }
+
+        protected ReachingDefinitions totalDefinitionsOf(JSysCFG jSysCFG, FieldPath member) {
+            return totalDefinitions.computeIfAbsent(member, m -> jSysCFG.reachingTotalDefinitionsOf(member));
+        }
+
         /** Generate dependencies to usages, including flow dependency for primitives,
          *  object flow for object roots and flow for object members. */
         private void buildUsageDependencies(JSysCFG jSysCFG, VariableAction varAct) {
             if (varAct.isPrimitive()) {
-                jSysCFG.findLastDefinitionOfPrimitive(varAct).forEach(def -> addFlowDependencyArc(def, varAct));
+                definitions.findLastActionsFrom(varAct).forEach(def -> addFlowDependencyArc(def, varAct));
             } else {
-                jSysCFG.findLastDefinitionOfObjectRoot(varAct).forEach(def -> addObjectFlowDependencyArc(def, varAct));
+                definitions.findLastActionsFrom(varAct).forEach(def -> addObjectFlowDependencyArc(def, varAct));
                 if (!varAct.hasObjectTree())
                     return;
-                for (String[] member : varAct.getObjectTree().nameAsArrayIterable())
-                    jSysCFG.findLastDefinitionOfObjectMember(varAct, member).forEach(def -> addFlowDependencyArc(def, varAct, member));
+                for (FieldPath member : varAct.getObjectTree().memberPaths())
+                    memberDefinitionsOf(jSysCFG, member).findLastActionsFrom(varAct).forEach(def -> addFlowDependencyArc(def, varAct, member));
             }
         }
 
@@ -149,11 +165,11 @@ public class JSysPDG extends ESPDG {
         private void buildDefinitionDependencies(JSysCFG jSysCFG, VariableAction varAct) {
             // Flow declaration --> definition
             if (!varAct.isSynthetic())
-                jSysCFG.findDeclarationFor(varAct).ifPresent(dec -> addFlowDependencyArc(dec, varAct));
+                declarations.findLastActionsFrom(varAct).forEach(dec -> addFlowDependencyArc(dec, varAct));
             // Object flow definition --> definition
             if (varAct.isPrimitive() || !varAct.hasObjectTree())
                 return;
-            for (String[] member : varAct.getObjectTree().nameAsArrayIterable())
+            for (FieldPath member : varAct.getObjectTree().memberPaths())
                 jSysCFG.findNextObjectDefinitionsFor(varAct, member).forEach(def -> addObjectFlowDependencyArc(varAct, member, def));
         }
 
@@ -1,6 +1,7 @@
 package es.upv.mist.slicing.graphs.jsysdg;
 
 import es.upv.mist.slicing.graphs.pdg.PDG;
+import es.upv.mist.slicing.nodes.FieldPath;
 import es.upv.mist.slicing.nodes.GraphNode;
 import es.upv.mist.slicing.nodes.VariableAction;
 
@@ -26,12 +27,12 @@ public class OriginalJSysPDG extends JSysPDG {
 
     // definicion de miembro --object-flow--> definicion de raiz
     @Override
-    protected void addObjectFlowDependencyArc(VariableAction nextDefinitionRoot, String[] memberDefined, VariableAction definition) {
+    protected void addObjectFlowDependencyArc(VariableAction nextDefinitionRoot, FieldPath memberDefined, VariableAction definition) {
         throw new UnsupportedOperationException();
     }
 
     @Override
-    protected void addTotalDefinitionDependencyArc(VariableAction totalDefinition, VariableAction target, String[] member) {
+    protected void addTotalDefinitionDependencyArc(VariableAction totalDefinition, VariableAction target, FieldPath member) {
         throw new UnsupportedOperationException();
     }
 
@@ -73,7 +74,7 @@ public class OriginalJSysPDG extends JSysPDG {
             if (varAct.isPrimitive()) {
                 jSysCFG.findLastDefinitionOfPrimitive(varAct).forEach(def -> addFlowDependencyArc(def, varAct));
             } else if (varAct.hasObjectTree()) {
-                for (String[] member : varAct.getObjectTree().nameAsArrayIterable())
+                for (FieldPath member : varAct.getObjectTree().memberPaths())
                     jSysCFG.findLastDefinitionOfObjectMember(varAct, member).forEach(def -> addFlowDependencyArc(def, varAct, member));
             }
         }
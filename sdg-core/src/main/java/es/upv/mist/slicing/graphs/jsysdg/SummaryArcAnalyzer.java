@@ -10,16 +10,26 @@ import es.upv.mist.slicing.nodes.VariableAction;
 import es.upv.mist.slicing.nodes.io.FormalIONode;
 import es.upv.mist.slicing.nodes.oo.MemberNode;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
  * Generates and places on the graph all summary arcs between actual-in and actual-out, return and exception/normal
  * return nodes. Additionally, it generates them between the object trees of each of the aforementioned nodes.
+ * <br/>
+ * The formal-in nodes of each formal-out are found with an intraprocedural traversal, which is kept until a new
+ * summary arc reaches one of the nodes it traversed. Only those traversals can change, as the rest never visit
+ * the new arc. Thus, each traversal is repeated only when the summaries of the calls it depends on grow, instead
+ * of every time its declaration is computed.
  */
 public class SummaryArcAnalyzer extends AbstractSummaryArcAnalyzer<SyntheticNode<?>, SyntheticNode<?>, SyntheticNode<?>> {
+    /** The formal-in nodes reached from each formal-out node, while they remain valid. */
+    protected final Map<SyntheticNode<?>, Set<SyntheticNode<?>>> formalInMap = new HashMap<>();
+    /** The formal-out nodes whose traversal reached each node. */
+    protected final Map<GraphNode<?>, Set<SyntheticNode<?>>> dependentFormalOuts = new HashMap<>();
+    /** The number of intraprocedural traversals performed. */
+    protected int traversals = 0;
+
     public SummaryArcAnalyzer(JSysDG sdg, CallGraph graph) {
         super(sdg, graph);
     }
@@ -40,13 +50,35 @@ public class SummaryArcAnalyzer extends AbstractSummaryArcAnalyzer<SyntheticNode
 
     @Override
     protected Set<SyntheticNode<?>> computeFormalIn(SyntheticNode<?> formalOut) {
-        Set<SyntheticNode<?>> result = new HashSet<>();
-        for (GraphNode<?> graphNode : ((JSysDG) sdg).createSlicingAlgorithm().traverseProcedure(formalOut).getGraphNodes())
+        Set<SyntheticNode<?>> result = formalInMap.get(formalOut);
+        if (result != null)
+            return result;
+        result = new HashSet<>();
+        traversals++;
+        for (GraphNode<?> graphNode : ((JSysDG) sdg).createSlicingAlgorithm().traverseProcedure(formalOut).getGraphNodes()) {
+            dependentFormalOuts.computeIfAbsent(graphNode, n -> new HashSet<>()).add(formalOut);
             if (isFormalIn(graphNode) && graphNode instanceof SyntheticNode)
                 result.add((SyntheticNode<?>) graphNode);
+        }
+        formalInMap.put(formalOut, result);
         return result;
     }
 
+    /** Adds the arc and discards the traversals that reached its target, as they may now reach further. */
+    @Override
+    protected void addSummaryArc(SyntheticNode<?> actualIn, SyntheticNode<?> actualOut) {
+        super.addSummaryArc(actualIn, actualOut);
+        Set<SyntheticNode<?>> formalOuts = dependentFormalOuts.remove(actualOut);
+        if (formalOuts != null)
+            formalOuts.forEach(formalInMap::remove);
+    }
+
+    /** The number of intraprocedural traversals performed, at most one per formal-out node
+     *  plus one per change in the summary arcs that it reached. */
+    public int getTraversals() {
+        return traversals;
+    }
+
     @Override
     protected Collection<? extends SyntheticNode<?>> findActualIn(CallGraph.Edge<?> edge, SyntheticNode<?> formalIn) {
         return sdg.incomingEdgesOf(formalIn).stream()
@@ -17,6 +17,7 @@ import es.upv.mist.slicing.nodes.VariableAction;
 import es.upv.mist.slicing.nodes.io.ActualIONode;
 import es.upv.mist.slicing.nodes.io.FormalIONode;
 import es.upv.mist.slicing.utils.ASTUtils;
+import es.upv.mist.slicing.utils.ResolutionCache;
 
 import java.util.List;
 import java.util.Map;
@@ -40,7 +41,7 @@ public class DynamicTypeResolver {
     /** Obtains the possible dynamic types of the given expression, which is contained within a GraphNode.
      *  Only expressions of a reference type are allowed (e.g. objects, arrays, but not primitives). */
     public Set<ResolvedType> resolve(Expression expression, GraphNode<?> container) {
-        assert expression.calculateResolvedType().isReference(): "The expression must be of reference type (no primitives).";
+        assert ResolutionCache.getInstance().calculateResolvedType(expression).isReference(): "The expression must be of reference type (no primitives).";
         return resolveStreamed(expression, container).collect(Collectors.toSet());
     }
 
@@ -59,13 +60,13 @@ public class DynamicTypeResolver {
             return resolveStreamed(expression.asEnclosedExpr().getInner(), container);
         if (expression.isObjectCreationExpr() ||
                 expression.isArrayCreationExpr())
-            return Stream.of(expression.calculateResolvedType());
+            return Stream.of(ResolutionCache.getInstance().calculateResolvedType(expression));
         throw new IllegalArgumentException("The given expression is not an object-compatible one.");
     }
 
     /** Checks the possible values of all ReturnStmt of this call's target methods. */
     protected Stream<ResolvedType> resolveMethodCallExpr(MethodCallExpr methodCallExpr) {
-        assert !methodCallExpr.calculateResolvedType().isVoid();
+        assert !ResolutionCache.getInstance().calculateResolvedType(methodCallExpr).isVoid();
         return callGraph.getCallTargets(methodCallExpr)
                 .filter(ASTUtils::hasBody) // abstract or interface methods must be skipped
                 .map(cfgMap::get)
@@ -142,14 +143,14 @@ public class DynamicTypeResolver {
      *  of the inner expression. */
     protected Stream<ResolvedType> resolveCast(CastExpr cast, GraphNode<?> container) {
         if (ASTUtils.isDownCast(cast))
-            return Stream.of(cast.getType().resolve());
+            return Stream.of(ResolutionCache.getInstance().resolve(cast.getType()));
         return resolveStreamed(cast.getExpression(), container);
     }
 
     /** Returns all possible types that the given expression can be, by obtaining its static type
      *  and locating all subtypes in the class graph. */
     protected Stream<ResolvedType> anyTypeOf(Expression expression) {
-        ResolvedClassDeclaration type = expression.calculateResolvedType().asReferenceType()
+        ResolvedClassDeclaration type = ResolutionCache.getInstance().calculateResolvedType(expression).asReferenceType()
                 .getTypeDeclaration().orElseThrow().asClass();
         return classGraph.subclassesOf(type).stream()
                 .map(TypeDeclaration::resolve)
@@ -4,15 +4,17 @@ import es.upv.mist.slicing.arcs.Arc;
 import es.upv.mist.slicing.arcs.cfg.ControlFlowArc;
 import es.upv.mist.slicing.arcs.pdg.ControlDependencyArc;
 import es.upv.mist.slicing.graphs.cfg.CFG;
+import es.upv.mist.slicing.graphs.cfg.PostDominatorTree;
 import es.upv.mist.slicing.nodes.GraphNode;
 
 import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 
 /**
- * A simple but slow finder of control dependencies.
+ * A finder of control dependencies, based on the {@link PostDominatorTree post-dominator tree} of the CFG.
  * <br/>
- * It has a polynomial complexity (between cubed and n**4) with respect to the number of nodes in the CFG.
  * It uses the following definition of control dependence:
  * <br/>
  * A node <i>b</i> is control dependent on another node <i>a</i> if and only if <i>b</i> post-dominates
@@ -21,7 +23,10 @@ import java.util.Set;
  * A node <i>b</i> post-dominates another node <i>a</i> if and only if <i>b</i> appears in every path
  * from <i>a</i> to the "Exit" node.
  * <br/>
- * There exist better, cheaper approaches that have linear complexity w.r.t. the number of edges in the CFG.
+ * The post-dominator tree is computed once, and then each predicate's dependents are found by walking the tree
+ * from each of its successors up to their common ancestor, which has a cost proportional to the arcs generated.
+ * The all-pairs search ({@link #hasControlDependence(GraphNode, GraphNode)}) is kept as a reference implementation.
+ * <br/>
  * <b>Usage:</b> pass an empty {@link PDG} and a filled {@link CFG} and then run {@link #build()}.
  * This builder should only be used once, and then discarded.
  */
@@ -47,24 +52,36 @@ public class ControlDependencyBuilder {
             cfg.addEdge(enterNode, exitNode, enterExitArc);
         }
 
+        PostDominatorTree tree = createPostDominatorTree();
         Set<GraphNode<?>> nodes = pdg.vertexSet();
         for (GraphNode<?> a : nodes) {
-            for (GraphNode<?> b : nodes) {
-                if (a == b) continue;
-                if (hasControlDependence(a, b))
+            Set<Arc> arcs = cfg.outgoingEdgesOf(a);
+            // Nodes with fewer than 2 outgoing arcs cannot control another node.
+            if (arcs.size() < 2)
+                continue;
+            List<GraphNode<?>> successors = new LinkedList<>();
+            for (Arc arc : arcs)
+                successors.add(cfg.getEdgeTarget(arc));
+            for (GraphNode<?> b : tree.partiallyPostDominating(successors, nodes))
+                if (a != b)
                     pdg.addControlDependencyArc(a, b);
-            }
         }
 
         if (enterExitArc != null)
             cfg.removeEdge(enterExitArc);
     }
 
+    /** Create the post-dominator tree used to compute control dependence. It must
+     *  consider the same arcs as {@link #postDominates(GraphNode, GraphNode)}. */
+    protected PostDominatorTree createPostDominatorTree() {
+        return new PostDominatorTree(cfg);
+    }
+
     /** Whether the first argument has a control-flow effect on the execution of the second argument. */
     public boolean hasControlDependence(GraphNode<?> a, GraphNode<?> b) {
         int yes = 0;
         Set<Arc> arcs = cfg.outgoingEdgesOf(a);
-        // Nodes with less than 1 outgoing arc cannot control another node.
+        // Nodes with fewer than 2 outgoing arcs cannot control another node.
         if (arcs.size() < 2)
             return false;
         for (Arc arc : arcs)
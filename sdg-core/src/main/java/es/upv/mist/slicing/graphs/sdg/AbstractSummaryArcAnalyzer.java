@@ -9,7 +9,6 @@ import es.upv.mist.slicing.nodes.io.FormalIONode;
 import es.upv.mist.slicing.nodes.io.OutputNode;
 
 import java.util.*;
-import java.util.stream.Stream;
 
 /**
  * Base class for generating and placing in an SDG the summary arcs.
@@ -20,51 +19,60 @@ import java.util.stream.Stream;
 public abstract class AbstractSummaryArcAnalyzer<ActualIn extends SyntheticNode<?>, FormalOut extends SyntheticNode<?>, FormalIn extends SyntheticNode<?>>
         extends BackwardDataFlowAnalysis<CallGraph.Vertex, CallGraph.Edge<?>, Map<FormalOut, Set<FormalIn>>> {
     protected final SDG sdg;
+    /** The declarations whose summary arcs must be computed, or null if all of them must be computed. */
+    protected Set<CallableDeclaration<?>> modifiedDeclarations = null;
     
     protected AbstractSummaryArcAnalyzer(SDG sdg, CallGraph graph) {
         super(graph);
         this.sdg = sdg;
     }
 
+    /** Performs the analysis only on the given declarations and those called from them.
+     *  The summary arcs of calls placed in other declarations are kept as they are. */
+    public void analyze(Set<CallableDeclaration<?>> modifiedDeclarations) {
+        this.modifiedDeclarations = modifiedDeclarations;
+        analyze();
+    }
+
+    @Override
+    protected boolean isFixed(CallGraph.Vertex vertex) {
+        if (modifiedDeclarations == null || modifiedDeclarations.contains(vertex.getDeclaration()))
+            return false;
+        for (CallGraph.Edge<?> edge : graph.incomingEdgesOf(vertex))
+            if (modifiedDeclarations.contains(graph.getEdgeSource(edge).getDeclaration()))
+                return false;
+        return true;
+    }
+
+    /** Computes the value of the vertex with the summary arcs placed so far, and places the summary
+     *  arcs that it implies in its callers. The value is a new map, so that a change is detected. */
     @Override
     protected Map<FormalOut, Set<FormalIn>> compute(CallGraph.Vertex vertex, Set<CallGraph.Vertex> predecessors) {
-        saveDeclaration(vertex);
-        return initialValue(vertex);
+        Map<FormalOut, Set<FormalIn>> value = initialValue(vertex);
+        saveDeclaration(vertex, value);
+        return value;
     }
 
     @Override
     protected Map<FormalOut, Set<FormalIn>> initialValue(CallGraph.Vertex vertex) {
-        Map<FormalOut, Set<FormalIn>> value;
-        if (vertexDataMap.containsKey(vertex)) {
-            value = vertexDataMap.get(vertex);
-        } else {
-            value = new HashMap<>();
-            for (var formalOut : getFormalOutNodes(vertex.getDeclaration()))
-                value.put(formalOut, new HashSet<>());
-        }
-        value.replaceAll((key, oldValue) -> computeFormalIn(key));
+        Collection<FormalOut> formalOuts = vertexDataMap.containsKey(vertex) ?
+                vertexDataMap.get(vertex).keySet() : getFormalOutNodes(vertex.getDeclaration());
+        Map<FormalOut, Set<FormalIn>> value = new HashMap<>();
+        for (FormalOut formalOut : formalOuts)
+            value.put(formalOut, computeFormalIn(formalOut));
         return value;
     }
 
     /** Obtain all nodes that represent the output of a method declaration. These include formal-out,
      *  return nodes and normal/exception exit nodes (for exception handling). */
+    @SuppressWarnings("unchecked")
     protected Set<FormalOut> getFormalOutNodes(CallableDeclaration<?> declaration) {
         Set<FormalOut> set = new HashSet<>();
-        Stream.concat(
-                Stream.concat(
-                        sdg.vertexSet().stream() // formal-out nodes
-                                .filter(FormalIONode.class::isInstance)
-                                .map(FormalIONode.class::cast)
-                                .filter(FormalIONode::isOutput),
-                        sdg.vertexSet().stream() // output nodes (the value returned)
-                                .filter(OutputNode.class::isInstance)
-                                .map(OutputNode.class::cast)),
-                sdg.vertexSet().stream() // normal/exception exit nodes (for exception handling)
-                        .filter(ExitNode.class::isInstance)
-                        .map(ExitNode.class::cast))
-                // Only nodes that match the current declaration
-                .filter(node -> node.getAstNode() == declaration)
-                .forEach(e -> set.add((FormalOut) e));
+        for (SyntheticNode<?> node : sdg.getInterfaceNodeIndex().getDeclarationNodes(declaration))
+            if ((node instanceof FormalIONode && ((FormalIONode) node).isOutput()) // formal-out nodes
+                    || node instanceof OutputNode // output nodes (the value returned)
+                    || node instanceof ExitNode)  // normal/exception exit nodes (for exception handling)
+                set.add((FormalOut) node);
         return set;
     }
 
@@ -73,11 +81,12 @@ public abstract class AbstractSummaryArcAnalyzer<ActualIn extends SyntheticNode<
      *  care of the rest of cases by adding summary arcs computed for other declarations. */
     protected abstract Set<FormalIn> computeFormalIn(FormalOut formalOut);
 
-    /** Generate all summary arcs for a given call. Arc generation should be idempotent:
+    /** Generate the summary arcs of the given value in every call to the vertex. Arc generation should be idempotent:
      *  if this method is called repeatedly it should not create duplicate summary arcs. */
-    protected void saveDeclaration(CallGraph.Vertex vertex) {
-        var result = vertexDataMap.get(vertex);
+    protected void saveDeclaration(CallGraph.Vertex vertex, Map<FormalOut, Set<FormalIn>> result) {
         for (CallGraph.Edge<?> edge : graph.incomingEdgesOf(vertex)) {
+            if (isFixed(graph.getEdgeSource(edge)))
+                continue;
             for (var entry : result.entrySet()) {
                 Collection<? extends SyntheticNode<?>> actualOuts = findOutputNode(edge, entry.getKey());
                 if (actualOuts.isEmpty())
@@ -89,12 +98,17 @@ public abstract class AbstractSummaryArcAnalyzer<ActualIn extends SyntheticNode<
                     for (SyntheticNode<?> actualOut : actualOuts)
                         for (ActualIn actualIn : actualIns)
                             if (!sdg.containsEdge(actualIn, actualOut))
-                                sdg.addSummaryArc(actualIn, actualOut);
+                                addSummaryArc(actualIn, actualOut);
                 }
             }
         }
     }
 
+    /** Places a new summary arc in the graph. Only called for arcs that aren't in the graph yet. */
+    protected void addSummaryArc(ActualIn actualIn, SyntheticNode<?> actualOut) {
+        sdg.addSummaryArc(actualIn, actualOut);
+    }
+
     /** Find the actual-in that represents the given formal-in in the given call.
      *  There may not be one. In that case, the dependency between formal-in/out should
      *  not result in a summary arc. */
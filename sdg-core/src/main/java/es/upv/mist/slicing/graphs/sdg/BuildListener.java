@@ -0,0 +1,27 @@
+package es.upv.mist.slicing.graphs.sdg;
+
+import com.github.javaparser.ast.body.CallableDeclaration;
+import es.upv.mist.slicing.graphs.BackwardDataFlowAnalysis;
+import es.upv.mist.slicing.graphs.Graph;
+
+/**
+ * Receives the measurements taken while an SDG is built or rebuilt. All methods do nothing by default.
+ * When the graph is built with several threads, {@link #declarationBuilt(SDG.BuildPhase, CallableDeclaration, Graph, BuildMeasurement)}
+ * may be called concurrently.
+ * @see SDG#setBuildListener(BuildListener)
+ */
+public interface BuildListener {
+    /** A phase has finished. The measurement contains the size of the SDG after it.
+     *  When the graph is rebuilt, some phases may be performed more than once. */
+    default void phaseFinished(SDG.BuildPhase phase, BuildMeasurement measurement) {}
+
+    /** The graph of a declaration (a CFG or a PDG, depending on the phase) has been built. */
+    default void declarationBuilt(SDG.BuildPhase phase, CallableDeclaration<?> declaration, Graph graph, BuildMeasurement measurement) {}
+
+    /** A fixed-point analysis of the given phase has finished. */
+    default void analysisFinished(SDG.BuildPhase phase, BackwardDataFlowAnalysis<?, ?, ?> analysis) {}
+
+    /** A phase has finished, after obtaining the given number of symbol resolutions from the
+     *  {@link es.upv.mist.slicing.utils.ResolutionCache ResolutionCache} (hits) and computing the rest (misses). */
+    default void resolutionsCounted(SDG.BuildPhase phase, long hits, long misses) {}
+}
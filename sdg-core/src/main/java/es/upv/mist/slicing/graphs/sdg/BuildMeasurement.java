@@ -0,0 +1,72 @@
+package es.upv.mist.slicing.graphs.sdg;
+
+import es.upv.mist.slicing.graphs.Graph;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * The cost of a step of the construction of an SDG: its wall time, the memory allocated
+ * by the thread that performed it, and the size of the graph that it produced.
+ * @see BuildListener
+ */
+public final class BuildMeasurement {
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final long wallTime;
+    private final long allocatedBytes;
+    private final int nodes;
+    private final int arcs;
+
+    public BuildMeasurement(long wallTime, long allocatedBytes, int nodes, int arcs) {
+        this.wallTime = wallTime;
+        this.allocatedBytes = allocatedBytes;
+        this.nodes = nodes;
+        this.arcs = arcs;
+    }
+
+    /** The wall time of the step, in nanoseconds. */
+    public long getWallTime() {
+        return wallTime;
+    }
+
+    /** An estimate of the bytes allocated by the thread that performed the step, or -1 if the JVM
+     *  can't measure it. Allocations of other threads (e.g. when several build threads are used)
+     *  are not included. */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /** The number of nodes of the graph after the step. */
+    public int getNodes() {
+        return nodes;
+    }
+
+    /** The number of arcs of the graph after the step. */
+    public int getArcs() {
+        return arcs;
+    }
+
+    /** The bytes allocated by the current thread since it started, or -1 if the JVM can't measure it. */
+    static long currentThreadAllocatedBytes() {
+        if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+            var threadMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+            if (threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled())
+                return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /** Measures a step from its creation, which must be stopped in the same thread. */
+    static class Stopwatch {
+        private final long startTime = System.nanoTime();
+        private final long startAllocatedBytes = currentThreadAllocatedBytes();
+
+        /** Finishes the measurement, given the graph produced by the step. */
+        BuildMeasurement stop(Graph graph) {
+            long wallTime = System.nanoTime() - startTime;
+            long allocatedBytes = startAllocatedBytes < 0 ? -1 : currentThreadAllocatedBytes() - startAllocatedBytes;
+            return new BuildMeasurement(wallTime, allocatedBytes, graph.vertexSet().size(), graph.edgeSet().size());
+        }
+    }
+}
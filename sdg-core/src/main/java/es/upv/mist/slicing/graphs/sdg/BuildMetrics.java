@@ -0,0 +1,266 @@
+package es.upv.mist.slicing.graphs.sdg;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.CallableDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import es.upv.mist.slicing.graphs.BackwardDataFlowAnalysis;
+import es.upv.mist.slicing.graphs.Graph;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A {@link BuildListener} that stores all measurements, so that they can be inspected or exported
+ * as JSON once the graph is built. Declarations are stored by name, so that their AST isn't retained.
+ */
+public class BuildMetrics implements BuildListener {
+    protected final List<Phase> phases = new ArrayList<>();
+    protected final List<Declaration> declarations = new ArrayList<>();
+    protected final List<Analysis> analyses = new ArrayList<>();
+    protected final List<Resolutions> resolutions = new ArrayList<>();
+
+    @Override
+    public synchronized void phaseFinished(SDG.BuildPhase phase, BuildMeasurement measurement) {
+        phases.add(new Phase(phase, measurement));
+    }
+
+    @Override
+    public void declarationBuilt(SDG.BuildPhase phase, CallableDeclaration<?> declaration, Graph graph, BuildMeasurement measurement) {
+        Declaration record = new Declaration(phase, getName(declaration),
+                declaration.findCompilationUnit().flatMap(CompilationUnit::getStorage).map(s -> s.getPath().toString()).orElse(null),
+                declaration.getBegin().map(position -> position.line).orElse(-1),
+                measurement);
+        synchronized (this) {
+            declarations.add(record);
+        }
+    }
+
+    @Override
+    public synchronized void analysisFinished(SDG.BuildPhase phase, BackwardDataFlowAnalysis<?, ?, ?> analysis) {
+        analyses.add(new Analysis(phase, analysis.getClass().getSimpleName(), analysis.getIterations(), analysis.getRecomputations()));
+    }
+
+    @Override
+    public synchronized void resolutionsCounted(SDG.BuildPhase phase, long hits, long misses) {
+        resolutions.add(new Resolutions(phase, hits, misses));
+    }
+
+    /** The name of a declaration, qualified with the name of its type. */
+    protected String getName(CallableDeclaration<?> declaration) {
+        String signature = declaration.getDeclarationAsString(false, false, false);
+        return declaration.findAncestor(TypeDeclaration.class)
+                .map(type -> ((TypeDeclaration<?>) type).getFullyQualifiedName().orElse(type.getNameAsString()) + "." + signature)
+                .orElse(signature);
+    }
+
+    /** The phases measured, in the order in which they finished. */
+    public synchronized List<Phase> getPhases() {
+        return List.copyOf(phases);
+    }
+
+    /** The graphs built for each declaration, from the slowest to the fastest. */
+    public synchronized List<Declaration> getDeclarations() {
+        List<Declaration> list = new ArrayList<>(declarations);
+        list.sort(Comparator.comparingLong((Declaration d) -> d.getMeasurement().getWallTime()).reversed());
+        return list;
+    }
+
+    /** The fixed-point analyses performed, in the order in which they finished. */
+    public synchronized List<Analysis> getAnalyses() {
+        return List.copyOf(analyses);
+    }
+
+    /** The symbol resolutions of each phase, in the order in which the phases finished. */
+    public synchronized List<Resolutions> getResolutions() {
+        return List.copyOf(resolutions);
+    }
+
+    /** Writes all measurements as a JSON object, with a list of phases, declarations (slowest first),
+     *  analyses and symbol resolutions. */
+    public void writeJson(Writer writer) throws IOException {
+        writer.write("{\n  \"phases\": [");
+        writeList(writer, getPhases(), (w, phase) -> {
+            w.write("{\"phase\": \"" + phase.getPhase() + "\", ");
+            writeMeasurement(w, phase.getMeasurement());
+            w.write("}");
+        });
+        writer.write("],\n  \"declarations\": [");
+        writeList(writer, getDeclarations(), (w, declaration) -> {
+            w.write("{\"phase\": \"" + declaration.getPhase() + "\", \"declaration\": ");
+            writeString(w, declaration.getName());
+            w.write(", \"file\": ");
+            writeString(w, declaration.getFile());
+            w.write(", \"line\": " + declaration.getLine() + ", ");
+            writeMeasurement(w, declaration.getMeasurement());
+            w.write("}");
+        });
+        writer.write("],\n  \"analyses\": [");
+        writeList(writer, getAnalyses(), (w, analysis) -> {
+            w.write("{\"phase\": \"" + analysis.getPhase() + "\", \"analysis\": ");
+            writeString(w, analysis.getName());
+            w.write(", \"iterations\": " + analysis.getIterations() + ", \"recomputations\": " + analysis.getRecomputations() + "}");
+        });
+        writer.write("],\n  \"resolutions\": [");
+        writeList(writer, getResolutions(), (w, counts) ->
+                w.write("{\"phase\": \"" + counts.getPhase() + "\", \"hits\": " + counts.getHits() + ", \"misses\": " + counts.getMisses() + "}"));
+        writer.write("]\n}\n");
+        writer.flush();
+    }
+
+    protected <T> void writeList(Writer writer, List<T> list, ElementWriter<T> elementWriter) throws IOException {
+        for (Iterator<T> it = list.iterator(); it.hasNext(); ) {
+            writer.write("\n    ");
+            elementWriter.write(writer, it.next());
+            if (it.hasNext())
+                writer.write(",");
+        }
+        if (!list.isEmpty())
+            writer.write("\n  ");
+    }
+
+    protected void writeMeasurement(Writer writer, BuildMeasurement measurement) throws IOException {
+        writer.write("\"wallTimeNanos\": " + measurement.getWallTime() + ", \"allocatedBytes\": " + measurement.getAllocatedBytes()
+                + ", \"nodes\": " + measurement.getNodes() + ", \"arcs\": " + measurement.getArcs());
+    }
+
+    protected void writeString(Writer writer, String string) throws IOException {
+        if (string == null) {
+            writer.write("null");
+            return;
+        }
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : string.toCharArray()) {
+            if (c == '"' || c == '\\')
+                builder.append('\\').append(c);
+            else if (c < 0x20)
+                builder.append(String.format("\\u%04x", (int) c));
+            else
+                builder.append(c);
+        }
+        writer.write(builder.append('"').toString());
+    }
+
+    protected interface ElementWriter<T> {
+        void write(Writer writer, T element) throws IOException;
+    }
+
+    /** The measurement of a whole phase. */
+    public static class Phase {
+        protected final SDG.BuildPhase phase;
+        protected final BuildMeasurement measurement;
+
+        public Phase(SDG.BuildPhase phase, BuildMeasurement measurement) {
+            this.phase = phase;
+            this.measurement = measurement;
+        }
+
+        public SDG.BuildPhase getPhase() {
+            return phase;
+        }
+
+        public BuildMeasurement getMeasurement() {
+            return measurement;
+        }
+    }
+
+    /** The measurement of the graph built for a declaration in a phase. */
+    public static class Declaration {
+        protected final SDG.BuildPhase phase;
+        protected final String name;
+        protected final String file;
+        protected final int line;
+        protected final BuildMeasurement measurement;
+
+        public Declaration(SDG.BuildPhase phase, String name, String file, int line, BuildMeasurement measurement) {
+            this.phase = phase;
+            this.name = name;
+            this.file = file;
+            this.line = line;
+            this.measurement = measurement;
+        }
+
+        public SDG.BuildPhase getPhase() {
+            return phase;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** The file that contains the declaration, or null if it's unknown (e.g. an implicit constructor). */
+        public String getFile() {
+            return file;
+        }
+
+        /** The line in which the declaration begins, or -1 if it's unknown. */
+        public int getLine() {
+            return line;
+        }
+
+        public BuildMeasurement getMeasurement() {
+            return measurement;
+        }
+    }
+
+    /** The number of iterations of a fixed-point analysis. */
+    public static class Analysis {
+        protected final SDG.BuildPhase phase;
+        protected final String name;
+        protected final int iterations;
+        protected final int recomputations;
+
+        public Analysis(SDG.BuildPhase phase, String name, int iterations, int recomputations) {
+            this.phase = phase;
+            this.name = name;
+            this.iterations = iterations;
+            this.recomputations = recomputations;
+        }
+
+        public SDG.BuildPhase getPhase() {
+            return phase;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** @see BackwardDataFlowAnalysis#getIterations() */
+        public int getIterations() {
+            return iterations;
+        }
+
+        /** @see BackwardDataFlowAnalysis#getRecomputations() */
+        public int getRecomputations() {
+            return recomputations;
+        }
+    }
+
+    /** The symbol resolutions of a phase that were obtained from the cache (hits) or computed (misses). */
+    public static class Resolutions {
+        protected final SDG.BuildPhase phase;
+        protected final long hits;
+        protected final long misses;
+
+        public Resolutions(SDG.BuildPhase phase, long hits, long misses) {
+            this.phase = phase;
+            this.hits = hits;
+            this.misses = misses;
+        }
+
+        public SDG.BuildPhase getPhase() {
+            return phase;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+    }
+}
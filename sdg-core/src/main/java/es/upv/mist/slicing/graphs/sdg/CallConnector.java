@@ -13,6 +13,8 @@ import es.upv.mist.slicing.nodes.io.FormalIONode;
 import es.upv.mist.slicing.nodes.io.OutputNode;
 import es.upv.mist.slicing.utils.ASTUtils;
 
+import java.util.Collection;
+
 /** Adds interprocedural arcs between the 'PDG components' of an SDG.
  * Arcs generated include {@link ParameterInOutArc parameter input/output} and
  * {@link CallArc call} arcs. */
@@ -25,7 +27,12 @@ public class CallConnector {
 
     /** Connects all calls found in the given call graph, placing the arcs in the SDG. */
     public void connectAllCalls(CallGraph callGraph) {
-        sdg.vertexSet().stream()
+        connectCalls(sdg.vertexSet(), callGraph);
+    }
+
+    /** Connects the calls found in the given collection of nodes, placing the arcs in the SDG. */
+    public void connectCalls(Collection<GraphNode<?>> nodes, CallGraph callGraph) {
+        nodes.stream()
                 .filter(CallNode.class::isInstance)
                 .map(CallNode.class::cast)
                 .forEach(node -> connectCall(node, callGraph));
@@ -37,7 +44,7 @@ public class CallConnector {
         var callExpr = (Resolvable<? extends ResolvedMethodLikeDeclaration>) callNode.getAstNode();
         callGraph.getCallTargets(callExpr)
                 .filter(ASTUtils::hasBody) // Added so that all nodes received correspond to a valid CFG root *without body there is no CFG*
-                .map(sdg::findNodeByASTNode)
+                .map(sdg::findDeclarationNode)
                 .map(opt -> opt.orElseThrow(IllegalArgumentException::new))
                 .forEach(node -> connectCall(callNode, node));
     }
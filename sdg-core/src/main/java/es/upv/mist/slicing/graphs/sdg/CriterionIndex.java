@@ -0,0 +1,82 @@
+package es.upv.mist.slicing.graphs.sdg;
+
+import com.github.javaparser.Position;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import es.upv.mist.slicing.nodes.GraphNode;
+import es.upv.mist.slicing.nodes.SyntheticNode;
+import es.upv.mist.slicing.utils.ASTUtils;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * An index of the nodes of an SDG, to locate slicing criteria without traversing the whole graph or AST.
+ * It maps each file to its compilation unit, each line of a compilation unit to the nodes whose AST node
+ * begins on it, and each AST node (by identity) to the nodes that represent it. It is created when the
+ * graph is built, and discarded when nodes are added or removed.
+ * @see SDG#getCriterionIndex()
+ */
+public class CriterionIndex {
+    protected static final Position DEFAULT_POSITION = new Position(0, 0);
+
+    protected final Map<Path, CompilationUnit> compilationUnits = new HashMap<>();
+    protected final Map<CompilationUnit, Map<Integer, Set<Node>>> astNodesByLine = ASTUtils.newIdentityHashMap();
+    protected final Map<Node, List<GraphNode<?>>> graphNodes = ASTUtils.newIdentityHashMap();
+
+    protected CriterionIndex(SDG sdg) {
+        if (sdg.getCompilationUnits() != null)
+            for (CompilationUnit cu : sdg.getCompilationUnits())
+                cu.getStorage().ifPresent(storage -> compilationUnits.putIfAbsent(getKey(storage.getPath()), cu));
+        for (GraphNode<?> graphNode : sdg.vertexSet()) {
+            Node astNode = graphNode.getAstNode();
+            if (astNode == null)
+                continue;
+            Optional<CompilationUnit> cu = astNode.findCompilationUnit();
+            if (cu.isEmpty())
+                continue;
+            graphNodes.computeIfAbsent(astNode, n -> new LinkedList<>()).add(graphNode);
+            astNodesByLine.computeIfAbsent(cu.get(), c -> new HashMap<>())
+                    .computeIfAbsent(astNode.getBegin().orElse(DEFAULT_POSITION).line, l -> ASTUtils.newIdentityHashSet())
+                    .add(astNode);
+        }
+    }
+
+    protected static Path getKey(Path path) {
+        return path.toAbsolutePath();
+    }
+
+    /** The compilation unit stored in the given file, if any. */
+    public Optional<CompilationUnit> findCompilationUnit(File file) {
+        return Optional.ofNullable(compilationUnits.get(getKey(file.toPath())));
+    }
+
+    /** The AST nodes of the given compilation unit that begin on the given line and are represented by
+     *  some node of the graph. Nodes without a position are placed on line 0. */
+    public Set<Node> findASTNodes(CompilationUnit cu, int line) {
+        return astNodesByLine.getOrDefault(cu, Collections.emptyMap()).getOrDefault(line, Collections.emptySet());
+    }
+
+    /**
+     * Search for the node that represents the given AST node (the same instance), following the
+     * rules of {@link es.upv.mist.slicing.graphs.Graph#findNodeByASTNode(Node)}: if multiple nodes exist,
+     * due to some of them being synthetic, the non-synthetic one will be returned.
+     * @throws IllegalStateException If there are multiple non-synthetic nodes representing the given AST node.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Node> Optional<GraphNode<T>> findNodeByASTNode(T astNode) {
+        List<GraphNode<?>> list = graphNodes.getOrDefault(astNode, Collections.emptyList());
+        if (list.size() == 1)
+            return Optional.of((GraphNode<T>) list.get(0));
+        GraphNode<?> found = null;
+        for (GraphNode<?> graphNode : list) {
+            if (graphNode instanceof SyntheticNode)
+                continue;
+            if (found != null)
+                throw new IllegalStateException("There may only be one real node representing each AST node in the graph!");
+            found = graphNode;
+        }
+        return Optional.ofNullable((GraphNode<T>) found);
+    }
+}
@@ -0,0 +1,65 @@
+package es.upv.mist.slicing.graphs.sdg;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.CallableDeclaration;
+import es.upv.mist.slicing.nodes.GraphNode;
+import es.upv.mist.slicing.nodes.SyntheticNode;
+import es.upv.mist.slicing.nodes.exceptionsensitive.ExitNode;
+import es.upv.mist.slicing.nodes.exceptionsensitive.ReturnNode;
+import es.upv.mist.slicing.nodes.io.ActualIONode;
+import es.upv.mist.slicing.nodes.io.CallNode;
+import es.upv.mist.slicing.nodes.io.FormalIONode;
+import es.upv.mist.slicing.nodes.io.OutputNode;
+import es.upv.mist.slicing.utils.ASTUtils;
+
+import java.util.*;
+
+/**
+ * An index of the nodes that connect declarations and calls, which is kept up to date as nodes are
+ * added to and removed from an SDG. For each declaration, it contains its formal-in, formal-out,
+ * output and exit nodes. For each call, its actual-in, actual-out, call return and return nodes.
+ * Declarations and calls are compared by identity.
+ * @see SDG#getInterfaceNodeIndex()
+ */
+public class InterfaceNodeIndex {
+    protected final Map<Node, Set<SyntheticNode<?>>> declarationNodes = ASTUtils.newIdentityHashMap();
+    protected final Map<Node, Set<SyntheticNode<?>>> callNodes = ASTUtils.newIdentityHashMap();
+
+    protected InterfaceNodeIndex() {}
+
+    /** Indexes the given node, if it connects a declaration or a call. */
+    protected void add(GraphNode<?> node) {
+        Map<Node, Set<SyntheticNode<?>>> map = mapOf(node);
+        if (map != null)
+            map.computeIfAbsent(node.getAstNode(), n -> new HashSet<>()).add((SyntheticNode<?>) node);
+    }
+
+    /** Removes the given node from the index, if it was indexed. */
+    protected void remove(GraphNode<?> node) {
+        Map<Node, Set<SyntheticNode<?>>> map = mapOf(node);
+        if (map == null)
+            return;
+        Set<SyntheticNode<?>> set = map.get(node.getAstNode());
+        if (set != null && set.remove(node) && set.isEmpty())
+            map.remove(node.getAstNode());
+    }
+
+    /** The map where the given node should be indexed, or null if it isn't indexed. */
+    protected Map<Node, Set<SyntheticNode<?>>> mapOf(GraphNode<?> node) {
+        if (node instanceof FormalIONode || node instanceof OutputNode || node instanceof ExitNode)
+            return declarationNodes;
+        if (node instanceof ActualIONode || node instanceof CallNode.Return || node instanceof ReturnNode)
+            return callNodes;
+        return null;
+    }
+
+    /** The formal-in, formal-out, output and exit nodes of the given declaration. */
+    public Set<SyntheticNode<?>> getDeclarationNodes(CallableDeclaration<?> declaration) {
+        return Collections.unmodifiableSet(declarationNodes.getOrDefault(declaration, Collections.emptySet()));
+    }
+
+    /** The actual-in, actual-out, call return and return nodes of the given call. */
+    public Set<SyntheticNode<?>> getCallNodes(Node call) {
+        return Collections.unmodifiableSet(callNodes.getOrDefault(call, Collections.emptySet()));
+    }
+}
@@ -26,6 +26,8 @@ public abstract class InterproceduralActionFinder<A extends VariableAction> exte
     protected final Map<CallableDeclaration<?>, CFG> cfgMap;
     /** A map from vertex and action to its corresponding stored action, to avoid generating duplicate nodes. */
     protected final Map<CallGraph.Vertex, Map<A, StoredAction>> actionStoredMap = new HashMap<>();
+    /** The actions found by a previous analysis, for declarations that are not analyzed again. */
+    protected final Map<CallableDeclaration<?>, Set<A>> knownResults = ASTUtils.newIdentityHashMap();
 
     protected InterproceduralActionFinder(CallGraph callGraph, Map<CallableDeclaration<?>, CFG> cfgMap) {
         super(callGraph);
@@ -39,7 +41,52 @@ public abstract class InterproceduralActionFinder<A extends VariableAction> exte
     /** Entry-point to the class. Performs the analysis and then saves the results to the CFG nodes. */
     public void save() {
         if (!built) analyze();
-        graph.vertexSet().forEach(this::saveDeclarationFormalNodes);
+        graph.vertexSet().stream()
+                .filter(Predicate.not(this::isFixed))
+                .forEach(this::saveDeclarationFormalNodes);
+    }
+
+    /**
+     * Entry-point for incremental builds. The declarations with known results are considered unchanged:
+     * they are not analyzed, and their CFGs are not modified. The given actions are used to generate
+     * the actual nodes of the calls to them placed in the rest of declarations.
+     */
+    public void save(Map<CallableDeclaration<?>, Set<A>> knownResults) {
+        this.knownResults.putAll(knownResults);
+        save();
+    }
+
+    /** The actions found for each declaration, including those with known results. */
+    public Map<CallableDeclaration<?>, Set<A>> getResults() {
+        if (!built) analyze();
+        Map<CallableDeclaration<?>, Set<A>> results = ASTUtils.newIdentityHashMap();
+        vertexDataMap.forEach((vertex, actions) -> results.put(vertex.getDeclaration(), actions));
+        return results;
+    }
+
+    @Override
+    public void analyze() {
+        for (CallGraph.Vertex vertex : graph.vertexSet()) {
+            if (isFixed(vertex)) {
+                vertexDataMap.put(vertex, knownResults.get(vertex.getDeclaration()));
+                saveDeclarationActualNodes(vertex);
+            }
+        }
+        super.analyze();
+    }
+
+    @Override
+    protected boolean isFixed(CallGraph.Vertex vertex) {
+        return knownResults.containsKey(vertex.getDeclaration());
+    }
+
+    /** The calls to the given declaration that are placed in declarations whose CFGs may be modified. */
+    protected List<CallGraph.Edge<?>> modifiableCallsTo(CallGraph.Vertex vertex) {
+        List<CallGraph.Edge<?>> calls = new LinkedList<>();
+        for (CallGraph.Edge<?> edge : graph.incomingEdgesOf(vertex))
+            if (!isFixed(graph.getEdgeSource(edge)))
+                calls.add(edge);
+        return calls;
     }
 
     /** Obtains the StoredAction object with information on which actions have been stored. */
@@ -56,7 +103,7 @@ public abstract class InterproceduralActionFinder<A extends VariableAction> exte
         for (A a : actions)
             actionStoredMap.get(vertex).computeIfAbsent(a, __ -> new StoredAction());
         // ACTUAL: per call (n)
-        for (CallGraph.Edge<?> edge : graph.incomingEdgesOf(vertex))
+        for (CallGraph.Edge<?> edge : modifiableCallsTo(vertex))
             actions.stream().sorted(new ParameterFieldSorter(edge)).forEach(a ->
                     getStored(vertex, a).storeActual(edge, a, e -> sandBoxedHandler(e, a, this::handleActualAction)));
     }
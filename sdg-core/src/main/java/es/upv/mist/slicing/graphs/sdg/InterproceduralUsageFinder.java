@@ -31,7 +31,7 @@ public class InterproceduralUsageFinder extends InterproceduralActionFinder<Usag
     @Override
     protected void saveDeclarationActualNodes(CallGraph.Vertex vertex) {
         super.saveDeclarationActualNodes(vertex);
-        graph.incomingEdgesOf(vertex).forEach(this::markTransferenceToRoot);
+        modifiableCallsTo(vertex).forEach(this::markTransferenceToRoot);
     }
 
     /** For every variable action -scope-in- or -arg-in- in the graph,
@@ -1,5 +1,7 @@
 package es.upv.mist.slicing.graphs.sdg;
 
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.body.CallableDeclaration;
@@ -20,14 +22,19 @@ import es.upv.mist.slicing.graphs.Graph;
 import es.upv.mist.slicing.graphs.cfg.CFG;
 import es.upv.mist.slicing.graphs.pdg.PDG;
 import es.upv.mist.slicing.nodes.GraphNode;
+import es.upv.mist.slicing.nodes.IdSpace;
 import es.upv.mist.slicing.nodes.SyntheticNode;
+import es.upv.mist.slicing.nodes.VariableAction;
 import es.upv.mist.slicing.slicing.*;
 import es.upv.mist.slicing.utils.ASTUtils;
+import es.upv.mist.slicing.utils.ResolutionCache;
 
-import java.util.Collection;
-import java.util.Map;
-import java.util.NoSuchElementException;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * The <b>System Dependence Graph</b> represents the statements of a program in
@@ -42,10 +49,32 @@ import java.util.Set;
  * </ol>
  */
 public class SDG extends Graph implements Sliceable, Buildable<NodeList<CompilationUnit>> {
+    /** Held while any graph is built: the class graph of a build is shared by the whole JVM,
+     *  so graphs may only be built one at a time. */
+    protected static final Object BUILD_LOCK = new Object();
+
     protected final Map<CallableDeclaration<?>, CFG> cfgMap = ASTUtils.newIdentityHashMap();
+    /** Dense indices of the nodes of this graph and of its CFGs. */
+    protected final IdSpace idSpace = new IdSpace();
+    /** The CFG that contains each node. Filled as the CFGs are built. */
+    protected final IdSpace.Table<CFG> nodeCfgTable = idSpace.newTable();
+    /** The PDG built for each declaration, whose nodes have been copied to this graph. */
+    protected final Map<CallableDeclaration<?>, PDG> pdgMap = ASTUtils.newIdentityHashMap();
+    /** The results of the interprocedural analyses, kept to rebuild the graph incrementally. */
+    protected final Map<CallableDeclaration<?>, Set<VariableAction.Definition>> definitionResults = ASTUtils.newIdentityHashMap();
+    protected final Map<CallableDeclaration<?>, Set<VariableAction.Usage>> usageResults = ASTUtils.newIdentityHashMap();
+    protected CallGraph callGraph;
 
     protected boolean built = false;
     protected NodeList<CompilationUnit> compilationUnits;
+    /** The number of threads used to build the CFGs and PDGs. */
+    protected int buildThreads = 1;
+    /** Receives the measurements of the build, or null if the build is not measured. */
+    protected BuildListener buildListener = null;
+    /** The index used to locate slicing criteria, discarded when nodes are added or removed. */
+    protected CriterionIndex criterionIndex;
+    /** The nodes that connect each declaration and call, updated when nodes are added or removed. */
+    protected final InterfaceNodeIndex interfaceNodeIndex = new InterfaceNodeIndex();
 
     /** Obtain the list of compilation units used to create this graph. */
     public NodeList<CompilationUnit> getCompilationUnits() {
@@ -54,6 +83,30 @@ public class SDG extends Graph implements Sliceable, Buildable<NodeList<Compilat
 
     @Override
     public Slice slice(SlicingCriterion slicingCriterion) {
+        return createSlicingAlgorithm().traverse(locate(slicingCriterion));
+    }
+
+    /** Slices this graph with each criterion. Each distinct criterion object is located once and,
+     *  if the slicing algorithm supports it, a single traversal state is shared by all slices.
+     *  @see BatchSlicingAlgorithm */
+    @Override
+    public List<Slice> sliceAll(List<? extends SlicingCriterion> slicingCriteria) {
+        Map<SlicingCriterion, Set<GraphNode<?>>> located = new IdentityHashMap<>();
+        List<Set<GraphNode<?>>> criteriaNodes = new ArrayList<>(slicingCriteria.size());
+        for (SlicingCriterion slicingCriterion : slicingCriteria)
+            criteriaNodes.add(located.computeIfAbsent(slicingCriterion, this::locate));
+        SlicingAlgorithm algorithm = createSlicingAlgorithm();
+        if (algorithm instanceof BatchSlicingAlgorithm)
+            return ((BatchSlicingAlgorithm) algorithm).traverseAll(criteriaNodes);
+        // Other algorithms keep state between traversals
+        List<Slice> slices = new ArrayList<>(criteriaNodes.size());
+        for (Set<GraphNode<?>> criterionNodes : criteriaNodes)
+            slices.add(createSlicingAlgorithm().traverse(criterionNodes));
+        return slices;
+    }
+
+    /** Locates the nodes of a slicing criterion in this graph. */
+    protected Set<GraphNode<?>> locate(SlicingCriterion slicingCriterion) {
         Set<GraphNode<?>> slicingCriterionNodes;
         try {
             slicingCriterionNodes = slicingCriterion.findNode(this);
@@ -61,7 +114,7 @@ public class SDG extends Graph implements Sliceable, Buildable<NodeList<Compilat
         } catch (NoSuchElementException e) {
             throw new IllegalArgumentException("Could not locate the slicing criterion " + slicingCriterion);
         }
-        return createSlicingAlgorithm().traverse(slicingCriterionNodes);
+        return slicingCriterionNodes;
     }
 
     protected SlicingAlgorithm createSlicingAlgorithm() {
@@ -70,9 +123,142 @@ public class SDG extends Graph implements Sliceable, Buildable<NodeList<Compilat
 
     @Override
     public void build(NodeList<CompilationUnit> nodeList) {
-        createBuilder().build(nodeList);
+        synchronized (BUILD_LOCK) {
+            try {
+                createBuilder().build(nodeList);
+            } finally {
+                ResolutionCache.release();
+            }
+        }
+        compilationUnits = nodeList;
+        built = true;
+        // The graph is only traversed from now on
+        idSpace.releaseRemoved();
+        freeze();
+        getCriterionIndex();
+    }
+
+    /**
+     * Builds the part of this graph that is needed to slice it with the given criteria. Only the declarations
+     * that contain the criteria, those that may call them and those that may be called from any of them (all
+     * transitively) are built; the rest are left out of the graph. Polymorphic calls are connected to every
+     * declaration they may execute, according to the class graph, so all of them are built. If any criterion
+     * can't be located in a declaration before building (e.g. it is placed in a field), the whole graph is built.
+     * <br/>
+     * The graph must only be sliced with criteria placed in the declarations that were built.
+     * {@link #rebuild(NodeList, Collection)} builds the declarations that were left out.
+     * @see SlicingCriterion#findDeclarations(NodeList)
+     */
+    public void build(NodeList<CompilationUnit> nodeList, Collection<? extends SlicingCriterion> slicingCriteria) {
+        synchronized (BUILD_LOCK) {
+            try {
+                createBuilder().build(nodeList, slicingCriteria);
+            } finally {
+                ResolutionCache.release();
+            }
+        }
         compilationUnits = nodeList;
         built = true;
+        idSpace.releaseRemoved();
+        freeze();
+        getCriterionIndex();
+    }
+
+    /**
+     * Performs a single phase of the construction of this graph, as {@link #build(NodeList)} does. All phases
+     * must be performed in order and with the same compilation units; the graph is built after the last one.
+     * This method is intended for measuring and debugging the construction of the graph.
+     */
+    public void build(NodeList<CompilationUnit> nodeList, BuildPhase phase) {
+        synchronized (BUILD_LOCK) {
+            boolean finished = false;
+            try {
+                createBuilder().build(nodeList, phase);
+                finished = phase != BuildPhase.SUMMARY_ARCS;
+            } finally {
+                // The resolutions are shared by all phases, until the last one ends or any fails
+                if (!finished)
+                    ResolutionCache.release();
+            }
+        }
+        if (phase == BuildPhase.SUMMARY_ARCS) {
+            compilationUnits = nodeList;
+            built = true;
+            idSpace.releaseRemoved();
+            freeze();
+            getCriterionIndex();
+        }
+    }
+
+    /**
+     * Updates this graph after some of its compilation units have changed, reusing the graphs of the
+     * declarations that are not affected by the change. The new list must contain the same instances of
+     * the unchanged compilation units used in the previous build. The declarations contained in the changed
+     * units, along with those that may call them (directly or transitively) before or after the change,
+     * are built again. If the graph has not been built yet, it is built from scratch.
+     * <br/>
+     * Changes to types (e.g., their fields) that alter how unchanged declarations use them are not
+     * detected: the compilation units that contain those declarations must be included as changed.
+     * @param nodeList The complete list of compilation units, after the change.
+     * @param changedUnits The compilation units that are new or have been modified since the last build.
+     */
+    public void rebuild(NodeList<CompilationUnit> nodeList, Collection<CompilationUnit> changedUnits) {
+        if (!built) {
+            build(nodeList);
+            return;
+        }
+        synchronized (BUILD_LOCK) {
+            try {
+                createBuilder().rebuild(nodeList, changedUnits);
+            } finally {
+                ResolutionCache.release();
+            }
+        }
+        compilationUnits = nodeList;
+        criterionIndex = null;
+        // The indices of the removed declarations are reused by the next rebuild
+        idSpace.releaseRemoved();
+        freeze();
+        getCriterionIndex();
+    }
+
+    /** Obtain the index used to locate slicing criteria in this graph, creating it if it doesn't exist. */
+    public CriterionIndex getCriterionIndex() {
+        if (criterionIndex == null)
+            criterionIndex = new CriterionIndex(this);
+        return criterionIndex;
+    }
+
+    /** Obtain the index of the interface nodes of each declaration and call in this graph. */
+    public InterfaceNodeIndex getInterfaceNodeIndex() {
+        return interfaceNodeIndex;
+    }
+
+    @Override
+    public boolean addVertex(GraphNode<?> graphNode) {
+        criterionIndex = null;
+        boolean added = super.addVertex(graphNode);
+        if (added) {
+            idSpace.add(graphNode);
+            interfaceNodeIndex.add(graphNode);
+        }
+        return added;
+    }
+
+    @Override
+    public boolean removeVertex(GraphNode<?> graphNode) {
+        criterionIndex = null;
+        boolean removed = super.removeVertex(graphNode);
+        if (removed) {
+            idSpace.remove(graphNode);
+            interfaceNodeIndex.remove(graphNode);
+        }
+        return removed;
+    }
+
+    @Override
+    public IdSpace getIdSpace() {
+        return idSpace;
     }
 
     /** Create a new SDG builder. Child classes that wish to alter the creation of the graph
@@ -81,24 +267,79 @@ public class SDG extends Graph implements Sliceable, Buildable<NodeList<Compilat
         return new Builder();
     }
 
+    /** Sets the number of threads used to build the CFGs and PDGs, which are independent for each
+     *  declaration. The rest of the process is sequential. With a single thread (the default), the
+     *  graph is built in the calling thread, and the ids of its nodes are deterministic. */
+    public void setBuildThreads(int buildThreads) {
+        if (buildThreads < 1)
+            throw new IllegalArgumentException("The number of threads must be at least 1");
+        this.buildThreads = buildThreads;
+    }
+
+    /** Sets the listener that receives the measurements of each phase of the build, of the graph of
+     *  each declaration and of the fixed-point analyses. By default (or if it is null), nothing is measured.
+     *  @see BuildMetrics */
+    public void setBuildListener(BuildListener buildListener) {
+        this.buildListener = buildListener;
+    }
+
     @Override
     public boolean isBuilt() {
         return built;
     }
 
+    /** Removes the graphs built for the given declaration, along with all the nodes copied from its PDG. */
+    protected void removeDeclaration(CallableDeclaration<?> declaration) {
+        CFG cfg = cfgMap.remove(declaration);
+        if (cfg != null)
+            for (GraphNode<?> node : cfg.vertexSet()) {
+                nodeCfgTable.remove(node);
+                if (!containsVertex(node))
+                    idSpace.remove(node);
+            }
+        PDG pdg = pdgMap.remove(declaration);
+        if (pdg != null)
+            removeAllVertices(List.copyOf(pdg.vertexSet()));
+    }
+
     /** Obtain the CFGs that were generated in the process of creating this graph. */
     public Collection<CFG> getCFGs() {
         return cfgMap.values();
     }
 
+    /** Obtain the CFG that contains the given node, if any. Synthetic nodes and nodes
+     *  that do not belong to a declaration (e.g. type nodes) are not contained in any CFG. */
+    public Optional<CFG> findCFGOf(GraphNode<?> node) {
+        return Optional.ofNullable(nodeCfgTable.get(node));
+    }
+
+    /** Obtain the declaration (method or constructor) that contains the given node, if any.
+     *  @see #findCFGOf(GraphNode) */
+    public Optional<CallableDeclaration<?>> findDeclarationOf(GraphNode<?> node) {
+        return findCFGOf(node).map(CFG::getDeclaration);
+    }
+
+    /** Obtain the node that represents the given declaration, which is the root of its PDG.
+     *  Unlike {@link #findNodeByASTNode}, the graph is only searched if there is no such PDG. */
+    public Optional<GraphNode<CallableDeclaration<?>>> findDeclarationNode(CallableDeclaration<?> declaration) {
+        PDG pdg = pdgMap.get(declaration);
+        if (pdg != null && pdg.getRootNode() != null && containsVertex(pdg.getRootNode()))
+            return Optional.of(pdg.getRootNode());
+        return this.<CallableDeclaration<?>>findNodeByASTNode(declaration);
+    }
+
+    /** Obtain the CFG that contains the given non-synthetic node.
+     *  @throws IllegalArgumentException If the node is not contained in any CFG. */
+    protected CFG getCFGOf(GraphNode<?> node) {
+        return findCFGOf(node).orElseThrow(() ->
+                new IllegalArgumentException("Node " + node.getId() + "'s associated CFG cannot be found!"));
+    }
+
     /** @see CFG#isPredicate(GraphNode) */
     public boolean isPredicate(GraphNode<?> node) {
         if (node instanceof SyntheticNode)
             return false;
-        for (CFG cfg : cfgMap.values())
-            if (cfg.containsVertex(node))
-                return cfg.isPredicate(node);
-        throw new IllegalArgumentException("Node " + node.getId() + "'s associated CFG cannot be found!");
+        return getCFGOf(node).isPredicate(node);
     }
 
     public void addCallArc(GraphNode<?> from, GraphNode<? extends CallableDeclaration<?>> to) {
@@ -113,26 +354,273 @@ public class SDG extends Graph implements Sliceable, Buildable<NodeList<Compilat
         this.addEdge(from, to, new SummaryArc());
     }
 
+    /** The phases in which an SDG is built, in order. */
+    public enum BuildPhase {
+        /** Builds the class graph, which stores the types of the program. */
+        CLASS_GRAPH,
+        /** Builds the CFG of each declaration. */
+        CFGS,
+        /** Builds the call graph, which connects each call to the declarations it may execute. */
+        CALL_GRAPH,
+        /** Performs the interprocedural analyses that compute the actual and formal nodes. */
+        DATA_FLOW,
+        /** Builds the PDG of each declaration and copies it to the SDG. */
+        PDGS,
+        /** Connects the calls, their arguments and results to the corresponding declarations. */
+        CALL_CONNECTION,
+        /** Computes the summary arcs between actual nodes. */
+        SUMMARY_ARCS
+    }
+
     /** Populates this SDG by building the corresponding CFGs, call graph, performing data flow analyses,
      *  building the PDGs, connecting the calls to declarations and computing the summary arcs.
      *  By default, it uses {@link PDG}s and {@link CFG}s. */
     public class Builder {
-        protected CallGraph callGraph;
+        /** The declarations that must be built, or null if all of them must be built. */
+        protected Set<CallableDeclaration<?>> modifiedDeclarations = null;
 
         public void build(NodeList<CompilationUnit> nodeList) {
             // See creation strategy at http://kaz2.dsic.upv.es:3000/Fzg46cQvT1GzHQG9hFnP1g#Using-data-flow-in-the-SDG
             // This ordering cannot be altered, as each step requires elements from the previous one.
-            createClassGraph(nodeList); // 0
-            buildCFGs(nodeList);        // 1
-            createCallGraph(nodeList);  // 2
-            dataFlowAnalysis();         // 3
-            buildAndCopyPDGs();         // 4
-            connectCalls();             // 5
-            createSummaryArcs();        // 6
+            for (BuildPhase phase : BuildPhase.values())
+                build(nodeList, phase);
+        }
+
+        /**
+         * Builds only the declarations that may be traversed when slicing with the given criteria. The
+         * slicing algorithms only ascend to the callers of the declarations that contain the criteria, and
+         * descend from those into the declarations they call, so the rest can't be part of the slice.
+         * The rest of declarations are treated as unmodified declarations with no variable actions.
+         * @see SDG#build(NodeList, Collection)
+         */
+        public void build(NodeList<CompilationUnit> nodeList, Collection<? extends SlicingCriterion> slicingCriteria) {
+            build(nodeList, BuildPhase.CLASS_GRAPH);
+            Optional<Set<CallableDeclaration<?>>> relevant = findRelevantDeclarations(nodeList, slicingCriteria);
+            if (relevant.isPresent()) {
+                modifiedDeclarations = ASTUtils.newIdentityHashSet();
+                for (CallableDeclaration<?> declaration : findDeclarations(nodeList)) {
+                    if (relevant.get().contains(declaration)) {
+                        modifiedDeclarations.add(declaration);
+                    } else {
+                        definitionResults.put(declaration, new HashSet<>());
+                        usageResults.put(declaration, new HashSet<>());
+                    }
+                }
+            }
+            for (BuildPhase phase : BuildPhase.values())
+                if (phase != BuildPhase.CLASS_GRAPH)
+                    build(nodeList, phase);
+        }
+
+        /**
+         * Finds the declarations that contain the given slicing criteria, along with those that may call them
+         * and those that may be called from any of them, using a call graph built without CFGs.
+         * @return The declarations, or an empty optional if some criterion can't be located in a declaration.
+         */
+        protected Optional<Set<CallableDeclaration<?>>> findRelevantDeclarations(NodeList<CompilationUnit> nodeList,
+                                                                                 Collection<? extends SlicingCriterion> slicingCriteria) {
+            Set<CallableDeclaration<?>> criterionDeclarations = ASTUtils.newIdentityHashSet();
+            for (SlicingCriterion slicingCriterion : slicingCriteria) {
+                Optional<Set<CallableDeclaration<?>>> declarations = slicingCriterion.findDeclarations(nodeList);
+                if (declarations.isEmpty())
+                    return Optional.empty();
+                criterionDeclarations.addAll(declarations.get());
+            }
+            CallGraph graph = new CallGraph(ClassGraph.getInstance());
+            graph.build(nodeList);
+            Map<CallableDeclaration<?>, Set<CallableDeclaration<?>>> implicitCalls = findImplicitCalls(nodeList);
+            Map<CallableDeclaration<?>, Set<CallableDeclaration<?>>> implicitCallers = ASTUtils.newIdentityHashMap();
+            implicitCalls.forEach((caller, callees) -> callees.forEach(callee ->
+                    implicitCallers.computeIfAbsent(callee, c -> ASTUtils.newIdentityHashSet()).add(caller)));
+            Set<CallableDeclaration<?>> relevant = findReachable(graph, criterionDeclarations,
+                    graph::incomingEdgesOf, graph::getEdgeSource, implicitCallers);
+            relevant.addAll(criterionDeclarations);
+            relevant.addAll(findReachable(graph, relevant, graph::outgoingEdgesOf, graph::getEdgeTarget, implicitCalls));
+            return Optional.of(relevant);
+        }
+
+        /** Finds the calls that are not present in the compilation units, but will be inserted when the CFGs
+         *  are built. By default, there are none. */
+        protected Map<CallableDeclaration<?>, Set<CallableDeclaration<?>>> findImplicitCalls(NodeList<CompilationUnit> nodeList) {
+            return Collections.emptyMap();
+        }
+
+        /** Performs a single phase of the build, and reports its measurement. The first phase
+         *  discards the resolutions of previous builds, which are then shared by all phases. */
+        public void build(NodeList<CompilationUnit> nodeList, BuildPhase phase) {
+            ResolutionCache resolutionCache = phase == BuildPhase.CLASS_GRAPH ?
+                    ResolutionCache.getNewInstance() : ResolutionCache.getInstance();
+            long hits = resolutionCache.getHits();
+            long misses = resolutionCache.getMisses();
+            BuildMeasurement.Stopwatch stopwatch = startMeasurement();
+            switch (phase) {
+                case CLASS_GRAPH:     createClassGraph(nodeList); break; // 0
+                case CFGS:            buildCFGs(nodeList);        break; // 1
+                case CALL_GRAPH:      createCallGraph(nodeList);  break; // 2
+                case DATA_FLOW:       dataFlowAnalysis();         break; // 3
+                case PDGS:            buildAndCopyPDGs();         break; // 4
+                case CALL_CONNECTION: connectCalls();             break; // 5
+                case SUMMARY_ARCS:    createSummaryArcs();        break; // 6
+                default: throw new IllegalArgumentException("Unknown phase " + phase);
+            }
+            if (stopwatch != null) {
+                buildListener.phaseFinished(phase, stopwatch.stop(SDG.this));
+                buildListener.resolutionsCounted(phase, resolutionCache.getHits() - hits, resolutionCache.getMisses() - misses);
+            }
         }
 
-        /** Build a CFG per declaration found in the list of compilation units. */
+        /** Starts measuring a step of the build, or returns null if there is no listener to report it. */
+        protected BuildMeasurement.Stopwatch startMeasurement() {
+            return buildListener != null ? new BuildMeasurement.Stopwatch() : null;
+        }
+
+        /**
+         * Updates the SDG after some compilation units have changed. Only the declarations in the changed
+         * units and their callers (both before and after the change) are built again: the rest keep their
+         * nodes and arcs, and the results of the previous interprocedural analyses are reused for them.
+         * @see SDG#rebuild(NodeList, Collection)
+         */
+        public void rebuild(NodeList<CompilationUnit> nodeList, Collection<CompilationUnit> changedUnits) {
+            Set<CompilationUnit> changed = ASTUtils.newIdentityHashSet();
+            changed.addAll(changedUnits);
+            build(nodeList, BuildPhase.CLASS_GRAPH);
+            List<CallableDeclaration<?>> declarations = findDeclarations(nodeList);
+            Set<CallableDeclaration<?>> current = ASTUtils.newIdentityHashSet();
+            current.addAll(declarations);
+            // Declarations that no longer exist or have changed, and those that called them
+            Set<CallableDeclaration<?>> obsolete = ASTUtils.newIdentityHashSet();
+            for (CallableDeclaration<?> declaration : cfgMap.keySet())
+                if (!current.contains(declaration) || isContainedIn(declaration, changed))
+                    obsolete.add(declaration);
+            modifiedDeclarations = ASTUtils.newIdentityHashSet();
+            for (CallableDeclaration<?> declaration : findCallers(callGraph, obsolete))
+                if (current.contains(declaration))
+                    modifiedDeclarations.add(declaration);
+            for (CallableDeclaration<?> declaration : declarations)
+                if (!cfgMap.containsKey(declaration) || isContainedIn(declaration, changed))
+                    modifiedDeclarations.add(declaration);
+            obsolete.forEach(SDG.this::removeDeclaration);
+            rebuildCFGs(declarations, modifiedDeclarations);
+            build(nodeList, BuildPhase.CALL_GRAPH);
+            // The declarations that call the modified ones must contain new actual nodes
+            Set<CallableDeclaration<?>> callers = findCallers(callGraph, modifiedDeclarations);
+            callers.removeAll(modifiedDeclarations);
+            if (!callers.isEmpty()) {
+                modifiedDeclarations.addAll(callers);
+                rebuildCFGs(declarations, callers);
+                build(nodeList, BuildPhase.CALL_GRAPH);
+            }
+            build(nodeList, BuildPhase.DATA_FLOW);
+            build(nodeList, BuildPhase.PDGS);
+            build(nodeList, BuildPhase.CALL_CONNECTION);
+            build(nodeList, BuildPhase.SUMMARY_ARCS);
+        }
+
+        /** Whether the given declaration is contained in any of the given compilation units. */
+        protected boolean isContainedIn(CallableDeclaration<?> declaration, Set<CompilationUnit> units) {
+            return declaration.findCompilationUnit().map(units::contains).orElse(false);
+        }
+
+        /** Finds the declarations that may call (directly or transitively) any of the given ones. */
+        protected Set<CallableDeclaration<?>> findCallers(CallGraph graph, Set<CallableDeclaration<?>> callees) {
+            return findReachable(graph, callees, graph::incomingEdgesOf, graph::getEdgeSource, Collections.emptyMap());
+        }
+
+        /**
+         * Finds the declarations reachable from the given ones, following the given edges of the call graph
+         * and the given map of additional arcs. The given declarations are not included in the result.
+         */
+        protected Set<CallableDeclaration<?>> findReachable(CallGraph graph, Set<CallableDeclaration<?>> declarations,
+                                                            Function<CallGraph.Vertex, Set<CallGraph.Edge<?>>> edges,
+                                                            Function<CallGraph.Edge<?>, CallGraph.Vertex> next,
+                                                            Map<CallableDeclaration<?>, Set<CallableDeclaration<?>>> additional) {
+            Map<CallableDeclaration<?>, CallGraph.Vertex> vertices = ASTUtils.newIdentityHashMap();
+            for (CallGraph.Vertex vertex : graph.vertexSet())
+                vertices.put(vertex.getDeclaration(), vertex);
+            Set<CallableDeclaration<?>> reached = ASTUtils.newIdentityHashSet();
+            Set<CallableDeclaration<?>> visited = ASTUtils.newIdentityHashSet();
+            visited.addAll(declarations);
+            Deque<CallableDeclaration<?>> pending = new LinkedList<>(declarations);
+            while (!pending.isEmpty()) {
+                CallableDeclaration<?> declaration = pending.removeFirst();
+                List<CallableDeclaration<?>> found = new LinkedList<>(additional.getOrDefault(declaration, Collections.emptySet()));
+                CallGraph.Vertex vertex = vertices.get(declaration);
+                if (vertex != null)
+                    for (CallGraph.Edge<?> edge : edges.apply(vertex))
+                        found.add(next.apply(edge).getDeclaration());
+                for (CallableDeclaration<?> reachedDeclaration : found) {
+                    if (visited.add(reachedDeclaration)) {
+                        reached.add(reachedDeclaration);
+                        pending.add(reachedDeclaration);
+                    }
+                }
+            }
+            return reached;
+        }
+
+        /** Removes the previous graphs of the selected declarations and builds their CFGs again. */
+        protected void rebuildCFGs(List<CallableDeclaration<?>> declarations, Set<CallableDeclaration<?>> selected) {
+            ResolutionCache resolutionCache = ResolutionCache.getInstance();
+            long hits = resolutionCache.getHits();
+            long misses = resolutionCache.getMisses();
+            BuildMeasurement.Stopwatch stopwatch = startMeasurement();
+            List<CallableDeclaration<?>> rebuilt = new LinkedList<>();
+            for (CallableDeclaration<?> declaration : declarations) {
+                if (selected.contains(declaration)) {
+                    removeDeclaration(declaration);
+                    rebuilt.add(declaration);
+                }
+            }
+            buildCFGs(rebuilt);
+            if (stopwatch != null) {
+                buildListener.phaseFinished(BuildPhase.CFGS, stopwatch.stop(SDG.this));
+                buildListener.resolutionsCounted(BuildPhase.CFGS, resolutionCache.getHits() - hits, resolutionCache.getMisses() - misses);
+            }
+        }
+
+        /** Build a CFG per declaration found in the list of compilation units that must be built. */
         protected void buildCFGs(NodeList<CompilationUnit> nodeList) {
+            List<CallableDeclaration<?>> declarations = findDeclarations(nodeList);
+            declarations.removeIf(Predicate.not(this::isModified));
+            buildCFGs(declarations);
+        }
+
+        /**
+         * Build a CFG per declaration in the list. The declarations that are modified while their
+         * CFG is built are built first, in this thread, as the other CFGs may read them.
+         */
+        protected void buildCFGs(List<CallableDeclaration<?>> declarations) {
+            Function<CallableDeclaration<?>, CFG> cfgBuilder = declaration -> {
+                BuildMeasurement.Stopwatch stopwatch = startMeasurement();
+                CFG cfg = createCFG();
+                buildCFG(declaration, cfg);
+                if (stopwatch != null)
+                    buildListener.declarationBuilt(BuildPhase.CFGS, declaration, cfg, stopwatch.stop(cfg));
+                return cfg;
+            };
+            Map<CallableDeclaration<?>, CFG> cfgs = ASTUtils.newIdentityHashMap();
+            List<CallableDeclaration<?>> unmodified = new LinkedList<>();
+            for (CallableDeclaration<?> declaration : declarations) {
+                if (modifiesDeclaration(declaration))
+                    cfgs.put(declaration, cfgBuilder.apply(declaration));
+                else
+                    unmodified.add(declaration);
+            }
+            Iterator<CFG> cfgIterator = mapDeclarations(unmodified, cfgBuilder).iterator();
+            for (CallableDeclaration<?> declaration : unmodified)
+                cfgs.put(declaration, cfgIterator.next());
+            for (CallableDeclaration<?> declaration : declarations)
+                addCFG(declaration, cfgs.get(declaration));
+        }
+
+        /** Whether building the CFG of the given declaration modifies its AST. */
+        protected boolean modifiesDeclaration(CallableDeclaration<?> declaration) {
+            return false;
+        }
+
+        /** Find the declarations (methods and constructors) with a body in the list of compilation units. */
+        protected List<CallableDeclaration<?>> findDeclarations(NodeList<CompilationUnit> nodeList) {
+            List<CallableDeclaration<?>> declarations = new LinkedList<>();
             nodeList.accept(new VoidVisitorAdapter<Void>() {
                 @Override
                 public void visit(MethodDeclaration n, Void arg) {
@@ -140,9 +628,7 @@ public class SDG extends Graph implements Sliceable, Buildable<NodeList<Compilat
                             .map(ClassOrInterfaceDeclaration::isInterface).orElse(false);
                     if (n.isAbstract() || isInInterface)
                         return; // Allow abstract methods
-                    CFG cfg = createCFG();
-                    buildCFG(n, cfg);
-                    cfgMap.put(n, cfg);
+                    declarations.add(n);
                     super.visit(n, arg);
                 }
 
@@ -152,12 +638,18 @@ public class SDG extends Graph implements Sliceable, Buildable<NodeList<Compilat
                             .map(ClassOrInterfaceDeclaration::isInterface).orElse(false);
                     if (n.isAbstract() || isInInterface)
                         return; // Allow abstract methods
-                    CFG cfg = createCFG();
-                    buildCFG(n, cfg);
-                    cfgMap.put(n, cfg);
+                    declarations.add(n);
                     super.visit(n, arg);
                 }
             }, null);
+            return declarations;
+        }
+
+        /** Register a built CFG, along with the ownership of each of its nodes. */
+        protected void addCFG(CallableDeclaration<?> declaration, CFG cfg) {
+            cfgMap.put(declaration, cfg);
+            for (GraphNode<?> node : cfg.vertexSet())
+                nodeCfgTable.put(node, cfg);
         }
 
         /** Given a single empty CFG and a declaration, build the CFG. */
@@ -179,30 +671,119 @@ public class SDG extends Graph implements Sliceable, Buildable<NodeList<Compilat
 
         /** Perform interprocedural analyses to determine the actual and formal nodes. */
         protected void dataFlowAnalysis() {
-            new InterproceduralDefinitionFinder(callGraph, cfgMap).save(); // 3.1
-            new InterproceduralUsageFinder(callGraph, cfgMap).save();      // 3.2
+            InterproceduralDefinitionFinder definitionFinder = new InterproceduralDefinitionFinder(callGraph, cfgMap);
+            definitionFinder.save(unmodifiedResults(definitionResults)); // 3.1
+            InterproceduralUsageFinder usageFinder = new InterproceduralUsageFinder(callGraph, cfgMap);
+            usageFinder.save(unmodifiedResults(usageResults));           // 3.2
+            if (buildListener != null) {
+                buildListener.analysisFinished(BuildPhase.DATA_FLOW, definitionFinder);
+                buildListener.analysisFinished(BuildPhase.DATA_FLOW, usageFinder);
+            }
+            definitionResults.clear();
+            definitionResults.putAll(definitionFinder.getResults());
+            usageResults.clear();
+            usageResults.putAll(usageFinder.getResults());
+        }
+
+        /** The results of a previous analysis, for the declarations that are not built again. */
+        protected <A> Map<CallableDeclaration<?>, Set<A>> unmodifiedResults(Map<CallableDeclaration<?>, Set<A>> results) {
+            Map<CallableDeclaration<?>, Set<A>> unmodified = ASTUtils.newIdentityHashMap();
+            if (modifiedDeclarations != null)
+                for (var entry : results.entrySet())
+                    if (!modifiedDeclarations.contains(entry.getKey()))
+                        unmodified.put(entry.getKey(), entry.getValue());
+            return unmodified;
         }
 
         /** Build a PDG per declaration, based on the CFGs built previously and enhanced by data analyses. */
         protected void buildAndCopyPDGs() {
-            for (CFG cfg : cfgMap.values()) {
+            List<CFG> cfgs = new LinkedList<>();
+            for (CFG cfg : cfgMap.values())
+                if (isModified(cfg.getDeclaration()))
+                    cfgs.add(cfg);
+            List<PDG> pdgs = mapDeclarations(cfgs, cfg -> {
                 // 4.1, 4.2, 4.3
+                BuildMeasurement.Stopwatch stopwatch = startMeasurement();
                 PDG pdg = createPDG(cfg);
                 pdg.build(cfg.getDeclaration());
+                if (stopwatch != null)
+                    buildListener.declarationBuilt(BuildPhase.PDGS, cfg.getDeclaration(), pdg, stopwatch.stop(pdg));
+                return pdg;
+            });
+            for (PDG pdg : pdgs) {
+                pdgMap.put(pdg.getCfg().getDeclaration(), pdg);
                 // 4.4
                 pdg.vertexSet().forEach(SDG.this::addVertex);
                 pdg.edgeSet().forEach(arc -> addEdge(pdg.getEdgeSource(arc), pdg.getEdgeTarget(arc), arc));
             }
         }
 
+        /**
+         * Applies the given function to each element, using up to {@link #buildThreads} threads.
+         * The function must only modify the graphs of its own declaration.
+         * @return The results, in the same order as the elements.
+         */
+        protected <T, R> List<R> mapDeclarations(List<T> elements, Function<T, R> function) {
+            if (buildThreads == 1 || elements.size() < 2)
+                return elements.stream().map(function).collect(Collectors.toList());
+            // The parser configuration is thread-local: the workers must resolve symbols with the caller's
+            ParserConfiguration configuration = StaticJavaParser.getConfiguration();
+            Function<T, R> workerFunction = element -> {
+                StaticJavaParser.setConfiguration(configuration);
+                return function.apply(element);
+            };
+            ForkJoinPool pool = new ForkJoinPool(buildThreads);
+            try {
+                return pool.submit(() -> elements.parallelStream().map(workerFunction).collect(Collectors.toList())).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while building the graphs", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException)
+                    throw (RuntimeException) e.getCause();
+                if (e.getCause() instanceof Error)
+                    throw (Error) e.getCause();
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        /** Whether the given declaration must be built. */
+        protected boolean isModified(CallableDeclaration<?> declaration) {
+            return modifiedDeclarations == null || modifiedDeclarations.contains(declaration);
+        }
+
         /** Add interprocedural arcs, connecting calls, their arguments and results to their corresponding declarations. */
         protected void connectCalls() {
-            new CallConnector(SDG.this).connectAllCalls(callGraph);
+            CallConnector connector = createCallConnector();
+            if (modifiedDeclarations == null) {
+                connector.connectAllCalls(callGraph);
+            } else {
+                for (CallableDeclaration<?> declaration : modifiedDeclarations)
+                    connector.connectCalls(pdgMap.get(declaration).vertexSet(), callGraph);
+            }
         }
 
         /** Connect actual-in to actual-out nodes, summarizing the interprocedural arcs. */
         protected void createSummaryArcs() {
-            new SummaryArcAnalyzer(SDG.this, callGraph).analyze();
+            AbstractSummaryArcAnalyzer<?, ?, ?> analyzer = createSummaryArcAnalyzer();
+            if (modifiedDeclarations == null)
+                analyzer.analyze();
+            else
+                analyzer.analyze(modifiedDeclarations);
+            if (buildListener != null)
+                buildListener.analysisFinished(BuildPhase.SUMMARY_ARCS, analyzer);
+        }
+
+        /** Create a new call connector, of the appropriate type for the kind of SDG we're building. */
+        protected CallConnector createCallConnector() {
+            return new CallConnector(SDG.this);
+        }
+
+        /** Create a new summary arc analyzer, of the appropriate type for the kind of SDG we're building. */
+        protected AbstractSummaryArcAnalyzer<?, ?, ?> createSummaryArcAnalyzer() {
+            return new SummaryArcAnalyzer(SDG.this, callGraph);
         }
 
         /** Create a new CFG, of the appropriate type for the kind of SDG we're building. */
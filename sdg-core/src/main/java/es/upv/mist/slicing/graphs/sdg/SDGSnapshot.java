@@ -0,0 +1,794 @@
+package es.upv.mist.slicing.graphs.sdg;
+
+import com.github.javaparser.Range;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import es.upv.mist.slicing.arcs.Arc;
+import es.upv.mist.slicing.arcs.pdg.ConditionalControlDependencyArc.CC1;
+import es.upv.mist.slicing.arcs.pdg.ConditionalControlDependencyArc.CC2;
+import es.upv.mist.slicing.arcs.pdg.ControlDependencyArc;
+import es.upv.mist.slicing.arcs.pdg.StructuralArc;
+import es.upv.mist.slicing.graphs.augmented.ACFG;
+import es.upv.mist.slicing.graphs.augmented.ASDG;
+import es.upv.mist.slicing.graphs.augmented.PSDG;
+import es.upv.mist.slicing.graphs.cfg.CFG;
+import es.upv.mist.slicing.graphs.exceptionsensitive.ESSDG;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.nodes.GraphNode;
+import es.upv.mist.slicing.nodes.ObjectTree;
+import es.upv.mist.slicing.nodes.SyntheticNode;
+import es.upv.mist.slicing.nodes.VariableAction;
+import es.upv.mist.slicing.nodes.exceptionsensitive.ExceptionExitNode;
+import es.upv.mist.slicing.nodes.oo.PolyMemberNode;
+import es.upv.mist.slicing.slicing.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * A read-only copy of a built {@link SDG}, stored in a compact binary file that is memory-mapped when opened.
+ * The snapshot can be queried and sliced without parsing or building anything: the source files are only parsed
+ * when the slice is converted back to code ({@link SnapshotSlice#toAst()}).
+ * <br/>
+ * The snapshot contains the nodes (id, label, type, location of their AST node and whether they are predicates),
+ * the arcs (type, direction and the kinds of dependence that the slicing algorithms distinguish), and a summary of
+ * the variable actions of each node (kind, variable and object tree). Each snapshot is sliced with the counterpart of
+ * the algorithm of its graph (see {@link #SLICING_ALGORITHMS}), so the slices are the same as those of the graph.
+ * The graphs whose algorithm has no counterpart (e.g. {@link es.upv.mist.slicing.graphs.exceptionsensitive.AllenSDG})
+ * can't be stored.
+ * <br/>
+ * File layout (big-endian): a header with the element counts and the offset of each section, followed by fixed-size
+ * records for nodes, arcs and actions, the incoming and outgoing arcs of each node (in compressed sparse row format),
+ * the nodes of each file sorted by line, the source files and a table of UTF-8 strings. Nodes are stored in the
+ * order of their index in the {@link SDG#getIdSpace() id space} of the graph, and incoming arcs in the order of the
+ * graph, as the exception-sensitive algorithms depend on the order of traversal. A single snapshot may not exceed 2 GiB.
+ */
+public class SDGSnapshot {
+    protected static final int MAGIC = 0x53444753; // "SDGS"
+    protected static final int VERSION = 2;
+    /** The classes of the graphs that can be stored, and the counterpart of their slicing algorithm. Subclasses
+     *  are not included, as they may be sliced with a different algorithm. */
+    protected static final Map<String, Function<SDGSnapshot, SnapshotSlicingAlgorithm>> SLICING_ALGORITHMS = Map.of(
+            SDG.class.getName(), ClassicSnapshotSlicingAlgorithm::new,
+            ASDG.class.getName(), ClassicSnapshotSlicingAlgorithm::new,
+            PSDG.class.getName(), PseudoPredicateSnapshotSlicingAlgorithm::new,
+            ESSDG.class.getName(), ExceptionSensitiveSnapshotSlicingAlgorithm::new,
+            JSysDG.class.getName(), JSysDGSnapshotSlicingAlgorithm::new);
+
+    // Header fields (int positions)
+    protected static final int H_MAGIC = 0, H_VERSION = 1, H_GRAPH_TYPE = 2, H_NODES = 3, H_ARCS = 4, H_ACTIONS = 5,
+            H_FILES = 6, H_STRINGS = 7, H_NODE_SECTION = 8, H_ARC_SECTION = 9, H_ACTION_START = 10, H_ACTION_SECTION = 11,
+            H_IN_START = 12, H_IN_ARCS = 13, H_OUT_START = 14, H_OUT_ARCS = 15, H_LINE_START = 16, H_LINE_NODES = 17,
+            H_FILE_SECTION = 18, H_STRING_OFFSETS = 19, H_STRING_DATA = 20, HEADER_INTS = 21;
+
+    // Node record: id (long), label, type, AST type, file, begin line, begin column, end line, end column, flags
+    protected static final int NODE_SIZE = Long.BYTES + 9 * Integer.BYTES;
+    protected static final int N_LABEL = 8, N_TYPE = 12, N_AST_TYPE = 16, N_FILE = 20, N_BEGIN_LINE = 24,
+            N_BEGIN_COLUMN = 28, N_END_LINE = 32, N_END_COLUMN = 36, N_FLAGS = 40;
+    protected static final int NODE_SYNTHETIC = 1, NODE_IMPLICIT = 2, NODE_PREDICATE = 4, NODE_PSEUDO_PREDICATE = 8,
+            NODE_EXCEPTION_EXIT = 16;
+
+    // Arc record: source, target, type, flags
+    protected static final int ARC_SIZE = 4 * Integer.BYTES;
+    protected static final int A_SOURCE = 0, A_TARGET = 4, A_TYPE = 8, A_FLAGS = 12;
+    protected static final int ARC_INTERPROCEDURAL_INPUT = 1, ARC_INTERPROCEDURAL_OUTPUT = 2,
+            ARC_STRUCTURAL = 4, ARC_OBJECT_FLOW = 8, ARC_CONTROL_DEPENDENCY = 16, ARC_CC1 = 32, ARC_CC2 = 64,
+            ARC_PPDG_EXCLUSIVE = 128;
+
+    // Action record: kind, name, node, object tree root
+    protected static final int ACTION_SIZE = 4 * Integer.BYTES;
+    protected static final int V_KIND = 0, V_NAME = 4, V_NODE = 8, V_TREE = 12;
+    protected static final int KIND_DEFINITION = 0, KIND_DECLARATION = 1, KIND_USAGE = 2;
+
+    // File record: path, length (long), checksum (long)
+    protected static final int FILE_SIZE = Integer.BYTES + 2 * Long.BYTES;
+
+    protected final ByteBuffer buffer;
+    protected final int[] header = new int[HEADER_INTS];
+    /** Cache of the strings read from the buffer. */
+    protected final String[] strings;
+
+    protected SDGSnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        for (int i = 0; i < HEADER_INTS; i++)
+            header[i] = buffer.getInt(i * Integer.BYTES);
+        if (header[H_MAGIC] != MAGIC)
+            throw new IllegalArgumentException("The file is not an SDG snapshot");
+        if (header[H_VERSION] != VERSION)
+            throw new IllegalArgumentException("Unsupported snapshot version: " + header[H_VERSION]);
+        this.strings = new String[header[H_STRINGS]];
+        if (!SLICING_ALGORITHMS.containsKey(getGraphType()))
+            throw new IllegalArgumentException("Snapshots of graphs of type " + getGraphType() + " can't be sliced");
+    }
+
+    /** Memory-maps the given snapshot file. The file must not be modified while the snapshot is in use. */
+    public static SDGSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new SDGSnapshot(buffer);
+        }
+    }
+
+    /** Writes a snapshot of the given SDG, which must be built, to a file. */
+    public static void write(SDG sdg, Path file) throws IOException {
+        if (!sdg.isBuilt())
+            throw new IllegalArgumentException("Only built graphs can be stored");
+        if (!supports(sdg))
+            throw new IllegalArgumentException("Graphs of type " + sdg.getClass().getName() + " can't be stored,"
+                    + " as their slicing algorithm can't be applied to snapshots");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            new Writer(sdg).write(out);
+        }
+    }
+
+    /** Whether snapshots of the given graph can be written and sliced with the same result as the graph. */
+    public static boolean supports(SDG sdg) {
+        return SLICING_ALGORITHMS.containsKey(sdg.getClass().getName());
+    }
+
+    // ===========================================================
+    // ========================= QUERIES =========================
+    // ===========================================================
+
+    /** The name of the class of the graph stored in this snapshot. */
+    public String getGraphType() {
+        return string(header[H_GRAPH_TYPE]);
+    }
+
+    public int getNodeCount() {
+        return header[H_NODES];
+    }
+
+    public int getArcCount() {
+        return header[H_ARCS];
+    }
+
+    /** The id that the given node (by index) had in the original graph. */
+    public long getNodeId(int node) {
+        return buffer.getLong(nodeOffset(node));
+    }
+
+    public String getLabel(int node) {
+        return string(nodeInt(node, N_LABEL));
+    }
+
+    /** The simple name of the class of the given node in the original graph. */
+    public String getNodeType(int node) {
+        return string(nodeInt(node, N_TYPE));
+    }
+
+    public boolean isSynthetic(int node) {
+        return (nodeInt(node, N_FLAGS) & NODE_SYNTHETIC) != 0;
+    }
+
+    public boolean isImplicitInstruction(int node) {
+        return (nodeInt(node, N_FLAGS) & NODE_IMPLICIT) != 0;
+    }
+
+    /** @see SDG#isPredicate(GraphNode) */
+    public boolean isPredicate(int node) {
+        return (nodeInt(node, N_FLAGS) & NODE_PREDICATE) != 0;
+    }
+
+    /** @see PSDG#isPseudoPredicate(GraphNode) */
+    public boolean isPseudoPredicate(int node) {
+        return (nodeInt(node, N_FLAGS) & NODE_PSEUDO_PREDICATE) != 0;
+    }
+
+    /** Whether the given node was an {@link ExceptionExitNode}. */
+    public boolean isExceptionExit(int node) {
+        return (nodeInt(node, N_FLAGS) & NODE_EXCEPTION_EXIT) != 0;
+    }
+
+    /** The index of the source file that contains the AST node of the given node, or -1. */
+    public int getFileIndex(int node) {
+        return nodeInt(node, N_FILE);
+    }
+
+    /** The source file that contains the AST node of the given node, if any. */
+    public Optional<Path> getFile(int node) {
+        int file = getFileIndex(node);
+        return file < 0 ? Optional.empty() : Optional.of(getFilePath(file));
+    }
+
+    /** The location of the AST node of the given node in its file, if any. */
+    public Optional<Range> getRange(int node) {
+        if (nodeInt(node, N_AST_TYPE) < 0 || nodeInt(node, N_BEGIN_LINE) < 0)
+            return Optional.empty();
+        return Optional.of(Range.range(nodeInt(node, N_BEGIN_LINE), nodeInt(node, N_BEGIN_COLUMN),
+                nodeInt(node, N_END_LINE), nodeInt(node, N_END_COLUMN)));
+    }
+
+    /** The name of the class of the AST node of the given node, if any. */
+    public Optional<String> getAstType(int node) {
+        int type = nodeInt(node, N_AST_TYPE);
+        return type < 0 ? Optional.empty() : Optional.of(string(type));
+    }
+
+    /** The arcs (by index) whose target is the given node. */
+    public int[] incomingArcsOf(int node) {
+        return csr(header[H_IN_START], header[H_IN_ARCS], node);
+    }
+
+    /** The number of arcs whose target is the given node. An arc may be counted more than once,
+     *  if the original graph contained equal arcs, as {@link es.upv.mist.slicing.graphs.Graph#inDegreeOf(Object)}. */
+    public int inDegreeOf(int node) {
+        Objects.checkIndex(node, getNodeCount());
+        return buffer.getInt(header[H_IN_START] + (node + 1) * Integer.BYTES) - buffer.getInt(header[H_IN_START] + node * Integer.BYTES);
+    }
+
+    /** The arcs (by index) whose source is the given node. */
+    public int[] outgoingArcsOf(int node) {
+        return csr(header[H_OUT_START], header[H_OUT_ARCS], node);
+    }
+
+    public int getArcSource(int arc) {
+        return arcInt(arc, A_SOURCE);
+    }
+
+    public int getArcTarget(int arc) {
+        return arcInt(arc, A_TARGET);
+    }
+
+    /** The simple name of the class of the given arc in the original graph. */
+    public String getArcType(int arc) {
+        return string(arcInt(arc, A_TYPE));
+    }
+
+    /** @see Arc#isInterproceduralInputArc() */
+    public boolean isInterproceduralInputArc(int arc) {
+        return (arcInt(arc, A_FLAGS) & ARC_INTERPROCEDURAL_INPUT) != 0;
+    }
+
+    /** @see Arc#isInterproceduralOutputArc() */
+    public boolean isInterproceduralOutputArc(int arc) {
+        return (arcInt(arc, A_FLAGS) & ARC_INTERPROCEDURAL_OUTPUT) != 0;
+    }
+
+    /** @see Arc#isObjectFlow() */
+    public boolean isObjectFlow(int arc) {
+        return (arcInt(arc, A_FLAGS) & ARC_OBJECT_FLOW) != 0;
+    }
+
+    public boolean isStructuralArc(int arc) {
+        return (arcInt(arc, A_FLAGS) & ARC_STRUCTURAL) != 0;
+    }
+
+    /** @see Arc#isControlDependencyArc() */
+    public boolean isControlDependencyArc(int arc) {
+        return (arcInt(arc, A_FLAGS) & ARC_CONTROL_DEPENDENCY) != 0;
+    }
+
+    /** @see Arc#isConditionalControlDependencyArc() */
+    public boolean isConditionalControlDependencyArc(int arc) {
+        return (arcInt(arc, A_FLAGS) & (ARC_CC1 | ARC_CC2)) != 0;
+    }
+
+    /** @see Arc#isUnconditionalControlDependencyArc() */
+    public boolean isUnconditionalControlDependencyArc(int arc) {
+        return isControlDependencyArc(arc) && !isConditionalControlDependencyArc(arc);
+    }
+
+    /** Whether the given arc was a {@link CC1}. */
+    public boolean isCC1(int arc) {
+        return (arcInt(arc, A_FLAGS) & ARC_CC1) != 0;
+    }
+
+    /** Whether the given arc was a {@link CC2}. */
+    public boolean isCC2(int arc) {
+        return (arcInt(arc, A_FLAGS) & ARC_CC2) != 0;
+    }
+
+    /** @see ControlDependencyArc#isPPDGExclusive() */
+    public boolean isPPDGExclusive(int arc) {
+        return (arcInt(arc, A_FLAGS) & ARC_PPDG_EXCLUSIVE) != 0;
+    }
+
+    /** A textual summary of the variable actions of the given node, similar to their {@code toString()}. */
+    public List<String> getVariableActions(int node) {
+        List<String> list = new LinkedList<>();
+        for (int action = actionStart(node); action < actionStart(node + 1); action++) {
+            String name = string(actionInt(action, V_NAME));
+            switch (actionInt(action, V_KIND)) {
+                case KIND_DEFINITION:  list.add("DEF{" + name + "}"); break;
+                case KIND_DECLARATION: list.add("DEC{" + name + "}"); break;
+                default:               list.add("USE{" + name + "}"); break;
+            }
+        }
+        return list;
+    }
+
+    // ===========================================================
+    // ========================= SLICING =========================
+    // ===========================================================
+
+    /**
+     * Slices the snapshot with the given criterion, which is located as a
+     * {@link es.upv.mist.slicing.slicing.FileLineSlicingCriterion} would locate it in the original graph.
+     * @throws IllegalArgumentException If the slicing criterion cannot be located.
+     */
+    public SnapshotSlice slice(File file, int line, String variable) {
+        Set<Integer> criterion = findNodes(file, line, variable);
+        if (criterion.isEmpty())
+            throw new IllegalArgumentException("Could not locate the slicing criterion " + file + "#" + line
+                    + (variable != null ? ":" + variable : ""));
+        return createSlicingAlgorithm().traverse(criterion);
+    }
+
+    /** @see #slice(File, int, String) */
+    public SnapshotSlice slice(FileLineSlicingCriterion sc) {
+        return slice(sc.getFile(), sc.getLineNumber(), sc.getVariable());
+    }
+
+    /** Creates the counterpart of the slicing algorithm of the stored graph. */
+    protected SnapshotSlicingAlgorithm createSlicingAlgorithm() {
+        return SLICING_ALGORITHMS.get(getGraphType()).apply(this);
+    }
+
+    /** Locates the nodes of a slicing criterion, following the rules of
+     *  {@link es.upv.mist.slicing.slicing.LineNumberCriterion}. */
+    public Set<Integer> findNodes(File file, int line, String variable) {
+        int fileIndex = findFile(file.toPath());
+        if (fileIndex < 0)
+            return Collections.emptySet();
+        // Group the nodes by their AST node, and then select one per AST node (as Graph#findNodeByASTNode)
+        Map<String, List<Integer>> byAstNode = new LinkedHashMap<>();
+        for (int node : nodesAtLine(fileIndex, line))
+            byAstNode.computeIfAbsent(astKey(node), k -> new LinkedList<>()).add(node);
+        Set<Integer> result = new HashSet<>();
+        for (List<Integer> nodes : byAstNode.values()) {
+            if (nodes.size() > 1)
+                nodes.removeIf(this::isSynthetic);
+            if (nodes.size() > 1)
+                throw new IllegalStateException("There may only be one real node representing each AST node in the graph!");
+            for (int node : nodes)
+                locateVariableNodes(node, variable, result);
+        }
+        if (result.isEmpty() && variable != null && !variable.startsWith("this"))
+            return findNodes(file, line, "this." + variable);
+        return result;
+    }
+
+    /** The nodes whose AST node begins in the given line of the given file, in order. They are found with
+     *  a binary search in the nodes of the file, which are sorted by line. */
+    protected List<Integer> nodesAtLine(int file, int line) {
+        int from = buffer.getInt(header[H_LINE_START] + file * Integer.BYTES);
+        int to = buffer.getInt(header[H_LINE_START] + (file + 1) * Integer.BYTES);
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (nodeInt(lineNode(middle), N_BEGIN_LINE) < line)
+                from = middle + 1;
+            else
+                to = middle;
+        }
+        int end = buffer.getInt(header[H_LINE_START] + (file + 1) * Integer.BYTES);
+        List<Integer> nodes = new LinkedList<>();
+        for (int i = from; i < end && nodeInt(lineNode(i), N_BEGIN_LINE) == line; i++)
+            nodes.add(lineNode(i));
+        return nodes;
+    }
+
+    /** Adds the nodes that represent the given variable, inside the given node or its members. */
+    protected void locateVariableNodes(int node, String variable, Set<Integer> result) {
+        List<Integer> nodes = new LinkedList<>();
+        locateAllNodes(node, nodes);
+        if (variable == null) {
+            result.addAll(nodes);
+            return;
+        }
+        for (int n : nodes) {
+            for (int action = actionStart(n); action < actionStart(n + 1); action++) {
+                String name = string(actionInt(action, V_NAME));
+                int tree = actionInt(action, V_TREE);
+                if (name.equals(variable)) {
+                    int target = tree >= 0 ? tree : actionInt(action, V_NODE);
+                    if (target >= 0)
+                        result.add(target);
+                } else if (variable.contains(".") && tree >= 0 && name.equals(ObjectTree.removeFields(variable))) {
+                    String fields = variable.substring(name.length() + 1);
+                    result.addAll(findMembers(tree, fields.split("\\.")));
+                }
+            }
+        }
+    }
+
+    /** The given node and all the nodes that are reachable from it via structural arcs. */
+    protected void locateAllNodes(int node, List<Integer> nodes) {
+        nodes.add(node);
+        for (int arc : outgoingArcsOf(node))
+            if (isStructuralArc(arc))
+                locateAllNodes(arcInt(arc, A_TARGET), nodes);
+    }
+
+    /** Follows the given fields from a member node. Polymorphic (type) members are traversed transparently. */
+    protected List<Integer> findMembers(int member, String[] fields) {
+        List<Integer> current = List.of(member);
+        for (String field : fields) {
+            List<Integer> next = new LinkedList<>();
+            for (int node : current)
+                findChildren(node, field, next);
+            current = next;
+        }
+        return current;
+    }
+
+    protected void findChildren(int member, String field, List<Integer> result) {
+        for (int arc : outgoingArcsOf(member)) {
+            if (!isStructuralArc(arc))
+                continue;
+            int child = arcInt(arc, A_TARGET);
+            if (getNodeType(child).equals(PolyMemberNode.class.getSimpleName()))
+                findChildren(child, field, result);
+            else if (getLabel(child).equals(field))
+                result.add(child);
+        }
+    }
+
+    /** A key that identifies the AST node of a node, as {@link es.upv.mist.slicing.utils.ASTUtils#equalsWithRangeInCU(Node, Node)}. */
+    protected String astKey(int node) {
+        return nodeInt(node, N_FILE) + ":" + getAstType(node).orElse("") + ":" + getRange(node).map(Range::toString).orElse("");
+    }
+
+    // ===========================================================
+    // ========================= FILES ===========================
+    // ===========================================================
+
+    public int getFileCount() {
+        return header[H_FILES];
+    }
+
+    public Path getFilePath(int file) {
+        return Path.of(string(buffer.getInt(header[H_FILE_SECTION] + file * FILE_SIZE)));
+    }
+
+    /** Whether the contents of the given file are the same as when the snapshot was written. */
+    public boolean isFileUnchanged(int file, byte[] contents) {
+        int offset = header[H_FILE_SECTION] + file * FILE_SIZE + Integer.BYTES;
+        return buffer.getLong(offset) == contents.length && buffer.getLong(offset + Long.BYTES) == checksum(contents);
+    }
+
+    protected int findFile(Path path) {
+        Path absolute = path.toAbsolutePath().normalize();
+        for (int file = 0; file < getFileCount(); file++)
+            if (getFilePath(file).equals(absolute))
+                return file;
+        return -1;
+    }
+
+    protected static long checksum(byte[] contents) {
+        CRC32 crc = new CRC32();
+        crc.update(contents);
+        return crc.getValue();
+    }
+
+    // ===========================================================
+    // ====================== RAW ACCESS =========================
+    // ===========================================================
+
+    protected int nodeOffset(int node) {
+        Objects.checkIndex(node, getNodeCount());
+        return header[H_NODE_SECTION] + node * NODE_SIZE;
+    }
+
+    protected int nodeInt(int node, int field) {
+        return buffer.getInt(nodeOffset(node) + field);
+    }
+
+    protected int arcInt(int arc, int field) {
+        Objects.checkIndex(arc, getArcCount());
+        return buffer.getInt(header[H_ARC_SECTION] + arc * ARC_SIZE + field);
+    }
+
+    protected int lineNode(int position) {
+        return buffer.getInt(header[H_LINE_NODES] + position * Integer.BYTES);
+    }
+
+    protected int actionStart(int node) {
+        return buffer.getInt(header[H_ACTION_START] + node * Integer.BYTES);
+    }
+
+    protected int actionInt(int action, int field) {
+        return buffer.getInt(header[H_ACTION_SECTION] + action * ACTION_SIZE + field);
+    }
+
+    protected int[] csr(int startSection, int arcSection, int node) {
+        Objects.checkIndex(node, getNodeCount());
+        int from = buffer.getInt(startSection + node * Integer.BYTES);
+        int to = buffer.getInt(startSection + (node + 1) * Integer.BYTES);
+        int[] arcs = new int[to - from];
+        for (int i = 0; i < arcs.length; i++)
+            arcs[i] = buffer.getInt(arcSection + (from + i) * Integer.BYTES);
+        return arcs;
+    }
+
+    protected String string(int index) {
+        if (strings[index] == null) {
+            int from = buffer.getInt(header[H_STRING_OFFSETS] + index * Integer.BYTES);
+            int to = buffer.getInt(header[H_STRING_OFFSETS] + (index + 1) * Integer.BYTES);
+            byte[] bytes = new byte[to - from];
+            for (int i = 0; i < bytes.length; i++)
+                bytes[i] = buffer.get(header[H_STRING_DATA] + from + i);
+            strings[index] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return strings[index];
+    }
+
+    // ===========================================================
+    // ========================= WRITER ==========================
+    // ===========================================================
+
+    /** Converts an SDG to the binary format. */
+    protected static class Writer {
+        protected final SDG sdg;
+        protected final List<GraphNode<?>> nodes;
+        protected final Map<GraphNode<?>, Integer> nodeIndex = new HashMap<>();
+        protected final List<Arc> arcs;
+        protected final Map<Arc, Integer> arcIndex = new HashMap<>();
+        protected final Map<String, Integer> stringIndex = new HashMap<>();
+        protected final List<String> stringList = new ArrayList<>();
+        protected final Map<CompilationUnit, Integer> fileIndex = new IdentityHashMap<>();
+        protected final List<CompilationUnit> files = new ArrayList<>();
+
+        protected Writer(SDG sdg) {
+            this.sdg = sdg;
+            this.nodes = new ArrayList<>(sdg.vertexSet());
+            nodes.sort(Comparator.comparingInt(sdg.getIdSpace()::indexOf));
+            for (int i = 0; i < nodes.size(); i++)
+                nodeIndex.put(nodes.get(i), i);
+            this.arcs = new ArrayList<>(sdg.edgeSet());
+            for (int i = 0; i < arcs.size(); i++)
+                arcIndex.put(arcs.get(i), i);
+        }
+
+        protected void write(DataOutputStream out) throws IOException {
+            // Encode everything that is variable in size
+            int graphType = string(sdg.getClass().getName());
+            int[][] nodeRecords = new int[nodes.size()][];
+            for (int i = 0; i < nodes.size(); i++)
+                nodeRecords[i] = nodeRecord(nodes.get(i));
+            int[] actionStart = new int[nodes.size() + 1];
+            List<int[]> actions = new ArrayList<>();
+            for (int i = 0; i < nodes.size(); i++) {
+                actionStart[i] = actions.size();
+                for (VariableAction action : nodes.get(i).getVariableActions())
+                    actions.add(actionRecord(action));
+            }
+            actionStart[nodes.size()] = actions.size();
+            int[][] arcRecords = new int[arcs.size()][];
+            for (int i = 0; i < arcs.size(); i++)
+                arcRecords[i] = arcRecord(arcs.get(i));
+            int[][] incoming = incomingArcs();
+            int[][] outgoing = adjacency(arcRecords, A_SOURCE / Integer.BYTES);
+            int[][] lines = lineIndex(nodeRecords);
+            byte[][] fileContents = new byte[files.size()][];
+            int[] filePaths = new int[files.size()];
+            for (int i = 0; i < files.size(); i++) {
+                Path path = files.get(i).getStorage().orElseThrow().getPath().toAbsolutePath().normalize();
+                filePaths[i] = string(path.toString());
+                fileContents[i] = Files.readAllBytes(path);
+            }
+            byte[][] encodedStrings = new byte[stringList.size()][];
+            int stringBytes = 0;
+            for (int i = 0; i < stringList.size(); i++) {
+                encodedStrings[i] = stringList.get(i).getBytes(StandardCharsets.UTF_8);
+                stringBytes += encodedStrings[i].length;
+            }
+
+            // Compute the layout
+            int[] header = new int[HEADER_INTS];
+            header[H_MAGIC] = MAGIC;
+            header[H_VERSION] = VERSION;
+            header[H_GRAPH_TYPE] = graphType;
+            header[H_NODES] = nodes.size();
+            header[H_ARCS] = arcs.size();
+            header[H_ACTIONS] = actions.size();
+            header[H_FILES] = files.size();
+            header[H_STRINGS] = stringList.size();
+            long offset = HEADER_INTS * Integer.BYTES;
+            header[H_NODE_SECTION] = checkedOffset(offset);
+            offset += (long) nodes.size() * NODE_SIZE;
+            header[H_ARC_SECTION] = checkedOffset(offset);
+            offset += (long) arcs.size() * ARC_SIZE;
+            header[H_ACTION_START] = checkedOffset(offset);
+            offset += (long) (nodes.size() + 1) * Integer.BYTES;
+            header[H_ACTION_SECTION] = checkedOffset(offset);
+            offset += (long) actions.size() * ACTION_SIZE;
+            header[H_IN_START] = checkedOffset(offset);
+            offset += (long) (nodes.size() + 1) * Integer.BYTES;
+            header[H_IN_ARCS] = checkedOffset(offset);
+            offset += (long) incoming[1].length * Integer.BYTES;
+            header[H_OUT_START] = checkedOffset(offset);
+            offset += (long) (nodes.size() + 1) * Integer.BYTES;
+            header[H_OUT_ARCS] = checkedOffset(offset);
+            offset += (long) arcs.size() * Integer.BYTES;
+            header[H_LINE_START] = checkedOffset(offset);
+            offset += (long) (files.size() + 1) * Integer.BYTES;
+            header[H_LINE_NODES] = checkedOffset(offset);
+            offset += (long) lines[1].length * Integer.BYTES;
+            header[H_FILE_SECTION] = checkedOffset(offset);
+            offset += (long) files.size() * FILE_SIZE;
+            header[H_STRING_OFFSETS] = checkedOffset(offset);
+            offset += (long) (stringList.size() + 1) * Integer.BYTES;
+            header[H_STRING_DATA] = checkedOffset(offset);
+            checkedOffset(offset + stringBytes);
+
+            // Write each section
+            for (int value : header)
+                out.writeInt(value);
+            for (int i = 0; i < nodes.size(); i++) {
+                out.writeLong(nodes.get(i).getId());
+                for (int value : nodeRecords[i])
+                    out.writeInt(value);
+            }
+            for (int[] record : arcRecords)
+                for (int value : record)
+                    out.writeInt(value);
+            for (int value : actionStart)
+                out.writeInt(value);
+            for (int[] record : actions)
+                for (int value : record)
+                    out.writeInt(value);
+            for (int[] section : incoming)
+                for (int value : section)
+                    out.writeInt(value);
+            for (int[] section : outgoing)
+                for (int value : section)
+                    out.writeInt(value);
+            for (int[] section : lines)
+                for (int value : section)
+                    out.writeInt(value);
+            for (int i = 0; i < files.size(); i++) {
+                out.writeInt(filePaths[i]);
+                out.writeLong(fileContents[i].length);
+                out.writeLong(checksum(fileContents[i]));
+            }
+            int stringOffset = 0;
+            for (byte[] encoded : encodedStrings) {
+                out.writeInt(stringOffset);
+                stringOffset += encoded.length;
+            }
+            out.writeInt(stringOffset);
+            for (byte[] encoded : encodedStrings)
+                out.write(encoded);
+        }
+
+        /** All the fields of a node record, except the id. */
+        protected int[] nodeRecord(GraphNode<?> node) {
+            int[] record = new int[] { string(node.getLabel()), string(node.getClass().getSimpleName()), -1, -1, -1, -1, -1, -1, 0 };
+            Node astNode = node.getAstNode();
+            if (astNode != null) {
+                record[2] = string(astNode.getClass().getName());
+                record[3] = file(astNode);
+                Optional<Range> range = astNode.getRange();
+                if (range.isPresent()) {
+                    record[4] = range.get().begin.line;
+                    record[5] = range.get().begin.column;
+                    record[6] = range.get().end.line;
+                    record[7] = range.get().end.column;
+                }
+            }
+            if (node instanceof SyntheticNode)
+                record[8] |= NODE_SYNTHETIC;
+            if (node.isImplicitInstruction())
+                record[8] |= NODE_IMPLICIT;
+            if (node instanceof ExceptionExitNode)
+                record[8] |= NODE_EXCEPTION_EXIT;
+            Optional<CFG> cfg = node instanceof SyntheticNode ? Optional.empty() : sdg.findCFGOf(node);
+            if (cfg.isPresent() && cfg.get().isPredicate(node))
+                record[8] |= NODE_PREDICATE;
+            if (cfg.isPresent() && cfg.get() instanceof ACFG && ((ACFG) cfg.get()).isPseudoPredicate(node))
+                record[8] |= NODE_PSEUDO_PREDICATE;
+            return record;
+        }
+
+        protected int[] actionRecord(VariableAction action) {
+            int kind = action.isDefinition() ? KIND_DEFINITION : action.isDeclaration() ? KIND_DECLARATION : KIND_USAGE;
+            int tree = action.hasObjectTree() ? nodeIndex.getOrDefault(action.getObjectTree().getMemberNode(), -1) : -1;
+            int node = action.getGraphNode() != null ? nodeIndex.getOrDefault(action.getGraphNode(), -1) : -1;
+            return new int[] { kind, string(action.getName()), node, tree };
+        }
+
+        protected int[] arcRecord(Arc arc) {
+            int flags = 0;
+            if (arc.isInterproceduralInputArc())
+                flags |= ARC_INTERPROCEDURAL_INPUT;
+            if (arc.isInterproceduralOutputArc())
+                flags |= ARC_INTERPROCEDURAL_OUTPUT;
+            if (arc instanceof StructuralArc)
+                flags |= ARC_STRUCTURAL;
+            if (arc.isObjectFlow())
+                flags |= ARC_OBJECT_FLOW;
+            if (arc.isControlDependencyArc())
+                flags |= ARC_CONTROL_DEPENDENCY;
+            if (arc.isControlDependencyArc() && arc.asControlDependencyArc().isPPDGExclusive())
+                flags |= ARC_PPDG_EXCLUSIVE;
+            if (arc instanceof CC1)
+                flags |= ARC_CC1;
+            if (arc instanceof CC2)
+                flags |= ARC_CC2;
+            return new int[] { nodeIndex.get(sdg.getEdgeSource(arc)), nodeIndex.get(sdg.getEdgeTarget(arc)),
+                    string(arc.getClass().getSimpleName()), flags };
+        }
+
+        /** Builds the compressed sparse row representation of the arcs, grouped by the given field.
+         *  @return The start of each node's arcs (plus the total), and the arcs themselves. */
+        protected int[][] adjacency(int[][] arcRecords, int field) {
+            int[] start = new int[nodes.size() + 1];
+            for (int[] record : arcRecords)
+                start[record[field] + 1]++;
+            for (int i = 0; i < nodes.size(); i++)
+                start[i + 1] += start[i];
+            int[] next = Arrays.copyOf(start, nodes.size());
+            int[] sorted = new int[arcRecords.length];
+            for (int arc = 0; arc < arcRecords.length; arc++)
+                sorted[next[arcRecords[arc][field]]++] = arc;
+            return new int[][] { start, sorted };
+        }
+
+        /** Builds the compressed sparse row representation of the incoming arcs, in the order of the graph.
+         *  @return The start of each node's arcs (plus the total), and the arcs themselves. */
+        protected int[][] incomingArcs() {
+            int[] start = new int[nodes.size() + 1];
+            List<Integer> sorted = new ArrayList<>(arcs.size());
+            for (int i = 0; i < nodes.size(); i++) {
+                start[i] = sorted.size();
+                for (Arc arc : sdg.incomingEdgesOf(nodes.get(i)))
+                    sorted.add(arcIndex.get(arc));
+            }
+            start[nodes.size()] = sorted.size();
+            return new int[][] { start, sorted.stream().mapToInt(Integer::intValue).toArray() };
+        }
+
+        /** Sorts the nodes that have a location by file and line, so that the slicing criterion can be located
+         *  with a binary search. The nodes of a line are kept in order.
+         *  @return The start of each file's nodes (plus the total), and the nodes themselves. */
+        protected int[][] lineIndex(int[][] nodeRecords) {
+            List<Integer> located = new ArrayList<>();
+            for (int i = 0; i < nodes.size(); i++)
+                if (nodeRecords[i][3] >= 0 && nodeRecords[i][4] >= 0)
+                    located.add(i);
+            located.sort(Comparator.<Integer>comparingInt(node -> nodeRecords[node][3])
+                    .thenComparingInt(node -> nodeRecords[node][4])
+                    .thenComparingInt(node -> node));
+            int[] start = new int[files.size() + 1];
+            for (int node : located)
+                start[nodeRecords[node][3] + 1]++;
+            for (int i = 0; i < files.size(); i++)
+                start[i + 1] += start[i];
+            return new int[][] { start, located.stream().mapToInt(Integer::intValue).toArray() };
+        }
+
+        /** The index of the file that contains the given AST node, or -1 if it isn't stored in a file. */
+        protected int file(Node astNode) {
+            Optional<CompilationUnit> cu = astNode.findCompilationUnit();
+            if (cu.isEmpty() || cu.get().getStorage().isEmpty())
+                return -1;
+            return fileIndex.computeIfAbsent(cu.get(), unit -> {
+                files.add(unit);
+                return files.size() - 1;
+            });
+        }
+
+        protected int string(String string) {
+            return stringIndex.computeIfAbsent(string, s -> {
+                stringList.add(s);
+                return stringList.size() - 1;
+            });
+        }
+
+        protected static int checkedOffset(long offset) {
+            if (offset > Integer.MAX_VALUE)
+                throw new IllegalStateException("The graph is too large to be stored in a snapshot");
+            return (int) offset;
+        }
+    }
+}
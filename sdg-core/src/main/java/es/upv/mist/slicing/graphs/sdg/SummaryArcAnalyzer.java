@@ -1,5 +1,6 @@
 package es.upv.mist.slicing.graphs.sdg;
 
+import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.CallableDeclaration;
 import es.upv.mist.slicing.graphs.CallGraph;
 import es.upv.mist.slicing.nodes.SyntheticNode;
@@ -33,10 +34,9 @@ public class SummaryArcAnalyzer extends AbstractSummaryArcAnalyzer<ActualIONode,
 
     @Override
     protected Collection<ActualIONode> findActualIn(CallGraph.Edge<?> edge, FormalIONode formalIn) {
-        return sdg.vertexSet().stream()
+        return sdg.getInterfaceNodeIndex().getCallNodes((Node) edge.getCall()).stream()
                 .filter(ActualIONode.class::isInstance)
                 .map(ActualIONode.class::cast)
-                .filter(n -> n.getAstNode() == edge.getCall())
                 .filter(n -> n.matchesFormalIO(formalIn))
                 .collect(Collectors.toSet());
     }
@@ -55,10 +55,9 @@ public class SummaryArcAnalyzer extends AbstractSummaryArcAnalyzer<ActualIONode,
     /** Find the actual-out node that corresponds to the given formal-out in the given call.
      *  To locate any actual-out, you should use {@link #findOutputNode(CallGraph.Edge, SyntheticNode)}. */
     protected Collection<ActualIONode> findActualOut(CallGraph.Edge<?> edge, FormalIONode formalOut) {
-        return sdg.vertexSet().stream()
+        return sdg.getInterfaceNodeIndex().getCallNodes((Node) edge.getCall()).stream()
                 .filter(ActualIONode.class::isInstance)
                 .map(ActualIONode.class::cast)
-                .filter(n -> n.getAstNode() == edge.getCall())
                 .filter(n -> n.matchesFormalIO(formalOut))
                 .collect(Collectors.toSet());
     }
@@ -66,20 +65,18 @@ public class SummaryArcAnalyzer extends AbstractSummaryArcAnalyzer<ActualIONode,
     /** Find the return node of the given call. There is only one per method.
      *  To locate any actual-out, you should use {@link #findOutputNode(CallGraph.Edge, SyntheticNode)}. */
     protected CallNode.Return findReturnNode(CallGraph.Edge<?> edge) {
-        return sdg.vertexSet().stream()
+        return sdg.getInterfaceNodeIndex().getCallNodes((Node) edge.getCall()).stream()
                 .filter(CallNode.Return.class::isInstance)
                 .map(CallNode.Return.class::cast)
-                .filter(n -> n.getAstNode() == edge.getCall())
                 .findAny().orElseThrow();
     }
 
     /** Find the exception/normal return node that corresponds to the given exception/normal exit in the given call.
      *  To locate any actual-out, you should use {@link #findOutputNode(CallGraph.Edge, SyntheticNode)}. */
     protected Collection<ReturnNode> getReturnNode(CallGraph.Edge<?> edge, ExitNode exitNode) {
-        return sdg.vertexSet().stream()
+        return sdg.getInterfaceNodeIndex().getCallNodes((Node) edge.getCall()).stream()
                 .filter(ReturnNode.class::isInstance)
                 .map(ReturnNode.class::cast)
-                .filter(n -> n.getAstNode() == edge.getCall())
                 .filter(exitNode::matchesReturnNode)
                 .collect(Collectors.toSet());
     }
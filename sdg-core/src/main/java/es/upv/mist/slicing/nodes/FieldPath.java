@@ -0,0 +1,157 @@
+package es.upv.mist.slicing.nodes;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A member of an object tree, represented as the sequence of names from the root variable
+ * to the member (e.g. {@code a.b.c}). Paths are interned in a trie: there is a single instance
+ * for each sequence of names, which is obtained by extending its parent path with {@link #child(String)}.
+ * Therefore, paths may be compared by identity, and looking up a member or iterating over its
+ * names doesn't require splitting or joining strings.
+ * <br/>
+ * Each path references its children weakly: the paths that are no longer used by any object tree or
+ * action are collected and removed from the trie, so it doesn't grow with every graph that has been built.
+ */
+public final class FieldPath {
+    /** The path with no names, root of the trie. */
+    private static final FieldPath EMPTY = new FieldPath(null, null);
+    /** The references to paths that have been collected, which must be removed from their parents. */
+    private static final ReferenceQueue<FieldPath> COLLECTED = new ReferenceQueue<>();
+
+    private final FieldPath parent;
+    private final String[] names;
+    private final int hashCode;
+    /** The paths that extend this one with a name. It is created with the first child. */
+    private volatile Map<String, ChildReference> children;
+    /** The names joined by dots, computed on demand. */
+    private volatile String string;
+
+    private FieldPath(FieldPath parent, String name) {
+        this.parent = parent;
+        if (parent == null) {
+            names = new String[0];
+            hashCode = 1;
+        } else {
+            names = new String[parent.names.length + 1];
+            System.arraycopy(parent.names, 0, names, 0, parent.names.length);
+            names[parent.names.length] = name;
+            hashCode = 31 * parent.hashCode + name.hashCode();
+        }
+    }
+
+    /** The path formed by the given names, in order. */
+    public static FieldPath of(String... names) {
+        FieldPath path = EMPTY;
+        for (String name : names)
+            path = path.child(name);
+        return path;
+    }
+
+    /** The path that results from appending the given name to this path. */
+    public FieldPath child(String name) {
+        Map<String, ChildReference> map = children;
+        if (map != null) {
+            ChildReference reference = map.get(name);
+            FieldPath child = reference != null ? reference.get() : null;
+            if (child != null)
+                return child;
+        }
+        return createChild(name);
+    }
+
+    /** Inserts the child with the given name in the trie, unless another thread has already done it. */
+    private synchronized FieldPath createChild(String name) {
+        removeCollectedPaths();
+        if (children == null)
+            children = new ConcurrentHashMap<>();
+        ChildReference reference = children.get(name);
+        FieldPath child = reference != null ? reference.get() : null;
+        if (child == null) {
+            child = new FieldPath(this, name);
+            children.put(name, new ChildReference(child));
+        }
+        return child;
+    }
+
+    /** Removes the entries of the paths that have been collected from the children of their parents. */
+    private static void removeCollectedPaths() {
+        Reference<? extends FieldPath> reference;
+        while ((reference = COLLECTED.poll()) != null) {
+            ChildReference child = (ChildReference) reference;
+            child.parent.children.remove(child.name, child);
+        }
+    }
+
+    /** The path without its last name, or null if this path is empty. */
+    public FieldPath getParent() {
+        return parent;
+    }
+
+    /** The number of names in this path. */
+    public int length() {
+        return names.length;
+    }
+
+    /** The name at the given position of this path. */
+    public String get(int index) {
+        return names[index];
+    }
+
+    /** The path formed by the names of this path from the given position onwards. */
+    public FieldPath subpath(int from) {
+        FieldPath path = EMPTY;
+        for (int i = from; i < names.length; i++)
+            path = path.child(names[i]);
+        return path;
+    }
+
+    /** Whether the given path is a prefix of this path (or the same path). */
+    public boolean startsWith(FieldPath prefix) {
+        if (prefix.names.length > names.length)
+            return false;
+        FieldPath path = this;
+        for (int i = names.length; i > prefix.names.length; i--)
+            path = path.parent;
+        return path == prefix;
+    }
+
+    /** A copy of the names of this path. */
+    public String[] toArray() {
+        return names.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    /** The names of this path, separated by dots. */
+    @Override
+    public String toString() {
+        String s = string;
+        if (s == null)
+            string = s = String.join(".", names);
+        return s;
+    }
+
+    /** A weak reference from a path to one of its children, which knows where it is stored. */
+    private static final class ChildReference extends WeakReference<FieldPath> {
+        private final FieldPath parent;
+        private final String name;
+
+        private ChildReference(FieldPath child) {
+            super(child, COLLECTED);
+            this.parent = child.parent;
+            this.name = child.names[child.names.length - 1];
+        }
+    }
+}
@@ -29,15 +29,19 @@ public class GraphNode<N extends Node> implements Comparable<GraphNode<?>> {
     protected final N astNode;
     /** A sorted list of actions (usages, definitions and declarations) performed in this node. */
     protected final List<VariableAction> variableActions;
-    /** The method calls contained  */
-    protected final List<Resolvable<? extends ResolvedMethodLikeDeclaration>> methodCalls = new LinkedList<>();
+    /** The method calls contained in this node. Most nodes contain none, so it is allocated with the first call. */
+    protected List<Resolvable<? extends ResolvedMethodLikeDeclaration>> methodCalls = Collections.emptyList();
     /** Nodes that are generated as a result of the instruction represented by this GraphNode and that may
-     *  be included in Movable actions. */
-    protected final Set<SyntheticNode<?>> syntheticNodesInMovables = new HashSet<>();
+     *  be included in Movable actions. It is allocated when the first node is added. */
+    protected Set<SyntheticNode<?>> syntheticNodesInMovables = Collections.emptySet();
 
     /** @see #isImplicitInstruction() */
     protected boolean isImplicit = false;
 
+    /** The first {@link IdSpace} that indexed this node, and the index it assigned. */
+    IdSpace idSpace;
+    int index;
+
     /** Create a graph node, with id and variable actions generated automatically. */
     public GraphNode(String label, N astNode) {
         this(IdHelper.getInstance().getNextId(), label, astNode);
@@ -45,7 +49,7 @@ public class GraphNode<N extends Node> implements Comparable<GraphNode<?>> {
 
     /** Create a graph node, with variable actions generated automatically. */
     protected GraphNode(long id, String label, N astNode) {
-        this(id, label, astNode, new LinkedList<>());
+        this(id, label, astNode, new ArrayList<>(0));
         extractVariables();
     }
 
@@ -149,6 +153,8 @@ public class GraphNode<N extends Node> implements Comparable<GraphNode<?>> {
     /** Register a node that is contained in this node until the CFG
      *  is converted into the PDG. */
     public void addSyntheticNode(SyntheticNode<?> node) {
+        if (syntheticNodesInMovables.isEmpty())
+            syntheticNodesInMovables = new HashSet<>();
         syntheticNodesInMovables.add(node);
     }
 
@@ -161,7 +167,7 @@ public class GraphNode<N extends Node> implements Comparable<GraphNode<?>> {
      *  is movable, its real node is registered in {@link #syntheticNodesInMovables}. */
     public void addVariableAction(VariableAction action) {
         if (action instanceof VariableAction.Movable)
-            syntheticNodesInMovables.add(((VariableAction.Movable) action).getRealNode());
+            addSyntheticNode(((VariableAction.Movable) action).getRealNode());
         variableActions.add(action);
     }
 
@@ -204,7 +210,11 @@ public class GraphNode<N extends Node> implements Comparable<GraphNode<?>> {
 
     /** Create and append a call marker to the list of actions of this node. */
     public void addCallMarker(Resolvable<? extends ResolvedMethodLikeDeclaration> call, boolean enter) {
-        if (enter) methodCalls.add(call);
+        if (enter) {
+            if (methodCalls.isEmpty())
+                methodCalls = new ArrayList<>(1);
+            methodCalls.add(call);
+        }
         variableActions.add(new VariableAction.CallMarker(call, this, enter));
     }
 
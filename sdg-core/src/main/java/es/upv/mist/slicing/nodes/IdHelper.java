@@ -1,18 +1,20 @@
 package es.upv.mist.slicing.nodes;
 
-/** A singleton class that provides unique ids for {@link GraphNode}s. */
+import java.util.concurrent.atomic.AtomicLong;
+
+/** A singleton class that provides unique ids for {@link GraphNode}s. It may be used from multiple threads. */
 public class IdHelper {
     private static final int START_ID = 0;
     private static final IdHelper INSTANCE = new IdHelper();
 
-    private long nextId;
+    private final AtomicLong nextId;
 
     private IdHelper() {
-        nextId = START_ID;
+        nextId = new AtomicLong(START_ID);
     }
 
-    synchronized long getNextId() {
-        return nextId++;
+    long getNextId() {
+        return nextId.getAndIncrement();
     }
 
     static IdHelper getInstance() {
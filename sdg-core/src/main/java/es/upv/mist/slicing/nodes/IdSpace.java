@@ -0,0 +1,187 @@
+package es.upv.mist.slicing.nodes;
+
+import java.util.*;
+
+/**
+ * Assigns dense int indices to the nodes of a graph, so that tables of nodes can be stored in arrays
+ * and sets of nodes in bitsets. Unlike the ids given by {@link IdHelper}, which are unique in the JVM,
+ * indices range from 0 to {@link #size()} (exclusive) in each space. A node keeps its index when it
+ * is removed and added again, until the indices of the removed nodes are {@link #releaseRemoved() released}.
+ * Then, they are assigned to the nodes added later, so that the space doesn't grow when a graph is rebuilt.
+ * <br/>
+ * The index is stored in the node, so looking it up doesn't require hashing. A node may be indexed
+ * in more than one space, but only the first one stores it in the node; the rest use a map. Short-lived
+ * spaces (e.g., those of slices) are created {@link #IdSpace(boolean) without storing indices}, so that
+ * the nodes keep storing the index of the space of their graph.
+ * Spaces may be read from multiple threads, as long as they are not modified. Removals are counted,
+ * so that the sets of indices of a space can detect that some of them no longer refer to the same nodes.
+ */
+public class IdSpace {
+    /** The nodes of this space, by index. Removed nodes are replaced by null. */
+    protected final List<GraphNode<?>> nodes = new ArrayList<>();
+    /** The indices of the nodes that store the index of another space. */
+    protected final Map<GraphNode<?>, Integer> foreignIndices = new HashMap<>();
+    /** The tables of this space, whose values are cleared when an index is released. */
+    protected final List<Table<?>> tables = new LinkedList<>();
+    /** The indices of the nodes removed since the last release. */
+    protected final BitSet removedIndices = new BitSet();
+    /** The nodes removed since the last release that store their index, which they keep if they are added again. */
+    protected final List<GraphNode<?>> removedNodes = new LinkedList<>();
+    /** The indices of the removed nodes that have been released, which are assigned to new nodes. */
+    protected final BitSet freeIndices = new BitSet();
+    /** Whether this space stores the index in the nodes that aren't indexed in another space. */
+    protected final boolean storesIndices;
+    /** The number of nodes removed from this space. */
+    protected int removals = 0;
+
+    /** Create a space that stores the index in the nodes, as long as they have no index yet. */
+    public IdSpace() {
+        this(true);
+    }
+
+    /**
+     * Create an empty space.
+     * @param storesIndices Whether the index may be stored in the nodes. Otherwise, the indices
+     *                      of this space are always kept in a map.
+     */
+    public IdSpace(boolean storesIndices) {
+        this.storesIndices = storesIndices;
+    }
+
+    /** Adds the node to this space, if it wasn't included.
+     *  @return The index of the node. */
+    public int add(GraphNode<?> node) {
+        int index = storedIndexOf(node);
+        if (index < 0) {
+            index = freeIndices.nextSetBit(0);
+            if (index >= 0) {
+                freeIndices.clear(index);
+                nodes.set(index, node);
+            } else {
+                index = nodes.size();
+                nodes.add(node);
+            }
+            if (storesIndices && node.idSpace == null) {
+                node.idSpace = this;
+                node.index = index;
+            } else {
+                foreignIndices.put(node, index);
+            }
+        } else {
+            nodes.set(index, node);
+        }
+        return index;
+    }
+
+    /** Removes the node from this space. If the index is stored in the node, the node keeps it if it is
+     *  added again before the next {@link #releaseRemoved() release}; otherwise, it is forgotten. */
+    public void remove(GraphNode<?> node) {
+        int index = storedIndexOf(node);
+        if (index >= 0 && nodes.get(index) != null) {
+            nodes.set(index, null);
+            removedIndices.set(index);
+            if (node.idSpace == this)
+                removedNodes.add(node);
+            else
+                foreignIndices.remove(node);
+            removals++;
+        }
+    }
+
+    /**
+     * Releases the indices of the nodes that have been removed and not added again, so that they are
+     * assigned to the nodes added from now on. The values that the tables of this space stored for them
+     * are discarded, and the removed nodes get a new index if they are added again.
+     * <br/>
+     * This must only be done when no set of indices of this space refers to them. The slices computed
+     * before the removals are rejected, so only the frozen views of the graph must be discarded.
+     */
+    public void releaseRemoved() {
+        for (GraphNode<?> node : removedNodes)
+            if (node.idSpace == this && nodes.get(node.index) == null)
+                node.idSpace = null;
+        removedNodes.clear();
+        for (int index = removedIndices.nextSetBit(0); index >= 0; index = removedIndices.nextSetBit(index + 1)) {
+            if (nodes.get(index) != null)
+                continue; // Added again
+            freeIndices.set(index);
+            for (Table<?> table : tables)
+                table.clear(index);
+        }
+        removedIndices.clear();
+    }
+
+    /** The index of the given node, or -1 if it is not contained in this space. */
+    public int indexOf(GraphNode<?> node) {
+        int index = storedIndexOf(node);
+        return index >= 0 && get(index) == node ? index : -1;
+    }
+
+    /** The index assigned to the node, even if it was removed, or -1 if it has never been added. */
+    protected int storedIndexOf(GraphNode<?> node) {
+        if (node.idSpace == this)
+            return node.index;
+        return foreignIndices.getOrDefault(node, -1);
+    }
+
+    /** The node with the given index, or null if it has been removed. */
+    public GraphNode<?> get(int index) {
+        return nodes.get(index);
+    }
+
+    /** The number of indices assigned, including those of removed and released nodes. */
+    public int size() {
+        return nodes.size();
+    }
+
+    /** The number of times that a node has been removed from this space. */
+    public int getRemovals() {
+        return removals;
+    }
+
+    /** Creates an empty table that stores a value per node of this space. */
+    public <V> Table<V> newTable() {
+        Table<V> table = new Table<>();
+        tables.add(table);
+        return table;
+    }
+
+    /** A map from the nodes of a space to values, stored in an array indexed by node. */
+    public class Table<V> {
+        protected Object[] values = new Object[16];
+
+        protected Table() {}
+
+        /** The value of the given node, or null if it has none. Values are kept when nodes are removed
+         *  from the space, until their indices are released. */
+        @SuppressWarnings("unchecked")
+        public V get(GraphNode<?> node) {
+            int index = storedIndexOf(node);
+            return index >= 0 && index < values.length ? (V) values[index] : null;
+        }
+
+        /** Sets the value of the given node, adding it to the space if it wasn't included. */
+        public void put(GraphNode<?> node, V value) {
+            int index = add(node);
+            if (index >= values.length) {
+                Object[] newValues = new Object[Math.max(index + 1, values.length * 2)];
+                System.arraycopy(values, 0, newValues, 0, values.length);
+                values = newValues;
+            }
+            values[index] = value;
+        }
+
+        /** Removes the value of the given node. */
+        public void remove(GraphNode<?> node) {
+            int index = storedIndexOf(node);
+            if (index >= 0)
+                clear(index);
+        }
+
+        /** Removes the value stored at the given index. */
+        protected void clear(int index) {
+            if (index < values.length)
+                values[index] = null;
+        }
+    }
+}
@@ -29,6 +29,8 @@ public class ObjectTree implements Cloneable {
     public static final String ROOT_NAME = "-root-";
     /** The representation of the root node in member form. */
     public static final String[] ROOT_NODE = new String[] { ROOT_NAME };
+    /** The representation of the root node as a path. */
+    public static final FieldPath ROOT_PATH = FieldPath.of(ROOT_NAME);
 
     /** Regex pattern to split the root from the fields of a field access expression. */
     private static final Pattern FIELD_SPLIT = Pattern.compile("^(?<root>(([_0-9A-Za-z]+\\.)*this)|(?<dash>(-?))([_0-9A-Za-z]+\\k<dash>)+)(\\.(?<fields>.+))?$");
@@ -285,8 +287,15 @@ public class ObjectTree implements Cloneable {
     }
 
     Collection<ObjectTree> findObjectTreeOfPolyMember(String[] member) {
+        return findObjectTreeOfPolyMember(FieldPath.of(member), 0);
+    }
+
+    /** Similar to {@link #findObjectTreeOfPolyMember(String[])}, but skips the
+     *  first {@code from} names of the given path. */
+    Collection<ObjectTree> findObjectTreeOfPolyMember(FieldPath member, int from) {
         Collection<ObjectTree> result = List.of(this);
-        for (String field : member) {
+        for (int i = from; i < member.length(); i++) {
+            String field = member.get(i);
             Collection<ObjectTree> newResult = new LinkedList<>();
             for (ObjectTree res : result) {
                 ObjectTree ot = res.childrenMap.get(field);
@@ -314,8 +323,8 @@ public class ObjectTree implements Cloneable {
         return hasNonRootMember(field, false);
     }
 
-    public boolean hasMember(String[] member) {
-        if (member.length < 2)
+    public boolean hasMember(FieldPath member) {
+        if (member.length() < 2)
             return true;
         return hasMemberIndexed(member, 1, false);
     }
@@ -327,7 +336,7 @@ public class ObjectTree implements Cloneable {
         return hasNonRootMember(field, true);
     }
 
-    public boolean hasPolyMember(String[] member) {
+    public boolean hasPolyMember(FieldPath member) {
         return hasMemberIndexed(member, 1, true);
     }
 
@@ -353,13 +362,13 @@ public class ObjectTree implements Cloneable {
         }
     }
 
-    private boolean hasMemberIndexed(String[] member, int index, boolean polymorphic) {
-        String first = member[index];
+    private boolean hasMemberIndexed(FieldPath member, int index, boolean polymorphic) {
+        String first = member.get(index);
         if (polymorphic && !childrenMap.containsKey(first) && !childrenMap.isEmpty())
             return childrenMap.values().stream()
                     .filter(ot -> ot.getMemberNode() instanceof PolyMemberNode)
                     .anyMatch(ot -> ot.hasMemberIndexed(member, index, polymorphic));
-        if (index + 1 < member.length)
+        if (index + 1 < member.length())
             return childrenMap.containsKey(first) && childrenMap.get(first).hasMemberIndexed(member, index + 1, polymorphic);
         else return childrenMap.containsKey(first);
     }
@@ -375,7 +384,11 @@ public class ObjectTree implements Cloneable {
     }
 
     public MemberNode getNodeFor(boolean withRoot, String... members) {
-        return getNodeForIndex(members, withRoot ? 1 : 0);
+        return getNodeFor(withRoot, FieldPath.of(members));
+    }
+
+    public MemberNode getNodeFor(boolean withRoot, FieldPath member) {
+        return getNodeForIndex(member, withRoot ? 1 : 0);
     }
 
     /** Similar to getNodeFor, but valid at any level of the tree, and the argument must be the field only.
@@ -395,14 +408,15 @@ public class ObjectTree implements Cloneable {
         }
     }
 
-    MemberNode getNodeForIndex(String[] members, int index) {
-        if (members.length <= index)
+    MemberNode getNodeForIndex(FieldPath members, int index) {
+        if (members.length() <= index)
             return memberNode;
-        assert childrenMap.containsKey(members[index]);
-        if (members.length == index + 1)
-            return childrenMap.get(members[index]).memberNode;
+        ObjectTree child = childrenMap.get(members.get(index));
+        assert child != null;
+        if (members.length() == index + 1)
+            return child.memberNode;
         else
-            return childrenMap.get(members[index]).getNodeForIndex(members, index + 1);
+            return child.getNodeForIndex(members, index + 1);
     }
 
     /** Similar to {@link #getNodeFor(String)}, but if the argument does not contain
@@ -415,8 +429,8 @@ public class ObjectTree implements Cloneable {
                 .collect(Collectors.toList());
     }
 
-    public Collection<MemberNode> getNodesForPoly(String[] membersWithRoot) {
-        return findObjectTreeOfPolyMember(removeRoot(membersWithRoot)).stream()
+    public Collection<MemberNode> getNodesForPoly(FieldPath membersWithRoot) {
+        return findObjectTreeOfPolyMember(membersWithRoot, rootLength(membersWithRoot)).stream()
                 .map(ObjectTree::getMemberNode)
                 .collect(Collectors.toList());
     }
@@ -453,33 +467,26 @@ public class ObjectTree implements Cloneable {
         };
     }
 
-    public Iterable<String[]> nameAsArrayIterable() {
-        return () -> new Iterator<>() {
-            final Iterator<ObjectTree> it = treeIterator();
-
-            @Override
-            public boolean hasNext() {
-                return it.hasNext();
-            }
-
-            @Override
-            public String[] next() {
-                ObjectTree element = it.next();
-                List<String> builder = new ArrayList<>();
-                MemberNode node = element.memberNode;
-                if (node == null)
-                    return new String[] {ROOT_NAME};
-                else if (node instanceof PolyMemberNode)
-                    return next();
-                else
-                    builder.add(node.getLabel());
-                while (node.getParent() instanceof MemberNode) {
-                    node = (MemberNode) node.getParent();
-                    builder.add(0, node.getLabel());
-                }
-                return builder.toArray(new String[0]);
-            }
-        };
+    /** @return The paths (with full prefixes) of all members of this tree, excluding the root
+     *  and polymorphic nodes, in the same order as {@link #nameIterable()}. */
+    public List<FieldPath> memberPaths() {
+        Deque<String> rootNames = new LinkedList<>();
+        for (GraphNode<?> node = memberNode; node instanceof MemberNode; node = ((MemberNode) node).getParent())
+            rootNames.addFirst(node.getLabel());
+        FieldPath prefix = FieldPath.of(rootNames.toArray(new String[0]));
+        List<FieldPath> paths = new ArrayList<>();
+        addMemberPaths(prefix, paths);
+        return paths;
+    }
+
+    /** @see #memberPaths() */
+    private void addMemberPaths(FieldPath prefix, List<FieldPath> paths) {
+        for (ObjectTree child : new HashSet<>(childrenMap.values())) {
+            FieldPath path = prefix.child(child.memberNode.getLabel());
+            if (!(child.memberNode instanceof PolyMemberNode))
+                paths.add(path);
+            child.addMemberPaths(path, paths);
+        }
     }
 
     /** @return An iterable through the nodes of all members of this tree, excluding the root. */
@@ -555,6 +562,18 @@ public class ObjectTree implements Cloneable {
         throw new IllegalArgumentException("Field should be of the form <obj>.<field>, <Type>.this.<field>, where <obj> may not contain dots.");
     }
 
+    public static FieldPath removeRoot(FieldPath field) {
+        return field.subpath(rootLength(field));
+    }
+
+    /** The number of names that form the root of the given path, as removed by {@link #removeRoot(String[])}. */
+    private static int rootLength(FieldPath field) {
+        for (int i = 0; i < field.length(); i++)
+            if (field.get(i).equals("this"))
+                return i + 1;
+        return 1;
+    }
+
     public static String[] removeRoot(String[] field) {
         int newStart = 1;
         for (int i = 0; i < field.length; i++) {
@@ -582,7 +601,6 @@ public class ObjectTree implements Cloneable {
     }
 
     public static String[] removeFields(String[] fields) {
-        Pattern.compile("^(?<root>(([_0-9A-Za-z]+\\.)*this)|(?<dash>(-?))([_0-9A-Za-z]+\\k<dash>)+)(\\.(?<fields>.+))?$");
         int length = 1;
         for (int i = 0; i < fields.length; i++) {
             if (fields[i].equals("this")) {
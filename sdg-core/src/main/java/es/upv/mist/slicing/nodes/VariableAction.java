@@ -17,7 +17,7 @@ import es.upv.mist.slicing.graphs.jsysdg.JSysPDG;
 import es.upv.mist.slicing.graphs.pdg.PDG;
 import es.upv.mist.slicing.utils.ASTUtils;
 import es.upv.mist.slicing.utils.NodeHashSet;
-import es.upv.mist.slicing.utils.Utils;
+import es.upv.mist.slicing.utils.ResolutionCache;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -56,7 +56,7 @@ public abstract class VariableAction {
                 return FIELD;
             else if (expression instanceof NameExpr)
                 try {
-                    return valueOf(expression.asNameExpr().resolve());
+                    return valueOf(ResolutionCache.getInstance().resolve(expression.asNameExpr()));
                 } catch (UnsolvedSymbolException e) {
                     return STATIC_FIELD;
                 }
@@ -69,19 +69,23 @@ public abstract class VariableAction {
 
     protected final String name;
     protected final DeclarationType declarationType;
-    protected final Set<ResolvedType> dynamicTypes = new HashSet<>();
-    protected final Set<Expression> expressions = new NodeHashSet<>();
+    /** The types this variable may have at runtime. Allocated by {@link #setStaticType(ResolvedType)}. */
+    protected Set<ResolvedType> dynamicTypes = Collections.emptySet();
+    /** The expressions represented by this action, allocated when the first one is added. */
+    protected Set<Expression> expressions = Collections.emptySet();
 
     protected ResolvedType staticType;
     protected GraphNode<?> graphNode;
     protected ObjectTree objectTree;
     protected boolean optional = false;
+    /** The name of the root variable, computed on demand from the name. */
+    private String rootName;
 
     /** A list of pairs representing connections to be made between trees in the PDG.
      *  The variable action that contains the tree we must connect to in the PDG.
      *  The string, or member where the tree connection must start (in PDG). E.g.: our tree is "a.b.c" and this variable is "a",
      *  the members "a.b" and "a.b.c" will be connected to "b" and "b.c" in treeConnectionTarget's tree.. */
-    protected final List<PDGConnection> pdgTreeConnections = new LinkedList<>();
+    protected List<PDGConnection> pdgTreeConnections = Collections.emptyList();
 
     private VariableAction(DeclarationType declarationType, String name, GraphNode<?> graphNode) {
         this(declarationType, name, graphNode, null);
@@ -165,13 +169,15 @@ public abstract class VariableAction {
 
     public void setStaticType(ResolvedType staticType) {
         this.staticType = staticType;
-        dynamicTypes.clear();
-        dynamicTypes.add(staticType);
         if (staticType.isReferenceType() && ClassGraph.getInstance().containsType(staticType.asReferenceType())) {
+            dynamicTypes = new HashSet<>();
+            dynamicTypes.add(staticType);
             ClassGraph.getInstance().subclassesOf(staticType.asReferenceType()).stream()
                     .map(TypeDeclaration::resolve)
                     .map(ASTUtils::resolvedTypeDeclarationToResolvedType)
                     .forEach(dynamicTypes::add);
+        } else {
+            dynamicTypes = Set.of(staticType);
         }
     }
 
@@ -179,11 +185,14 @@ public abstract class VariableAction {
         return staticType;
     }
 
+    /** The types this variable may have at runtime. It should not be modified. */
     public Set<ResolvedType> getDynamicTypes() {
         return dynamicTypes;
     }
 
     public void addExpression(Expression expression) {
+        if (expressions.isEmpty())
+            expressions = new NodeHashSet<>(2);
         expressions.add(expression);
     }
 
@@ -212,8 +221,8 @@ public abstract class VariableAction {
         return getObjectTree().hasMember(member);
     }
 
-    public boolean hasTreeMember(String[] member) {
-        if (member.length == 0)
+    public boolean hasTreeMember(FieldPath member) {
+        if (member.length() == 0)
             return hasObjectTree();
         if (!hasObjectTree())
             return false;
@@ -230,8 +239,8 @@ public abstract class VariableAction {
         return getObjectTree().hasPolyMember(member);
     }
 
-    public boolean hasPolyTreeMember(String[] member) {
-        if (member.length == 0)
+    public boolean hasPolyTreeMember(FieldPath member) {
+        if (member.length() == 0)
             return hasObjectTree();
         if (!hasObjectTree())
             return false;
@@ -243,11 +252,18 @@ public abstract class VariableAction {
     }
 
     public void setPDGTreeConnectionTo(VariableAction targetAction, String sourcePrefixWithoutRoot, String targetPrefixWithoutRoot) {
-        pdgTreeConnections.add(new ObjectTreeConnection(this, targetAction, sourcePrefixWithoutRoot, targetPrefixWithoutRoot));
+        addPDGConnection(new ObjectTreeConnection(this, targetAction, sourcePrefixWithoutRoot, targetPrefixWithoutRoot));
     }
 
     public void setPDGValueConnection(String member) {
-        pdgTreeConnections.add(new ValueConnection(this, member));
+        addPDGConnection(new ValueConnection(this, member));
+    }
+
+    /** Stores a connection to be applied in the PDG, allocating the list with the first one. */
+    protected void addPDGConnection(PDGConnection connection) {
+        if (pdgTreeConnections.isEmpty())
+            pdgTreeConnections = new ArrayList<>(1);
+        pdgTreeConnections.add(connection);
     }
 
     public void applyPDGTreeConnections(JSysPDG pdg) {
@@ -285,9 +301,9 @@ public abstract class VariableAction {
         }
         VariableAction action;
         if (this instanceof Usage)
-            action = new Usage(declarationType, ObjectTree.removeFields(name), graphNode);
+            action = new Usage(declarationType, getRootName(), graphNode);
         else if (this instanceof Definition)
-            action = new Definition(declarationType, ObjectTree.removeFields(name), graphNode, asDefinition().expression);
+            action = new Definition(declarationType, getRootName(), graphNode, asDefinition().expression);
         else if (this instanceof Declaration)
             throw new UnsupportedOperationException("Can't create a root node for a declaration!");
         else
@@ -297,11 +313,19 @@ public abstract class VariableAction {
     }
 
     public boolean isRootAction() {
-        return isSynthetic() || Objects.equals(ObjectTree.removeFields(name), name);
+        return isSynthetic() || Objects.equals(getRootName(), name);
     }
 
     public boolean rootMatches(VariableAction b) {
-        return ObjectTree.removeFields(name).equals(ObjectTree.removeFields(b.name));
+        return getRootName().equals(b.getRootName());
+    }
+
+    /** The name of the root variable of this action, without fields.
+     *  @see ObjectTree#removeFields(String) */
+    protected String getRootName() {
+        if (rootName == null)
+            rootName = ObjectTree.removeFields(name);
+        return rootName;
     }
 
     // ======================================================
@@ -401,7 +425,7 @@ public abstract class VariableAction {
         protected final boolean enter;
 
         public CallMarker(Resolvable<? extends ResolvedMethodLikeDeclaration> call, GraphNode<?> graphNode, boolean enter) {
-            super(null, String.format("-%s-%s-", enter ? "call" : "return", call.resolve().getSignature()), graphNode);
+            super(null, String.format("-%s-%s-", enter ? "call" : "return", ResolutionCache.getInstance().resolve(call).getSignature()), graphNode);
             this.call = call;
             this.enter = enter;
         }
@@ -454,7 +478,7 @@ public abstract class VariableAction {
         /** The value to which the variable has been defined. */
         protected final Expression expression;
         /** The members of the object tree that are total definitions. */
-        protected String[] totallyDefinedMember;
+        protected FieldPath totallyDefinedMember;
 
         public Definition(DeclarationType declarationType, String name, GraphNode<?> graphNode) {
             this(declarationType, name, graphNode, (Expression) null);
@@ -475,17 +499,18 @@ public abstract class VariableAction {
         }
 
         public void setTotallyDefinedMember(String[] totallyDefinedMember) {
-            this.totallyDefinedMember = Objects.requireNonNull(totallyDefinedMember);
+            this.totallyDefinedMember = FieldPath.of(Objects.requireNonNull(totallyDefinedMember));
         }
 
-        public boolean isTotallyDefinedMember(String[] member) {
+        public boolean isTotallyDefinedMember(FieldPath member) {
             if (totallyDefinedMember == null)
                 return false;
-            if (Arrays.equals(totallyDefinedMember, member))
+            if (totallyDefinedMember == member)
                 return true;
-            if (Utils.arrayPrefix(totallyDefinedMember, member)
-                    || Utils.arrayPrefix(ObjectTree.removeRoot(member), ObjectTree.removeRoot(totallyDefinedMember)))
-                return ObjectTree.removeRoot(member).length == 0 || hasTreeMember(member);
+            FieldPath memberWithoutRoot = ObjectTree.removeRoot(member);
+            if (totallyDefinedMember.startsWith(member)
+                    || memberWithoutRoot.startsWith(ObjectTree.removeRoot(totallyDefinedMember)))
+                return memberWithoutRoot.length() == 0 || hasTreeMember(member);
             return false;
         }
 
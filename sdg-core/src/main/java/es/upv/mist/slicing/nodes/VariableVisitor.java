@@ -21,6 +21,7 @@ import es.upv.mist.slicing.nodes.VariableAction.DeclarationType;
 import es.upv.mist.slicing.nodes.io.ActualIONode;
 import es.upv.mist.slicing.nodes.io.CallNode;
 import es.upv.mist.slicing.utils.ASTUtils;
+import es.upv.mist.slicing.utils.ResolutionCache;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -158,7 +159,7 @@ public class VariableVisitor extends GraphNodeContentVisitor<VariableVisitor.Act
             VariableAction va;
             if (realName.length == 1 && realName[0].equals(n.toString())) {
                 va = acceptAction(n, action);
-                va.setStaticType(scope.calculateResolvedType());
+                va.setStaticType(ResolutionCache.getInstance().calculateResolvedType(scope));
             } else {
                 va = acceptAction(DeclarationType.valueOf(n), realName, action);
                 va.setStaticType(ASTUtils.resolvedTypeOfCurrentClass(n));
@@ -173,7 +174,7 @@ public class VariableVisitor extends GraphNodeContentVisitor<VariableVisitor.Act
 
     protected VariableAction acceptAction(Expression n, Action action) {
         VariableAction va = acceptAction(DeclarationType.valueOf(n), getRealName(n), action, false);
-        va.setStaticType(n.calculateResolvedType());
+        va.setStaticType(ResolutionCache.getInstance().calculateResolvedType(n));
         va.addExpression(n);
         return va;
     }
@@ -184,7 +185,7 @@ public class VariableVisitor extends GraphNodeContentVisitor<VariableVisitor.Act
 
     protected VariableAction acceptAction(Expression n, String[] realName, Action action) {
         VariableAction va = acceptAction(DeclarationType.valueOf(n), realName, action, false);
-        va.setStaticType(n.calculateResolvedType());
+        va.setStaticType(ResolutionCache.getInstance().calculateResolvedType(n));
         va.addExpression(n);
         return va;
     }
@@ -259,7 +260,7 @@ public class VariableVisitor extends GraphNodeContentVisitor<VariableVisitor.Act
         if (n.getExpression().isPresent()) {
             definitionStack.push(n.getExpression().get());
             VariableAction va = acceptAction(SYNTHETIC, new String[]{ VARIABLE_NAME_OUTPUT }, DEFINITION);
-            va.setStaticType(n.getExpression().get().calculateResolvedType());
+            va.setStaticType(ResolutionCache.getInstance().calculateResolvedType(n.getExpression().get()));
             definitionStack.pop();
             va.asDefinition().setTotallyDefinedMember(ROOT_NODE);
         }
@@ -270,7 +271,7 @@ public class VariableVisitor extends GraphNodeContentVisitor<VariableVisitor.Act
         super.visit(n, arg);
         definitionStack.push(n.getExpression());
         VariableAction va = acceptAction(SYNTHETIC, new String[]{ ACTIVE_EXCEPTION_VARIABLE }, DEFINITION);
-        ResolvedReferenceType type = n.getExpression().calculateResolvedType().asReferenceType();
+        ResolvedReferenceType type = ResolutionCache.getInstance().calculateResolvedType(n.getExpression()).asReferenceType();
         va.setStaticType(type);
         definitionStack.pop();
         va.getObjectTree().addAll(ClassGraph.getInstance().generateObjectTreeFor(type));
@@ -282,10 +283,10 @@ public class VariableVisitor extends GraphNodeContentVisitor<VariableVisitor.Act
         n.getIterable().accept(this, USE);
         for (VariableDeclarator variable : n.getVariable().getVariables()) {
             VariableAction vaDec = acceptAction(LOCAL_VARIABLE, new String[]{ variable.getNameAsString() }, DECLARATION);
-            vaDec.setStaticType(variable.getType().resolve());
+            vaDec.setStaticType(ResolutionCache.getInstance().resolve(variable.getType()));
             // ForEach initializes to each value of the iterable, but that expression is not available.
             VariableAction vaDef = acceptActionNullDefinition(LOCAL_VARIABLE, new String[]{ variable.getNameAsString() });
-            vaDef.setStaticType(variable.getType().resolve());
+            vaDef.setStaticType(ResolutionCache.getInstance().resolve(variable.getType()));
         }
     }
 
@@ -427,14 +428,14 @@ public class VariableVisitor extends GraphNodeContentVisitor<VariableVisitor.Act
         for (VariableDeclarator v : n.getVariables()) {
             String[] vName = new String[]{ v.getNameAsString() };
             VariableAction vaDec = acceptAction(LOCAL_VARIABLE, vName, DECLARATION);
-            vaDec.setStaticType(v.getType().resolve());
+            vaDec.setStaticType(ResolutionCache.getInstance().resolve(v.getType()));
             vaDec.addExpression(n);
             v.getInitializer().ifPresent(init -> {
                 init.accept(this, action);
                 definitionStack.push(init);
                 VariableAction vaDef = acceptAction(LOCAL_VARIABLE, vName, DEFINITION);
                 vaDef.addExpression(n);
-                vaDef.setStaticType(v.getType().resolve());
+                vaDef.setStaticType(ResolutionCache.getInstance().resolve(v.getType()));
                 definitionStack.pop();
                 if (v.getType().isClassOrInterfaceType())
                     vaDef.asDefinition().setTotallyDefinedMember(vName);
@@ -466,7 +467,8 @@ public class VariableVisitor extends GraphNodeContentVisitor<VariableVisitor.Act
     public void visit(VariableDeclarator n, Action arg) {
         if (n.getInitializer().isPresent()) {
             String realName = n.getNameAsString();
-            if (n.resolve().isField() && !n.resolve().asField().isStatic())
+            ResolvedValueDeclaration resolved = ResolutionCache.getInstance().resolve(n);
+            if (resolved.isField() && !resolved.asField().isStatic())
                 realName = "this." + realName;
             new ExpressionObjectTreeFinder(graphNode).handleVariableDeclarator(n, realName);
         }
@@ -482,9 +484,9 @@ public class VariableVisitor extends GraphNodeContentVisitor<VariableVisitor.Act
     public void visit(Parameter n, Action arg) {
         String[] nName = new String[]{ n.getNameAsString() };
         VariableAction vaDec = acceptAction(PARAMETER, nName, DECLARATION);
-        vaDec.setStaticType(n.getType().resolve());
+        vaDec.setStaticType(ResolutionCache.getInstance().resolve(n.getType()));
         VariableAction vaDef = acceptActionNullDefinition(PARAMETER, nName);
-        vaDef.setStaticType(n.getType().resolve());
+        vaDef.setStaticType(ResolutionCache.getInstance().resolve(n.getType()));
     }
 
     // =======================================================================
@@ -533,7 +535,7 @@ public class VariableVisitor extends GraphNodeContentVisitor<VariableVisitor.Act
         // If we don't have the AST for the call, we should visit the rest of the call.
         if (ASTUtils.shouldVisitArgumentsForMethodCalls(call, graphNode))
             return true;
-        CallableDeclaration<?> decl = ASTUtils.getResolvedAST(call.resolve()).orElseThrow();
+        CallableDeclaration<?> decl = ASTUtils.getResolvedAST(ResolutionCache.getInstance().resolve(call)).orElseThrow();
         // Start
         graphNode.addCallMarker(call, true);
         // Scope
@@ -541,7 +543,7 @@ public class VariableVisitor extends GraphNodeContentVisitor<VariableVisitor.Act
             VariableAction va = acceptAction(FIELD, new String[]{ "this" }, DECLARATION);
             va.setStaticType(ASTUtils.resolvedTypeOfCurrentClass((ExplicitConstructorInvocationStmt) call));
         }
-        if (call instanceof MethodCallExpr && !((JavaParserMethodDeclaration) call.resolve()).isStatic()) {
+        if (call instanceof MethodCallExpr && !((JavaParserMethodDeclaration) ResolutionCache.getInstance().resolve(call)).isStatic()) {
             ActualIONode scopeIn = ActualIONode.createActualIn(call, "this", ((MethodCallExpr) call).getScope().orElse(null));
             graphNode.addSyntheticNode(scopeIn);
             realNodeStack.push(scopeIn);
@@ -600,7 +602,7 @@ public class VariableVisitor extends GraphNodeContentVisitor<VariableVisitor.Act
     }
 
     protected Optional<ObjectTree> getFieldsForReturn(Resolvable<? extends ResolvedMethodLikeDeclaration> call) {
-        ResolvedMethodLikeDeclaration resolved = call.resolve();
+        ResolvedMethodLikeDeclaration resolved = ResolutionCache.getInstance().resolve(call);
         if (resolved instanceof AssociableToAST) {
             Optional<? extends Node> n = ((AssociableToAST<? extends Node>) resolved).toAst();
             if (n.isPresent() && n.get() instanceof CallableDeclaration)
@@ -643,7 +645,7 @@ public class VariableVisitor extends GraphNodeContentVisitor<VariableVisitor.Act
     /** Generate the correct prefix for a NameExpr. Only works for non-static fields. */
     protected String getNamePrefix(NameExpr n) {
         // We only care about non-static fields
-        ResolvedValueDeclaration resolved = n.resolve();
+        ResolvedValueDeclaration resolved = ResolutionCache.getInstance().resolve(n);
         return !resolved.isField() || resolved.asField().isStatic() ? null : "this";
     }
 
@@ -697,7 +699,7 @@ public class VariableVisitor extends GraphNodeContentVisitor<VariableVisitor.Act
             return Collections.emptySet();
         ResolvedType fieldType;
         try {
-            fieldType = field.get().getVariable(0).getType().resolve();
+            fieldType = ResolutionCache.getInstance().resolve(field.get().getVariable(0).getType());
         } catch (UnsupportedOperationException e) {
             return Set.of();
         }
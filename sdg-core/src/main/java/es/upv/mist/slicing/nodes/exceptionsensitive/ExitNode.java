@@ -3,12 +3,12 @@ package es.upv.mist.slicing.nodes.exceptionsensitive;
 import com.github.javaparser.ast.body.CallableDeclaration;
 import es.upv.mist.slicing.nodes.SyntheticNode;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 
 /** A node that summarizes the normal or exceptional exits of a declaration. */
 public abstract class ExitNode extends SyntheticNode<CallableDeclaration<?>> {
     protected ExitNode(String label, CallableDeclaration<?> astNode) {
-        super(label, astNode, new LinkedList<>());
+        super(label, astNode, new ArrayList<>(0));
     }
 
     public abstract boolean matchesReturnNode(ReturnNode node);
@@ -6,19 +6,19 @@ import com.github.javaparser.ast.expr.ObjectCreationExpr;
 import com.github.javaparser.ast.stmt.ExplicitConstructorInvocationStmt;
 import es.upv.mist.slicing.nodes.SyntheticNode;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 
 /** A node that represents the return from a call, either with or without thrown exceptions. */
 public abstract class ReturnNode extends SyntheticNode<Node> {
     protected ReturnNode(String label, MethodCallExpr astNode) {
-        super(label, astNode, new LinkedList<>());
+        super(label, astNode, new ArrayList<>(0));
     }
 
     protected ReturnNode(String label, ObjectCreationExpr astNode) {
-        super(label, astNode, new LinkedList<>());
+        super(label, astNode, new ArrayList<>(0));
     }
 
     protected ReturnNode(String label, ExplicitConstructorInvocationStmt astNode) {
-        super(label, astNode, new LinkedList<>());
+        super(label, astNode, new ArrayList<>(0));
     }
 }
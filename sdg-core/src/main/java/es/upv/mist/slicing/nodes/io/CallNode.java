@@ -8,22 +8,22 @@ import com.github.javaparser.resolution.Resolvable;
 import com.github.javaparser.resolution.declarations.ResolvedMethodLikeDeclaration;
 import es.upv.mist.slicing.nodes.SyntheticNode;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 
 /** A node representing a call to a method or constructor. */
 public class CallNode extends SyntheticNode<Node> {
     protected static final String LABEL_TEMPLATE = "CALL %s";
 
     public CallNode(MethodCallExpr astNode) {
-        super(String.format(LABEL_TEMPLATE, astNode), astNode, new LinkedList<>());
+        super(String.format(LABEL_TEMPLATE, astNode), astNode, new ArrayList<>(0));
     }
 
     public CallNode(ObjectCreationExpr astNode) {
-        super(String.format(LABEL_TEMPLATE, astNode), astNode, new LinkedList<>());
+        super(String.format(LABEL_TEMPLATE, astNode), astNode, new ArrayList<>(0));
     }
 
     public CallNode(ExplicitConstructorInvocationStmt astNode) {
-        super(String.format(LABEL_TEMPLATE, astNode), astNode, new LinkedList<>());
+        super(String.format(LABEL_TEMPLATE, astNode), astNode, new ArrayList<>(0));
     }
 
     @SuppressWarnings("unchecked")
@@ -49,15 +49,15 @@ public class CallNode extends SyntheticNode<Node> {
         protected static final String LABEL = "call return";
 
         public Return(MethodCallExpr astNode) {
-            super(LABEL, astNode, new LinkedList<>());
+            super(LABEL, astNode, new ArrayList<>(0));
         }
 
         public Return(ObjectCreationExpr astNode) {
-            super(LABEL, astNode, new LinkedList<>());
+            super(LABEL, astNode, new ArrayList<>(0));
         }
 
         public Return(ExplicitConstructorInvocationStmt astNode) {
-            super(LABEL, astNode, new LinkedList<>());
+            super(LABEL, astNode, new ArrayList<>(0));
         }
 
         public static Return create(Resolvable<? extends ResolvedMethodLikeDeclaration> astNode) {
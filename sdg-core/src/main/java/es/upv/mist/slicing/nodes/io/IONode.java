@@ -3,7 +3,7 @@ package es.upv.mist.slicing.nodes.io;
 import com.github.javaparser.ast.Node;
 import es.upv.mist.slicing.nodes.SyntheticNode;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.Objects;
 
 /** A node representing an input or output from a declaration or call (formal or actual). */
@@ -12,7 +12,7 @@ public abstract class IONode<T extends Node> extends SyntheticNode<T> {
     protected final String variableName;
 
     protected IONode(String instruction, T astNode, String variableName, boolean isInput) {
-        super(instruction, astNode, new LinkedList<>());
+        super(instruction, astNode, new ArrayList<>(0));
         this.variableName = variableName;
         this.isInput = isInput;
     }
@@ -5,12 +5,12 @@ import com.github.javaparser.ast.body.ConstructorDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import es.upv.mist.slicing.nodes.SyntheticNode;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 
 /** A node that represents the value returned from a call. */
 public class OutputNode<T extends CallableDeclaration<T>> extends SyntheticNode<T> {
     public OutputNode(T astNode) {
-        super("method output", astNode, new LinkedList<>());
+        super("method output", astNode, new ArrayList<>(0));
     }
 
     public static OutputNode<?> create(CallableDeclaration<?> declaration) {
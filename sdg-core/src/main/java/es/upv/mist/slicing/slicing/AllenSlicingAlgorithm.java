@@ -3,6 +3,7 @@ package es.upv.mist.slicing.slicing;
 import es.upv.mist.slicing.arcs.Arc;
 import es.upv.mist.slicing.arcs.pdg.ConditionalControlDependencyArc;
 import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.nodes.GraphNode;
 
 public class AllenSlicingAlgorithm extends JSysDGSlicingAlgorithm {
 
@@ -11,10 +12,10 @@ public class AllenSlicingAlgorithm extends JSysDGSlicingAlgorithm {
     }
 
     @Override
-    protected boolean commonIgnoreConditions(Arc arc) {
+    protected boolean commonIgnoreConditions(Arc arc, GraphNode<?> target) {
         return arc instanceof ConditionalControlDependencyArc.CC1 ||
                 arc instanceof ConditionalControlDependencyArc.CC2 ||
-                objectFlowIgnore(arc) ||
-                ppdgIgnore(arc);
+                objectFlowIgnore(arc, target) ||
+                ppdgIgnore(arc, target);
     }
 }
@@ -0,0 +1,12 @@
+package es.upv.mist.slicing.slicing;
+
+import es.upv.mist.slicing.nodes.GraphNode;
+
+import java.util.List;
+import java.util.Set;
+
+/** A slicing algorithm that can compute many slices with a single instance, sharing work between them. */
+public interface BatchSlicingAlgorithm extends SlicingAlgorithm {
+    /** Obtain the nodes reached by {@link #traverse(Set)} for each of the given slicing criteria, in the same order. */
+    List<Slice> traverseAll(List<Set<GraphNode<?>>> slicingCriteria);
+}
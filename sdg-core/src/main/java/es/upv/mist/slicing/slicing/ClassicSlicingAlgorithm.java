@@ -1,58 +1,163 @@
 package es.upv.mist.slicing.slicing;
 
 import es.upv.mist.slicing.arcs.Arc;
-import es.upv.mist.slicing.arcs.sdg.InterproceduralArc;
+import es.upv.mist.slicing.graphs.FrozenGraph;
 import es.upv.mist.slicing.graphs.Graph;
 import es.upv.mist.slicing.nodes.GraphNode;
 import es.upv.mist.slicing.utils.Utils;
 
-import java.util.HashSet;
-import java.util.LinkedHashSet;
-import java.util.Set;
-import java.util.function.Predicate;
+import java.util.*;
 
 /** The classic slicing algorithm: traverse all arcs backwards except interprocedural output arcs until
- *  no new node is added, then repeat the process but ignoring interprocedural input arcs instead. */
-public class ClassicSlicingAlgorithm implements SlicingAlgorithm {
+ *  no new node is added, then repeat the process but ignoring interprocedural input arcs instead.
+ *  If the graph is {@link Graph#isFrozen() frozen}, its compact view is traversed instead.
+ *  <br/>
+ *  As both passes are backward reachability problems, the slice of a set of nodes is the union of
+ *  the slices of each node. Batches of slices are computed with bitsets over the ids of the frozen
+ *  graph, and the slice of each node is computed once per batch and reused when it is reached again. */
+public class ClassicSlicingAlgorithm implements BatchSlicingAlgorithm {
+    /** The kinds of arcs (see {@link FrozenGraph}) ignored in the first pass of the algorithm. */
+    protected static final byte PASS_1 = FrozenGraph.INTERPROCEDURAL_OUTPUT;
+    /** The kinds of arcs ignored in the second pass of the algorithm. */
+    protected static final byte PASS_2 = FrozenGraph.INTERPROCEDURAL_INPUT;
+    /** The kinds of arcs ignored in intraprocedural slicing. */
+    protected static final byte PROCEDURE = FrozenGraph.INTERPROCEDURAL;
+
     protected final Graph graph;
 
+    /** The frozen view used in batch traversals. */
+    protected FrozenGraph frozenGraph;
+    /** The incoming arcs of the frozen view that are ignored in each pass. */
+    protected BitSet ignoredPass1, ignoredPass2;
+
     public ClassicSlicingAlgorithm(Graph graph) {
         this.graph = graph;
     }
 
     @Override
     public Slice traverseProcedure(GraphNode<?> slicingCriterion) {
-        Slice slice = new Slice(Set.of(slicingCriterion));
-        pass(slice, this::ignoreProcedure);
+        Slice slice = new Slice(Set.of(slicingCriterion), graph.getIdSpace());
+        pass(slice, PROCEDURE);
         return slice;
     }
 
     @Override
     public Slice traverse(Set<GraphNode<?>> slicingCriterion) {
-        Slice slice = new Slice(slicingCriterion);
-        pass(slice, this::ignorePass1);
-        pass(slice, this::ignorePass2);
+        Slice slice = new Slice(slicingCriterion, graph.getIdSpace());
+        pass(slice, PASS_1);
+        pass(slice, PASS_2);
         return slice;
     }
 
-    /** The condition to ignore arcs in the first pass of the algorithm. */
-    protected boolean ignorePass1(Arc arc) {
-        return arc.isInterproceduralOutputArc();
+    @Override
+    public List<Slice> traverseAll(List<Set<GraphNode<?>>> slicingCriteria) {
+        if (frozenGraph == null)
+            classifyArcs(graph.freeze());
+        Map<Integer, BitSet> nodeSlices = new HashMap<>();
+        int[] stack = new int[frozenGraph.nodeCount()];
+        List<Slice> slices = new ArrayList<>(slicingCriteria.size());
+        for (Set<GraphNode<?>> slicingCriterion : slicingCriteria) {
+            BitSet reached = new BitSet(frozenGraph.nodeCount());
+            for (GraphNode<?> node : slicingCriterion)
+                reached.or(sliceOf(frozenGraph.getId(node), nodeSlices, stack));
+            Slice slice = new Slice(slicingCriterion, graph.getIdSpace());
+            addAll(slice, frozenGraph, reached);
+            slices.add(slice);
+        }
+        return slices;
+    }
+
+    /** Stores the arcs of the frozen view that each pass ignores. */
+    protected void classifyArcs(FrozenGraph frozenGraph) {
+        this.frozenGraph = frozenGraph;
+        ignoredPass1 = new BitSet(frozenGraph.arcCount());
+        ignoredPass2 = new BitSet(frozenGraph.arcCount());
+        for (int arc = 0; arc < frozenGraph.arcCount(); arc++) {
+            ignoredPass1.set(arc, ignore(frozenGraph, arc, PASS_1));
+            ignoredPass2.set(arc, ignore(frozenGraph, arc, PASS_2));
+        }
     }
 
-    /** The condition to ignore arcs in the second pass of the algorithm. */
-    protected boolean ignorePass2(Arc arc) {
-        return arc.isInterproceduralInputArc();
+    /**
+     * Computes the slice of a single node. The first pass doesn't traverse the nodes whose slice is
+     * already known: their slice is included instead, and the second pass doesn't traverse its nodes,
+     * as it is closed with respect to that pass.
+     * @param node The id of the node in the frozen view.
+     * @param nodeSlices The known slices, by node id. The new slice is added to it.
+     * @param stack A work array, with room for every node of the graph.
+     */
+    protected BitSet sliceOf(int node, Map<Integer, BitSet> nodeSlices, int[] stack) {
+        BitSet slice = nodeSlices.get(node);
+        if (slice != null)
+            return slice;
+        BitSet reached = new BitSet(frozenGraph.nodeCount());
+        BitSet known = new BitSet(frozenGraph.nodeCount());
+        reached.set(node);
+        int size = 0;
+        stack[size++] = node;
+        while (size > 0) {
+            int current = stack[--size];
+            for (int arc = frozenGraph.firstArc(current); arc < frozenGraph.lastArc(current); arc++) {
+                int source = frozenGraph.getArcSource(arc);
+                if (ignoredPass1.get(arc) || reached.get(source))
+                    continue;
+                reached.set(source);
+                BitSet sourceSlice = nodeSlices.get(source);
+                if (sourceSlice != null)
+                    known.or(sourceSlice);
+                else
+                    stack[size++] = source;
+            }
+        }
+        slice = (BitSet) known.clone();
+        slice.or(reached);
+        for (int i = reached.nextSetBit(0); i >= 0; i = reached.nextSetBit(i + 1))
+            if (!known.get(i))
+                stack[size++] = i;
+        while (size > 0) {
+            int current = stack[--size];
+            for (int arc = frozenGraph.firstArc(current); arc < frozenGraph.lastArc(current); arc++) {
+                int source = frozenGraph.getArcSource(arc);
+                if (ignoredPass2.get(arc) || slice.get(source))
+                    continue;
+                slice.set(source);
+                stack[size++] = source;
+            }
+        }
+        nodeSlices.put(node, slice);
+        return slice;
     }
 
-    /** The condition to ignore arcs in intraprocedural slicing. */
-    public boolean ignoreProcedure(Arc arc) {
-        return arc instanceof InterproceduralArc;
+    /** Adds the nodes of a frozen view whose ids are set in the given bitset to the slice. */
+    protected void addAll(Slice slice, FrozenGraph frozen, BitSet ids) {
+        for (int i = ids.nextSetBit(0); i >= 0; i = ids.nextSetBit(i + 1))
+            if (!slice.contains(frozen.getNode(i)))
+                slice.add(frozen.getNode(i));
     }
 
-    /** A single pass: the edges are traversed until no new node can be added. Reached nodes
-     *  are stored in the first parameter, and arcs that match the second are ignored. */
-    protected void pass(Slice slice, Predicate<Arc> ignoreCondition) {
+    /** Whether a pass that ignores the given kinds of arcs (see {@link FrozenGraph}) ignores the arc. */
+    protected boolean ignore(Arc arc, byte ignoredKinds) {
+        return FrozenGraph.isAnyOf(arc, ignoredKinds) || ignoreArc(arc);
+    }
+
+    /** Whether a pass that ignores the given kinds of arcs ignores the arc in the given position of the frozen view. */
+    protected boolean ignore(FrozenGraph frozen, int arc, byte ignoredKinds) {
+        return frozen.isAnyOf(arc, ignoredKinds) || ignoreArc(frozen.getArc(arc));
+    }
+
+    /** The condition to ignore arcs in every pass, besides their kind. By default, no other arc is ignored. */
+    protected boolean ignoreArc(Arc arc) {
+        return false;
+    }
+
+    /** A single pass: the edges are traversed until no new node can be added. Reached nodes are stored
+     *  in the first parameter, and arcs of the kinds given in the second (see {@link #ignore(Arc, byte)})
+     *  are ignored. */
+    protected void pass(Slice slice, byte ignoredKinds) {
+        if (graph.isFrozen()) {
+            frozenPass(slice, ignoredKinds);
+            return;
+        }
         // `toVisit` behaves like a set and using iterable we can use it as a queue
         // More info: https://stackoverflow.com/a/2319126
         LinkedHashSet<GraphNode<?>> toVisit = new LinkedHashSet<>(slice.getGraphNodes());
@@ -66,7 +171,7 @@ public class ClassicSlicingAlgorithm implements SlicingAlgorithm {
             visited.add(node);
             // Traverse all edges backwards
             for (Arc arc : graph.incomingEdgesOf(node)) {
-                if (ignoreCondition.test(arc))
+                if (ignore(arc, ignoredKinds))
                     continue;
                 GraphNode<?> source = graph.getEdgeSource(arc);
                 if (!visited.contains(source))
@@ -74,6 +179,30 @@ public class ClassicSlicingAlgorithm implements SlicingAlgorithm {
             }
         }
 
-        visited.forEach(slice::add);
+        visited.stream().filter(node -> !slice.contains(node)).forEach(slice::add);
+    }
+
+    /** A single pass over the frozen view of the graph, equivalent to {@link #pass(Slice, byte)}. */
+    protected void frozenPass(Slice slice, byte ignoredKinds) {
+        FrozenGraph frozen = graph.freeze();
+        BitSet visited = new BitSet(frozen.nodeCount());
+        int[] stack = new int[frozen.nodeCount()];
+        int size = 0;
+        for (GraphNode<?> node : slice.getGraphNodes()) {
+            int id = frozen.getId(node);
+            visited.set(id);
+            stack[size++] = id;
+        }
+        while (size > 0) {
+            int current = stack[--size];
+            for (int arc = frozen.firstArc(current); arc < frozen.lastArc(current); arc++) {
+                int source = frozen.getArcSource(arc);
+                if (visited.get(source) || ignore(frozen, arc, ignoredKinds))
+                    continue;
+                visited.set(source);
+                stack[size++] = source;
+            }
+        }
+        addAll(slice, frozen, visited);
     }
 }
@@ -0,0 +1,58 @@
+package es.upv.mist.slicing.slicing;
+
+import es.upv.mist.slicing.graphs.sdg.SDGSnapshot;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/** The counterpart of {@link ClassicSlicingAlgorithm}: traverse all arcs backwards except interprocedural
+ *  output arcs until no new node is added, then repeat the process but ignoring interprocedural input arcs. */
+public class ClassicSnapshotSlicingAlgorithm implements SnapshotSlicingAlgorithm {
+    protected final SDGSnapshot snapshot;
+    protected Set<Integer> slicingCriterion;
+
+    public ClassicSnapshotSlicingAlgorithm(SDGSnapshot snapshot) {
+        this.snapshot = Objects.requireNonNull(snapshot);
+    }
+
+    @Override
+    public SnapshotSlice traverse(Set<Integer> slicingCriterion) {
+        this.slicingCriterion = slicingCriterion;
+        BitSet slice = new BitSet(snapshot.getNodeCount());
+        slicingCriterion.forEach(slice::set);
+        pass(slice, snapshot::isInterproceduralOutputArc);
+        pass(slice, snapshot::isInterproceduralInputArc);
+        return new SnapshotSlice(snapshot, slice);
+    }
+
+    /** The condition to ignore arcs in every pass, besides their kind. By default, no other arc is ignored. */
+    protected boolean ignoreArc(int arc) {
+        return false;
+    }
+
+    /** Traverses backwards all arcs that are not ignored, until no new node is added to the slice. */
+    protected void pass(BitSet slice, IntPredicate ignoredKind) {
+        BitSet visited = new BitSet(snapshot.getNodeCount());
+        Deque<Integer> pending = new ArrayDeque<>();
+        for (int node = slice.nextSetBit(0); node >= 0; node = slice.nextSetBit(node + 1))
+            pending.add(node);
+        while (!pending.isEmpty()) {
+            int node = pending.removeFirst();
+            if (visited.get(node))
+                continue;
+            visited.set(node);
+            for (int arc : snapshot.incomingArcsOf(node)) {
+                if (ignoredKind.test(arc) || ignoreArc(arc))
+                    continue;
+                int source = snapshot.getArcSource(arc);
+                if (!visited.get(source))
+                    pending.add(source);
+            }
+        }
+        slice.or(visited);
+    }
+}
@@ -4,13 +4,13 @@ import es.upv.mist.slicing.arcs.Arc;
 import es.upv.mist.slicing.arcs.pdg.ConditionalControlDependencyArc;
 import es.upv.mist.slicing.arcs.pdg.ConditionalControlDependencyArc.CC1;
 import es.upv.mist.slicing.arcs.pdg.ConditionalControlDependencyArc.CC2;
-import es.upv.mist.slicing.arcs.sdg.InterproceduralArc;
+import es.upv.mist.slicing.graphs.FrozenGraph;
 import es.upv.mist.slicing.graphs.exceptionsensitive.ESSDG;
 import es.upv.mist.slicing.nodes.GraphNode;
+import es.upv.mist.slicing.nodes.IdSpace;
 import es.upv.mist.slicing.utils.Utils;
 
 import java.util.*;
-import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -28,19 +28,25 @@ import java.util.stream.Stream;
  * </ol>
  */
 public class ExceptionSensitiveSlicingAlgorithm implements SlicingAlgorithm {
-    protected static final Predicate<Arc> INTRAPROCEDURAL = InterproceduralArc.class::isInstance;
+    /** The kinds of arcs (see {@link FrozenGraph}) ignored in intraprocedural slicing. */
+    protected static final byte INTRAPROCEDURAL = FrozenGraph.INTERPROCEDURAL;
     /** Applies rule 1a of the algorithm. */
-    protected static final Predicate<Arc> SDG_PASS_1 = Arc::isInterproceduralOutputArc;
+    protected static final byte SDG_PASS_1 = FrozenGraph.INTERPROCEDURAL_OUTPUT;
     /** Applies rule 1b of the algorithm. */
-    protected static final Predicate<Arc> SDG_PASS_2 = Arc::isInterproceduralInputArc;
+    protected static final byte SDG_PASS_2 = FrozenGraph.INTERPROCEDURAL_INPUT;
 
     protected final ESSDG graph;
     protected Set<GraphNode<?>> slicingCriterion;
+    /** The frozen view of the graph used in the current pass, or null if the graph is not frozen. */
+    protected FrozenGraph frozenGraph;
 
     /** Set of the arcs that have been traversed in the slicing process. */
     protected final Set<Arc> traversedArcSet = new HashSet<>();
     /** Similar to {@link #traversedArcSet} */
     protected final Map<GraphNode<?>, Set<Arc>> traversedArcMap = new HashMap<>();
+    /** Index of the arcs traversed, by source node. For each node, a single traversed arc of each
+     *  class is kept, which suffices to answer the class-based queries of {@link #reachedStream(GraphNode)}. */
+    protected final Map<GraphNode<?>, Map<Class<? extends Arc>, Arc>> reachedArcMap = new HashMap<>();
 
     public ExceptionSensitiveSlicingAlgorithm(ESSDG graph) {
         this.graph = Objects.requireNonNull(graph);
@@ -49,53 +55,71 @@ public class ExceptionSensitiveSlicingAlgorithm implements SlicingAlgorithm {
     @Override
     public Slice traverse(Set<GraphNode<?>> slicingCriterion) {
         this.slicingCriterion = slicingCriterion;
-        Slice slice = new Slice(slicingCriterion);
-        pass(slice, SDG_PASS_1.or(this::commonIgnoreConditions));
-        pass(slice, SDG_PASS_2.or(this::commonIgnoreConditions));
+        Slice slice = new Slice(slicingCriterion, graph.getIdSpace());
+        pass(slice, SDG_PASS_1);
+        pass(slice, SDG_PASS_2);
         return slice;
     }
 
     @Override
     public Slice traverseProcedure(GraphNode<?> slicingCriterion) {
         this.slicingCriterion = Set.of(slicingCriterion);
-        Slice slice = new Slice(this.slicingCriterion);
-        pass(slice, INTRAPROCEDURAL.or(this::commonIgnoreConditions));
+        Slice slice = new Slice(this.slicingCriterion, graph.getIdSpace());
+        pass(slice, INTRAPROCEDURAL);
         return slice;
     }
 
-    protected boolean commonIgnoreConditions(Arc arc) {
-        return ppdgIgnore(arc) || essdgIgnore(arc);
-    }
-
     /**
-     * Perform a round of traversal, until no new nodes can be added to the slice. Then, apply rule 5.
-     * @param slice A slice object that will serve as initial work-list and where nodes will be added.
-     * @param ignoreCondition A predicate used to ignore arcs, when they test true.
+     * The conditions to ignore arcs in every pass, besides their kind.
+     * @param arc An arc that is about to be traversed.
+     * @param target The target of the arc.
      */
-    protected void pass(Slice slice, Predicate<Arc> ignoreCondition) {
-        pass(slice, slice.getGraphNodes(), ignoreCondition);
+    protected boolean commonIgnoreConditions(Arc arc, GraphNode<?> target) {
+        return ppdgIgnore(arc, target) || essdgIgnore(arc, target);
     }
 
     /**
      * Perform a round of traversal, until no new nodes can be added to the slice. Then, apply rule 5.
-     * @param slice A slice object where nodes will be added.
-     * @param workList The initial work-list.
-     * @param ignoreCondition A predicate used to ignore arcs, when they test true.
+     * @param slice A slice object that will serve as initial work-list and where nodes will be added.
+     * @param ignoredKinds The kinds of arcs (see {@link FrozenGraph}) that are ignored, besides those
+     *                     that match {@link #commonIgnoreConditions(Arc, GraphNode)}.
      */
-    protected void pass(Slice slice, Set<GraphNode<?>> workList, Predicate<Arc> ignoreCondition) {
-        Set<GraphNode<?>> pending = new HashSet<>(workList);
+    protected void pass(Slice slice, byte ignoredKinds) {
+        // The work-list starts with the nodes of the slice, as a copy of its indices
+        IdSpace idSpace = slice.getIdSpace();
+        BitSet pending = slice.copyIndices();
         Set<Arc> cc1s = new HashSet<>();
+        // The frozen view, if available, replaces the lookups in the graph
+        frozenGraph = graph.isFrozen() ? graph.freeze() : null;
         while (!pending.isEmpty()) {
-            GraphNode<?> node = Utils.setPop(pending);
+            int index = pending.nextSetBit(0);
+            pending.clear(index);
+            GraphNode<?> node = idSpace.get(index);
             // Populate the map for this node (if empty)
-            traversedArcMap.computeIfAbsent(node, n -> new HashSet<>());
+            Set<Arc> traversedArcs = traversedArcMap.computeIfAbsent(node, n -> new HashSet<>());
+            if (frozenGraph != null) {
+                int id = frozenGraph.getId(node);
+                for (int i = frozenGraph.firstArc(id); i < frozenGraph.lastArc(id); i++) {
+                    Arc arc = frozenGraph.getArc(i);
+                    if (arc instanceof CC1)
+                        cc1s.add(arc);
+                    if (!traversedArcs.contains(arc) && !frozenGraph.isAnyOf(i, ignoredKinds) && !commonIgnoreConditions(arc, node)) {
+                        GraphNode<?> source = frozenGraph.getNode(frozenGraph.getArcSource(i));
+                        if (traverseArc(arc, source, node, slice))
+                            pending.set(idSpace.indexOf(source));
+                    }
+                }
+                continue;
+            }
             for (Arc arc : graph.incomingEdgesOf(node)) {
                 if (arc instanceof CC1)
                     cc1s.add(arc);
                 // Only traverse the arc if (1) it hasn't been traversed, (2) it hasn't been ignored
-                if (!traversedArcMap.get(node).contains(arc) && !ignoreCondition.test(arc))
-                    if (traverseArc(arc, slice))
-                        pending.add(graph.getEdgeSource(arc));
+                if (!traversedArcs.contains(arc) && !FrozenGraph.isAnyOf(arc, ignoredKinds) && !commonIgnoreConditions(arc, node)) {
+                    GraphNode<?> source = graph.getEdgeSource(arc);
+                    if (traverseArc(arc, source, node, slice))
+                        pending.set(idSpace.indexOf(source));
+                }
             }
         }
         // Consider transitivity when there are no more arcs to traverse.
@@ -104,7 +128,7 @@ public class ExceptionSensitiveSlicingAlgorithm implements SlicingAlgorithm {
             Arc arc = Utils.setPop(cc1s);
             // If the target of the arc has been reached, but only by CC1, traverse the arc
             if (hasOnlyBeenReachedBy(graph.getEdgeTarget(arc), CC1.class)) {
-                traverseArc(arc, slice);
+                traverseArc(arc, graph.getEdgeSource(arc), graph.getEdgeTarget(arc), slice);
                 // Find the transitive CC1 edges and add them to the work-list
                 for (Arc a : graph.incomingEdgesOf(graph.getEdgeSource(arc)))
                     if (a instanceof CC1)
@@ -114,8 +138,7 @@ public class ExceptionSensitiveSlicingAlgorithm implements SlicingAlgorithm {
     }
 
     /** Applies rule 2 of the algorithm. */
-    protected boolean ppdgIgnore(Arc arc) {
-        GraphNode<?> target = graph.getEdgeTarget(arc);
+    protected boolean ppdgIgnore(Arc arc, GraphNode<?> target) {
         return arc.isUnconditionalControlDependencyArc() &&
                 graph.isPseudoPredicate(target) &&
                 reachedStream(target).allMatch(Arc::isUnconditionalControlDependencyArc) &&
@@ -123,8 +146,7 @@ public class ExceptionSensitiveSlicingAlgorithm implements SlicingAlgorithm {
     }
 
     /** Applies rule 4 of the algorithm. */
-    protected boolean essdgIgnore(Arc arc) {
-        GraphNode<?> target = graph.getEdgeTarget(arc);
+    protected boolean essdgIgnore(Arc arc, GraphNode<?> target) {
         if (arc.isUnconditionalControlDependencyArc() && arc.asControlDependencyArc().isPPDGExclusive())
             return false;
         return hasOnlyBeenReachedBy(target, ConditionalControlDependencyArc.class);
@@ -135,26 +157,29 @@ public class ExceptionSensitiveSlicingAlgorithm implements SlicingAlgorithm {
      * of the arc in the slice.
      * @return If the source node should be added to the work-list.
      */
-    protected boolean traverseArc(Arc arc, Slice slice) {
-        traversedArcMap.get(graph.getEdgeTarget(arc)).add(arc);
+    protected boolean traverseArc(Arc arc, GraphNode<?> source, GraphNode<?> target, Slice slice) {
+        traversedArcMap.get(target).add(arc);
         traversedArcSet.add(arc);
-        GraphNode<?> source = graph.getEdgeSource(arc);
+        reachedArcMap.computeIfAbsent(source, n -> new HashMap<>()).putIfAbsent(arc.getClass(), arc);
         if (!hasOnlyBeenReachedBy(source, CC1.class) && !hasOnlyBeenReachedBy(source, CC2.class)) {
             if (!slice.contains(source))
                 slice.add(source);
             int sourceArcsTraversed = traversedArcMap.getOrDefault(source, Collections.emptySet()).size();
-            return  sourceArcsTraversed != graph.incomingEdgesOf(source).size();
+            int sourceInDegree = frozenGraph != null ? frozenGraph.inDegree(frozenGraph.getId(source)) : graph.inDegreeOf(source);
+            return  sourceArcsTraversed != sourceInDegree;
         }
         return false;
     }
 
     /** Check if a node only has been reached by arcs of a given class. */
     protected boolean hasOnlyBeenReachedBy(GraphNode<?> node, Class<? extends Arc> type) {
-        return reachedStream(node).count() > 0 && reachedStream(node).allMatch(type::isInstance);
+        Map<Class<? extends Arc>, Arc> reached = reachedArcMap.get(node);
+        return reached != null && reached.values().stream().allMatch(type::isInstance);
     }
 
-    /** Obtain a stream of arcs that have reached the given node. */
+    /** Obtain a stream of arcs that have reached the given node. Only one arc per arc class is
+     *  included, so this stream may only be used to test properties that depend on the arc's class. */
     protected Stream<Arc> reachedStream(GraphNode<?> node) {
-        return traversedArcSet.stream().filter(arc -> graph.getEdgeSource(arc).equals(node));
+        return reachedArcMap.getOrDefault(node, Collections.emptyMap()).values().stream();
     }
 }
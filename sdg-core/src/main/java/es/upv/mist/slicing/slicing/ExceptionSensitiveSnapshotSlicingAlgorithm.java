@@ -0,0 +1,149 @@
+package es.upv.mist.slicing.slicing;
+
+import es.upv.mist.slicing.graphs.sdg.SDGSnapshot;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * The counterpart of {@link ExceptionSensitiveSlicingAlgorithm}, which applies the same rules. The nodes
+ * are traversed in the same order, as the rules depend on the arcs that have reached each node so far.
+ * <br/>
+ * The original algorithm checks the classes of the arcs that have reached each node. Here, the properties
+ * of those arcs that the rules check are combined instead: the ones shared by all of them, and the ones
+ * that any of them has.
+ */
+public class ExceptionSensitiveSnapshotSlicingAlgorithm implements SnapshotSlicingAlgorithm {
+    /** Properties of the arcs, combined in {@link #reachedByAll} and {@link #reachedByAny}. */
+    protected static final int UNCONDITIONAL = 1, CONDITIONAL = 2, CC1 = 4, CC2 = 8, OBJECT_FLOW = 16;
+
+    protected final SDGSnapshot snapshot;
+    protected Set<Integer> slicingCriterion;
+
+    /** The arcs that have been traversed in the slicing process. */
+    protected final BitSet traversedArcs;
+    /** The number of traversed arcs whose target is each node. */
+    protected final int[] traversedInDegree;
+    /** The nodes that have been reached by a traversed arc. */
+    protected final BitSet reached;
+    /** The properties shared by all the traversed arcs whose source is each node (all of them, if none). */
+    protected final int[] reachedByAll;
+    /** The properties of any of the traversed arcs whose source is each node. */
+    protected final int[] reachedByAny;
+
+    public ExceptionSensitiveSnapshotSlicingAlgorithm(SDGSnapshot snapshot) {
+        this.snapshot = Objects.requireNonNull(snapshot);
+        traversedArcs = new BitSet(snapshot.getArcCount());
+        traversedInDegree = new int[snapshot.getNodeCount()];
+        reached = new BitSet(snapshot.getNodeCount());
+        reachedByAll = new int[snapshot.getNodeCount()];
+        Arrays.fill(reachedByAll, -1);
+        reachedByAny = new int[snapshot.getNodeCount()];
+    }
+
+    @Override
+    public SnapshotSlice traverse(Set<Integer> slicingCriterion) {
+        this.slicingCriterion = slicingCriterion;
+        BitSet slice = new BitSet(snapshot.getNodeCount());
+        slicingCriterion.forEach(slice::set);
+        pass(slice, snapshot::isInterproceduralOutputArc);
+        pass(slice, snapshot::isInterproceduralInputArc);
+        return new SnapshotSlice(snapshot, slice);
+    }
+
+    /** @see ExceptionSensitiveSlicingAlgorithm#commonIgnoreConditions */
+    protected boolean commonIgnoreConditions(int arc, int target) {
+        return ppdgIgnore(arc, target) || essdgIgnore(arc, target);
+    }
+
+    /** @see ExceptionSensitiveSlicingAlgorithm#pass */
+    protected void pass(BitSet slice, IntPredicate ignoredKind) {
+        BitSet pending = (BitSet) slice.clone();
+        BitSet cc1s = new BitSet(snapshot.getArcCount());
+        while (!pending.isEmpty()) {
+            int node = pending.nextSetBit(0);
+            pending.clear(node);
+            for (int arc : snapshot.incomingArcsOf(node)) {
+                if (snapshot.isCC1(arc))
+                    cc1s.set(arc);
+                if (!traversedArcs.get(arc) && !ignoredKind.test(arc) && !commonIgnoreConditions(arc, node)) {
+                    int source = snapshot.getArcSource(arc);
+                    if (traverseArc(arc, source, node, slice))
+                        pending.set(source);
+                }
+            }
+        }
+        // Consider transitivity when there are no more arcs to traverse
+        cc1s.andNot(traversedArcs);
+        while (!cc1s.isEmpty()) {
+            int arc = cc1s.nextSetBit(0);
+            cc1s.clear(arc);
+            int target = snapshot.getArcTarget(arc);
+            // If the target of the arc has been reached, but only by CC1, traverse the arc
+            if (hasOnlyBeenReachedBy(target, CC1)) {
+                int source = snapshot.getArcSource(arc);
+                traverseArc(arc, source, target, slice);
+                // Find the transitive CC1 arcs and add them to the work-list (traversing them again changes nothing)
+                for (int a : snapshot.incomingArcsOf(source))
+                    if (snapshot.isCC1(a) && !traversedArcs.get(a))
+                        cc1s.set(a);
+            }
+        }
+    }
+
+    /** @see ExceptionSensitiveSlicingAlgorithm#ppdgIgnore */
+    protected boolean ppdgIgnore(int arc, int target) {
+        return snapshot.isUnconditionalControlDependencyArc(arc) &&
+                snapshot.isPseudoPredicate(target) &&
+                (reachedByAll[target] & UNCONDITIONAL) != 0 &&
+                !slicingCriterion.contains(target);
+    }
+
+    /** @see ExceptionSensitiveSlicingAlgorithm#essdgIgnore */
+    protected boolean essdgIgnore(int arc, int target) {
+        if (snapshot.isUnconditionalControlDependencyArc(arc) && snapshot.isPPDGExclusive(arc))
+            return false;
+        return hasOnlyBeenReachedBy(target, CONDITIONAL);
+    }
+
+    /** @see ExceptionSensitiveSlicingAlgorithm#traverseArc */
+    protected boolean traverseArc(int arc, int source, int target, BitSet slice) {
+        if (!traversedArcs.get(arc)) {
+            traversedArcs.set(arc);
+            traversedInDegree[target]++;
+        }
+        int properties = propertiesOf(arc);
+        reached.set(source);
+        reachedByAll[source] &= properties;
+        reachedByAny[source] |= properties;
+        if (!hasOnlyBeenReachedBy(source, CC1) && !hasOnlyBeenReachedBy(source, CC2)) {
+            slice.set(source);
+            return traversedInDegree[source] != snapshot.inDegreeOf(source);
+        }
+        return false;
+    }
+
+    /** Check if a node only has been reached by arcs with the given property. */
+    protected boolean hasOnlyBeenReachedBy(int node, int property) {
+        return reached.get(node) && (reachedByAll[node] & property) != 0;
+    }
+
+    /** The properties of the given arc that the rules of the algorithm check. */
+    protected int propertiesOf(int arc) {
+        int properties = 0;
+        if (snapshot.isUnconditionalControlDependencyArc(arc))
+            properties |= UNCONDITIONAL;
+        if (snapshot.isConditionalControlDependencyArc(arc))
+            properties |= CONDITIONAL;
+        if (snapshot.isCC1(arc))
+            properties |= CC1;
+        if (snapshot.isCC2(arc))
+            properties |= CC2;
+        if (snapshot.isObjectFlow(arc))
+            properties |= OBJECT_FLOW;
+        return properties;
+    }
+}
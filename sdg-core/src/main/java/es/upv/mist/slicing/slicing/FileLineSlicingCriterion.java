@@ -2,6 +2,7 @@ package es.upv.mist.slicing.slicing;
 
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.NodeList;
+import es.upv.mist.slicing.graphs.sdg.SDG;
 
 import java.io.File;
 import java.util.Optional;
@@ -19,6 +20,16 @@ public class FileLineSlicingCriterion extends LineNumberCriterion {
         this.file = file;
     }
 
+    public File getFile() {
+        return file;
+    }
+
+    /** Locates the compilation unit that corresponds to this criterion's file, via the graph's index. */
+    @Override
+    protected Optional<CompilationUnit> findCompilationUnit(SDG graph) {
+        return graph.getCriterionIndex().findCompilationUnit(file);
+    }
+
     /** Locates the compilation unit that corresponds to this criterion's file. */
     @Override
     protected Optional<CompilationUnit> findCompilationUnit(NodeList<CompilationUnit> cus) {
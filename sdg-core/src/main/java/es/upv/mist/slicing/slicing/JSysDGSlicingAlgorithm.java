@@ -12,12 +12,11 @@ public class JSysDGSlicingAlgorithm extends ExceptionSensitiveSlicingAlgorithm {
     }
 
     @Override
-    protected boolean commonIgnoreConditions(Arc arc) {
-        return objectFlowIgnore(arc) || super.commonIgnoreConditions(arc);
+    protected boolean commonIgnoreConditions(Arc arc, GraphNode<?> target) {
+        return objectFlowIgnore(arc, target) || super.commonIgnoreConditions(arc, target);
     }
 
-    protected boolean objectFlowIgnore(Arc arc) {
-        GraphNode<?> target = graph.getEdgeTarget(arc);
+    protected boolean objectFlowIgnore(Arc arc, GraphNode<?> target) {
         return arc.isObjectFlow() &&                                  // 1. The arc is object flow
                 !slicingCriterion.contains(target) &&                 // 2. The target is not the slicing criterion
                 reachedStream(target).noneMatch(Arc::isObjectFlow) && // 3. The target hasn't been reached by object flow arcs
@@ -0,0 +1,27 @@
+package es.upv.mist.slicing.slicing;
+
+import com.github.javaparser.ast.stmt.CatchClause;
+import es.upv.mist.slicing.graphs.sdg.SDGSnapshot;
+
+import java.util.Optional;
+
+/** The counterpart of {@link JSysDGSlicingAlgorithm}. */
+public class JSysDGSnapshotSlicingAlgorithm extends ExceptionSensitiveSnapshotSlicingAlgorithm {
+    public JSysDGSnapshotSlicingAlgorithm(SDGSnapshot snapshot) {
+        super(snapshot);
+    }
+
+    @Override
+    protected boolean commonIgnoreConditions(int arc, int target) {
+        return objectFlowIgnore(arc, target) || super.commonIgnoreConditions(arc, target);
+    }
+
+    /** @see JSysDGSlicingAlgorithm#objectFlowIgnore */
+    protected boolean objectFlowIgnore(int arc, int target) {
+        return snapshot.isObjectFlow(arc) &&
+                !slicingCriterion.contains(target) &&
+                (reachedByAny[target] & OBJECT_FLOW) == 0 &&
+                !snapshot.isPredicate(target) &&
+                !snapshot.getAstType(target).equals(Optional.of(CatchClause.class.getName())) && !snapshot.isExceptionExit(target);
+    }
+}
@@ -4,10 +4,13 @@ import com.github.javaparser.Position;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.CallableDeclaration;
 import es.upv.mist.slicing.arcs.pdg.StructuralArc;
+import es.upv.mist.slicing.graphs.sdg.CriterionIndex;
 import es.upv.mist.slicing.graphs.sdg.SDG;
 import es.upv.mist.slicing.nodes.GraphNode;
 import es.upv.mist.slicing.nodes.ObjectTree;
+import es.upv.mist.slicing.utils.ASTUtils;
 
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -28,14 +31,23 @@ public class LineNumberCriterion implements SlicingCriterion {
         this.lineNumber = lineNumber;
     }
 
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public String getVariable() {
+        return variable;
+    }
+
     @Override
     public Set<GraphNode<?>> findNode(SDG graph) {
-        Optional<CompilationUnit> optCu = findCompilationUnit(graph.getCompilationUnits());
+        Optional<CompilationUnit> optCu = findCompilationUnit(graph);
         if (optCu.isEmpty())
             throw new NoSuchElementException();
 
-        Set<GraphNode<?>> set = optCu.get().findAll(Node.class, this::matchesLine).stream()
-                .map(graph::findNodeByASTNode)
+        CriterionIndex index = graph.getCriterionIndex();
+        Set<GraphNode<?>> set = index.findASTNodes(optCu.get(), lineNumber).stream()
+                .map(index::findNodeByASTNode)
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .flatMap(node -> locateVariableNodes(node, graph))
@@ -48,6 +60,29 @@ public class LineNumberCriterion implements SlicingCriterion {
         }
     }
 
+    /** Locates the declarations that contain the nodes placed in this criterion's line. */
+    @Override
+    public Optional<Set<CallableDeclaration<?>>> findDeclarations(NodeList<CompilationUnit> compilationUnits) {
+        Optional<CompilationUnit> optCu = findCompilationUnit(compilationUnits);
+        if (optCu.isEmpty())
+            return Optional.empty();
+        Set<CallableDeclaration<?>> declarations = ASTUtils.newIdentityHashSet();
+        for (Node node : optCu.get().findAll(Node.class, this::matchesLine)) {
+            Optional<CallableDeclaration<?>> declaration = node instanceof CallableDeclaration ?
+                    Optional.of((CallableDeclaration<?>) node) :
+                    node.findAncestor(CallableDeclaration.class).map(decl -> (CallableDeclaration<?>) decl);
+            if (declaration.isEmpty())
+                return Optional.empty();
+            declarations.add(declaration.get());
+        }
+        return declarations.isEmpty() ? Optional.empty() : Optional.of(declarations);
+    }
+
+    /** Locates the compilation unit that corresponds to this criterion's file in the given graph. */
+    protected Optional<CompilationUnit> findCompilationUnit(SDG graph) {
+        return findCompilationUnit(graph.getCompilationUnits());
+    }
+
     /** Locates the compilation unit that corresponds to this criterion's file. */
     protected Optional<CompilationUnit> findCompilationUnit(NodeList<CompilationUnit> cus) {
         return cus.getFirst();
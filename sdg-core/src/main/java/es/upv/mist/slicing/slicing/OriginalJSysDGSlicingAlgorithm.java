@@ -5,6 +5,7 @@ import es.upv.mist.slicing.arcs.pdg.ObjectFlowDependencyArc;
 import es.upv.mist.slicing.arcs.pdg.TotalDefinitionDependenceArc;
 import es.upv.mist.slicing.arcs.sdg.ParameterInOutArc;
 import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.nodes.GraphNode;
 
 public class OriginalJSysDGSlicingAlgorithm extends JSysDGSlicingAlgorithm {
     public OriginalJSysDGSlicingAlgorithm(JSysDG graph) {
@@ -12,10 +13,10 @@ public class OriginalJSysDGSlicingAlgorithm extends JSysDGSlicingAlgorithm {
     }
 
     @Override
-    protected boolean commonIgnoreConditions(Arc arc) {
+    protected boolean commonIgnoreConditions(Arc arc, GraphNode<?> target) {
         return arc instanceof ParameterInOutArc.ObjectFlow ||
                 arc instanceof ObjectFlowDependencyArc ||
                 arc instanceof TotalDefinitionDependenceArc ||
-                ppdgIgnore(arc) || essdgIgnore(arc);
+                ppdgIgnore(arc, target) || essdgIgnore(arc, target);
     }
 }
@@ -4,7 +4,9 @@ import es.upv.mist.slicing.arcs.Arc;
 import es.upv.mist.slicing.graphs.augmented.PSDG;
 import es.upv.mist.slicing.nodes.GraphNode;
 
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 public class PseudoPredicateSlicingAlgorithm extends ClassicSlicingAlgorithm {
     protected Set<GraphNode<?>> slicingCriterion;
@@ -26,18 +28,14 @@ public class PseudoPredicateSlicingAlgorithm extends ClassicSlicingAlgorithm {
     }
 
     @Override
-    protected boolean ignorePass1(Arc arc) {
-        return super.ignorePass1(arc) || ignorePseudoPredicate(arc);
+    public List<Slice> traverseAll(List<Set<GraphNode<?>>> slicingCriteria) {
+        // The arcs ignored depend on the slicing criterion, so each slice is computed separately
+        return slicingCriteria.stream().map(this::traverse).collect(Collectors.toList());
     }
 
     @Override
-    protected boolean ignorePass2(Arc arc) {
-        return super.ignorePass2(arc) || ignorePseudoPredicate(arc);
-    }
-
-    @Override
-    public boolean ignoreProcedure(Arc arc) {
-        return super.ignoreProcedure(arc) || ignorePseudoPredicate(arc);
+    protected boolean ignoreArc(Arc arc) {
+        return ignorePseudoPredicate(arc);
     }
 
     protected boolean ignorePseudoPredicate(Arc arc) {
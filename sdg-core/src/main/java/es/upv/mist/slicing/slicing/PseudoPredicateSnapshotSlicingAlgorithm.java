@@ -0,0 +1,18 @@
+package es.upv.mist.slicing.slicing;
+
+import es.upv.mist.slicing.graphs.sdg.SDGSnapshot;
+
+/** The counterpart of {@link PseudoPredicateSlicingAlgorithm}. */
+public class PseudoPredicateSnapshotSlicingAlgorithm extends ClassicSnapshotSlicingAlgorithm {
+    public PseudoPredicateSnapshotSlicingAlgorithm(SDGSnapshot snapshot) {
+        super(snapshot);
+    }
+
+    @Override
+    protected boolean ignoreArc(int arc) {
+        int target = snapshot.getArcTarget(arc);
+        return snapshot.isPseudoPredicate(target)
+                && snapshot.isControlDependencyArc(arc)
+                && !slicingCriterion.contains(target);
+    }
+}
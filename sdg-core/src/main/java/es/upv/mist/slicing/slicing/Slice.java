@@ -5,6 +5,7 @@ import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.visitor.CloneVisitor;
 import es.upv.mist.slicing.nodes.GraphNode;
+import es.upv.mist.slicing.nodes.IdSpace;
 import es.upv.mist.slicing.utils.ASTUtils;
 import es.upv.mist.slicing.utils.NodeHashSet;
 
@@ -12,26 +13,66 @@ import java.util.*;
 
 /** The representation of a slice, or a subset of a graph's nodes.
  *  A slice can be obtained from any {@link Sliceable} object, and converted
- *  to code with {@link #toAst()}. */
+ *  to code with {@link #toAst()}.
+ *  <br/>
+ *  The nodes are stored as a bitset over their indices in an {@link IdSpace}, usually the one of the
+ *  sliced graph, and are only looked up when iterating over the slice. Slices of the same space can be
+ *  compared and combined with bitwise operations ({@link #union(Slice)}, {@link #intersection(Slice)}
+ *  and {@link #difference(Slice)}). A slice can't be used once nodes have been removed from the sliced
+ *  graph (e.g., when it is rebuilt), as its indices may no longer refer to the nodes of the graph. */
 public class Slice {
-    /** Nodes contained in this slice, mapped by id. */
-    private final Map<Long, GraphNode<?>> map = new HashMap<>();
+    /** The space that indexes the nodes of this slice. */
+    private final IdSpace idSpace;
+    /** Whether the id space was created by this slice, instead of being shared with a graph. */
+    private final boolean ownsIdSpace;
+    /** The removals from the id space when this slice was created. */
+    private final int removals;
+    /** Indices of the nodes contained in this slice. */
+    private final BitSet indices = new BitSet();
     /** The nodes that conform the slicing criterion. */
     private final Set<GraphNode<?>> immutableSC;
+    /** The nodes of this slice, as a view of {@link #indices}. */
+    private final Set<GraphNode<?>> nodes = new NodeSet();
 
+    /** Create a slice whose nodes are indexed in a space of its own, which is kept out of the nodes. */
     public Slice(Set<GraphNode<?>> slicingCriterion) {
+        this(slicingCriterion, null);
+    }
+
+    /**
+     * Create a slice whose nodes are indexed in the given space.
+     * @param idSpace The space of the sliced graph, which must contain every node added to the slice.
+     *                If it is null, the slice indexes its nodes in a space of its own.
+     */
+    public Slice(Set<GraphNode<?>> slicingCriterion, IdSpace idSpace) {
+        this.idSpace = idSpace != null ? idSpace : new IdSpace(false);
+        this.ownsIdSpace = idSpace == null;
+        this.removals = this.idSpace.getRemovals();
         immutableSC = Set.copyOf(slicingCriterion);
         addAll(slicingCriterion);
     }
 
+    /** Create a slice without slicing criterion that contains the nodes of the given one. */
+    private Slice(Slice slice) {
+        idSpace = slice.idSpace;
+        ownsIdSpace = slice.ownsIdSpace;
+        removals = slice.removals;
+        immutableSC = Set.of();
+        indices.or(slice.indices);
+    }
+
     public Set<GraphNode<?>> getCriterion() {
         return immutableSC;
     }
 
     /** Add a node to this slice. */
     public void add(GraphNode<?> node) {
-        assert !map.containsKey(node.getId());
-        map.put(node.getId(), node);
+        checkIdSpace();
+        int index = indexOf(node);
+        if (index < 0)
+            throw new IllegalArgumentException("The node " + node.getId() + " is not indexed by the slice's id space");
+        assert !indices.get(index);
+        indices.set(index);
     }
 
     /** Add multiple nodes to this slice. */
@@ -41,22 +82,99 @@ public class Slice {
 
     /** Whether the slice contains the given node. */
     public boolean contains(GraphNode<?> node) {
-        return map.containsKey(node.getId());
+        checkIdSpace();
+        int index = idSpace.indexOf(node);
+        return index >= 0 && indices.get(index);
+    }
+
+    /** The number of nodes in this slice. */
+    public int size() {
+        return indices.cardinality();
+    }
+
+    /** The index of the node in this slice's space, which is extended if it belongs to this slice. */
+    private int indexOf(GraphNode<?> node) {
+        int index = idSpace.indexOf(node);
+        if (index < 0 && ownsIdSpace)
+            index = idSpace.add(node);
+        return index;
+    }
+
+    /** Checks that no node has been removed from the id space since this slice was created. Nodes that
+     *  are added later don't change the indices of the rest, but removed nodes may be added again. */
+    private void checkIdSpace() {
+        if (removals != idSpace.getRemovals())
+            throw new IllegalStateException("The sliced graph has been modified after the slice was computed");
+    }
+
+    /** A new slice, without slicing criterion, with the nodes contained in this slice or in the given one. */
+    public Slice union(Slice other) {
+        checkIdSpace();
+        other.checkIdSpace();
+        Slice result = new Slice(this);
+        if (idSpace == other.idSpace)
+            result.indices.or(other.indices);
+        else
+            other.nodes.stream().filter(node -> !result.contains(node)).forEach(result::add);
+        return result;
+    }
+
+    /** A new slice, without slicing criterion, with the nodes contained in both this slice and the given one. */
+    public Slice intersection(Slice other) {
+        checkIdSpace();
+        other.checkIdSpace();
+        Slice result = new Slice(this);
+        if (idSpace == other.idSpace)
+            result.indices.and(other.indices);
+        else
+            nodes.stream().filter(node -> !other.contains(node)).forEach(node -> result.indices.clear(idSpace.indexOf(node)));
+        return result;
+    }
+
+    /** A new slice, without slicing criterion, with the nodes contained in this slice but not in the given one. */
+    public Slice difference(Slice other) {
+        checkIdSpace();
+        other.checkIdSpace();
+        Slice result = new Slice(this);
+        if (idSpace == other.idSpace)
+            result.indices.andNot(other.indices);
+        else
+            nodes.stream().filter(other::contains).forEach(node -> result.indices.clear(idSpace.indexOf(node)));
+        return result;
     }
 
     @Override
     public int hashCode() {
-        return map.hashCode();
+        return nodes.hashCode();
     }
 
     @Override
     public boolean equals(Object obj) {
-        return obj instanceof Slice && map.equals(((Slice) obj).map);
+        if (!(obj instanceof Slice))
+            return false;
+        Slice other = (Slice) obj;
+        checkIdSpace();
+        other.checkIdSpace();
+        if (idSpace == other.idSpace)
+            return indices.equals(other.indices);
+        return nodes.equals(other.nodes);
+    }
+
+    /** The space that indexes the nodes of this slice. */
+    IdSpace getIdSpace() {
+        return idSpace;
     }
 
-    /** Obtain the nodes from this slice. */
+    /** A copy of the indices of the nodes of this slice, in its {@link #getIdSpace() space}. */
+    BitSet copyIndices() {
+        checkIdSpace();
+        return (BitSet) indices.clone();
+    }
+
+    /** Obtain the nodes from this slice. The set is an unmodifiable view, which reflects later changes to the slice.
+     *  It can't be iterated once nodes have been removed from the sliced graph. */
     public Set<GraphNode<?>> getGraphNodes() {
-        return Set.copyOf(map.values());
+        return nodes;
     }
 
     /** Organize all nodes pertaining to this slice in one or more CompilationUnits. CompilationUnits
@@ -65,7 +183,7 @@ public class Slice {
         Map<CompilationUnit, NodeHashSet<Node>> cuMap = ASTUtils.newIdentityHashMap();
         // Add each node to the corresponding bucket of the map
         // Nodes may not belong to a compilation unit (fictional nodes), and they are skipped for the slice.
-        for (GraphNode<?> graphNode : map.values()) {
+        for (GraphNode<?> graphNode : nodes) {
             if (graphNode.isImplicitInstruction() || graphNode.getAstNode() == null)
                 continue;
             Optional<CompilationUnit> cu = graphNode.getAstNode().findCompilationUnit();
@@ -88,4 +206,39 @@ public class Slice {
         }
         return cus;
     }
+
+    /** The nodes whose indices are set, looked up in the space as they are iterated. */
+    private class NodeSet extends AbstractSet<GraphNode<?>> {
+        @Override
+        public Iterator<GraphNode<?>> iterator() {
+            checkIdSpace();
+            return new Iterator<>() {
+                int next = indices.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public GraphNode<?> next() {
+                    if (next < 0)
+                        throw new NoSuchElementException();
+                    GraphNode<?> node = idSpace.get(next);
+                    next = indices.nextSetBit(next + 1);
+                    return node;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return indices.cardinality();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof GraphNode && Slice.this.contains((GraphNode<?>) o);
+        }
+    }
 }
@@ -1,6 +1,15 @@
 package es.upv.mist.slicing.slicing;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 public interface Sliceable {
     /** Extract a subset of nodes that affect the given slicing criterion. */
     Slice slice(SlicingCriterion sc);
+
+    /** Extract the slice of each of the given slicing criteria, in the same order.
+     *  Implementations may share work between the slices. */
+    default List<Slice> sliceAll(List<? extends SlicingCriterion> slicingCriteria) {
+        return slicingCriteria.stream().map(this::slice).collect(Collectors.toList());
+    }
 }
@@ -1,9 +1,14 @@
 package es.upv.mist.slicing.slicing;
 
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.CallableDeclaration;
 import es.upv.mist.slicing.graphs.sdg.SDG;
 import es.upv.mist.slicing.nodes.GraphNode;
 
+import java.util.Collection;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.Set;
 
 /** A slicing criterion, or the point of interest in slicing. The selected variable(s)
@@ -16,4 +21,15 @@ public interface SlicingCriterion {
      * @throws NoSuchElementException When the slicing criterion cannot be located.
      */
     Set<GraphNode<?>> findNode(SDG sdg);
+
+    /**
+     * Locates the declarations (methods and constructors) that contain the slicing criterion, before
+     * the SDG is built. By default, they are unknown.
+     * @return The declarations, or an empty optional if they are unknown or part of the criterion
+     *         is placed outside any declaration.
+     * @see SDG#build(NodeList, Collection)
+     */
+    default Optional<Set<CallableDeclaration<?>>> findDeclarations(NodeList<CompilationUnit> compilationUnits) {
+        return Optional.empty();
+    }
 }
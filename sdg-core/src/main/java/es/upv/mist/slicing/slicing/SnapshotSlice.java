@@ -0,0 +1,97 @@
+package es.upv.mist.slicing.slicing;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
+import es.upv.mist.slicing.graphs.sdg.SDGSnapshot;
+import es.upv.mist.slicing.utils.NodeHashSet;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/** The result of slicing an {@link SDGSnapshot}. Nodes are represented by their index in the snapshot. */
+public class SnapshotSlice {
+    protected final SDGSnapshot snapshot;
+    protected final BitSet nodes;
+
+    public SnapshotSlice(SDGSnapshot snapshot, BitSet nodes) {
+        this.snapshot = Objects.requireNonNull(snapshot);
+        this.nodes = Objects.requireNonNull(nodes);
+    }
+
+    /** Whether the slice contains the given node (by index). */
+    public boolean contains(int node) {
+        return nodes.get(node);
+    }
+
+    /** The number of nodes in the slice. */
+    public int size() {
+        return nodes.cardinality();
+    }
+
+    /** The ids that the nodes of this slice had in the original graph. */
+    public Set<Long> getNodeIds() {
+        Set<Long> ids = new HashSet<>();
+        for (int node = nodes.nextSetBit(0); node >= 0; node = nodes.nextSetBit(node + 1))
+            ids.add(snapshot.getNodeId(node));
+        return ids;
+    }
+
+    /**
+     * Organize all nodes pertaining to this slice in one or more CompilationUnits, as {@link Slice#toAst()}.
+     * Only the source files that contain nodes of the slice are parsed, and they must not have been
+     * modified since the snapshot was written.
+     * @throws IllegalStateException If a source file has changed.
+     * @throws UncheckedIOException If a source file cannot be read.
+     */
+    public NodeList<CompilationUnit> toAst() {
+        Map<Integer, List<Integer>> fileMap = new TreeMap<>();
+        for (int node = nodes.nextSetBit(0); node >= 0; node = nodes.nextSetBit(node + 1)) {
+            if (snapshot.isImplicitInstruction(node) || snapshot.getAstType(node).isEmpty())
+                continue;
+            int file = snapshot.getFileIndex(node);
+            if (file >= 0)
+                fileMap.computeIfAbsent(file, f -> new LinkedList<>()).add(node);
+        }
+        NodeList<CompilationUnit> cus = new NodeList<>();
+        SlicePruneVisitor sliceVisitor = new SlicePruneVisitor();
+        for (Map.Entry<Integer, List<Integer>> entry : fileMap.entrySet()) {
+            CompilationUnit cu = parse(entry.getKey());
+            cu.accept(sliceVisitor, findAstNodes(cu, entry.getValue()));
+            cus.add(cu);
+        }
+        return cus;
+    }
+
+    /** Parses a source file of the snapshot, checking that it hasn't changed. */
+    protected CompilationUnit parse(int file) {
+        Path path = snapshot.getFilePath(file);
+        try {
+            byte[] contents = Files.readAllBytes(path);
+            if (!snapshot.isFileUnchanged(file, contents))
+                throw new IllegalStateException("The file " + path + " has changed since the snapshot was written");
+            CompilationUnit cu = StaticJavaParser.parse(new String(contents, StandardCharsets.UTF_8));
+            cu.setStorage(path, StandardCharsets.UTF_8);
+            return cu;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Locates the AST nodes of the given snapshot nodes, by their class and location. */
+    protected NodeHashSet<Node> findAstNodes(CompilationUnit cu, List<Integer> sliceNodes) {
+        Set<String> keys = new HashSet<>();
+        for (int node : sliceNodes)
+            snapshot.getRange(node).ifPresent(range -> keys.add(snapshot.getAstType(node).orElseThrow() + ":" + range));
+        NodeHashSet<Node> astNodes = new NodeHashSet<>();
+        for (Node node : cu.findAll(Node.class))
+            if (node.getRange().isPresent() && keys.contains(node.getClass().getName() + ":" + node.getRange().get()))
+                astNodes.add(node);
+        return astNodes;
+    }
+}
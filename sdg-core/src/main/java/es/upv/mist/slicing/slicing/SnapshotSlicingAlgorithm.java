@@ -0,0 +1,13 @@
+package es.upv.mist.slicing.slicing;
+
+import es.upv.mist.slicing.graphs.sdg.SDGSnapshot;
+
+import java.util.Set;
+
+/** A slicing algorithm that traverses the nodes and arcs of an {@link SDGSnapshot}, which are identified by index.
+ *  Each one is the counterpart of the {@link SlicingAlgorithm} of a type of graph, and obtains the same slices. */
+public interface SnapshotSlicingAlgorithm {
+    /** Obtain the nodes reached by this algorithm in a 2-pass interprocedural slice.
+     *  @see SlicingAlgorithm#traverse(Set) */
+    SnapshotSlice traverse(Set<Integer> slicingCriterion);
+}
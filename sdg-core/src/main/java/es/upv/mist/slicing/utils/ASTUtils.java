@@ -63,7 +63,7 @@ public class ASTUtils {
     }
 
     public static boolean resolvableIsVoid(Resolvable<? extends ResolvedMethodLikeDeclaration> call) {
-        var resolved = call.resolve();
+        var resolved = ResolutionCache.getInstance().resolve(call);
         if (resolved instanceof ResolvedMethodDeclaration)
             return ((ResolvedMethodDeclaration) resolved).getReturnType().isVoid();
         if (resolved instanceof ResolvedConstructorDeclaration)
@@ -117,11 +117,11 @@ public class ASTUtils {
     /** Compute the resolved type that is returned from a given method call. */
     public static ResolvedType getCallResolvedType(Resolvable<? extends ResolvedMethodLikeDeclaration> call) {
         if (call instanceof MethodCallExpr)
-            return ((MethodCallExpr) call).calculateResolvedType();
+            return ResolutionCache.getInstance().calculateResolvedType((MethodCallExpr) call);
         if (call instanceof ObjectCreationExpr)
-            return ((ObjectCreationExpr) call).calculateResolvedType();
+            return ResolutionCache.getInstance().calculateResolvedType((ObjectCreationExpr) call);
         if (call instanceof ExplicitConstructorInvocationStmt)
-            return resolvedTypeDeclarationToResolvedType(((ExplicitConstructorInvocationStmt) call).resolve().declaringType());
+            return resolvedTypeDeclarationToResolvedType(ResolutionCache.getInstance().resolve((ExplicitConstructorInvocationStmt) call).declaringType());
         throw new IllegalArgumentException("Call wasn't of a compatible type!");
     }
 
@@ -144,7 +144,7 @@ public class ASTUtils {
     }
 
     public static boolean shouldVisitArgumentsForMethodCalls(Resolvable<? extends ResolvedMethodLikeDeclaration> call) {
-        return getResolvedAST(call.resolve()).isEmpty();
+        return getResolvedAST(ResolutionCache.getInstance().resolve(call)).isEmpty();
     }
 
     public static boolean shouldVisitArgumentsForMethodCalls(Resolvable<? extends ResolvedMethodLikeDeclaration> call, GraphNode<?> graphNode) {
@@ -186,9 +186,9 @@ public class ASTUtils {
         return new IdentityHashMap<>();
     }
 
-    /** Converts a type declaration into just a type. */
+    /** Converts a type declaration into just a type, with the type solver of the project that declares it. */
     public static ResolvedType resolvedTypeDeclarationToResolvedType(ResolvedReferenceTypeDeclaration decl) {
-        return new ReferenceTypeImpl(decl, StaticTypeSolver.getTypeSolver());
+        return new ReferenceTypeImpl(decl, StaticTypeSolver.getTypeSolver(decl));
     }
 
     /**
@@ -205,8 +205,8 @@ public class ASTUtils {
      * </ul>
      */
     public static boolean isDownCast(CastExpr castExpr) {
-        ResolvedType castType = castExpr.getType().resolve();
-        ResolvedType exprType = castExpr.getExpression().calculateResolvedType();
+        ResolvedType castType = ResolutionCache.getInstance().resolve(castExpr.getType());
+        ResolvedType exprType = ResolutionCache.getInstance().calculateResolvedType(castExpr.getExpression());
         if (castType.isReferenceType() && exprType.isReferenceType()) {
             if (castType.equals(exprType))
                 return false;
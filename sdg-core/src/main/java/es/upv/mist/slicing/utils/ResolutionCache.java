@@ -0,0 +1,101 @@
+package es.upv.mist.slicing.utils;
+
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.resolution.Resolvable;
+import com.github.javaparser.resolution.types.ResolvedType;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stores the result of resolving AST nodes ({@link Resolvable#resolve()}) and of computing the type of
+ * expressions ({@link Expression#calculateResolvedType()}), so that each node is resolved once per build.
+ * Nodes are compared by identity, so the results are only valid while the AST is not modified in a way
+ * that changes them; a new cache is created at the beginning of each build, and released when it ends, so
+ * that it doesn't keep the AST reachable. Outside of builds, nodes are resolved without storing the results.
+ * Failed resolutions are not stored. It may be used from multiple threads.
+ */
+public class ResolutionCache {
+    /** The cache used outside of builds, which doesn't store any result. */
+    private static final ResolutionCache UNCACHED = new ResolutionCache(false);
+    private static volatile ResolutionCache instance = null;
+
+    /** Generates and returns a new cache. This destroys the reference to the previous instance. */
+    public static synchronized ResolutionCache getNewInstance() {
+        instance = new ResolutionCache(true);
+        return instance;
+    }
+
+    /** Obtains the current cache, or one that doesn't store results if there is none. */
+    public static ResolutionCache getInstance() {
+        ResolutionCache cache = instance;
+        return cache != null ? cache : UNCACHED;
+    }
+
+    /** Discards the current cache, along with the references that it keeps to the resolved nodes. */
+    public static synchronized void release() {
+        instance = null;
+    }
+
+    protected final Map<Resolvable<?>, Object> declarations = ASTUtils.newIdentityHashMap();
+    protected final Map<Expression, ResolvedType> types = ASTUtils.newIdentityHashMap();
+    protected final LongAdder hits = new LongAdder();
+    protected final LongAdder misses = new LongAdder();
+    /** Whether the results are stored. */
+    protected final boolean storing;
+
+    protected ResolutionCache(boolean storing) {
+        this.storing = storing;
+    }
+
+    /** Resolves the given node, or obtains the result of a previous resolution of the same node. */
+    @SuppressWarnings("unchecked")
+    public <T> T resolve(Resolvable<T> resolvable) {
+        Object resolved;
+        synchronized (declarations) {
+            resolved = declarations.get(resolvable);
+        }
+        if (resolved != null) {
+            hits.increment();
+            return (T) resolved;
+        }
+        misses.increment();
+        T result = resolvable.resolve();
+        if (storing) {
+            synchronized (declarations) {
+                declarations.put(resolvable, result);
+            }
+        }
+        return result;
+    }
+
+    /** Computes the type of the given expression, or obtains the result of a previous computation. */
+    public ResolvedType calculateResolvedType(Expression expression) {
+        ResolvedType type;
+        synchronized (types) {
+            type = types.get(expression);
+        }
+        if (type != null) {
+            hits.increment();
+            return type;
+        }
+        misses.increment();
+        type = expression.calculateResolvedType();
+        if (storing) {
+            synchronized (types) {
+                types.put(expression, type);
+            }
+        }
+        return type;
+    }
+
+    /** The number of resolutions obtained from this cache. */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /** The number of resolutions that had to be computed. */
+    public long getMisses() {
+        return misses.sum();
+    }
+}
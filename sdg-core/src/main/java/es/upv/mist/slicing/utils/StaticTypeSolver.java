@@ -1,6 +1,10 @@
 package es.upv.mist.slicing.utils;
 
 import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.resolution.declarations.AssociableToAST;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
 import com.github.javaparser.symbolsolver.JavaSymbolSolver;
 import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
@@ -44,4 +48,19 @@ public class StaticTypeSolver {
     protected static TypeSolver getTypeSolver() {
         return combinedTypeSolver;
     }
+
+    /** Obtain the type solver that resolved the given declaration: the one of the compilation unit that contains it,
+     *  so that each project uses its own (see {@link JavaSymbolSolver#inject(CompilationUnit)}), or the static one
+     *  if the declaration has no AST (e.g. classes of the JRE). This resulting object should not be manually modified. */
+    protected static TypeSolver getTypeSolver(ResolvedReferenceTypeDeclaration declaration) {
+        if (!(declaration instanceof AssociableToAST))
+            return combinedTypeSolver;
+        return ((AssociableToAST<?>) declaration).toAst()
+                .flatMap(Node::findCompilationUnit)
+                .filter(cu -> cu.containsData(Node.SYMBOL_RESOLVER_KEY))
+                .map(cu -> cu.getData(Node.SYMBOL_RESOLVER_KEY))
+                .filter(JavaSymbolSolver.class::isInstance)
+                .map(resolver -> ((JavaSymbolSolver) resolver).getTypeSolver())
+                .orElse(combinedTypeSolver);
+    }
 }
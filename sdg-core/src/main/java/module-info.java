@@ -3,6 +3,7 @@ module sdg.core {
   requires com.github.javaparser.symbolsolver;
   requires org.jgrapht.core;
   requires java.logging;
+  requires jdk.management;
 
   exports es.upv.mist.slicing.slicing;
   exports es.upv.mist.slicing.graphs;
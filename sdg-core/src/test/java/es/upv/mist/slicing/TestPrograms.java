@@ -0,0 +1,40 @@
+package es.upv.mist.slicing;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import es.upv.mist.slicing.graphs.sdg.SDG;
+import es.upv.mist.slicing.utils.StaticTypeSolver;
+
+import java.util.Arrays;
+
+/** Parses and builds the small programs that the tests write inline, with the
+ *  same parser configuration as the regression programs of {@link SlicerTest}. */
+public class TestPrograms {
+    static {
+        StaticTypeSolver.addTypeSolverJRE();
+        StaticJavaParser.getConfiguration().setAttributeComments(false);
+    }
+
+    private TestPrograms() {
+        throw new UnsupportedOperationException("This is a static, utility class");
+    }
+
+    /** Parse a program as a single compilation unit. */
+    public static CompilationUnit parse(String program) {
+        return StaticJavaParser.parse(program);
+    }
+
+    /** Parse each program as a separate compilation unit. */
+    public static NodeList<CompilationUnit> parseAll(String... programs) {
+        NodeList<CompilationUnit> units = new NodeList<>();
+        Arrays.stream(programs).map(TestPrograms::parse).forEach(units::add);
+        return units;
+    }
+
+    /** Build the given graph with the programs, each in its own compilation unit. */
+    public static <G extends SDG> G build(G sdg, String... programs) {
+        sdg.build(parseAll(programs));
+        return sdg;
+    }
+}
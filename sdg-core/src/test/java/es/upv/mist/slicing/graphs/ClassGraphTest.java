@@ -0,0 +1,116 @@
+package es.upv.mist.slicing.graphs;
+
+import com.github.javaparser.ast.body.TypeDeclaration;
+import es.upv.mist.slicing.TestPrograms;
+import es.upv.mist.slicing.nodes.FieldPath;
+import es.upv.mist.slicing.nodes.ObjectTree;
+import es.upv.mist.slicing.nodes.oo.MemberNode;
+import es.upv.mist.slicing.utils.StaticConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class ClassGraphTest {
+    protected static final String PROGRAM = "class Node {\n" +
+            "    int value;\n" +
+            "    Node next;\n" +
+            "}\n" +
+            "abstract class Shape {\n" +
+            "    int x;\n" +
+            "}\n" +
+            "class Square extends Shape {\n" +
+            "    int side;\n" +
+            "}\n" +
+            "class Circle extends Shape {\n" +
+            "    int radius;\n" +
+            "}\n" +
+            "class Holder {\n" +
+            "    Shape shape;\n" +
+            "    int count;\n" +
+            "}";
+
+    @Test
+    public void objectTreesDoNotShareNodes() {
+        ClassGraph classGraph = build();
+        for (ClassGraph.Vertex<? extends TypeDeclaration<?>> v : classGraph.typeVertices()) {
+            ObjectTree first = classGraph.generateObjectTreeFor(v);
+            ObjectTree second = classGraph.generateObjectTreeFor(v);
+            assert first.equals(second);
+            Set<MemberNode> nodes = Collections.newSetFromMap(new IdentityHashMap<>());
+            first.nodeIterable().forEach(nodes::add);
+            for (MemberNode node : second.nodeIterable())
+                assert !nodes.contains(node) : "Member node " + node + " shared between trees";
+        }
+    }
+
+    @Test
+    public void recursiveFieldIsCutAtKLimit() {
+        ClassGraph classGraph = build();
+        ClassGraph.Vertex<? extends TypeDeclaration<?>> node = findVertex(classGraph, "Node");
+        // Each level of the recursive structure is a template of the next depth, computed once
+        for (int depth = 0; depth < StaticConfig.K_LIMIT; depth++) {
+            ClassGraph.ObjectTreeTemplate template = classGraph.polyTemplateOf(node, depth);
+            assert template == classGraph.polyTemplateOf(node, depth);
+            if (depth + 1 < StaticConfig.K_LIMIT)
+                assert findField(template, "next").template == classGraph.polyTemplateOf(node, depth + 1);
+        }
+        assert classGraph.polyTemplateOf(node, StaticConfig.K_LIMIT).isEmpty();
+        // The "next" field at the last depth has no children
+        List<FieldPath> paths = classGraph.generateObjectTreeFor(node).memberPaths();
+        int maxNext = paths.stream()
+                .mapToInt(path -> (int) pathNames(path).stream().filter("next"::equals).count())
+                .max().orElseThrow();
+        assert maxNext == StaticConfig.K_LIMIT : "Found " + maxNext + " nested fields";
+    }
+
+    @Test
+    public void polymorphicFieldContainsSubclassFields() {
+        ClassGraph classGraph = build();
+        ObjectTree tree = classGraph.generateObjectTreeFor(findVertex(classGraph, "Holder"));
+        Set<String> names = new HashSet<>();
+        tree.nameIterable().forEach(names::add);
+        // Each type that may be stored in the field has its own node, with the fields it inherits
+        assert names.equals(Set.of("-root-.Holder.count", "-root-.Holder.shape",
+                "-root-.Holder.shape.Shape.x", "-root-.Holder.shape.Square.x", "-root-.Holder.shape.Square.side",
+                "-root-.Holder.shape.Circle.x", "-root-.Holder.shape.Circle.radius")) : "Found " + names;
+        // The tree of a field is the template of its type, shared with the trees of that type
+        ClassGraph.ObjectTreeTemplate holder = classGraph.polyTemplateOf(findVertex(classGraph, "Holder"), 0);
+        ClassGraph.ObjectTreeTemplate shape = findField(holder, "shape").template;
+        assert shape == classGraph.polyTemplateOf(findVertex(classGraph, "Shape"), 1);
+        Set<String> types = shape.members.stream().map(m -> m.type.describe()).collect(Collectors.toSet());
+        assert types.equals(Set.of("Shape", "Square", "Circle")) : "Found " + types;
+    }
+
+    protected ClassGraph build() {
+        ClassGraph classGraph = ClassGraph.getNewInstance();
+        classGraph.build(TestPrograms.parseAll(PROGRAM));
+        return classGraph;
+    }
+
+    protected ClassGraph.Vertex<? extends TypeDeclaration<?>> findVertex(ClassGraph classGraph, String name) {
+        return classGraph.typeVertices().stream()
+                .filter(v -> v.getDeclaration().getNameAsString().equals(name))
+                .findFirst().orElseThrow();
+    }
+
+    protected ClassGraph.ObjectTreeTemplate.Member findField(ClassGraph.ObjectTreeTemplate template, String field) {
+        // The fields are below the polymorphic node of the type
+        for (ClassGraph.ObjectTreeTemplate.Member member : template.members) {
+            if (field.equals(member.field))
+                return member;
+            if (member.type != null)
+                for (ClassGraph.ObjectTreeTemplate.Member child : member.template.members)
+                    if (field.equals(child.field))
+                        return child;
+        }
+        throw new NoSuchElementException(field);
+    }
+
+    protected List<String> pathNames(FieldPath path) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < path.length(); i++)
+            names.add(path.get(i));
+        return names;
+    }
+}
@@ -0,0 +1,67 @@
+package es.upv.mist.slicing.graphs;
+
+import es.upv.mist.slicing.TestPrograms;
+import es.upv.mist.slicing.arcs.Arc;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.graphs.sdg.SDG;
+import es.upv.mist.slicing.nodes.GraphNode;
+import es.upv.mist.slicing.slicing.ClassicSlicingAlgorithm;
+import es.upv.mist.slicing.slicing.LineNumberCriterion;
+import es.upv.mist.slicing.slicing.Slice;
+import es.upv.mist.slicing.slicing.SlicingCriterion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FrozenGraphTest {
+    protected static final String PROGRAM = "class Main {\n" +
+            "    public static void main(String[] args) {\n" +
+            "        Counter c = new Counter();\n" +
+            "        int x = 0;\n" +
+            "        while (x < args.length) {\n" +
+            "            c.add(x);\n" +
+            "            x++;\n" +
+            "        }\n" +
+            "        System.out.println(c.value);\n" +
+            "    }\n" +
+            "}\n" +
+            "class Counter {\n" +
+            "    int value;\n" +
+            "    void add(int a) { value += a; }\n" +
+            "}";
+
+    @Test
+    public void frozenViewMatchesGraph() {
+        SDG sdg = TestPrograms.build(new JSysDG(), PROGRAM);
+        assert sdg.isFrozen();
+        FrozenGraph frozen = sdg.freeze();
+        assert frozen.nodeCount() == sdg.vertexSet().size();
+        for (GraphNode<?> node : sdg.vertexSet()) {
+            int id = frozen.getId(node);
+            assert frozen.getNode(id) == node;
+            List<Arc> arcs = new ArrayList<>();
+            for (int arc = frozen.firstArc(id); arc < frozen.lastArc(id); arc++) {
+                assert frozen.getNode(frozen.getArcSource(arc)) == sdg.getEdgeSource(frozen.getArc(arc));
+                arcs.add(frozen.getArc(arc));
+            }
+            assert arcs.equals(new ArrayList<>(sdg.incomingEdgesOf(node)));
+        }
+    }
+
+    @Test
+    public void frozenSliceMatchesGraphSlice() {
+        SDG sdg = TestPrograms.build(new JSysDG(), PROGRAM);
+        SlicingCriterion sc = new LineNumberCriterion(9, "c");
+        Slice frozenSlice = sdg.slice(sc);
+        Slice frozenClassicSlice = new ClassicSlicingAlgorithm(sdg).traverse(sc.findNode(sdg));
+        // Any modification discards the frozen view
+        Arc arc = sdg.edgeSet().iterator().next();
+        GraphNode<?> arcSource = sdg.getEdgeSource(arc), arcTarget = sdg.getEdgeTarget(arc);
+        sdg.removeEdge(arc);
+        sdg.addEdge(arcSource, arcTarget, arc);
+        assert !sdg.isFrozen();
+        assert frozenSlice.equals(sdg.slice(sc));
+        assert frozenClassicSlice.equals(new ClassicSlicingAlgorithm(sdg).traverse(sc.findNode(sdg)));
+    }
+}
@@ -0,0 +1,77 @@
+package es.upv.mist.slicing.graphs.cfg;
+
+import es.upv.mist.slicing.TestPrograms;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.graphs.sdg.SDG;
+import es.upv.mist.slicing.nodes.GraphNode;
+import es.upv.mist.slicing.nodes.VariableAction;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+public class ReachingDefinitionsTest {
+    /** Definitions that are killed in some paths, loops with jumps, exceptions and fields. */
+    protected static final String PROGRAM = "class Main {\n" +
+            "    int total;\n" +
+            "    void run(int[] values) {\n" +
+            "        int sum = 0;\n" +
+            "        int last;\n" +
+            "        for (int i = 0; i < values.length; i++) {\n" +
+            "            if (values[i] > 0)\n" +
+            "                sum += values[i];\n" +
+            "            else if (values[i] == 0)\n" +
+            "                continue;\n" +
+            "            else\n" +
+            "                break;\n" +
+            "            last = i;\n" +
+            "        }\n" +
+            "        total = sum;\n" +
+            "        try {\n" +
+            "            total = total / values.length;\n" +
+            "        } catch (ArithmeticException e) {\n" +
+            "            total = -1;\n" +
+            "        }\n" +
+            "        do {\n" +
+            "            sum--;\n" +
+            "        } while (sum > total);\n" +
+            "        System.out.println(total + sum);\n" +
+            "    }\n" +
+            "    public static void main(String[] args) {\n" +
+            "        Main m = new Main();\n" +
+            "        m.run(new int[] { args.length, 0, -1 });\n" +
+            "        System.out.println(m.total);\n" +
+            "    }\n" +
+            "}";
+
+    @Test
+    public void reachingDefinitionsMatchBackwardSearch() {
+        SDG sdg = TestPrograms.build(new JSysDG(), PROGRAM);
+        for (CFG cfg : sdg.getCFGs()) {
+            compare(cfg, VariableAction::isDefinition);
+            compare(cfg, VariableAction::isDeclaration);
+        }
+    }
+
+    protected void compare(CFG cfg, Predicate<VariableAction> filter) {
+        ReachingDefinitions reachingDefinitions = new ReachingDefinitions(cfg, filter);
+        for (GraphNode<?> node : cfg.vertexSet()) {
+            for (VariableAction action : node.getVariableActions()) {
+                if (action.getGraphNode() != node)
+                    continue;
+                List<VariableAction> expected = cfg.findLastVarActionsFrom(action, filter);
+                List<VariableAction> actual = reachingDefinitions.findLastActionsFrom(action);
+                assert actual.size() == identitySet(actual).size() : "Duplicate actions for " + action;
+                assert expected.size() == actual.size() && identitySet(expected).equals(identitySet(actual))
+                        : "Reaching actions differ for " + action + " in " + node + ": expected "
+                        + expected + " but found " + actual;
+            }
+        }
+    }
+
+    protected Set<VariableAction> identitySet(List<VariableAction> actions) {
+        Set<VariableAction> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        set.addAll(actions);
+        return set;
+    }
+}
@@ -0,0 +1,57 @@
+package es.upv.mist.slicing.graphs.jsysdg;
+
+import es.upv.mist.slicing.TestPrograms;
+import es.upv.mist.slicing.graphs.BackwardDataFlowAnalysis;
+import es.upv.mist.slicing.graphs.sdg.BuildListener;
+import es.upv.mist.slicing.graphs.sdg.SDG;
+import es.upv.mist.slicing.nodes.SyntheticNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+public class SummaryArcAnalyzerTest {
+    /** Recursive and mutually recursive calls, so that summary arcs are added to declarations already analyzed. */
+    protected static final String PROGRAM = "class Main {\n" +
+            "    public static void main(String[] args) {\n" +
+            "        Node n = new Node(1, new Node(2, null));\n" +
+            "        System.out.println(sum(n));\n" +
+            "        System.out.println(even(args.length));\n" +
+            "    }\n" +
+            "    static int sum(Node n) {\n" +
+            "        if (n == null)\n" +
+            "            return 0;\n" +
+            "        return n.value + sum(n.next);\n" +
+            "    }\n" +
+            "    static boolean even(int x) { return x == 0 || odd(x - 1); }\n" +
+            "    static boolean odd(int x) { return x != 0 && even(x - 1); }\n" +
+            "}\n" +
+            "class Node {\n" +
+            "    int value;\n" +
+            "    Node next;\n" +
+            "    Node(int value, Node next) {\n" +
+            "        this.value = value;\n" +
+            "        this.next = next;\n" +
+            "    }\n" +
+            "}";
+
+    @Test
+    public void keptTraversalsMatchFinalGraph() {
+        JSysDG sdg = new JSysDG();
+        SummaryArcAnalyzer[] analyzer = new SummaryArcAnalyzer[1];
+        sdg.setBuildListener(new BuildListener() {
+            @Override
+            public void analysisFinished(SDG.BuildPhase phase, BackwardDataFlowAnalysis<?, ?, ?> analysis) {
+                if (analysis instanceof SummaryArcAnalyzer)
+                    analyzer[0] = (SummaryArcAnalyzer) analysis;
+            }
+        });
+        TestPrograms.build(sdg, PROGRAM);
+        assert analyzer[0] != null && !analyzer[0].formalInMap.isEmpty();
+        // Every traversal that wasn't discarded must be the same in the final graph
+        SummaryArcAnalyzer fresh = new SummaryArcAnalyzer(sdg, null);
+        for (Map.Entry<SyntheticNode<?>, Set<SyntheticNode<?>>> entry : analyzer[0].formalInMap.entrySet())
+            assert fresh.computeFormalIn(entry.getKey()).equals(entry.getValue()) : "Outdated traversal of " + entry.getKey();
+        assert analyzer[0].getTraversals() >= analyzer[0].formalInMap.size();
+    }
+}
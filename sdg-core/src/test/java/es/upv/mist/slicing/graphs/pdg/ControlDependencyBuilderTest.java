@@ -0,0 +1,114 @@
+package es.upv.mist.slicing.graphs.pdg;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.CallableDeclaration;
+import es.upv.mist.slicing.TestPrograms;
+import es.upv.mist.slicing.arcs.Arc;
+import es.upv.mist.slicing.arcs.cfg.ControlFlowArc;
+import es.upv.mist.slicing.graphs.augmented.ACFG;
+import es.upv.mist.slicing.graphs.augmented.PPControlDependencyBuilder;
+import es.upv.mist.slicing.graphs.augmented.PPDG;
+import es.upv.mist.slicing.graphs.cfg.CFG;
+import es.upv.mist.slicing.graphs.exceptionsensitive.ESCFG;
+import es.upv.mist.slicing.nodes.GraphNode;
+import es.upv.mist.slicing.utils.ASTUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+public class ControlDependencyBuilderTest {
+    /** Each declaration contains jumps that make some nodes lack a path to the exit, or share a post-dominator. */
+    protected static final String PROGRAM = "class Main {\n" +
+            "    static int loops(int[] a) {\n" +
+            "        int r = 0;\n" +
+            "        outer:\n" +
+            "        for (int i = 0; i < a.length; i++) {\n" +
+            "            int j = 0;\n" +
+            "            while (j < i) {\n" +
+            "                if (a[j] == 0)\n" +
+            "                    continue outer;\n" +
+            "                if (a[j] < 0)\n" +
+            "                    break outer;\n" +
+            "                j++;\n" +
+            "            }\n" +
+            "            do {\n" +
+            "                r += j;\n" +
+            "            } while (r < i);\n" +
+            "        }\n" +
+            "        return r;\n" +
+            "    }\n" +
+            "    static int jumps(int x) {\n" +
+            "        switch (x) {\n" +
+            "            case 0:\n" +
+            "                return 1;\n" +
+            "            case 1:\n" +
+            "                x++;\n" +
+            "            case 2:\n" +
+            "                x *= 2;\n" +
+            "                break;\n" +
+            "            default:\n" +
+            "                x = -x;\n" +
+            "        }\n" +
+            "        while (true) {\n" +
+            "            if (x > 100)\n" +
+            "                return x;\n" +
+            "            x += 10;\n" +
+            "        }\n" +
+            "    }\n" +
+            "    static void exceptions(int x) {\n" +
+            "        try {\n" +
+            "            if (x < 0)\n" +
+            "                throw new IllegalArgumentException();\n" +
+            "            System.out.println(10 / x);\n" +
+            "        } catch (ArithmeticException e) {\n" +
+            "            System.out.println(0);\n" +
+            "        }\n" +
+            "        System.out.println(x);\n" +
+            "    }\n" +
+            "}";
+
+    @Test
+    public void postDominatorTreeMatchesAllPairsSearch() {
+        CompilationUnit cu = TestPrograms.parse(PROGRAM);
+        for (CallableDeclaration<?> declaration : cu.findAll(CallableDeclaration.class)) {
+            if (!ASTUtils.hasBody(declaration))
+                continue;
+            compare(declaration, CFG::new, ControlDependencyBuilder::new);
+            compare(declaration, ACFG::new, ControlDependencyBuilder::new);
+            compare(declaration, ACFG::new, (cfg, pdg) -> new PPControlDependencyBuilder((ACFG) cfg, (PPDG) pdg));
+            compare(declaration, ESCFG::new, (cfg, pdg) -> new PPControlDependencyBuilder((ACFG) cfg, (PPDG) pdg));
+        }
+    }
+
+    protected void compare(CallableDeclaration<?> declaration, Supplier<CFG> cfgSupplier,
+                           BiFunction<CFG, PDG, ControlDependencyBuilder> builderFactory) {
+        CFG cfg = cfgSupplier.get();
+        cfg.build(declaration);
+        PDG pdg = cfg instanceof ACFG ? new PPDG((ACFG) cfg) : new PDG(cfg);
+        cfg.vertexSet().forEach(pdg::addVertex);
+        ControlDependencyBuilder builder = builderFactory.apply(cfg, pdg);
+        builder.build();
+
+        Set<String> expected = new HashSet<>();
+        Arc enterExitArc = null;
+        if (!cfg.containsEdge(cfg.getRootNode(), cfg.getExitNode())) {
+            enterExitArc = new ControlFlowArc();
+            cfg.addEdge(cfg.getRootNode(), cfg.getExitNode(), enterExitArc);
+        }
+        for (GraphNode<?> a : pdg.vertexSet())
+            for (GraphNode<?> b : pdg.vertexSet())
+                if (a != b && builder.hasControlDependence(a, b))
+                    expected.add(a.getId() + " -> " + b.getId());
+        if (enterExitArc != null)
+            cfg.removeEdge(enterExitArc);
+
+        Set<String> actual = new HashSet<>();
+        for (Arc arc : pdg.edgeSet())
+            assert actual.add(pdg.getEdgeSource(arc).getId() + " -> " + pdg.getEdgeTarget(arc).getId()) : "Duplicate arc " + arc;
+        assert expected.equals(actual) : "Control dependencies differ for " + declaration.getDeclarationAsString()
+                + " in " + cfg.getClass().getSimpleName() + ": expected " + expected + " but found " + actual;
+    }
+}
@@ -0,0 +1,77 @@
+package es.upv.mist.slicing.graphs.sdg;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import es.upv.mist.slicing.TestPrograms;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class BuildMetricsTest {
+    protected static final String PROGRAM = "class Main {\n" +
+            "    public static void main(String[] args) {\n" +
+            "        Point p = new Point(1, 2);\n" +
+            "        p.move(args.length);\n" +
+            "        System.out.println(p.x + p.y);\n" +
+            "    }\n" +
+            "}\n" +
+            "class Point {\n" +
+            "    int x, y;\n" +
+            "    Point(int x, int y) {\n" +
+            "        this.x = x;\n" +
+            "        this.y = y;\n" +
+            "    }\n" +
+            "    void move(int d) {\n" +
+            "        x += d;\n" +
+            "        y -= d;\n" +
+            "    }\n" +
+            "}";
+
+    @Test
+    public void metricsDescribeBuild() throws IOException {
+        SDG sdg = new JSysDG();
+        BuildMetrics metrics = new BuildMetrics();
+        sdg.setBuildListener(metrics);
+        TestPrograms.build(sdg, PROGRAM);
+        List<SDG.BuildPhase> phases = metrics.getPhases().stream().map(BuildMetrics.Phase::getPhase).collect(Collectors.toList());
+        assert phases.equals(Arrays.asList(SDG.BuildPhase.values()));
+        BuildMeasurement last = metrics.getPhases().get(phases.size() - 1).getMeasurement();
+        assert last.getNodes() == sdg.vertexSet().size() && last.getArcs() == sdg.edgeSet().size();
+        // A CFG and a PDG per declaration, slowest first
+        List<BuildMetrics.Declaration> declarations = metrics.getDeclarations();
+        assert declarations.size() == 2 * sdg.getCFGs().size();
+        for (int i = 1; i < declarations.size(); i++)
+            assert declarations.get(i - 1).getMeasurement().getWallTime() >= declarations.get(i).getMeasurement().getWallTime();
+        // The definition and usage finders, and the summary arc analyzer
+        assert metrics.getAnalyses().size() == 3;
+        assert metrics.getAnalyses().stream().allMatch(a -> a.getIterations() >= a.getRecomputations());
+        // The resolutions of each phase, some of which were obtained from the cache
+        List<SDG.BuildPhase> resolutionPhases = metrics.getResolutions().stream().map(BuildMetrics.Resolutions::getPhase).collect(Collectors.toList());
+        assert resolutionPhases.equals(phases);
+        assert metrics.getResolutions().stream().allMatch(r -> r.getHits() >= 0 && r.getMisses() >= 0);
+        assert metrics.getResolutions().stream().mapToLong(BuildMetrics.Resolutions::getHits).sum() > 0;
+        StringWriter json = new StringWriter();
+        metrics.writeJson(json);
+        assert json.toString().startsWith("{") && json.toString().contains("\"SUMMARY_ARCS\"");
+        assert json.toString().contains("\"resolutions\"");
+    }
+
+    @Test
+    public void rebuildIsMeasured() {
+        SDG sdg = new JSysDG();
+        NodeList<CompilationUnit> units = TestPrograms.parseAll(PROGRAM);
+        sdg.build(units);
+        BuildMetrics metrics = new BuildMetrics();
+        sdg.setBuildListener(metrics);
+        sdg.rebuild(units, List.of());
+        // Nothing changed, so no declaration is built again
+        assert metrics.getDeclarations().isEmpty();
+        List<SDG.BuildPhase> phases = metrics.getPhases().stream().map(BuildMetrics.Phase::getPhase).collect(Collectors.toList());
+        assert phases.equals(Arrays.asList(SDG.BuildPhase.values()));
+    }
+}
@@ -0,0 +1,45 @@
+package es.upv.mist.slicing.graphs.sdg;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import es.upv.mist.slicing.TestPrograms;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.slicing.LineNumberCriterion;
+import es.upv.mist.slicing.slicing.SlicingCriterion;
+import org.junit.jupiter.api.Test;
+
+public class BuildPhaseTest {
+    protected static final String PROGRAM = "class Main {\n" +
+            "    public static void main(String[] args) {\n" +
+            "        Account a = new Account();\n" +
+            "        for (String arg : args)\n" +
+            "            a.deposit(arg.length());\n" +
+            "        System.out.println(a.balance);\n" +
+            "    }\n" +
+            "}\n" +
+            "class Account {\n" +
+            "    int balance;\n" +
+            "    void deposit(int amount) {\n" +
+            "        if (amount > 0)\n" +
+            "            balance += amount;\n" +
+            "    }\n" +
+            "}";
+
+    @Test
+    public void phasedBuildMatchesBuild() {
+        SlicingCriterion sc = new LineNumberCriterion(6, "a");
+        SDG sdg = TestPrograms.build(new JSysDG(), PROGRAM);
+        SDG phased = new JSysDG();
+        NodeList<CompilationUnit> units = TestPrograms.parseAll(PROGRAM);
+        for (SDG.BuildPhase phase : SDG.BuildPhase.values()) {
+            assert !phased.isBuilt();
+            phased.build(units, phase);
+        }
+        assert phased.isBuilt() && phased.isFrozen();
+        assert sdg.vertexSet().size() == phased.vertexSet().size();
+        assert sdg.edgeSet().size() == phased.edgeSet().size();
+        String expected = sdg.slice(sc).toAst().toString();
+        String actual = phased.slice(sc).toAst().toString();
+        assert expected.equals(actual) : "Slices differ: expected\n" + expected + "\nbut found\n" + actual;
+    }
+}
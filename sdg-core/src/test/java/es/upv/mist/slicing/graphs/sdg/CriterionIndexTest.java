@@ -0,0 +1,73 @@
+package es.upv.mist.slicing.graphs.sdg;
+
+import com.github.javaparser.Position;
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
+import es.upv.mist.slicing.TestPrograms;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.nodes.GraphNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class CriterionIndexTest {
+    /** Several nodes on the same line, and nodes of different kinds (formal, actual, member) for an AST node. */
+    protected static final String PROGRAM = "class Main {\n" +
+            "    public static void main(String[] args) {\n" +
+            "        Box b = new Box(); int n = args.length; b.set(n);\n" +
+            "        if (n > 0) { b.set(n - 1); }\n" +
+            "        System.out.println(b.get());\n" +
+            "    }\n" +
+            "}\n" +
+            "class Box {\n" +
+            "    int value;\n" +
+            "    void set(int v) { value = v; }\n" +
+            "    int get() { return value; }\n" +
+            "}\n";
+
+    @Test
+    public void indexMatchesGraphSearch(@TempDir Path tempDir) throws IOException {
+        File source = tempDir.resolve("Main.java").toFile();
+        Files.writeString(source.toPath(), PROGRAM, StandardCharsets.UTF_8);
+        SDG sdg = new JSysDG();
+        sdg.build(new NodeList<>(StaticJavaParser.parse(source)));
+        CriterionIndex index = sdg.getCriterionIndex();
+        CompilationUnit cu = index.findCompilationUnit(source).orElseThrow();
+        assert cu == sdg.getCompilationUnits().get(0);
+        int lastLine = cu.getEnd().orElseThrow().line;
+        for (int line = 1; line <= lastLine; line++) {
+            int l = line;
+            Set<GraphNode<?>> expected = cu.findAll(Node.class, n -> n.getBegin().orElse(new Position(0, 0)).line == l).stream()
+                    .map(sdg::findNodeByASTNode)
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .collect(Collectors.toSet());
+            Set<GraphNode<?>> actual = index.findASTNodes(cu, line).stream()
+                    .map(index::findNodeByASTNode)
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .collect(Collectors.toSet());
+            assert expected.equals(actual) : "Nodes differ in line " + line;
+        }
+    }
+
+    @Test
+    public void indexIsDiscardedOnModification() {
+        SDG sdg = TestPrograms.build(new JSysDG(), PROGRAM);
+        CriterionIndex index = sdg.getCriterionIndex();
+        assert index == sdg.getCriterionIndex();
+        GraphNode<?> node = sdg.addVertex("extra", sdg.getCompilationUnits().get(0));
+        assert index != sdg.getCriterionIndex();
+        assert sdg.getCriterionIndex().findNodeByASTNode(sdg.getCompilationUnits().get(0)).orElseThrow() == node;
+    }
+}
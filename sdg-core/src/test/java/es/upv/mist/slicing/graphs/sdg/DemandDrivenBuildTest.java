@@ -0,0 +1,106 @@
+package es.upv.mist.slicing.graphs.sdg;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.CallableDeclaration;
+import es.upv.mist.slicing.TestPrograms;
+import es.upv.mist.slicing.graphs.cfg.CFG;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.slicing.LineNumberCriterion;
+import es.upv.mist.slicing.slicing.SlicingCriterion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class DemandDrivenBuildTest {
+    protected static final String PROGRAM = "class Main {\n" +
+            "    public static void main(String[] args) {\n" +
+            "        Shape s = args.length > 0 ? new Square(2) : new Circle(1);\n" +
+            "        int a = s.area();\n" +
+            "        System.out.println(a);\n" +
+            "    }\n" +
+            "    static void unrelated() {\n" +
+            "        int b = helper(4);\n" +
+            "        System.out.println(b);\n" +
+            "    }\n" +
+            "    static int helper(int x) { return x + 1; }\n" +
+            "}\n" +
+            "abstract class Shape {\n" +
+            "    abstract int area();\n" +
+            "}\n" +
+            "class Square extends Shape {\n" +
+            "    int side;\n" +
+            "    Square(int side) { this.side = side; }\n" +
+            "    int area() { return side * side; }\n" +
+            "}\n" +
+            "class Circle extends Shape {\n" +
+            "    int radius;\n" +
+            "    Circle(int radius) { this.radius = radius; }\n" +
+            "    int area() { return 3 * radius * radius; }\n" +
+            "}";
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("es.upv.mist.slicing.SlicerTest#findAllFiles")
+    public void demandDrivenSliceMatchesFullSlice(File source, File target, SlicingCriterion sc) throws FileNotFoundException {
+        SDG full = new JSysDG();
+        full.build(new NodeList<>(StaticJavaParser.parse(source)));
+        SDG demand = new JSysDG();
+        demand.build(new NodeList<>(StaticJavaParser.parse(source)), List.of(sc));
+        assert demand.getCFGs().size() <= full.getCFGs().size();
+        Set<String> expected = sliceUnits(full, sc);
+        Set<String> actual = sliceUnits(demand, sc);
+        assert expected.equals(actual) : "Slices differ: expected\n" + expected + "\nbut found\n" + actual;
+    }
+
+    @Test
+    public void buildsPolymorphicTargetsOnly() {
+        SlicingCriterion sc = new LineNumberCriterion(5, "a");
+        SDG demand = new JSysDG();
+        demand.build(TestPrograms.parseAll(PROGRAM), List.of(sc));
+        Set<String> built = demand.getCFGs().stream()
+                .map(cfg -> cfg.getDeclaration().getNameAsString())
+                .collect(Collectors.toSet());
+        // Both implementations of area() may be executed, along with the implicit constructor of Shape,
+        // which is called from the constructors of its subclasses. unrelated() can't be traversed.
+        assert built.equals(Set.of("main", "Square", "Circle", "Shape", "area")) : "Built " + built;
+        assert demand.getCFGs().stream().map(CFG::getDeclaration).filter(CallableDeclaration::isMethodDeclaration).count() == 3;
+
+        SDG full = TestPrograms.build(new JSysDG(), PROGRAM);
+        assert sliceUnits(demand, sc).equals(sliceUnits(full, sc));
+    }
+
+    @Test
+    public void criterionOutsideDeclarationsBuildsEverything() {
+        SlicingCriterion sc = new LineNumberCriterion(17, "side");
+        SDG demand = new JSysDG();
+        demand.build(TestPrograms.parseAll(PROGRAM), List.of(sc));
+        SDG full = TestPrograms.build(new JSysDG(), PROGRAM);
+        assert demand.getCFGs().size() == full.getCFGs().size();
+    }
+
+    @Test
+    public void rebuildCompletesGraph() {
+        SlicingCriterion sc = new LineNumberCriterion(5, "a");
+        NodeList<CompilationUnit> units = TestPrograms.parseAll(PROGRAM);
+        SDG graph = new JSysDG();
+        graph.build(units, List.of(sc));
+        graph.rebuild(units, List.of());
+        SDG full = TestPrograms.build(new JSysDG(), PROGRAM);
+        assert graph.getCFGs().size() == full.getCFGs().size();
+        assert graph.vertexSet().size() == full.vertexSet().size();
+        assert graph.edgeSet().size() == full.edgeSet().size();
+        SlicingCriterion unrelated = new LineNumberCriterion(9, "b");
+        assert sliceUnits(graph, unrelated).equals(sliceUnits(full, unrelated));
+    }
+
+    protected Set<String> sliceUnits(SDG sdg, SlicingCriterion sc) {
+        return sdg.slice(sc).toAst().stream().map(CompilationUnit::toString).collect(Collectors.toSet());
+    }
+}
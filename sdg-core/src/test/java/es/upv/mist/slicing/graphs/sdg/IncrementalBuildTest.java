@@ -0,0 +1,134 @@
+package es.upv.mist.slicing.graphs.sdg;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.MemoryTypeSolver;
+import es.upv.mist.slicing.TestPrograms;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.slicing.LineNumberCriterion;
+import es.upv.mist.slicing.slicing.SlicingCriterion;
+import es.upv.mist.slicing.utils.StaticTypeSolver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class IncrementalBuildTest {
+    /** Resolves the types declared in other compilation units, which are not stored in any file. */
+    protected static final MemoryTypeSolver UNIT_TYPES = new MemoryTypeSolver();
+
+    static {
+        StaticTypeSolver.addTypeSolverJRE();
+        StaticTypeSolver.addTypeSolver(UNIT_TYPES);
+        StaticJavaParser.getConfiguration().setAttributeComments(false);
+    }
+
+    protected static final String LIBRARY = "class IncrementalLibrary {\n" +
+            "    static int twice(int a) { return a * 2; }\n" +
+            "}";
+    protected static final String LIBRARY_CHANGED = "class IncrementalLibrary {\n" +
+            "    int calls;\n" +
+            "    static int twice(int a) { int b = a + a; return b; }\n" +
+            "    int count() { calls++; return calls; }\n" +
+            "}";
+    protected static final String PROGRAM = "class IncrementalMain {\n" +
+            "    public static void main(String[] args) {\n" +
+            "        Pair p = new Pair();\n" +
+            "        p.first = args.length;\n" +
+            "        p.second = p.first * 2;\n" +
+            "        System.out.println(p.second);\n" +
+            "    }\n" +
+            "}\n" +
+            "class Pair {\n" +
+            "    int first, second;\n" +
+            "}";
+
+    @Test
+    public void rebuildAfterUnrelatedChange() {
+        CompilationUnit program = TestPrograms.parse(PROGRAM);
+        SDG incremental = new JSysDG();
+        incremental.build(new NodeList<>(program, TestPrograms.parse(LIBRARY)));
+        CompilationUnit library = TestPrograms.parse(LIBRARY_CHANGED);
+        incremental.rebuild(new NodeList<>(program, library), List.of(library));
+
+        SDG full = new JSysDG();
+        full.build(new NodeList<>(TestPrograms.parse(PROGRAM), TestPrograms.parse(LIBRARY_CHANGED)));
+        assertEquivalent(full, incremental, new LineNumberCriterion(6, "p"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("es.upv.mist.slicing.SlicerTest#findAllFiles")
+    public void rebuildAfterProgramChange(File source, File target, SlicingCriterion sc) throws FileNotFoundException {
+        CompilationUnit library = TestPrograms.parse(LIBRARY);
+        SDG incremental = new JSysDG();
+        incremental.build(new NodeList<>(StaticJavaParser.parse(source), library));
+        CompilationUnit program = StaticJavaParser.parse(source);
+        incremental.rebuild(new NodeList<>(program, library), List.of(program));
+
+        SDG full = new JSysDG();
+        full.build(new NodeList<>(StaticJavaParser.parse(source), TestPrograms.parse(LIBRARY)));
+        assertEquivalent(full, incremental, sc);
+    }
+
+    @Test
+    public void rebuildCallersOfChangedDeclarations() {
+        String program = "class Main {\n" +
+                "    public static void main(String[] args) {\n" +
+                "        Counter c = new Counter();\n" +
+                "        int x = 5;\n" +
+                "        int y = 3;\n" +
+                "        c.add(x, y);\n" +
+                "        System.out.println(c.value);\n" +
+                "    }\n" +
+                "}";
+        String counter = "class Counter {\n" +
+                "    int value;\n" +
+                "    void add(int a, int b) { value += a; }\n" +
+                "}";
+        String counterChanged = "class Counter {\n" +
+                "    int value;\n" +
+                "    void add(int a, int b) { value += a * b; }\n" +
+                "}";
+        CompilationUnit programUnit = StaticJavaParser.parse(program);
+        SDG incremental = new JSysDG();
+        incremental.build(new NodeList<>(programUnit, declareTypes(StaticJavaParser.parse(counter))));
+        CompilationUnit counterUnit = declareTypes(StaticJavaParser.parse(counterChanged));
+        incremental.rebuild(new NodeList<>(programUnit, counterUnit), List.of(counterUnit));
+
+        SDG full = new JSysDG();
+        full.build(new NodeList<>(StaticJavaParser.parse(program), declareTypes(StaticJavaParser.parse(counterChanged))));
+        SlicingCriterion sc = new LineNumberCriterion(7, "c");
+        assertEquivalent(full, incremental, sc);
+        assert sliceUnits(incremental, sc).stream().anyMatch(unit -> unit.contains("int y = 3;"));
+    }
+
+    /** Makes the types declared in the given unit resolvable from other units. */
+    protected CompilationUnit declareTypes(CompilationUnit unit) {
+        for (TypeDeclaration<?> type : unit.getTypes())
+            UNIT_TYPES.addDeclaration(type.getNameAsString(), type.resolve());
+        return unit;
+    }
+
+    protected void assertEquivalent(SDG expected, SDG actual, SlicingCriterion sc) {
+        assert expected.vertexSet().size() == actual.vertexSet().size()
+                : "Vertex count differs: expected " + expected.vertexSet().size() + " but found " + actual.vertexSet().size();
+        assert expected.edgeSet().size() == actual.edgeSet().size()
+                : "Edge count differs: expected " + expected.edgeSet().size() + " but found " + actual.edgeSet().size();
+        assert expected.getCFGs().size() == actual.getCFGs().size();
+        // The order of the compilation units in the slice is not deterministic
+        Set<String> expectedSlice = sliceUnits(expected, sc);
+        Set<String> actualSlice = sliceUnits(actual, sc);
+        assert expectedSlice.equals(actualSlice) : "Slices differ: expected\n" + expectedSlice + "\nbut found\n" + actualSlice;
+    }
+
+    protected Set<String> sliceUnits(SDG sdg, SlicingCriterion sc) {
+        return sdg.slice(sc).toAst().stream().map(CompilationUnit::toString).collect(Collectors.toSet());
+    }
+}
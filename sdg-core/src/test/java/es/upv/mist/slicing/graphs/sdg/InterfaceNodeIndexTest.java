@@ -0,0 +1,73 @@
+package es.upv.mist.slicing.graphs.sdg;
+
+import com.github.javaparser.ast.body.CallableDeclaration;
+import es.upv.mist.slicing.TestPrograms;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.nodes.GraphNode;
+import es.upv.mist.slicing.nodes.SyntheticNode;
+import es.upv.mist.slicing.nodes.exceptionsensitive.ExitNode;
+import es.upv.mist.slicing.nodes.exceptionsensitive.ReturnNode;
+import es.upv.mist.slicing.nodes.io.ActualIONode;
+import es.upv.mist.slicing.nodes.io.CallNode;
+import es.upv.mist.slicing.nodes.io.FormalIONode;
+import es.upv.mist.slicing.nodes.io.OutputNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class InterfaceNodeIndexTest {
+    /** Calls with parameters, fields, return values and exceptions, which have interface nodes of each kind. */
+    protected static final String PROGRAM = "class Main {\n" +
+            "    public static void main(String[] args) {\n" +
+            "        Box b = new Box(args.length);\n" +
+            "        try {\n" +
+            "            System.out.println(b.half());\n" +
+            "        } catch (IllegalStateException e) {\n" +
+            "            System.out.println(b.value);\n" +
+            "        }\n" +
+            "    }\n" +
+            "}\n" +
+            "class Box {\n" +
+            "    int value;\n" +
+            "    Box(int value) { this.value = value; }\n" +
+            "    int half() {\n" +
+            "        if (value % 2 != 0)\n" +
+            "            throw new IllegalStateException();\n" +
+            "        return value / 2;\n" +
+            "    }\n" +
+            "}";
+
+    @Test
+    public void indexMatchesGraph() {
+        SDG sdg = TestPrograms.build(new JSysDG(), PROGRAM);
+        InterfaceNodeIndex index = sdg.getInterfaceNodeIndex();
+        for (GraphNode<?> node : sdg.vertexSet()) {
+            Set<SyntheticNode<?>> expected = sdg.vertexSet().stream()
+                    .filter(n -> n.getAstNode() == node.getAstNode())
+                    .filter(n -> n instanceof FormalIONode || n instanceof OutputNode || n instanceof ExitNode)
+                    .map(n -> (SyntheticNode<?>) n)
+                    .collect(Collectors.toSet());
+            if (!expected.isEmpty())
+                assert index.getDeclarationNodes((CallableDeclaration<?>) node.getAstNode()).equals(expected);
+            expected = sdg.vertexSet().stream()
+                    .filter(n -> n.getAstNode() == node.getAstNode())
+                    .filter(n -> n instanceof ActualIONode || n instanceof CallNode.Return || n instanceof ReturnNode)
+                    .map(n -> (SyntheticNode<?>) n)
+                    .collect(Collectors.toSet());
+            assert index.getCallNodes(node.getAstNode()).equals(expected);
+        }
+    }
+
+    @Test
+    public void removedNodesLeaveIndex() {
+        SDG sdg = TestPrograms.build(new JSysDG(), PROGRAM);
+        List<GraphNode<?>> actualNodes = sdg.vertexSet().stream()
+                .filter(ActualIONode.class::isInstance)
+                .collect(Collectors.toList());
+        sdg.removeAllVertices(actualNodes);
+        for (GraphNode<?> node : actualNodes)
+            assert sdg.getInterfaceNodeIndex().getCallNodes(node.getAstNode()).stream().noneMatch(ActualIONode.class::isInstance);
+    }
+}
@@ -0,0 +1,103 @@
+package es.upv.mist.slicing.graphs.sdg;
+
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.slicing.LineNumberCriterion;
+import es.upv.mist.slicing.slicing.SlicingCriterion;
+import es.upv.mist.slicing.utils.StaticTypeSolver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class ParallelBuildTest {
+    protected static final String MAIN = "class Main {\n" +
+            "    public static void main(String[] args) {\n" +
+            "        Box b = Box.of(args.length);\n" +
+            "        Box c = Box.of(2);\n" +
+            "        System.out.println(b.value);\n" +
+            "    }\n" +
+            "}\n";
+    protected static final String BOX = "class Box {\n" +
+            "    int value;\n" +
+            "    static Box of(int value) {\n" +
+            "        Box box = new Box();\n" +
+            "        box.value = value;\n" +
+            "        return box;\n" +
+            "    }\n" +
+            "}\n";
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("es.upv.mist.slicing.SlicerTest#findAllFiles")
+    public void parallelBuildMatchesSequentialBuild(File source, File target, SlicingCriterion sc) throws FileNotFoundException {
+        SDG sequential = build(source, 1);
+        SDG parallel = build(source, 4);
+        assertEquivalent(sequential, parallel, sc);
+    }
+
+    @Test
+    public void parallelBuildResolvesTypesOfOtherFiles(@TempDir Path tempDir) throws IOException {
+        Files.writeString(tempDir.resolve("Main.java"), MAIN, StandardCharsets.UTF_8);
+        Files.writeString(tempDir.resolve("Box.java"), BOX, StandardCharsets.UTF_8);
+        StaticTypeSolver.addTypeSolverJRE();
+        ParserConfiguration previous = StaticJavaParser.getConfiguration();
+        try {
+            SDG sequential = build(tempDir, 1);
+            SDG parallel = build(tempDir, 4);
+            assertEquivalent(sequential, parallel, new LineNumberCriterion(5, "b"));
+        } finally {
+            StaticJavaParser.setConfiguration(previous);
+        }
+    }
+
+    protected void assertEquivalent(SDG sequential, SDG parallel, SlicingCriterion sc) {
+        assert sequential.vertexSet().size() == parallel.vertexSet().size();
+        assert sequential.edgeSet().size() == parallel.edgeSet().size();
+        assert sequential.getCFGs().size() == parallel.getCFGs().size();
+        Set<String> expected = sliceUnits(sequential, sc);
+        Set<String> actual = sliceUnits(parallel, sc);
+        assert expected.equals(actual) : "Slices differ: expected\n" + expected + "\nbut found\n" + actual;
+    }
+
+    protected Set<String> sliceUnits(SDG sdg, SlicingCriterion sc) {
+        return sdg.slice(sc).toAst().stream().map(CompilationUnit::toString).collect(Collectors.toSet());
+    }
+
+    protected SDG build(File source, int threads) throws FileNotFoundException {
+        SDG sdg = new JSysDG();
+        sdg.setBuildThreads(threads);
+        sdg.build(new NodeList<>(StaticJavaParser.parse(source)));
+        return sdg;
+    }
+
+    protected SDG build(Path directory, int threads) throws IOException {
+        // Each build has its own type solver, which parses its own copy of Box without a symbol resolver
+        StaticJavaParser.setConfiguration(new ParserConfiguration()
+                .setAttributeComments(false)
+                .setSymbolResolver(new JavaSymbolSolver(new CombinedTypeSolver(
+                        new ReflectionTypeSolver(true), new JavaParserTypeSolver(directory)))));
+        NodeList<CompilationUnit> units = new NodeList<>(
+                StaticJavaParser.parse(directory.resolve("Main.java")),
+                StaticJavaParser.parse(directory.resolve("Box.java")));
+        SDG sdg = new JSysDG();
+        sdg.setBuildThreads(threads);
+        sdg.build(units);
+        return sdg;
+    }
+}
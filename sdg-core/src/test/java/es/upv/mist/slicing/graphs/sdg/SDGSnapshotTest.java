@@ -0,0 +1,107 @@
+package es.upv.mist.slicing.graphs.sdg;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.NodeList;
+import es.upv.mist.slicing.TestPrograms;
+import es.upv.mist.slicing.graphs.augmented.ASDG;
+import es.upv.mist.slicing.graphs.augmented.PSDG;
+import es.upv.mist.slicing.graphs.exceptionsensitive.AllenSDG;
+import es.upv.mist.slicing.graphs.exceptionsensitive.ESSDG;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.nodes.GraphNode;
+import es.upv.mist.slicing.slicing.FileLineSlicingCriterion;
+import es.upv.mist.slicing.slicing.Slice;
+import es.upv.mist.slicing.slicing.SlicingCriterion;
+import es.upv.mist.slicing.slicing.SnapshotSlice;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class SDGSnapshotTest {
+    private static final String PROGRAM = "class Program {\n" +
+            "    static int sum(int a, int b) {\n" +
+            "        return a + b;\n" +
+            "    }\n" +
+            "\n" +
+            "    public static void main(String[] args) {\n" +
+            "        int x = 1;\n" +
+            "        int y = 2;\n" +
+            "        int z = sum(x, 3);\n" +
+            "        while (z < 10)\n" +
+            "            z = sum(z, x);\n" +
+            "        System.out.println(z);\n" +
+            "        System.out.println(y);\n" +
+            "    }\n" +
+            "}\n";
+
+    public static Stream<Supplier<SDG>> graphs() {
+        return Stream.of(SDG::new, ASDG::new, PSDG::new, ESSDG::new, JSysDG::new);
+    }
+
+    @ParameterizedTest
+    @MethodSource("graphs")
+    public void snapshotSliceMatchesGraphSlice(Supplier<SDG> graphSupplier, @TempDir Path tempDir) throws IOException {
+        File source = tempDir.resolve("Program.java").toFile();
+        Files.writeString(source.toPath(), PROGRAM, StandardCharsets.UTF_8);
+        SDG sdg = graphSupplier.get();
+        sdg.build(new NodeList<>(StaticJavaParser.parse(source)));
+        SDGSnapshot snapshot = writeAndOpen(sdg, tempDir);
+        assert snapshot.getNodeCount() == sdg.vertexSet().size();
+        assert snapshot.getArcCount() == sdg.edgeSet().size();
+        assert snapshot.getGraphType().equals(sdg.getClass().getName());
+
+        for (int line : new int[] { 12, 13 }) {
+            FileLineSlicingCriterion sc = new FileLineSlicingCriterion(source, line, line == 12 ? "z" : "y");
+            assertSameSlice(sdg.slice(sc), snapshot.slice(sc));
+        }
+    }
+
+    /** The programs of the regression tests include exceptions, objects and polymorphism,
+     *  which the exception-sensitive algorithms of the JSysDG treat differently. */
+    @ParameterizedTest(name = "{2}")
+    @MethodSource("es.upv.mist.slicing.SlicerTest#findAllFiles")
+    public void snapshotSliceMatchesJSysDGSlice(File source, File target, SlicingCriterion sc, @TempDir Path tempDir) throws IOException {
+        SDG sdg = new JSysDG();
+        sdg.build(new NodeList<>(StaticJavaParser.parse(source)));
+        SDGSnapshot snapshot = writeAndOpen(sdg, tempDir);
+        FileLineSlicingCriterion criterion = (FileLineSlicingCriterion) sc;
+        assertSameSlice(sdg.slice(sc), snapshot.slice(criterion));
+    }
+
+    protected SDGSnapshot writeAndOpen(SDG sdg, Path tempDir) throws IOException {
+        Path file = tempDir.resolve("graph.sdg");
+        SDGSnapshot.write(sdg, file);
+        return SDGSnapshot.open(file);
+    }
+
+    protected void assertSameSlice(Slice slice, SnapshotSlice snapshotSlice) {
+        Set<Long> expectedIds = slice.getGraphNodes().stream().map(GraphNode::getId).collect(Collectors.toSet());
+        assert expectedIds.equals(snapshotSlice.getNodeIds()) : "Slices differ: expected " + expectedIds + " but found " + snapshotSlice.getNodeIds();
+        String expected = slice.toAst().toString();
+        String actual = snapshotSlice.toAst().toString();
+        assert expected.equals(actual) : "Sliced code differs: expected\n" + expected + "\nbut found\n" + actual;
+    }
+
+    @Test
+    public void graphsWithOtherAlgorithmsAreRejected(@TempDir Path tempDir) {
+        SDG sdg = TestPrograms.build(new AllenSDG(), PROGRAM);
+        assert !SDGSnapshot.supports(sdg);
+        try {
+            SDGSnapshot.write(sdg, tempDir.resolve("graph.sdg"));
+            assert false : "The snapshot of an AllenSDG was written";
+        } catch (IllegalArgumentException | IOException e) {
+            assert e instanceof IllegalArgumentException;
+        }
+    }
+}
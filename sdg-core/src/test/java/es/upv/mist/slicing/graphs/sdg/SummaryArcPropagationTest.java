@@ -0,0 +1,38 @@
+package es.upv.mist.slicing.graphs.sdg;
+
+import es.upv.mist.slicing.TestPrograms;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.slicing.LineNumberCriterion;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+public class SummaryArcPropagationTest {
+    /** A call chain in which the summary arc of each call is only known once the callee's has been placed. */
+    protected static final String PROGRAM = "class Main {\n" +
+            "    public static void main(String[] args) {\n" +
+            "        int a = 1;\n" +
+            "        int b = 2;\n" +
+            "        int c = f(a, b);\n" +
+            "        System.out.println(c);\n" +
+            "    }\n" +
+            "    static int f(int x, int y) { return g(x, y); }\n" +
+            "    static int g(int x, int y) { return h(x, y); }\n" +
+            "    static int h(int x, int y) { return x; }\n" +
+            "}";
+
+    public static Stream<Supplier<SDG>> graphs() {
+        return Stream.of(SDG::new, JSysDG::new);
+    }
+
+    @ParameterizedTest
+    @MethodSource("graphs")
+    public void summaryArcsReachEveryCaller(Supplier<SDG> supplier) {
+        SDG sdg = TestPrograms.build(supplier.get(), PROGRAM);
+        String slice = sdg.slice(new LineNumberCriterion(6, "c")).toAst().toString();
+        assert slice.contains("int a = 1;") : "Missing the argument used by h():\n" + slice;
+        assert !slice.contains("int b = 2;") : "Included the argument ignored by h():\n" + slice;
+    }
+}
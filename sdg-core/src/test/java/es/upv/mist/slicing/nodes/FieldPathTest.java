@@ -0,0 +1,79 @@
+package es.upv.mist.slicing.nodes;
+
+import es.upv.mist.slicing.TestPrograms;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FieldPathTest {
+    protected static final String PROGRAM = "class Main {\n" +
+            "    public static void main(String[] args) {\n" +
+            "        Line l = new Line();\n" +
+            "        l.start = new Point();\n" +
+            "        l.start.x = args.length;\n" +
+            "        Line copy = l.copy();\n" +
+            "        System.out.println(copy.start.x + copy.end.y);\n" +
+            "    }\n" +
+            "}\n" +
+            "class Point {\n" +
+            "    int x, y;\n" +
+            "}\n" +
+            "class Line {\n" +
+            "    Point start, end;\n" +
+            "    Line copy() {\n" +
+            "        Line l = new Line();\n" +
+            "        l.start = start;\n" +
+            "        l.end = end;\n" +
+            "        return l;\n" +
+            "    }\n" +
+            "}";
+
+    @Test
+    public void pathsAreInterned() {
+        FieldPath abc = FieldPath.of("a", "b", "c");
+        assert abc == FieldPath.of("a").child("b").child("c");
+        assert abc.getParent() == FieldPath.of("a", "b");
+        assert abc.length() == 3 && abc.get(1).equals("b");
+        assert abc.toString().equals("a.b.c");
+        assert abc.subpath(1) == FieldPath.of("b", "c");
+        assert abc.startsWith(FieldPath.of("a", "b")) && abc.startsWith(abc) && abc.startsWith(FieldPath.of());
+        assert !abc.startsWith(FieldPath.of("b")) && !FieldPath.of("a").startsWith(abc);
+        assert ObjectTree.removeRoot(FieldPath.of("A", "this", "x")) == FieldPath.of("x");
+        assert ObjectTree.removeRoot(FieldPath.of("a", "x")) == FieldPath.of("x");
+    }
+
+    @Test
+    public void unusedPathsAreCollected() {
+        FieldPath parent = FieldPath.of("unused", "parent");
+        WeakReference<FieldPath> child = new WeakReference<>(parent.child("child"));
+        for (int i = 0; i < 10 && child.get() != null; i++)
+            System.gc();
+        assert child.get() == null : "The trie keeps paths that are no longer used";
+        // The paths still in use keep their identity
+        assert parent == FieldPath.of("unused", "parent");
+        assert parent.child("child") == FieldPath.of("unused", "parent", "child");
+    }
+
+    @Test
+    public void memberPathsMatchNames() {
+        JSysDG sdg = TestPrograms.build(new JSysDG(), PROGRAM);
+        for (GraphNode<?> node : sdg.vertexSet()) {
+            for (VariableAction action : node.getVariableActions()) {
+                if (!action.hasObjectTree())
+                    continue;
+                List<String> names = new ArrayList<>();
+                action.getObjectTree().nameIterable().forEach(names::add);
+                List<String> paths = new ArrayList<>();
+                for (FieldPath path : action.getObjectTree().memberPaths()) {
+                    paths.add(path.toString());
+                    assert action.hasTreeMember(path);
+                    assert action.getObjectTree().getNodeFor(true, path) != null;
+                }
+                assert names.equals(paths) : names + " != " + paths;
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package es.upv.mist.slicing.nodes;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.expr.NameExpr;
+import es.upv.mist.slicing.TestPrograms;
+import es.upv.mist.slicing.graphs.cfg.CFG;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.graphs.sdg.SDG;
+import es.upv.mist.slicing.slicing.Slice;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Set;
+
+public class IdSpaceTest {
+    protected static final String PROGRAM = "class Main {\n" +
+            "    public static void main(String[] args) {\n" +
+            "        Counter c = new Counter();\n" +
+            "        for (String arg : args)\n" +
+            "            c.add(arg.length());\n" +
+            "        System.out.println(c.value);\n" +
+            "    }\n" +
+            "}\n" +
+            "class Counter {\n" +
+            "    int value;\n" +
+            "    void add(int a) { value += a; }\n" +
+            "}";
+
+    @Test
+    public void indicesAreDenseAndKept() {
+        IdSpace space = new IdSpace(), other = new IdSpace();
+        GraphNode<?> a = new GraphNode<>("a", new NameExpr("a"), new ArrayList<>());
+        GraphNode<?> b = new GraphNode<>("b", new NameExpr("b"), new ArrayList<>());
+        assert space.add(a) == 0 && space.add(b) == 1 && space.add(a) == 0;
+        assert other.add(b) == 0 && other.indexOf(b) == 0 && space.indexOf(b) == 1;
+        space.remove(a);
+        assert space.indexOf(a) == -1 && space.get(0) == null && space.size() == 2;
+        space.remove(a);
+        assert space.getRemovals() == 1 && other.getRemovals() == 0;
+        assert space.add(a) == 0 && space.get(0) == a;
+        IdSpace.Table<String> table = space.newTable();
+        table.put(b, "b");
+        assert table.get(b).equals("b") && table.get(a) == null;
+        table.remove(b);
+        assert table.get(b) == null;
+    }
+
+    @Test
+    public void slicesDontStoreIndicesInNodes() {
+        IdSpace space = new IdSpace();
+        GraphNode<?> a = new GraphNode<>("a", new NameExpr("a"), new ArrayList<>());
+        Slice slice = new Slice(Set.of(a));
+        assert slice.contains(a) && a.idSpace == null;
+        assert space.add(a) == 0 && a.idSpace == space && space.foreignIndices.isEmpty();
+        assert slice.contains(a);
+    }
+
+    @Test
+    public void releasedIndicesAreReused() {
+        IdSpace space = new IdSpace(), other = new IdSpace();
+        GraphNode<?> a = new GraphNode<>("a", new NameExpr("a"), new ArrayList<>());
+        GraphNode<?> b = new GraphNode<>("b", new NameExpr("b"), new ArrayList<>());
+        GraphNode<?> c = new GraphNode<>("c", new NameExpr("c"), new ArrayList<>());
+        GraphNode<?> d = new GraphNode<>("d", new NameExpr("d"), new ArrayList<>());
+        other.add(c);
+        assert space.add(a) == 0 && space.add(b) == 1 && space.add(c) == 2;
+        IdSpace.Table<String> table = space.newTable();
+        table.put(a, "a");
+        table.put(c, "c");
+        space.remove(a);
+        space.remove(c);
+        assert space.foreignIndices.isEmpty();
+        space.releaseRemoved();
+        assert table.get(a) == null && table.get(c) == null;
+        // The released indices are assigned to new nodes, and to the removed ones if they are added again
+        assert space.add(d) == 0 && space.add(a) == 2 && space.size() == 3;
+        assert table.get(d) == null && space.indexOf(c) == -1;
+        assert space.getRemovals() == 2;
+    }
+
+    @Test
+    public void rebuildsReuseIndices() {
+        SDG sdg = TestPrograms.build(new JSysDG(), PROGRAM);
+        rebuild(sdg);
+        int size = sdg.getIdSpace().size();
+        for (int i = 0; i < 3; i++) {
+            rebuild(sdg);
+            assert sdg.getIdSpace().size() <= size : "The space grew from " + size + " to " + sdg.getIdSpace().size();
+        }
+        assertUniqueIndices(sdg);
+    }
+
+    @Test
+    public void graphNodesHaveUniqueIndices() {
+        assertUniqueIndices(TestPrograms.build(new JSysDG(), PROGRAM));
+    }
+
+    /** Rebuilds the graph with a new copy of every compilation unit. */
+    protected void rebuild(SDG sdg) {
+        NodeList<CompilationUnit> units = TestPrograms.parseAll(PROGRAM);
+        sdg.rebuild(units, units);
+    }
+
+    protected void assertUniqueIndices(SDG sdg) {
+        IdSpace space = sdg.getIdSpace();
+        BitSet indices = new BitSet(space.size());
+        for (GraphNode<?> node : sdg.vertexSet()) {
+            int index = space.indexOf(node);
+            assert index >= 0 && space.get(index) == node && !indices.get(index);
+            indices.set(index);
+        }
+        for (CFG cfg : sdg.getCFGs())
+            for (GraphNode<?> node : cfg.vertexSet())
+                assert sdg.findCFGOf(node).orElseThrow() == cfg;
+    }
+}
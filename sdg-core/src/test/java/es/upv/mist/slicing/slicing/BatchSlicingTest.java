@@ -0,0 +1,56 @@
+package es.upv.mist.slicing.slicing;
+
+import es.upv.mist.slicing.TestPrograms;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.graphs.sdg.SDG;
+import es.upv.mist.slicing.nodes.GraphNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+public class BatchSlicingTest {
+    protected static final String PROGRAM = "class Main {\n" +
+            "    public static void main(String[] args) {\n" +
+            "        Counter c = new Counter();\n" +
+            "        int x = 0;\n" +
+            "        while (x < args.length) {\n" +
+            "            c.add(x);\n" +
+            "            x++;\n" +
+            "        }\n" +
+            "        System.out.println(c.value);\n" +
+            "        System.out.println(x);\n" +
+            "    }\n" +
+            "}\n" +
+            "class Counter {\n" +
+            "    int value;\n" +
+            "    void add(int a) { value += a; }\n" +
+            "}";
+
+    @Test
+    public void batchMatchesSingleSlices() {
+        SDG sdg = TestPrograms.build(new JSysDG(), PROGRAM);
+        SlicingCriterion sc = new LineNumberCriterion(9, "c");
+        // Every node, in order, so that most slices reuse those computed before them
+        List<Set<GraphNode<?>>> criteria = new LinkedList<>();
+        criteria.add(sc.findNode(sdg));
+        sdg.vertexSet().stream().sorted().forEach(node -> criteria.add(Set.of(node)));
+        List<Slice> slices = new ClassicSlicingAlgorithm(sdg).traverseAll(criteria);
+        assert slices.size() == criteria.size();
+        for (int i = 0; i < criteria.size(); i++) {
+            Slice expected = new ClassicSlicingAlgorithm(sdg).traverse(criteria.get(i));
+            assert expected.equals(slices.get(i)) : "Slices differ for criterion " + criteria.get(i);
+        }
+    }
+
+    @Test
+    public void sliceAllMatchesSlice() {
+        SDG sdg = TestPrograms.build(new JSysDG(), PROGRAM);
+        SlicingCriterion sc = new LineNumberCriterion(10, "x");
+        List<Slice> slices = sdg.sliceAll(List.of(sc, sc));
+        Slice expected = sdg.slice(sc);
+        assert slices.size() == 2;
+        assert expected.equals(slices.get(0)) && expected.equals(slices.get(1));
+    }
+}
@@ -0,0 +1,85 @@
+package es.upv.mist.slicing.slicing;
+
+import es.upv.mist.slicing.TestPrograms;
+import es.upv.mist.slicing.graphs.jsysdg.JSysDG;
+import es.upv.mist.slicing.graphs.sdg.SDG;
+import es.upv.mist.slicing.nodes.GraphNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class SliceTest {
+    protected static final String PROGRAM = "class Main {\n" +
+            "    public static void main(String[] args) {\n" +
+            "        Counter c = new Counter();\n" +
+            "        int x = 0;\n" +
+            "        while (x < args.length) {\n" +
+            "            c.add(x);\n" +
+            "            x++;\n" +
+            "        }\n" +
+            "        int y = args.length * 2;\n" +
+            "        System.out.println(c.value);\n" +
+            "        System.out.println(y);\n" +
+            "    }\n" +
+            "}\n" +
+            "class Counter {\n" +
+            "    int value;\n" +
+            "    void add(int a) { value += a; }\n" +
+            "}";
+
+    @Test
+    public void sliceMatchesItsNodes() {
+        SDG sdg = TestPrograms.build(new JSysDG(), PROGRAM);
+        Slice slice = sdg.slice(new LineNumberCriterion(10, "c"));
+        Set<GraphNode<?>> nodes = new HashSet<>(slice.getGraphNodes());
+        assert nodes.size() == slice.size();
+        for (GraphNode<?> node : sdg.vertexSet())
+            assert slice.contains(node) == nodes.contains(node);
+        // A slice indexed in its own space is equal to the one indexed by the graph
+        Slice copy = new Slice(nodes);
+        assert copy.equals(slice) && slice.equals(copy) && copy.hashCode() == slice.hashCode();
+    }
+
+    @Test
+    public void setOperationsMatchNodeSets() {
+        SDG sdg = TestPrograms.build(new JSysDG(), PROGRAM);
+        Slice slice = new ClassicSlicingAlgorithm(sdg).traverse(new LineNumberCriterion(10, "c").findNode(sdg));
+        GraphNode<?> other = sdg.vertexSet().stream().sorted().filter(node -> !slice.contains(node)).findFirst().orElse(null);
+        if (other == null)
+            return;
+        Slice otherSlice = new ClassicSlicingAlgorithm(sdg).traverse(Set.of(other));
+        for (Slice second : new Slice[] { otherSlice, new Slice(otherSlice.getGraphNodes()) }) {
+            Set<GraphNode<?>> union = new HashSet<>(slice.getGraphNodes());
+            union.addAll(second.getGraphNodes());
+            Set<GraphNode<?>> intersection = new HashSet<>(slice.getGraphNodes());
+            intersection.retainAll(second.getGraphNodes());
+            Set<GraphNode<?>> difference = new HashSet<>(slice.getGraphNodes());
+            difference.removeAll(second.getGraphNodes());
+            assert slice.union(second).getGraphNodes().equals(union);
+            assert slice.intersection(second).getGraphNodes().equals(intersection);
+            assert slice.difference(second).getGraphNodes().equals(difference);
+            assert slice.difference(second).getCriterion().isEmpty();
+        }
+    }
+
+    @Test
+    public void sliceIsRejectedAfterNodesAreRemoved() {
+        SDG sdg = TestPrograms.build(new JSysDG(), PROGRAM);
+        Slice slice = sdg.slice(new LineNumberCriterion(10, "c"));
+        // Added nodes don't change the indices of the rest
+        GraphNode<?> extra = sdg.addVertex("extra", sdg.getCompilationUnits().get(0));
+        assert !slice.contains(extra) && slice.toAst().size() == 1;
+        GraphNode<?> removed = slice.getCriterion().iterator().next();
+        sdg.removeVertex(removed);
+        try {
+            slice.toAst();
+            assert false : "A slice of a modified graph was converted to code";
+        } catch (IllegalStateException ignored) {}
+        sdg.addVertex(removed);
+        try {
+            slice.contains(removed);
+            assert false : "A slice of a modified graph was queried";
+        } catch (IllegalStateException ignored) {}
+    }
+}
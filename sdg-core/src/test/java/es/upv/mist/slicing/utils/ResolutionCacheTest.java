@@ -0,0 +1,65 @@
+package es.upv.mist.slicing.utils;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.resolution.UnsolvedSymbolException;
+import es.upv.mist.slicing.TestPrograms;
+import es.upv.mist.slicing.graphs.sdg.SDG;
+import org.junit.jupiter.api.Test;
+
+public class ResolutionCacheTest {
+    protected static final String PROGRAM = "class A {\n" +
+            "    int f(int x) { return x + missing; }\n" +
+            "    int g() { return f(1) + f(2); }\n" +
+            "}";
+
+    @Test
+    public void resolutionsAreReusedByIdentity() {
+        CompilationUnit cu = TestPrograms.parse(PROGRAM);
+        ResolutionCache cache = ResolutionCache.getNewInstance();
+        MethodCallExpr first = cu.findAll(MethodCallExpr.class).get(0);
+        MethodCallExpr second = cu.findAll(MethodCallExpr.class).get(1);
+        var resolved = cache.resolve(first);
+        assert cache.getHits() == 0 && cache.getMisses() == 1;
+        assert cache.resolve(first) == resolved;
+        assert cache.getHits() == 1 && cache.getMisses() == 1;
+        // Equal calls in other positions are different nodes
+        assert cache.resolve(second).getSignature().equals(resolved.getSignature());
+        assert cache.getMisses() == 2;
+        var type = cache.calculateResolvedType(first);
+        assert type.isPrimitive() && cache.calculateResolvedType(first) == type;
+        assert cache.getHits() == 2 && cache.getMisses() == 3;
+    }
+
+    @Test
+    public void failuresAreNotStored() {
+        CompilationUnit cu = TestPrograms.parse(PROGRAM);
+        ResolutionCache cache = ResolutionCache.getNewInstance();
+        NameExpr missing = cu.findFirst(NameExpr.class, n -> n.getNameAsString().equals("missing")).orElseThrow();
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.resolve(missing);
+                assert false : "The name should not be resolved";
+            } catch (UnsolvedSymbolException e) {
+                assert cache.getMisses() == i + 1;
+            }
+        }
+        assert cache.getHits() == 0;
+    }
+
+    @Test
+    public void cacheIsReleasedAfterBuild() {
+        CompilationUnit cu = TestPrograms.parse("class B {\n" +
+                "    static int f(int x) { return x + 1; }\n" +
+                "    static int g() { return f(1) + f(2); }\n" +
+                "}");
+        new SDG().build(new NodeList<>(cu));
+        ResolutionCache cache = ResolutionCache.getInstance();
+        MethodCallExpr call = cu.findFirst(MethodCallExpr.class).orElseThrow();
+        cache.resolve(call);
+        cache.resolve(call);
+        assert cache.getHits() == 0 : "The resolutions of a finished build are kept";
+    }
+}